@@ -0,0 +1,289 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package fr.utbm.ciad.labmanager.components.avatars;
+
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import javax.imageio.ImageIO;
+
+import com.google.common.base.Strings;
+import fr.utbm.ciad.labmanager.utils.io.network.NetConnection;
+import org.arakhne.afc.vmutil.FileSystem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/** Server-side cache of the avatars of the persons.
+ *
+ * <p>The avatars are downloaded from their external sources, e.g., Gravatar or Github, with the {@link NetConnection}.
+ * Each downloaded picture is resized to the few sizes that are used by the user interface, i.e., {@link #SMALL_SIZE}
+ * and {@link #LARGE_SIZE}, and stored as PNG files into the {@code Avatars} folder of the upload directory. The files
+ * are named with the hash of the URL of the external source; in this way, a change of the source of an avatar
+ * is not hidden by the cache.
+ *
+ * <p>The stored files expire after a configurable duration (property {@code labmanager.avatars.cache-duration}).
+ * An expired avatar is downloaded again; if the download fails, the expired files are still used.
+ * When several threads request the same avatar at the same time, the avatar is downloaded only once.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Component
+public class AvatarCache {
+
+	/** Size of the avatars in the small components, e.g., the avatars in the grids or in the menu bar.
+	 */
+	public static final int SMALL_SIZE = 64;
+
+	/** Size of the avatars in the large components, e.g., the cards of the persons.
+	 */
+	public static final int LARGE_SIZE = 256;
+
+	/** Default duration of the avatars in the cache.
+	 */
+	public static final Duration DEFAULT_DURATION = Duration.ofDays(7);
+
+	/** Name of the folder of the avatars in the upload directory.
+	 */
+	public static final String AVATAR_FOLDER_NAME = "Avatars"; //$NON-NLS-1$
+
+	private static final int[] SIZES = {SMALL_SIZE, LARGE_SIZE};
+
+	private static final String AVATAR_FILE_EXTENSION = ".png"; //$NON-NLS-1$
+
+	private static final String AVATAR_FORMAT = "png"; //$NON-NLS-1$
+
+	private static final String TEMP_FILE_SUFFIX = ".tmp"; //$NON-NLS-1$
+
+	private static final String HASH_ALGORITHM = "SHA-256"; //$NON-NLS-1$
+
+	private final NetConnection netConnection;
+
+	private final File folder;
+
+	private final long duration;
+
+	private final LongSupplier clock;
+
+	private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+	/** Constructor.
+	 *
+	 * @param netConnection the accessor to the network for downloading the avatars.
+	 * @param uploadFolder the path of the upload folder. It is defined by the property {@code labmanager.file.upload-directory}.
+	 * @param duration the duration of the avatars in the cache.
+	 */
+	@Autowired
+	public AvatarCache(
+			NetConnection netConnection,
+			@Value("${labmanager.file.upload-directory}") String uploadFolder,
+			@Value("${labmanager.avatars.cache-duration:7d}") Duration duration) {
+		this(netConnection, getAvatarFolder(uploadFolder), duration, System::currentTimeMillis);
+	}
+
+	/** Constructor.
+	 *
+	 * @param netConnection the accessor to the network for downloading the avatars.
+	 * @param folder the folder in which the avatars are stored.
+	 * @param duration the duration of the avatars in the cache.
+	 * @param clock the provider of the current time in milliseconds.
+	 */
+	public AvatarCache(NetConnection netConnection, File folder, Duration duration, LongSupplier clock) {
+		this.netConnection = netConnection;
+		this.folder = folder;
+		this.duration = duration == null ? DEFAULT_DURATION.toMillis() : duration.toMillis();
+		this.clock = clock;
+	}
+
+	private static File getAvatarFolder(String uploadFolder) {
+		final var folder = Strings.emptyToNull(uploadFolder);
+		if (folder == null) {
+			return new File(AVATAR_FOLDER_NAME).getAbsoluteFile();
+		}
+		return FileSystem.join(FileSystem.convertStringToFile(folder).getAbsoluteFile(), AVATAR_FOLDER_NAME);
+	}
+
+	/** Replies the size of the stored avatars that is the closest to the given size.
+	 * The smallest stored size that is greater than or equal to the given size is replied.
+	 *
+	 * @param size the expected size in pixels.
+	 * @return the size of the stored avatar.
+	 */
+	public static int normalizeSize(int size) {
+		for (final var candidate : SIZES) {
+			if (size <= candidate) {
+				return candidate;
+			}
+		}
+		return SIZES[SIZES.length - 1];
+	}
+
+	/** Replies the avatar from the given source with the given size. The avatar is downloaded if it is not in the cache,
+	 * or if it has expired.
+	 *
+	 * @param source the URL of the avatar on the external source.
+	 * @param size the expected size of the avatar. It is normalized with {@link #normalizeSize(int)}.
+	 * @return the cached avatar.
+	 * @throws IOException if the avatar cannot be downloaded and there is no avatar in the cache.
+	 */
+	public CachedAvatar getAvatar(URL source, int size) throws IOException {
+		final var key = computeKey(source);
+		final var normalizedSize = normalizeSize(size);
+		final var file = getAvatarFile(key, normalizedSize);
+		if (isExpired(file)) {
+			final var lock = this.locks.computeIfAbsent(key, it -> new Object());
+			try {
+				synchronized (lock) {
+					// Test again because another thread may have downloaded the avatar
+					if (isExpired(file)) {
+						try {
+							download(source, key);
+						} catch (IOException ex) {
+							if (!file.isFile()) {
+								throw ex;
+							}
+							// The expired avatar is used until the external source is available again
+						}
+					}
+				}
+			} finally {
+				// The threads that are waiting for the lock test the file again, so that the lock is not needed anymore
+				this.locks.remove(key, lock);
+			}
+		}
+		final var lastModified = file.lastModified();
+		final var etag = new StringBuilder().append('"').append(key, 0, 16).append('-').append(normalizedSize)
+				.append('-').append(Long.toHexString(lastModified)).append('"').toString();
+		return new CachedAvatar(file, etag, lastModified + this.duration);
+	}
+
+	private boolean isExpired(File file) {
+		return !file.isFile() || file.lastModified() + this.duration <= this.clock.getAsLong();
+	}
+
+	private File getAvatarFile(String key, int size) {
+		return new File(this.folder, key + "-" + size + AVATAR_FILE_EXTENSION); //$NON-NLS-1$
+	}
+
+	private static String computeKey(URL source) throws IOException {
+		try {
+			final var digest = MessageDigest.getInstance(HASH_ALGORITHM);
+			return HexFormat.of().formatHex(digest.digest(source.toExternalForm().getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IOException(ex);
+		}
+	}
+
+	/** Download the avatar and store it for all the supported sizes.
+	 */
+	private void download(URL source, String key) throws IOException {
+		final var image = this.netConnection.getImageFromURL(source);
+		if (image == null) {
+			throw new IOException("Unsupported picture format for: " + source.toExternalForm()); //$NON-NLS-1$
+		}
+		this.folder.mkdirs();
+		final var now = this.clock.getAsLong();
+		for (final var size : SIZES) {
+			final var file = getAvatarFile(key, size);
+			final var temporaryFile = Files.createTempFile(this.folder.toPath(), file.getName(), TEMP_FILE_SUFFIX);
+			try {
+				if (!ImageIO.write(resize(image, size), AVATAR_FORMAT, temporaryFile.toFile())) {
+					throw new IOException("Cannot write the picture: " + file.getName()); //$NON-NLS-1$
+				}
+				try {
+					Files.move(temporaryFile, file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+				} catch (AtomicMoveNotSupportedException ex) {
+					Files.move(temporaryFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+				file.setLastModified(now);
+			} finally {
+				Files.deleteIfExists(temporaryFile);
+			}
+		}
+	}
+
+	/** Resize the given image in order to fit in a square with the given size. The image is never enlarged.
+	 * The size is divided by two at each step for keeping a good quality of the small pictures.
+	 *
+	 * @param image the image to resize.
+	 * @param size the size of the square.
+	 * @return the resized image.
+	 */
+	static BufferedImage resize(BufferedImage image, int size) {
+		final var width = image.getWidth();
+		final var height = image.getHeight();
+		final var scale = Math.min(1., (double) size / Math.max(width, height));
+		final var targetWidth = Math.max(1, (int) Math.round(width * scale));
+		final var targetHeight = Math.max(1, (int) Math.round(height * scale));
+		var current = image;
+		var currentWidth = width;
+		var currentHeight = height;
+		do {
+			currentWidth = Math.max(targetWidth, currentWidth / 2);
+			currentHeight = Math.max(targetHeight, currentHeight / 2);
+			final var resized = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_ARGB);
+			final var graphics = resized.createGraphics();
+			try {
+				graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+				graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+				graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+			} finally {
+				graphics.dispose();
+			}
+			current = resized;
+		} while (currentWidth != targetWidth || currentHeight != targetHeight);
+		return current;
+	}
+
+	/** Avatar in the cache.
+	 *
+	 * @param file the PNG file of the avatar.
+	 * @param etag the entity tag of the avatar for the HTTP caching.
+	 * @param expiry the time at which the avatar expires, in milliseconds.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	public record CachedAvatar(File file, String etag, long expiry) {
+		//
+	}
+
+}
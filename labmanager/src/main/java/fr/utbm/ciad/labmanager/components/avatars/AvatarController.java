@@ -0,0 +1,165 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package fr.utbm.ciad.labmanager.components.avatars;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.member.PersonRepository;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Local endpoint that serves the avatars of the persons from the {@link AvatarCache}.
+ * The browsers do not connect to the external sources of the avatars, e.g., Gravatar or Github,
+ * and they receive pictures that are resized to the sizes used by the user interface.
+ *
+ * <p>The responses contain an entity tag and a cache duration that corresponds to the expiry of the avatar
+ * in the cache. The URL that is replied by {@link #getAvatarURL(Person, int)} contains a version that is
+ * changed when the external source of the avatar is changed. The controller keeps the external source of each
+ * served avatar in memory; a request with the version of the known source is replied without reading the person
+ * from the database.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@RestController
+public class AvatarController {
+
+	/** Name of the endpoint for the avatars.
+	 */
+	public static final String AVATAR_ENDPOINT = "avatars"; //$NON-NLS-1$
+
+	private static final String VERSION_PARAMETER = "v"; //$NON-NLS-1$
+
+	private final AvatarCache avatarCache;
+
+	private final PersonRepository personRepository;
+
+	private final Map<Long, URL> sources = new ConcurrentHashMap<>();
+
+	/** Constructor.
+	 *
+	 * @param avatarCache the cache of the avatars.
+	 * @param personRepository the repository of the persons.
+	 */
+	public AvatarController(
+			@Autowired AvatarCache avatarCache,
+			@Autowired PersonRepository personRepository) {
+		this.avatarCache = avatarCache;
+		this.personRepository = personRepository;
+	}
+
+	/** Replies the URL of the local endpoint for the avatar of the given person.
+	 * If the person is not yet saved in the database, the URL of the external source is replied.
+	 *
+	 * @param person the person.
+	 * @param size the expected size of the avatar in pixels.
+	 * @return the URL, or {@code null} if the person has no avatar.
+	 */
+	public static String getAvatarURL(Person person, int size) {
+		final var source = person.getPhotoURL(AvatarCache.LARGE_SIZE);
+		if (source == null) {
+			return null;
+		}
+		if (person.getId() == 0l) {
+			return source.toExternalForm();
+		}
+		return new StringBuilder().append(AVATAR_ENDPOINT).append('/').append(person.getId())
+				.append('/').append(AvatarCache.normalizeSize(size))
+				.append('?').append(VERSION_PARAMETER).append('=')
+				.append(getVersion(source)).toString();
+	}
+
+	private static String getVersion(URL source) {
+		return Integer.toHexString(source.toExternalForm().hashCode());
+	}
+
+	/** Replies the avatar of the person with the given identifier.
+	 *
+	 * @param id the identifier of the person.
+	 * @param size the expected size of the avatar in pixels.
+	 * @param version the version of the external source of the avatar, as put in the URL by {@link #getAvatarURL(Person, int)}.
+	 * @return the PNG picture of the avatar.
+	 */
+	@GetMapping("/" + AVATAR_ENDPOINT + "/{id}/{size}")
+	public ResponseEntity<Resource> getAvatar(@PathVariable("id") long id, @PathVariable("size") int size,
+			@RequestParam(name = VERSION_PARAMETER, required = false) String version) {
+		final var source = getSource(id, version);
+		if (source == null) {
+			return ResponseEntity.notFound().build();
+		}
+		final AvatarCache.CachedAvatar avatar;
+		try {
+			avatar = this.avatarCache.getAvatar(source, size);
+		} catch (IOException ex) {
+			LoggerFactory.getLogger(getClass()).warn("Cannot download the avatar: " + source.toExternalForm(), ex); //$NON-NLS-1$
+			return ResponseEntity.notFound().build();
+		}
+		final var maxAge = Math.max(0l, avatar.expiry() - System.currentTimeMillis());
+		// The conditional requests with the entity tag are replied with a "not modified" status by Spring
+		return ResponseEntity.ok()
+				.contentType(MediaType.IMAGE_PNG)
+				.eTag(avatar.etag())
+				.cacheControl(CacheControl.maxAge(maxAge, TimeUnit.MILLISECONDS).cachePublic())
+				.body(new FileSystemResource(avatar.file()));
+	}
+
+	/** Replies the external source of the avatar of the person with the given identifier.
+	 * The source that is known from a previous request is replied if it has the given version.
+	 * Otherwise, the person is read from the database.
+	 *
+	 * @param id the identifier of the person.
+	 * @param version the expected version of the source. It may be {@code null}.
+	 * @return the source, or {@code null} if the person is unknown or has no avatar.
+	 */
+	private URL getSource(long id, String version) {
+		final var key = Long.valueOf(id);
+		final var knownSource = this.sources.get(key);
+		if (knownSource != null && version != null && version.equals(getVersion(knownSource))) {
+			return knownSource;
+		}
+		final var person = this.personRepository.findById(key);
+		final var source = person.isPresent() ? person.get().getPhotoURL(AvatarCache.LARGE_SIZE) : null;
+		if (source == null) {
+			this.sources.remove(key);
+		} else {
+			this.sources.put(key, source);
+		}
+		return source;
+	}
+
+}
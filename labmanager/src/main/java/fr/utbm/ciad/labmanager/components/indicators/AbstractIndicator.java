@@ -22,8 +22,6 @@ package fr.utbm.ciad.labmanager.components.indicators;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Locale;
-import java.util.Map;
-import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -34,6 +32,7 @@ import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
 
 /** Abstract implementation of a computed value that indicates a key element for an organization.
@@ -50,7 +49,7 @@ public abstract class AbstractIndicator extends AbstractComponent implements Ind
 
 	private String key;
 	
-	private final Map<Long, Number> values = new TreeMap<>();
+	private IndicatorCache cache;
 
 	private String details;
 
@@ -63,9 +62,32 @@ public abstract class AbstractIndicator extends AbstractComponent implements Ind
 		super(messages, constants);
 	}
 
+	/** Change the cache of the indicator values.
+	 *
+	 * @param cache the cache that is shared by the indicators.
+	 * @since 4.0
+	 */
+	@Autowired
+	public void setIndicatorCache(IndicatorCache cache) {
+		this.cache = cache;
+	}
+
+	/** Replies the cache of the indicator values.
+	 * If no cache was injected, a cache that is local to this indicator is created.
+	 *
+	 * @return the cache.
+	 * @since 4.0
+	 */
+	protected synchronized IndicatorCache getIndicatorCache() {
+		if (this.cache == null) {
+			this.cache = new IndicatorCache();
+		}
+		return this.cache;
+	}
+
 	@Override
 	public void clear() {
-		this.values.clear();
+		getIndicatorCache().invalidateIndicator(getKey());
 	}
 
 	@Override
@@ -152,7 +174,8 @@ public abstract class AbstractIndicator extends AbstractComponent implements Ind
 
 	@Override
 	public Number getNumericValue(ResearchOrganization organization, Logger logger) {
-		final var value = this.values.computeIfAbsent(Long.valueOf(organization.getId()), it -> {
+		final var value = getIndicatorCache().getValue(getKey(), organization.getId(),
+				getReferencePeriodStart(), getReferencePeriodEnd(), () -> {
 			logger.info("Computing indicator value for " + getKey()); //$NON-NLS-1$
 			final var v = computeValue(organization);
 			logger.info(getKey() + " = " + v); //$NON-NLS-1$
@@ -0,0 +1,219 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.components.indicators;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/** Cache of the values of the indicators.
+ *
+ * <p>The values are stored per indicator, per organization and per reference period.
+ * Each value expires after a configurable duration (property {@code labmanager.indicators.cache-duration}).
+ * When several threads request the same value at the same time, the value is computed only once
+ * and the other threads wait for the result.
+ *
+ * <p>The services that change the data that is used by the indicators, e.g., publications, memberships
+ * and projects, must invalidate the cache when the changes are committed.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Component
+public class IndicatorCache implements Serializable {
+
+	private static final long serialVersionUID = -4516893087707532283L;
+
+	/** Default duration of the values in the cache.
+	 */
+	public static final Duration DEFAULT_DURATION = Duration.ofHours(1);
+
+	private final Map<IndicatorValueKey, CachedValue> values = new ConcurrentHashMap<>();
+
+	private final long duration;
+
+	private final LongSupplier clock;
+
+	/** Constructor with the default duration.
+	 */
+	public IndicatorCache() {
+		this(DEFAULT_DURATION);
+	}
+
+	/** Constructor.
+	 *
+	 * @param duration the duration of the values in the cache.
+	 */
+	@Autowired
+	public IndicatorCache(@Value("${labmanager.indicators.cache-duration:1h}") Duration duration) {
+		this(duration, System::currentTimeMillis);
+	}
+
+	/** Constructor.
+	 *
+	 * @param duration the duration of the values in the cache.
+	 * @param clock the provider of the current time in milliseconds.
+	 */
+	public IndicatorCache(Duration duration, LongSupplier clock) {
+		this.duration = duration == null ? DEFAULT_DURATION.toMillis() : duration.toMillis();
+		this.clock = clock;
+	}
+
+	/** Replies the value of the indicator from the cache, or compute it if it is not in the cache or expired.
+	 * The computation is done only once, even if several threads request the same value at the same time.
+	 *
+	 * @param indicator the key of the indicator.
+	 * @param organization the identifier of the organization.
+	 * @param periodStart the start of the reference period.
+	 * @param periodEnd the end of the reference period.
+	 * @param computer the function for computing the value.
+	 * @return the value.
+	 */
+	public Number getValue(String indicator, long organization, LocalDate periodStart, LocalDate periodEnd, Supplier<Number> computer) {
+		final var key = new IndicatorValueKey(indicator, organization, periodStart, periodEnd);
+		final var now = this.clock.getAsLong();
+		final var cachedValue = this.values.compute(key, (k, old) -> {
+			if (old == null || old.isExpired(now)) {
+				return new CachedValue(now + this.duration);
+			}
+			return old;
+		});
+		try {
+			return cachedValue.getValue(computer);
+		} catch (RuntimeException | Error ex) {
+			// Do not keep the failed computation in the cache
+			this.values.remove(key, cachedValue);
+			throw ex;
+		}
+	}
+
+	/** Replies if a value, even expired, is stored in the cache.
+	 *
+	 * @param indicator the key of the indicator.
+	 * @param organization the identifier of the organization.
+	 * @param periodStart the start of the reference period.
+	 * @param periodEnd the end of the reference period.
+	 * @return {@code true} if a value is in the cache.
+	 */
+	public boolean contains(String indicator, long organization, LocalDate periodStart, LocalDate periodEnd) {
+		return this.values.containsKey(new IndicatorValueKey(indicator, organization, periodStart, periodEnd));
+	}
+
+	/** Remove all the values of the given indicator from the cache.
+	 *
+	 * @param indicator the key of the indicator.
+	 */
+	public void invalidateIndicator(String indicator) {
+		this.values.keySet().removeIf(it -> Objects.equals(indicator, it.indicator()));
+	}
+
+	/** Remove all the values for the given organization from the cache.
+	 *
+	 * @param organization the identifier of the organization.
+	 */
+	public void invalidateOrganization(long organization) {
+		this.values.keySet().removeIf(it -> it.organization() == organization);
+	}
+
+	/** Remove all the values from the cache.
+	 */
+	public void invalidateAll() {
+		this.values.clear();
+	}
+
+	/** Key of a value in the cache.
+	 *
+	 * @param indicator the key of the indicator.
+	 * @param organization the identifier of the organization.
+	 * @param periodStart the start of the reference period.
+	 * @param periodEnd the end of the reference period.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	private record IndicatorValueKey(String indicator, long organization, LocalDate periodStart, LocalDate periodEnd) implements Serializable {
+		//
+	}
+
+	/** Value in the cache that is computed once.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	private static class CachedValue implements Serializable {
+
+		private static final long serialVersionUID = 3283467474930478296L;
+
+		private final long expirationTime;
+
+		private boolean computed;
+
+		private Number value;
+
+		/** Constructor.
+		 *
+		 * @param expirationTime the time at which the value expires.
+		 */
+		CachedValue(long expirationTime) {
+			this.expirationTime = expirationTime;
+		}
+
+		/** Replies if the value is expired.
+		 *
+		 * @param now the current time.
+		 * @return {@code true} if the value is expired.
+		 */
+		boolean isExpired(long now) {
+			return now >= this.expirationTime;
+		}
+
+		/** Replies the value and compute it if it was not yet computed.
+		 *
+		 * @param computer the function for computing the value.
+		 * @return the value.
+		 */
+		synchronized Number getValue(Supplier<Number> computer) {
+			if (!this.computed) {
+				this.value = computer.get();
+				this.computed = true;
+			}
+			return this.value;
+		}
+
+	}
+
+}
@@ -45,6 +45,8 @@ import org.apache.commons.lang3.StringUtils;
 import java.time.LocalDate;
 import java.util.Comparator;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import com.google.common.base.Strings;
 
@@ -57,49 +59,49 @@ import com.google.common.base.Strings;
  */
 public final class EntityUtils {
 
-	private static PersonComparator PERSON_COMPARATOR; 
+	private static final AtomicReference<PersonComparator> PERSON_COMPARATOR = new AtomicReference<>();
 
-	private static PersonListComparator PERSONLIST_COMPARATOR; 
+	private static final AtomicReference<PersonListComparator> PERSONLIST_COMPARATOR = new AtomicReference<>();
 
-	private static MembershipComparator MEMBERSHIP_COMPARATOR; 
+	private static final AtomicReference<MembershipComparator> MEMBERSHIP_COMPARATOR = new AtomicReference<>();
 
-	private static NameBasedMembershipComparator PERSON_NAME_MEMBERSHIP_COMPARATOR; 
+	private static final AtomicReference<NameBasedMembershipComparator> PERSON_NAME_MEMBERSHIP_COMPARATOR = new AtomicReference<>();
 
-	private static ResearchOrganizationComparator ORGANIZATION_COMPARATOR; 
+	private static final AtomicReference<ResearchOrganizationComparator> ORGANIZATION_COMPARATOR = new AtomicReference<>();
 
-	private static ScientificAxisComparator SCIENTFIC_AXIS_COMPARATOR; 
+	private static final AtomicReference<ScientificAxisComparator> SCIENTFIC_AXIS_COMPARATOR = new AtomicReference<>();
 
-	private static ProjectComparator PROJECT_COMPARATOR; 
+	private static final AtomicReference<ProjectComparator> PROJECT_COMPARATOR = new AtomicReference<>();
 
-	private static TeachingActivityComparator TEACHING_ACTIVITY_COMPARATOR; 
+	private static final AtomicReference<TeachingActivityComparator> TEACHING_ACTIVITY_COMPARATOR = new AtomicReference<>();
 
-	private static UserComparator USER_COMPARATOR; 
+	private static final AtomicReference<UserComparator> USER_COMPARATOR = new AtomicReference<>();
 
-	private static OrganizationAddressComparator ORGANIZATION_ADDRESS_COMPARATOR; 
+	private static final AtomicReference<OrganizationAddressComparator> ORGANIZATION_ADDRESS_COMPARATOR = new AtomicReference<>();
 
-	private static PublicationComparator PUBLICATION_COMPARATOR; 
+	private static final AtomicReference<PublicationComparator> PUBLICATION_COMPARATOR = new AtomicReference<>();
 
-	private static JournalComparator JOURNAL_COMPARATOR; 
+	private static final AtomicReference<JournalComparator> JOURNAL_COMPARATOR = new AtomicReference<>();
 
-	private static ConferenceComparator CONFERENCE_COMPARATOR; 
+	private static final AtomicReference<ConferenceComparator> CONFERENCE_COMPARATOR = new AtomicReference<>();
 
-	private static JuryMembershipComparator JURY_MEMBERSHIP_COMPARATOR; 
+	private static final AtomicReference<JuryMembershipComparator> JURY_MEMBERSHIP_COMPARATOR = new AtomicReference<>();
 
-	private static PersonInvitationComparator PERSON_INVITATION_COMPARATOR; 
+	private static final AtomicReference<PersonInvitationComparator> PERSON_INVITATION_COMPARATOR = new AtomicReference<>();
 
-	private static SupervisorComparator SUPERVISOR_COMPARATOR; 
+	private static final AtomicReference<SupervisorComparator> SUPERVISOR_COMPARATOR = new AtomicReference<>();
 
-	private static SupervisionComparator SUPERVISION_COMPARATOR; 
+	private static final AtomicReference<SupervisionComparator> SUPERVISION_COMPARATOR = new AtomicReference<>();
 
-	private static ProjectMemberComparator PROJECT_MEMBER_COMPARATOR; 
+	private static final AtomicReference<ProjectMemberComparator> PROJECT_MEMBER_COMPARATOR = new AtomicReference<>();
 
-	private static ProjectBudgetComparator PROJECT_BUDGET_COMPARATOR;
+	private static final AtomicReference<ProjectBudgetComparator> PROJECT_BUDGET_COMPARATOR = new AtomicReference<>();
 
-	private static AssociatedStructureHolderComparator ASSOCIATED_STRUCTURE_HOLDER_COMPARATOR; 
+	private static final AtomicReference<AssociatedStructureHolderComparator> ASSOCIATED_STRUCTURE_HOLDER_COMPARATOR = new AtomicReference<>();
 
-	private static AssociatedStructureComparator ASSOCIATED_STRUCTURE_COMPARATOR; 
+	private static final AtomicReference<AssociatedStructureComparator> ASSOCIATED_STRUCTURE_COMPARATOR = new AtomicReference<>();
 
-	private static Comparator<? super Publication> DEFAULT_PUBLICATION_COMPARATOR = (a, b) -> {
+	private static final Comparator<? super Publication> DEFAULT_PUBLICATION_COMPARATOR = (a, b) -> {
 		if (a == b) {
 			return 0;
 		}
@@ -132,17 +134,32 @@ public final class EntityUtils {
 		//
 	}
 
+	/** Replies the comparator that is stored in the given reference, or create the default comparator
+	 * if there is no comparator. The reading of the reference does not need any lock. If several threads
+	 * are creating the default comparator at the same time, only one of the created comparators is stored
+	 * and replied to all of them.
+	 *
+	 * @param <T> the type of the comparator.
+	 * @param reference the reference to the comparator.
+	 * @param defaultComparator the provider of the default comparator.
+	 * @return the comparator.
+	 * @since 4.0
+	 */
+	private static <T> T getOrCreate(AtomicReference<T> reference, Supplier<T> defaultComparator) {
+		final var comparator = reference.get();
+		if (comparator != null) {
+			return comparator;
+		}
+		reference.compareAndSet(null, defaultComparator.get());
+		return reference.get();
+	}
+
 	/** Replies the preferred comparator of persons.
 	 *
 	 * @return the comparator.
 	 */
 	public static PersonComparator getPreferredPersonComparator() {
-		synchronized (EntityUtils.class) {
-			if (PERSON_COMPARATOR == null) {
-				PERSON_COMPARATOR = new PersonComparator();
-			}
-			return PERSON_COMPARATOR;
-		}
+		return getOrCreate(PERSON_COMPARATOR, PersonComparator::new);
 	}
 
 	/** Change the preferred comparator of persons.
@@ -150,9 +167,7 @@ public final class EntityUtils {
 	 * @param comparator the comparator.
 	 */
 	public static void setPreferredPersonComparator(PersonComparator comparator) {
-		synchronized (EntityUtils.class) {
-			PERSON_COMPARATOR = comparator;
-		}
+		PERSON_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of lists of persons.
@@ -160,12 +175,7 @@ public final class EntityUtils {
 	 * @return the comparator.
 	 */
 	public static PersonListComparator getPreferredPersonListComparator() {
-		synchronized (EntityUtils.class) {
-			if (PERSONLIST_COMPARATOR == null) {
-				PERSONLIST_COMPARATOR = new PersonListComparator(getPreferredPersonComparator());
-			}
-			return PERSONLIST_COMPARATOR;
-		}
+		return getOrCreate(PERSONLIST_COMPARATOR, () -> new PersonListComparator(getPreferredPersonComparator()));
 	}
 
 	/** Change the preferred comparator of lists of persons.
@@ -173,9 +183,7 @@ public final class EntityUtils {
 	 * @param comparator the comparator.
 	 */
 	public static void setPreferredPersonListComparator(PersonListComparator comparator) {
-		synchronized (EntityUtils.class) {
-			PERSONLIST_COMPARATOR = comparator;
-		}
+		PERSONLIST_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of memberships.
@@ -183,14 +191,9 @@ public final class EntityUtils {
 	 * @return the comparator.
 	 */
 	public static MembershipComparator getPreferredMembershipComparator() {
-		synchronized (EntityUtils.class) {
-			if (MEMBERSHIP_COMPARATOR == null) {
-				MEMBERSHIP_COMPARATOR = new MembershipComparator(
-						getPreferredPersonComparator(), getPreferredResearchOrganizationComparator(),
-						getPreferredOrganizationAddressComparator());
-			}
-			return MEMBERSHIP_COMPARATOR;
-		}
+		return getOrCreate(MEMBERSHIP_COMPARATOR, () -> new MembershipComparator(
+				getPreferredPersonComparator(), getPreferredResearchOrganizationComparator(),
+				getPreferredOrganizationAddressComparator()));
 	}
 
 	/** Change the preferred comparator of memberships.
@@ -198,9 +201,7 @@ public final class EntityUtils {
 	 * @param comparator the comparator.
 	 */
 	public static void setPreferredMembershipComparator(MembershipComparator comparator) {
-		synchronized (EntityUtils.class) {
-			MEMBERSHIP_COMPARATOR = comparator;
-		}
+		MEMBERSHIP_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of research organizations.
@@ -208,12 +209,7 @@ public final class EntityUtils {
 	 * @return the comparator.
 	 */
 	public static ResearchOrganizationComparator getPreferredResearchOrganizationComparator() {
-		synchronized (EntityUtils.class) {
-			if (ORGANIZATION_COMPARATOR == null) {
-				ORGANIZATION_COMPARATOR = new ResearchOrganizationComparator();
-			}
-			return ORGANIZATION_COMPARATOR;
-		}
+		return getOrCreate(ORGANIZATION_COMPARATOR, ResearchOrganizationComparator::new);
 	}
 
 	/** Change the preferred comparator of research organizations.
@@ -221,9 +217,7 @@ public final class EntityUtils {
 	 * @param comparator the comparator.
 	 */
 	public static void setPreferredResearchOrganizationComparator(ResearchOrganizationComparator comparator) {
-		synchronized (EntityUtils.class) {
-			ORGANIZATION_COMPARATOR = comparator;
-		}
+		ORGANIZATION_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of scientific axes.
@@ -231,12 +225,7 @@ public final class EntityUtils {
 	 * @return the comparator.
 	 */
 	public static ScientificAxisComparator getPreferredScientificAxisComparator() {
-		synchronized (EntityUtils.class) {
-			if (SCIENTFIC_AXIS_COMPARATOR == null) {
-				SCIENTFIC_AXIS_COMPARATOR = new ScientificAxisComparator();
-			}
-			return SCIENTFIC_AXIS_COMPARATOR;
-		}
+		return getOrCreate(SCIENTFIC_AXIS_COMPARATOR, ScientificAxisComparator::new);
 	}
 
 	/** Change the preferred comparator of scientific axes.
@@ -245,9 +234,7 @@ public final class EntityUtils {
 	 * @since 3.5
 	 */
 	public static void setPreferredScientificAxisComparator(ScientificAxisComparator comparator) {
-		synchronized (EntityUtils.class) {
-			SCIENTFIC_AXIS_COMPARATOR = comparator;
-		}
+		SCIENTFIC_AXIS_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of organization addresses.
@@ -255,12 +242,7 @@ public final class EntityUtils {
 	 * @return the comparator.
 	 */
 	public static OrganizationAddressComparator getPreferredOrganizationAddressComparator() {
-		synchronized (EntityUtils.class) {
-			if (ORGANIZATION_ADDRESS_COMPARATOR == null) {
-				ORGANIZATION_ADDRESS_COMPARATOR = new OrganizationAddressComparator();
-			}
-			return ORGANIZATION_ADDRESS_COMPARATOR;
-		}
+		return getOrCreate(ORGANIZATION_ADDRESS_COMPARATOR, OrganizationAddressComparator::new);
 	}
 
 	/** Change the preferred comparator of organization addresses.
@@ -268,9 +250,7 @@ public final class EntityUtils {
 	 * @param comparator the comparator.
 	 */
 	public static void setPreferredOrganizationAddressComparator(OrganizationAddressComparator comparator) {
-		synchronized (EntityUtils.class) {
-			ORGANIZATION_ADDRESS_COMPARATOR = comparator;
-		}
+		ORGANIZATION_ADDRESS_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of publications.
@@ -278,12 +258,7 @@ public final class EntityUtils {
 	 * @return the comparator.
 	 */
 	public static PublicationComparator getPreferredPublicationComparator() {
-		synchronized (EntityUtils.class) {
-			if (PUBLICATION_COMPARATOR == null) {
-				PUBLICATION_COMPARATOR = new SorensenDicePublicationComparator();
-			}
-			return PUBLICATION_COMPARATOR;
-		}
+		return getOrCreate(PUBLICATION_COMPARATOR, SorensenDicePublicationComparator::new);
 	}
 
 	/** Replies the preferred comparator of projects.
@@ -292,12 +267,7 @@ public final class EntityUtils {
 	 * @since 3.0
 	 */
 	public static ProjectComparator getPreferredProjectComparator() {
-		synchronized (EntityUtils.class) {
-			if (PROJECT_COMPARATOR == null) {
-				PROJECT_COMPARATOR = new ProjectComparator();
-			}
-			return PROJECT_COMPARATOR;
-		}
+		return getOrCreate(PROJECT_COMPARATOR, ProjectComparator::new);
 	}
 
 	/** Change the preferred comparator of projects.
@@ -305,9 +275,7 @@ public final class EntityUtils {
 	 * @param comparator the comparator.
 	 */
 	public static void setPreferredProjectComparator(ProjectComparator comparator) {
-		synchronized (EntityUtils.class) {
-			PROJECT_COMPARATOR = comparator;
-		}
+		PROJECT_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of publications that is used for sorting the list of publications.
@@ -315,9 +283,7 @@ public final class EntityUtils {
 	 * @return the comparator.
 	 */
 	public static Comparator<? super Publication> getPreferredPublicationComparatorInLists() {
-		synchronized (EntityUtils.class) {
-			return DEFAULT_PUBLICATION_COMPARATOR;
-		}
+		return DEFAULT_PUBLICATION_COMPARATOR;
 	}
 
 	/** Change the preferred comparator of publications.
@@ -325,9 +291,7 @@ public final class EntityUtils {
 	 * @param comparator the comparator.
 	 */
 	public static void setPreferredPublicationComparator(PublicationComparator comparator) {
-		synchronized (EntityUtils.class) {
-			PUBLICATION_COMPARATOR = comparator;
-		}
+		PUBLICATION_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of memberships based on the person's names.
@@ -335,13 +299,8 @@ public final class EntityUtils {
 	 * @return the comparator.
 	 */
 	public static NameBasedMembershipComparator getPreferredPersonNameBasedMembershipComparator() {
-		synchronized (EntityUtils.class) {
-			if (PERSON_NAME_MEMBERSHIP_COMPARATOR == null) {
-				PERSON_NAME_MEMBERSHIP_COMPARATOR = new NameBasedMembershipComparator(
-						getPreferredPersonComparator(), getPreferredResearchOrganizationComparator());
-			}
-			return PERSON_NAME_MEMBERSHIP_COMPARATOR;
-		}
+		return getOrCreate(PERSON_NAME_MEMBERSHIP_COMPARATOR, () -> new NameBasedMembershipComparator(
+				getPreferredPersonComparator(), getPreferredResearchOrganizationComparator()));
 	}
 
 	/** Change the preferred comparator of memberships based on the person's names.
@@ -349,9 +308,7 @@ public final class EntityUtils {
 	 * @param comparator the comparator.
 	 */
 	public static void setPreferredPersonNameBasedMembershipComparator(NameBasedMembershipComparator comparator) {
-		synchronized (EntityUtils.class) {
-			PERSON_NAME_MEMBERSHIP_COMPARATOR = comparator;
-		}
+		PERSON_NAME_MEMBERSHIP_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of journals.
@@ -359,12 +316,7 @@ public final class EntityUtils {
 	 * @return the comparator.
 	 */
 	public static JournalComparator getPreferredJournalComparator() {
-		synchronized (EntityUtils.class) {
-			if (JOURNAL_COMPARATOR == null) {
-				JOURNAL_COMPARATOR = new JournalComparator();
-			}
-			return JOURNAL_COMPARATOR;
-		}
+		return getOrCreate(JOURNAL_COMPARATOR, JournalComparator::new);
 	}
 
 	/** Change the preferred comparator of journals.
@@ -372,9 +324,7 @@ public final class EntityUtils {
 	 * @param comparator the comparator.
 	 */
 	public static void setPreferredJournalComparator(JournalComparator comparator) {
-		synchronized (EntityUtils.class) {
-			JOURNAL_COMPARATOR = comparator;
-		}
+		JOURNAL_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of conferences.
@@ -382,12 +332,7 @@ public final class EntityUtils {
 	 * @return the comparator.
 	 */
 	public static ConferenceComparator getPreferredConferenceComparator() {
-		synchronized (EntityUtils.class) {
-			if (CONFERENCE_COMPARATOR == null) {
-				CONFERENCE_COMPARATOR = new ConferenceComparator();
-			}
-			return CONFERENCE_COMPARATOR;
-		}
+		return getOrCreate(CONFERENCE_COMPARATOR, ConferenceComparator::new);
 	}
 
 	/** Change the preferred comparator of conferences.
@@ -395,9 +340,7 @@ public final class EntityUtils {
 	 * @param comparator the comparator.
 	 */
 	public static void setPreferredConferenceComparator(ConferenceComparator comparator) {
-		synchronized (EntityUtils.class) {
-			CONFERENCE_COMPARATOR = comparator;
-		}
+		CONFERENCE_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of teaching activities.
@@ -406,12 +349,7 @@ public final class EntityUtils {
 	 * @since 3.4
 	 */
 	public static TeachingActivityComparator getPreferredTeachingActivityComparator() {
-		synchronized (EntityUtils.class) {
-			if (TEACHING_ACTIVITY_COMPARATOR == null) {
-				TEACHING_ACTIVITY_COMPARATOR = new TeachingActivityComparator(getPreferredPersonComparator());
-			}
-			return TEACHING_ACTIVITY_COMPARATOR;
-		}
+		return getOrCreate(TEACHING_ACTIVITY_COMPARATOR, () -> new TeachingActivityComparator(getPreferredPersonComparator()));
 	}
 
 	/** Change the preferred comparator of teaching activities.
@@ -419,9 +357,7 @@ public final class EntityUtils {
 	 * @param comparator the comparator.
 	 */
 	public static void setPreferredTeachingActivityComparator(TeachingActivityComparator comparator) {
-		synchronized (EntityUtils.class) {
-			TEACHING_ACTIVITY_COMPARATOR = comparator;
-		}
+		TEACHING_ACTIVITY_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of application users.
@@ -430,12 +366,7 @@ public final class EntityUtils {
 	 * @since 4.0
 	 */
 	public static UserComparator getPreferredUserComparator() {
-		synchronized (EntityUtils.class) {
-			if (USER_COMPARATOR == null) {
-				USER_COMPARATOR = new UserComparator(getPreferredPersonComparator());
-			}
-			return USER_COMPARATOR;
-		}
+		return getOrCreate(USER_COMPARATOR, () -> new UserComparator(getPreferredPersonComparator()));
 	}
 
 	/** Change the preferred comparator of application users.
@@ -444,9 +375,7 @@ public final class EntityUtils {
 	 * @since 4.0
 	 */
 	public static void setPreferredUserComparator(UserComparator comparator) {
-		synchronized (EntityUtils.class) {
-			USER_COMPARATOR = comparator;
-		}
+		USER_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of jury memberships.
@@ -454,12 +383,7 @@ public final class EntityUtils {
 	 * @return the comparator.
 	 */
 	public static JuryMembershipComparator getPreferredJuryMembershipComparator() {
-		synchronized (EntityUtils.class) {
-			if (JURY_MEMBERSHIP_COMPARATOR == null) {
-				JURY_MEMBERSHIP_COMPARATOR = new JuryMembershipComparator(getPreferredPersonComparator());
-			}
-			return JURY_MEMBERSHIP_COMPARATOR;
-		}
+		return getOrCreate(JURY_MEMBERSHIP_COMPARATOR, () -> new JuryMembershipComparator(getPreferredPersonComparator()));
 	}
 
 	/** Change the preferred comparator of jury memberships.
@@ -467,9 +391,7 @@ public final class EntityUtils {
 	 * @param comparator the comparator.
 	 */
 	public static void setPreferredJuryMembershipComparator(JuryMembershipComparator comparator) {
-		synchronized (EntityUtils.class) {
-			JURY_MEMBERSHIP_COMPARATOR = comparator;
-		}
+		JURY_MEMBERSHIP_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of person invitations.
@@ -477,12 +399,7 @@ public final class EntityUtils {
 	 * @return the comparator.
 	 */
 	public static PersonInvitationComparator getPreferredPersonInvitationComparator() {
-		synchronized (EntityUtils.class) {
-			if (PERSON_INVITATION_COMPARATOR == null) {
-				PERSON_INVITATION_COMPARATOR = new PersonInvitationComparator(getPreferredPersonComparator());
-			}
-			return PERSON_INVITATION_COMPARATOR;
-		}
+		return getOrCreate(PERSON_INVITATION_COMPARATOR, () -> new PersonInvitationComparator(getPreferredPersonComparator()));
 	}
 
 	/** Change the preferred comparator of person invitations.
@@ -490,9 +407,7 @@ public final class EntityUtils {
 	 * @param comparator the comparator.
 	 */
 	public static void setPreferredPersonInvitationComparator(PersonInvitationComparator comparator) {
-		synchronized (EntityUtils.class) {
-			PERSON_INVITATION_COMPARATOR = comparator;
-		}
+		PERSON_INVITATION_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of supervisors.
@@ -500,12 +415,7 @@ public final class EntityUtils {
 	 * @return the comparator.
 	 */
 	public static SupervisorComparator getPreferredSupervisorComparator() {
-		synchronized (EntityUtils.class) {
-			if (SUPERVISOR_COMPARATOR == null) {
-				SUPERVISOR_COMPARATOR = new SupervisorComparator(getPreferredPersonComparator());
-			}
-			return SUPERVISOR_COMPARATOR;
-		}
+		return getOrCreate(SUPERVISOR_COMPARATOR, () -> new SupervisorComparator(getPreferredPersonComparator()));
 	}
 
 	/** Change the preferred comparator of supervisors.
@@ -513,9 +423,7 @@ public final class EntityUtils {
 	 * @param comparator the comparator.
 	 */
 	public static void setPreferredSupervisorComparator(SupervisorComparator comparator) {
-		synchronized (EntityUtils.class) {
-			SUPERVISOR_COMPARATOR = comparator;
-		}
+		SUPERVISOR_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of supervisions.
@@ -523,14 +431,9 @@ public final class EntityUtils {
 	 * @return the comparator.
 	 */
 	public static SupervisionComparator getPreferredSupervisionComparator() {
-		synchronized (EntityUtils.class) {
-			if (SUPERVISION_COMPARATOR == null) {
-				SUPERVISION_COMPARATOR = new SupervisionComparator(
-						getPreferredMembershipComparator(),
-						getPreferredSupervisorComparator());
-			}
-			return SUPERVISION_COMPARATOR;
-		}
+		return getOrCreate(SUPERVISION_COMPARATOR, () -> new SupervisionComparator(
+				getPreferredMembershipComparator(),
+				getPreferredSupervisorComparator()));
 	}
 
 	/** Change the preferred comparator of supervisions.
@@ -538,9 +441,7 @@ public final class EntityUtils {
 	 * @param comparator the comparator.
 	 */
 	public static void setPreferredSupervisionComparator(SupervisionComparator comparator) {
-		synchronized (EntityUtils.class) {
-			SUPERVISION_COMPARATOR = comparator;
-		}
+		SUPERVISION_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of project members.
@@ -548,12 +449,7 @@ public final class EntityUtils {
 	 * @return the comparator.
 	 */
 	public static ProjectMemberComparator getPreferredProjectMemberComparator() {
-		synchronized (EntityUtils.class) {
-			if (PROJECT_MEMBER_COMPARATOR == null) {
-				PROJECT_MEMBER_COMPARATOR = new ProjectMemberComparator(getPreferredPersonComparator());
-			}
-			return PROJECT_MEMBER_COMPARATOR;
-		}
+		return getOrCreate(PROJECT_MEMBER_COMPARATOR, () -> new ProjectMemberComparator(getPreferredPersonComparator()));
 	}
 
 	/** Change the preferred comparator of project members.
@@ -561,9 +457,7 @@ public final class EntityUtils {
 	 * @param comparator the comparator.
 	 */
 	public static void setPreferredProjectMemberComparator(ProjectMemberComparator comparator) {
-		synchronized (EntityUtils.class) {
-			PROJECT_MEMBER_COMPARATOR = comparator;
-		}
+		PROJECT_MEMBER_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of project budgets.
@@ -572,12 +466,7 @@ public final class EntityUtils {
 	 * @since 3.0
 	 */
 	public static ProjectBudgetComparator getPreferredProjectBudgetComparator() {
-		synchronized (EntityUtils.class) {
-			if (PROJECT_BUDGET_COMPARATOR == null) {
-				PROJECT_BUDGET_COMPARATOR = new ProjectBudgetComparator();
-			}
-			return PROJECT_BUDGET_COMPARATOR;
-		}
+		return getOrCreate(PROJECT_BUDGET_COMPARATOR, ProjectBudgetComparator::new);
 	}
 
 	/** Change the preferred comparator of project budgets.
@@ -585,9 +474,7 @@ public final class EntityUtils {
 	 * @param comparator the comparator.
 	 */
 	public static void setPreferredProjectBudgetComparator(ProjectBudgetComparator comparator) {
-		synchronized (EntityUtils.class) {
-			PROJECT_BUDGET_COMPARATOR = comparator;
-		}
+		PROJECT_BUDGET_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of associated structure holders.
@@ -596,14 +483,9 @@ public final class EntityUtils {
 	 * @since 3.2
 	 */
 	public static AssociatedStructureHolderComparator getPreferredAssociatedStructureHolderComparator() {
-		synchronized (EntityUtils.class) {
-			if (ASSOCIATED_STRUCTURE_HOLDER_COMPARATOR == null) {
-				ASSOCIATED_STRUCTURE_HOLDER_COMPARATOR = new AssociatedStructureHolderComparator(
-						getPreferredPersonComparator(),
-						getPreferredResearchOrganizationComparator());
-			}
-			return ASSOCIATED_STRUCTURE_HOLDER_COMPARATOR;
-		}
+		return getOrCreate(ASSOCIATED_STRUCTURE_HOLDER_COMPARATOR, () -> new AssociatedStructureHolderComparator(
+				getPreferredPersonComparator(),
+				getPreferredResearchOrganizationComparator()));
 	}
 
 	/** Change the preferred comparator of associated structure holders.
@@ -612,9 +494,7 @@ public final class EntityUtils {
 	 * @since 3.2
 	 */
 	public static void setPreferredAssociatedStructureHolderComparator(AssociatedStructureHolderComparator comparator) {
-		synchronized (EntityUtils.class) {
-			ASSOCIATED_STRUCTURE_HOLDER_COMPARATOR = comparator;
-		}
+		ASSOCIATED_STRUCTURE_HOLDER_COMPARATOR.set(comparator);
 	}
 
 	/** Replies the preferred comparator of associated structures.
@@ -623,13 +503,8 @@ public final class EntityUtils {
 	 * @since 3.2
 	 */
 	public static AssociatedStructureComparator getPreferredAssociatedStructureComparator() {
-		synchronized (EntityUtils.class) {
-			if (ASSOCIATED_STRUCTURE_COMPARATOR == null) {
-				ASSOCIATED_STRUCTURE_COMPARATOR = new AssociatedStructureComparator(
-						getPreferredResearchOrganizationComparator());
-			}
-			return ASSOCIATED_STRUCTURE_COMPARATOR;
-		}
+		return getOrCreate(ASSOCIATED_STRUCTURE_COMPARATOR, () -> new AssociatedStructureComparator(
+				getPreferredResearchOrganizationComparator()));
 	}
 
 	/** Change the preferred comparator of associated structures.
@@ -638,9 +513,7 @@ public final class EntityUtils {
 	 * @since 3.2
 	 */
 	public static void setPreferredAssociatedStructureComparator(AssociatedStructureComparator comparator) {
-		synchronized (EntityUtils.class) {
-			ASSOCIATED_STRUCTURE_COMPARATOR = comparator;
-		}
+		ASSOCIATED_STRUCTURE_COMPARATOR.set(comparator);
 	}
 
 	/** Replies if the given production has an author who is a PhD student.
@@ -0,0 +1,118 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.data;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+
+/** Index of the reference years of a history of quality indicators. The index replies, for any year,
+ * the position of the highest reference year that is lower than or equal to the given year.
+ * This position is used for reading the values of the indicators from arrays in which the fallback to
+ * the previous years was already resolved.
+ *
+ * <p>When the reference years cover a reasonable range, the positions are stored into an array that is indexed
+ * by year; otherwise the positions are searched by dichotomy. In both cases, the search does not allocate memory.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public final class QualityAnnualIndicatorsYearIndex implements Serializable {
+
+	private static final long serialVersionUID = 2340766190432863812L;
+
+	/** Maximum number of years that could be covered by the array that is indexed by year.
+	 */
+	private static final int MAXIMUM_YEAR_RANGE = 512;
+
+	private final int[] years;
+
+	private final short[] positions;
+
+	/** Constructor.
+	 *
+	 * @param referenceYears the reference years of the indicators. The order of the years is not important.
+	 */
+	public QualityAnnualIndicatorsYearIndex(Collection<Integer> referenceYears) {
+		final var years = new int[referenceYears.size()];
+		var i = 0;
+		for (final var year : referenceYears) {
+			years[i] = year.intValue();
+			++i;
+		}
+		Arrays.sort(years);
+		this.years = years;
+		if (years.length > 0 && years.length <= Short.MAX_VALUE
+				&& (long) years[years.length - 1] - years[0] < MAXIMUM_YEAR_RANGE) {
+			final var positions = new short[years[years.length - 1] - years[0] + 1];
+			var position = 0;
+			for (var j = 0; j < positions.length; ++j) {
+				while (position + 1 < years.length && years[position + 1] <= years[0] + j) {
+					++position;
+				}
+				positions[j] = (short) position;
+			}
+			this.positions = positions;
+		} else {
+			this.positions = null;
+		}
+	}
+
+	/** Replies the number of reference years.
+	 *
+	 * @return the number of years.
+	 */
+	public int size() {
+		return this.years.length;
+	}
+
+	/** Replies the reference year at the given position.
+	 *
+	 * @param position the position of the year, between {@code 0} and {@code size() - 1}.
+	 * @return the year.
+	 */
+	public int getYear(int position) {
+		return this.years[position];
+	}
+
+	/** Replies the position of the highest reference year that is lower than or equal to the given year.
+	 *
+	 * @param year the year to search for.
+	 * @return the position of the reference year, or {@code -1} if all the reference years are greater than the given year.
+	 */
+	public int floorPosition(int year) {
+		final var last = this.years.length - 1;
+		if (last < 0 || year < this.years[0]) {
+			return -1;
+		}
+		if (year >= this.years[last]) {
+			return last;
+		}
+		if (this.positions != null) {
+			return this.positions[year - this.years[0]];
+		}
+		final var position = Arrays.binarySearch(this.years, year);
+		return position >= 0 ? position : -position - 2;
+	}
+
+}
@@ -22,6 +22,7 @@ package fr.utbm.ciad.labmanager.data.conference;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
@@ -39,6 +40,7 @@ import fr.utbm.ciad.labmanager.data.AttributeProvider;
 import fr.utbm.ciad.labmanager.data.EntityConstants;
 import fr.utbm.ciad.labmanager.data.EntityUtils;
 import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
+import fr.utbm.ciad.labmanager.data.QualityAnnualIndicatorsYearIndex;
 import fr.utbm.ciad.labmanager.data.publication.AbstractConferenceBasedPublication;
 import fr.utbm.ciad.labmanager.utils.HashCodeUtils;
 import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
@@ -57,6 +59,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.MapKey;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import org.arakhne.afc.util.IntegerList;
 import org.arakhne.afc.util.ListUtil;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -79,6 +82,8 @@ public class Conference extends AbstractContextData implements JsonSerializable,
 
 	private static final long serialVersionUID = -2286554831898694393L;
 
+	private static final CoreRanking[] CORE_RANKINGS = CoreRanking.values();
+
 	/** Identifier of the journal in the database.
 	 * 
 	 * <p>Using this instead of {@link GenerationType#IDENTITY} allows for JOINED or TABLE_PER_CLASS inheritance types to work.
@@ -147,6 +152,21 @@ public class Conference extends AbstractContextData implements JsonSerializable,
 	@MapKey(name = "referenceYear")
 	private Map<Integer, ConferenceQualityAnnualIndicators> qualityIndicators;
 
+	/** Index of the years of the quality indicators, lazily built for reading the rankings.
+	 * The rankings must be rebuilt when this field is {@code null}.
+	 *
+	 * @since 4.0
+	 */
+	@Transient
+	private transient QualityAnnualIndicatorsYearIndex rankingYears;
+
+	/** Ordinals of the CORE indexes for each position in {@link #rankingYears}, with the fallback to the previous years.
+	 *
+	 * @since 4.0
+	 */
+	@Transient
+	private transient byte[] coreIndexes;
+
 	/** Reference to the super conference.
 	 */
 	@ManyToOne(fetch = FetchType.LAZY)
@@ -456,6 +476,8 @@ public class Conference extends AbstractContextData implements JsonSerializable,
 	}
 
 	/** Replies the quality indicators of the conference.
+	 * Because the replied map and its indicators could be changed by the caller, the rankings
+	 * of the conference are recomputed from the indicators at the next ranking request.
 	 *
 	 * @return the indicators.
 	 */
@@ -463,6 +485,7 @@ public class Conference extends AbstractContextData implements JsonSerializable,
 		if (this.qualityIndicators == null) {
 			this.qualityIndicators = new TreeMap<>();
 		}
+		this.rankingYears = null;
 		return this.qualityIndicators;
 	}
 
@@ -472,6 +495,7 @@ public class Conference extends AbstractContextData implements JsonSerializable,
 	 * @since 4.0
 	 */
 	public void setQualityIndicators(Map<Integer, ConferenceQualityAnnualIndicators> indicators) {
+		this.rankingYears = null;
 		if (this.qualityIndicators == null) {
 			this.qualityIndicators = new TreeMap<>();
 		} else {
@@ -523,7 +547,31 @@ public class Conference extends AbstractContextData implements JsonSerializable,
 	 * @return {@code true} if the journal has quality indicators.
 	 */
 	public boolean hasQualityIndicatorsForYear(int year) {
-		return getQualityIndicatorsForYear(year) != null;
+		return this.qualityIndicators != null && this.qualityIndicators.get(Integer.valueOf(year)) != null;
+	}
+
+	/** Build the rankings of the conference for each year of the quality indicators, if they are not yet built.
+	 * For each year, the ranking is the one of the highest year that is lower than or equal to it and that
+	 * defines it.
+	 */
+	private void ensureRankings() {
+		if (this.rankingYears == null) {
+			final var indicators = this.qualityIndicators;
+			final var years = indicators == null ? new QualityAnnualIndicatorsYearIndex(Collections.emptySet())
+					: new QualityAnnualIndicatorsYearIndex(indicators.keySet());
+			final var size = years.size();
+			final var core = new byte[size];
+			var lastCore = (byte) CoreRanking.NR.ordinal();
+			for (var i = 0; i < size; ++i) {
+				final var yearIndicators = indicators.get(Integer.valueOf(years.getYear(i)));
+				if (yearIndicators != null && yearIndicators.getCoreIndex() != null) {
+					lastCore = (byte) yearIndicators.getCoreIndex().ordinal();
+				}
+				core[i] = lastCore;
+			}
+			this.coreIndexes = core;
+			this.rankingYears = years;
+		}
 	}
 
 	/** Replies the CORE index of the conference from the CORE source.
@@ -534,12 +582,10 @@ public class Conference extends AbstractContextData implements JsonSerializable,
 	 * @return the index of the conference for the given year, never {@code null}.
 	 */
 	public CoreRanking getCoreIndexByYear(int year) {
-		final var indicators = getQualityIndicatorsFor(year, it -> it.getCoreIndex() != null);
-		if (indicators != null) {
-			final var ranking = indicators.getCoreIndex();
-			if (ranking != null) {
-				return ranking;
-			}
+		ensureRankings();
+		final var position = this.rankingYears.floorPosition(year);
+		if (position >= 0) {
+			return CORE_RANKINGS[this.coreIndexes[position]];
 		}
 		return CoreRanking.NR;
 	}
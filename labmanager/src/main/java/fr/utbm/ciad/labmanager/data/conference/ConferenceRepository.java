@@ -24,6 +24,8 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -58,4 +60,32 @@ public interface ConferenceRepository extends JpaRepository<Conference, Long>, J
 	@Query("SELECT DISTINCT c FROM Conference c WHERE c.acronym = :name OR c.name = :name")
 	Set<Conference> findDistinctByAcronymOrName(String name);
 
+	/** Load the conferences of the publications with the given identifiers, their quality indicators and their
+	 * enclosing conferences in a single query.
+	 *
+	 * @param ids the identifiers of the publications.
+	 * @return the conferences.
+	 * @since 4.0
+	 */
+	@Query("SELECT DISTINCT c FROM AbstractConferenceBasedPublication p JOIN p.conference c LEFT JOIN FETCH c.qualityIndicators LEFT JOIN FETCH c.enclosingConference WHERE p.id IN :ids")
+	List<Conference> findAllWithQualityIndicatorsByPublicationIdIn(@Param("ids") Collection<Long> ids);
+
+	/** Load the conferences with the given identifiers, their quality indicators and their
+	 * enclosing conferences in a single query.
+	 *
+	 * @param ids the identifiers of the conferences.
+	 * @return the conferences.
+	 * @since 4.0
+	 */
+	@Query("SELECT DISTINCT c FROM Conference c LEFT JOIN FETCH c.qualityIndicators LEFT JOIN FETCH c.enclosingConference WHERE c.id IN :ids")
+	List<Conference> findAllWithQualityIndicatorsByIdIn(@Param("ids") Collection<Long> ids);
+
+	/** Replies the identifiers, names and acronyms of all the conferences.
+	 *
+	 * @return the rows. Each row contains the identifier, the name and the acronym of a conference.
+	 * @since 4.0
+	 */
+	@Query("SELECT c.id, c.name, c.acronym FROM Conference c")
+	List<Object[]> findAllIdentifiersAndNames();
+
 }
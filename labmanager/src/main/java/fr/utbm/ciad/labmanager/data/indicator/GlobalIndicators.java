@@ -86,7 +86,7 @@ public class GlobalIndicators implements Serializable, JsonSerializable, Attribu
 	private String cache;
 
 	@Transient
-	private Map<String, Number> cacheBuffer;
+	private Map<String, Map<String, Number>> cacheBuffer;
 
 	/** List of visible indicators. This list contains the indicators' keys. Order of keys is important.
 	 * Because the DB backend does not ensure the order of a ElementCollection of type list
@@ -224,23 +224,29 @@ public class GlobalIndicators implements Serializable, JsonSerializable, Attribu
 
 	/** Replies the cached values in the context of the provided organization.
 	 *
-	 * @return the cache content.
-	 * @since 3.2
+	 * @param organization the identifier of the organization.
+	 * @return the cache content for the organization.
+	 * @since 4.0
 	 */
-	public Map<String, Number> getCachedValues() {
+	public Map<String, Number> getCachedValues(long organization) {
 		ensureCacheBuffer();
-		return Collections.unmodifiableMap(this.cacheBuffer);
+		final var values = this.cacheBuffer.get(Long.toString(organization));
+		if (values == null) {
+			return Collections.emptyMap();
+		}
+		return Collections.unmodifiableMap(values);
 	}
 
-	/** Force the value of the cache in the context of the provided organization.
+	/** Force the values of the cache in the context of the provided organization.
+	 * The values of the indicators that are not in the given map are not changed.
 	 * 
-	 * @param key the name of the indicator to be set.
-	 * @param value the new value for the indicator.
-	 * @since 3.2
+	 * @param organization the identifier of the organization.
+	 * @param values the new values for the indicators, indexed by the names of the indicators.
+	 * @since 4.0
 	 */
-	public void setCachedValues(String key, Number value) {
+	public void setCachedValues(long organization, Map<String, ? extends Number> values) {
 		ensureCacheBuffer();
-		this.cacheBuffer.put(key, value);
+		this.cacheBuffer.computeIfAbsent(Long.toString(organization), it -> new HashMap<>()).putAll(values);
 		if (this.cacheDate == null) {
 			this.cacheDate = LocalDate.now();
 		}
@@ -250,18 +256,23 @@ public class GlobalIndicators implements Serializable, JsonSerializable, Attribu
 	@SuppressWarnings("unchecked")
 	private void ensureCacheBuffer() {
 		if (this.cacheBuffer == null) {
-			final var mapper = JsonUtils.createMapper();
+			this.cacheBuffer = new HashMap<>();
 			if (!Strings.isNullOrEmpty(this.cache)) {
+				final var mapper = JsonUtils.createMapper();
+				final Map<String, Object> content;
 				try {
-					this.cacheBuffer = mapper.readValue(this.cache, Map.class);
+					content = mapper.readValue(this.cache, Map.class);
 				} catch (JsonProcessingException ex) {
 					throw new RuntimeException(ex);
 				}
+				// The values that are not associated to an organization were stored by older versions; they are ignored.
+				for (final var entry : content.entrySet()) {
+					if (entry.getValue() instanceof Map<?, ?> values) {
+						this.cacheBuffer.put(entry.getKey(), new HashMap<>((Map<String, Number>) values));
+					}
+				}
 			}
 		}
-		if (this.cacheBuffer == null) {
-			this.cacheBuffer = new HashMap<>();
-		}
 	}
 
 	private void saveCacheBuffer() {
@@ -22,6 +22,7 @@ package fr.utbm.ciad.labmanager.data.journal;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
@@ -39,6 +40,7 @@ import fr.utbm.ciad.labmanager.data.AttributeProvider;
 import fr.utbm.ciad.labmanager.data.EntityConstants;
 import fr.utbm.ciad.labmanager.data.EntityUtils;
 import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
+import fr.utbm.ciad.labmanager.data.QualityAnnualIndicatorsYearIndex;
 import fr.utbm.ciad.labmanager.data.publication.AbstractJournalBasedPublication;
 import fr.utbm.ciad.labmanager.utils.HashCodeUtils;
 import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
@@ -56,6 +58,7 @@ import jakarta.persistence.JoinTable;
 import jakarta.persistence.MapKey;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import org.arakhne.afc.util.IntegerList;
 import org.arakhne.afc.util.ListUtil;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -75,6 +78,8 @@ public class Journal extends AbstractContextData implements JsonSerializable, At
 
 	private static final long serialVersionUID = -2046765660549008074L;
 
+	private static final QuartileRanking[] QUARTILES = QuartileRanking.values();
+
 	/** Identifier of the journal in the database.
 	 * 
 	 * <p>Using this instead of {@link GenerationType#IDENTITY} allows for JOINED or TABLE_PER_CLASS inheritance types to work.
@@ -163,6 +168,35 @@ public class Journal extends AbstractContextData implements JsonSerializable, At
 	@MapKey(name = "referenceYear")
 	private Map<Integer, JournalQualityAnnualIndicators> qualityIndicators;
 
+	/** Index of the years of the quality indicators, lazily built for reading the rankings.
+	 * The rankings must be rebuilt when this field is {@code null}.
+	 *
+	 * @since 4.0
+	 */
+	@Transient
+	private transient QualityAnnualIndicatorsYearIndex rankingYears;
+
+	/** Ordinals of the Scimago Q-Indexes for each position in {@link #rankingYears}, with the fallback to the previous years.
+	 *
+	 * @since 4.0
+	 */
+	@Transient
+	private transient byte[] scimagoQIndexes;
+
+	/** Ordinals of the WoS Q-Indexes for each position in {@link #rankingYears}, with the fallback to the previous years.
+	 *
+	 * @since 4.0
+	 */
+	@Transient
+	private transient byte[] wosQIndexes;
+
+	/** Impact factors for each position in {@link #rankingYears}, with the fallback to the previous years.
+	 *
+	 * @since 4.0
+	 */
+	@Transient
+	private transient float[] impactFactors;
+
 	/** Construct an empty journal.
 	 */
 	public Journal() {
@@ -505,6 +539,8 @@ public class Journal extends AbstractContextData implements JsonSerializable, At
 	}
 
 	/** Replies the quality indicators of the journal.
+	 * Because the replied map and its indicators could be changed by the caller, the rankings
+	 * of the journal are recomputed from the indicators at the next ranking request.
 	 *
 	 * @return the indicators.
 	 * @since 2.0
@@ -513,6 +549,7 @@ public class Journal extends AbstractContextData implements JsonSerializable, At
 		if (this.qualityIndicators == null) {
 			this.qualityIndicators = new TreeMap<>();
 		}
+		this.rankingYears = null;
 		return this.qualityIndicators;
 	}
 
@@ -522,6 +559,7 @@ public class Journal extends AbstractContextData implements JsonSerializable, At
 	 * @since 4.0
 	 */
 	public void setQualityIndicators(Map<Integer, JournalQualityAnnualIndicators> indicators) {
+		this.rankingYears = null;
 		if (this.qualityIndicators == null) {
 			this.qualityIndicators = new TreeMap<>();
 		} else {
@@ -576,7 +614,47 @@ public class Journal extends AbstractContextData implements JsonSerializable, At
 	 * @return {@code true} if the journal has quality indicators.
 	 */
 	public boolean hasQualityIndicatorsForYear(int year) {
-		return getQualityIndicatorsForYear(year) != null;
+		return this.qualityIndicators != null && this.qualityIndicators.get(Integer.valueOf(year)) != null;
+	}
+
+	/** Build the rankings of the journal for each year of the quality indicators, if they are not yet built.
+	 * For each year, the rankings are those of the highest year that is lower than or equal to it and that
+	 * defines them.
+	 */
+	private void ensureRankings() {
+		if (this.rankingYears == null) {
+			final var indicators = this.qualityIndicators;
+			final var years = indicators == null ? new QualityAnnualIndicatorsYearIndex(Collections.emptySet())
+					: new QualityAnnualIndicatorsYearIndex(indicators.keySet());
+			final var size = years.size();
+			final var scimago = new byte[size];
+			final var wos = new byte[size];
+			final var impactFactors = new float[size];
+			var lastScimago = (byte) QuartileRanking.NR.ordinal();
+			var lastWos = (byte) QuartileRanking.NR.ordinal();
+			var lastImpactFactor = 0f;
+			for (var i = 0; i < size; ++i) {
+				final var yearIndicators = indicators.get(Integer.valueOf(years.getYear(i)));
+				if (yearIndicators != null) {
+					if (yearIndicators.getScimagoQIndex() != null) {
+						lastScimago = (byte) yearIndicators.getScimagoQIndex().ordinal();
+					}
+					if (yearIndicators.getWosQIndex() != null) {
+						lastWos = (byte) yearIndicators.getWosQIndex().ordinal();
+					}
+					if (yearIndicators.getImpactFactor() > 0f) {
+						lastImpactFactor = yearIndicators.getImpactFactor();
+					}
+				}
+				scimago[i] = lastScimago;
+				wos[i] = lastWos;
+				impactFactors[i] = lastImpactFactor;
+			}
+			this.scimagoQIndexes = scimago;
+			this.wosQIndexes = wos;
+			this.impactFactors = impactFactors;
+			this.rankingYears = years;
+		}
 	}
 
 	/** Replies the Q-Index of the journal from the Scimago source.
@@ -587,12 +665,10 @@ public class Journal extends AbstractContextData implements JsonSerializable, At
 	 * @return the Q-Index of the journal for the given year, never {@code null}.
 	 */
 	public QuartileRanking getScimagoQIndexByYear(int year) {
-		final var indicators = getQualityIndicatorsFor(year, it -> it.getScimagoQIndex() != null);
-		if (indicators != null) {
-			final var ranking = indicators.getScimagoQIndex();
-			if (ranking != null) {
-				return ranking;
-			}
+		ensureRankings();
+		final var position = this.rankingYears.floorPosition(year);
+		if (position >= 0) {
+			return QUARTILES[this.scimagoQIndexes[position]];
 		}
 		return QuartileRanking.NR;
 	}
@@ -637,12 +713,10 @@ public class Journal extends AbstractContextData implements JsonSerializable, At
 	 * @return the Q-Index of the journal for the given year, never {@code null}.
 	 */
 	public QuartileRanking getWosQIndexByYear(int year) {
-		final var indicators = getQualityIndicatorsFor(year, it -> it.getWosQIndex() != null);
-		if (indicators != null) {
-			var ranking = indicators.getWosQIndex();
-			if (ranking != null) {
-				return ranking;
-			}
+		ensureRankings();
+		final var position = this.rankingYears.floorPosition(year);
+		if (position >= 0) {
+			return QUARTILES[this.wosQIndexes[position]];
 		}
 		return QuartileRanking.NR;
 	}
@@ -686,9 +760,10 @@ public class Journal extends AbstractContextData implements JsonSerializable, At
 	 * @return the IF of the journal for the given year, or {@code 0} if not defined.
 	 */
 	public float getImpactFactorByYear(int year) {
-		final var indicators = getQualityIndicatorsFor(year, it -> it.getImpactFactor() > 0f);
-		if (indicators != null) {
-			return indicators.getImpactFactor();
+		ensureRankings();
+		final var position = this.rankingYears.floorPosition(year);
+		if (position >= 0) {
+			return this.impactFactors[position];
 		}
 		return 0f;
 	}
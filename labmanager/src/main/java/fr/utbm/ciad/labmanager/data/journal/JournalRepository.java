@@ -21,7 +21,11 @@ package fr.utbm.ciad.labmanager.data.journal;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -51,4 +55,22 @@ public interface JournalRepository extends JpaRepository<Journal, Long>, JpaSpec
 	@Deprecated(since = "4.0", forRemoval = true)
 	Optional<Journal> findByJournalName(String name);
 
+	/** Load the journals of the publications with the given identifiers, and their quality indicators
+	 * in a single query.
+	 *
+	 * @param ids the identifiers of the publications.
+	 * @return the journals.
+	 * @since 4.0
+	 */
+	@Query("SELECT DISTINCT j FROM AbstractJournalBasedPublication p JOIN p.journal j LEFT JOIN FETCH j.qualityIndicators WHERE p.id IN :ids")
+	List<Journal> findAllWithQualityIndicatorsByPublicationIdIn(@Param("ids") Collection<Long> ids);
+
+	/** Replies the identifiers, names and publishers of all the journals.
+	 *
+	 * @return the rows. Each row contains the identifier, the name and the publisher of a journal.
+	 * @since 4.0
+	 */
+	@Query("SELECT j.id, j.journalName, j.publisher FROM Journal j")
+	List<Object[]> findAllIdentifiersAndNames();
+
 }
@@ -25,7 +25,9 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -94,4 +96,18 @@ public interface MembershipRepository extends JpaRepository<Membership, Long>, J
 	@Query("SELECT DISTINCT p FROM Membership m, Person p WHERE m.person.id = p.id")
 	Page<Person> findDistinctPerson(Pageable pageable, Specification<Membership> filter);
 
+	/** Replies the memberships with the organization of the given identifier that are active in the given time window.
+	 * The persons of the memberships are loaded by the same query.
+	 *
+	 * @param organizationId the identifier of the organization.
+	 * @param windowStart the start of the time window.
+	 * @param windowEnd the end of the time window.
+	 * @return the memberships.
+	 * @since 4.0
+	 * @see Membership#isActiveIn(LocalDate, LocalDate)
+	 */
+	@Query("SELECT m FROM Membership m JOIN FETCH m.person WHERE m.researchOrganization.id = :organization AND (m.memberSinceWhen IS NULL OR m.memberSinceWhen <= :end) AND (m.memberToWhen IS NULL OR m.memberToWhen >= :start)")
+	List<Membership> findAllActiveInOrganization(@Param("organization") long organizationId,
+			@Param("start") LocalDate windowStart, @Param("end") LocalDate windowEnd);
+
 }
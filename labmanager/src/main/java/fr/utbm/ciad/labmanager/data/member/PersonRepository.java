@@ -19,12 +19,15 @@
 
 package fr.utbm.ciad.labmanager.data.member;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /** JPA Repository for the persons.
  * 
@@ -90,6 +93,14 @@ public interface PersonRepository extends JpaRepository<Person, Long>, JpaSpecif
 	 */
 	Set<Person> findDistinctByMembershipsResearchOrganizationId(long id);
 
+	/** Replies the persons in the organizations with the given identifiers.
+	 *
+	 * @param ids the identifiers of the organizations.
+	 * @return the persons.
+	 * @since 4.0
+	 */
+	Set<Person> findDistinctByMembershipsResearchOrganizationIdIn(Collection<Long> ids);
+
 	/** Replies the persons who authored the publication with the given identifier.
 	 *
 	 * @param id the identifier of the publication.
@@ -97,4 +108,22 @@ public interface PersonRepository extends JpaRepository<Person, Long>, JpaSpecif
 	 */
 	List<Person> findByAuthorshipsPublicationIdOrderByAuthorshipsAuthorRank(long id);
 
+	/** Replies the identifiers, first names and last names of all the persons.
+	 *
+	 * @return the rows. Each row contains the identifier, the first name and the last name of a person.
+	 * @since 4.0
+	 */
+	@Query("SELECT p.id, p.firstName, p.lastName FROM Person p")
+	List<Object[]> findAllIdentifiersAndNames();
+
+	/** Load the persons with the given identifiers, their memberships and the organizations of the memberships
+	 * in a single query.
+	 *
+	 * @param ids the identifiers of the persons.
+	 * @return the persons.
+	 * @since 4.0
+	 */
+	@Query("SELECT DISTINCT p FROM Person p LEFT JOIN FETCH p.memberships m LEFT JOIN FETCH m.researchOrganization LEFT JOIN FETCH m.superResearchOrganization WHERE p.id IN :ids")
+	List<Person> findAllWithMembershipsByIdIn(@Param("ids") Collection<Long> ids);
+
 }
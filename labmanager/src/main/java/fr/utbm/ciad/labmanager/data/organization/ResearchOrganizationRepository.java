@@ -26,6 +26,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 /** JPA Repository for the research organizations.
@@ -74,5 +75,14 @@ public interface ResearchOrganizationRepository extends JpaRepository<ResearchOr
 	 */
 	@Query("SELECT DISTINCT o FROM ResearchOrganization o WHERE ?1 MEMBER OF o.subOrganizations ")
 	public Page<ResearchOrganization> findSuperOrganizations(ResearchOrganization organization, Pageable pageable, Specification<ResearchOrganization> filter);
+
+	/** Replies the links between the organizations and their suborganizations.
+	 * An organization without suborganization is replied with a {@code null} suborganization.
+	 *
+	 * @return the rows. Each row contains the identifier of an organization and the identifier of one of its suborganizations.
+	 * @since 4.0
+	 */
+	@Query("SELECT o.id, s.id FROM ResearchOrganization o LEFT JOIN o.subOrganizations s")
+	List<Object[]> findAllIdentifiersAndSubOrganizationIdentifiers();
 	
 }
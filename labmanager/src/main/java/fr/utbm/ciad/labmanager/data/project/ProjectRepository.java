@@ -24,6 +24,7 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -101,4 +102,14 @@ public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpec
 	 */
 	Optional<Project> findDistinctByAcronymOrScientificTitle(String acronym, String scientificTitle);
 
+	/** Replies the projects with the given status that are starting in the given time window.
+	 *
+	 * @param status the status of the projects.
+	 * @param start the start of the time window.
+	 * @param end the end of the time window.
+	 * @return the projects.
+	 * @since 4.0
+	 */
+	List<Project> findAllByStatusAndStartDateBetween(ProjectStatus status, LocalDate start, LocalDate end);
+
 }
@@ -89,6 +89,16 @@ public interface PublicationRepository extends JpaRepository<Publication, Long>,
 	@Query("SELECT DISTINCT p.publicationYear FROM Publication p ORDER BY p.publicationYear ASC")
 	List<Integer> findDistinctPublicationYears();
 
+	/** Replies the identifiers and the titles of all the publications.
+	 * Each element of the replied list is an array in which the first element is the identifier
+	 * of the publication and the second element is its title.
+	 *
+	 * @return the identifiers and the titles.
+	 * @since 4.0
+	 */
+	@Query("SELECT p.id, p.title FROM Publication p")
+	List<Object[]> findAllIdentifiersAndTitles();
+
 	/** Replies the list of publication types.
 	 *
 	 * @return the list of publication types.
@@ -115,4 +125,57 @@ public interface PublicationRepository extends JpaRepository<Publication, Long>,
 	@Query("SELECT COUNT(p) AS publicationCount FROM Publication p WHERE p.type = :type AND p.publicationYear = :year")
 	Integer countPublicationsForTypeAndYear(@Param("type") PublicationType type, @Param("year") Integer year);
 
+	/** Replies the counts of publications for all the pairs of type and year.
+	 *
+	 * @return the rows of counts. Each row contains the type, the year and the count of publications.
+	 * @since 4.0
+	 */
+	@Query("SELECT p.type, p.publicationYear, COUNT(p) FROM Publication p GROUP BY p.type, p.publicationYear")
+	List<Object[]> countPublicationsPerTypeAndYear();
+
+	/** Replies the counts of publications for all the pairs of type and year, when the publications
+	 * have at least one author with a membership in one of the given organizations, directly or through the super
+	 * organization of the membership. The membership must be active at the publication date, or during the publication
+	 * year if the publication has no date.
+	 *
+	 * @param organizations the identifiers of the organizations.
+	 * @return the rows of counts. Each row contains the type, the year and the count of publications.
+	 * @since 4.0
+	 */
+	@Query("SELECT p.type, p.publicationYear, COUNT(DISTINCT p.id) FROM Publication p JOIN p.authorships a JOIN a.person.memberships m "
+			+ "LEFT JOIN m.superResearchOrganization s "
+			+ "WHERE (m.researchOrganization.id IN :organizations OR s.id IN :organizations) "
+			+ "AND ((p.publicationDate IS NOT NULL "
+			+ "AND (m.memberSinceWhen IS NULL OR m.memberSinceWhen <= p.publicationDate) "
+			+ "AND (m.memberToWhen IS NULL OR m.memberToWhen >= p.publicationDate)) "
+			+ "OR (p.publicationDate IS NULL "
+			+ "AND (m.memberSinceWhen IS NULL OR YEAR(m.memberSinceWhen) <= p.publicationYear) "
+			+ "AND (m.memberToWhen IS NULL OR YEAR(m.memberToWhen) >= p.publicationYear))) "
+			+ "GROUP BY p.type, p.publicationYear")
+	List<Object[]> countPublicationsPerTypeAndYearForActiveMembers(@Param("organizations") Collection<Long> organizations);
+
+	/** Load the publications with the given identifiers, their authorships and the authors in a single query.
+	 * If the publications are already in the JPA session, their collections of authorships are initialized
+	 * by this query.
+	 *
+	 * @param ids the identifiers of the publications.
+	 * @return the publications.
+	 * @since 4.0
+	 */
+	@Query("SELECT DISTINCT p FROM Publication p LEFT JOIN FETCH p.authorships a LEFT JOIN FETCH a.person WHERE p.id IN :ids")
+	List<Publication> findAllWithAuthorsByIdIn(@Param("ids") Collection<Long> ids);
+
+	/** Replies the identifiers of the publications of the given year and types that have at least one author
+	 * with a membership in one of the given organizations.
+	 *
+	 * @param organizations the identifiers of the organizations.
+	 * @param year the year of publication.
+	 * @param types the types of the publications.
+	 * @return the identifiers of the publications, sorted by identifier.
+	 * @since 4.0
+	 */
+	@Query("SELECT DISTINCT p.id FROM Publication p JOIN p.authorships a JOIN a.person.memberships m WHERE m.researchOrganization.id IN :organizations AND p.publicationYear = :year AND p.type IN :types ORDER BY p.id")
+	List<Long> findAllIdsByOrganizationsAndYearAndTypes(@Param("organizations") Collection<Long> organizations,
+			@Param("year") int year, @Param("types") Collection<PublicationType> types);
+
 }
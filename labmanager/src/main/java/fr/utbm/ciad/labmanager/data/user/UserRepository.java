@@ -21,6 +21,7 @@ package fr.utbm.ciad.labmanager.data.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -40,6 +41,7 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
 	 * @param login the login to search for.
 	 * @return the user.
 	 */
+	@Transactional(readOnly = true)
 	Optional<User> findByLogin(String login);
 
 	/** Replies the application user with the given person id.
@@ -19,18 +19,25 @@
 
 package fr.utbm.ciad.labmanager.security;
 
+import java.io.Serializable;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.base.Strings;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.spring.security.AuthenticationContext;
 import fr.utbm.ciad.labmanager.data.user.User;
 import fr.utbm.ciad.labmanager.data.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 /** Connected application user.
+ *
+ * <p>The user that is associated to the authenticated principal is loaded from the database once
+ * per Vaadin session, and it is kept in the session for the next requests. The cached users of all the
+ * sessions are reloaded after a call to {@link #invalidate()}, that must be invoked when the application
+ * users, their roles or their persons are changed.
  * 
  * @author $Author: sgalland$
  * @version $Name$ $Revision$ $Date$
@@ -45,6 +52,8 @@ public class AuthenticatedUser {
 
 	private final AuthenticationContext authenticationContext;
 
+	private final AtomicLong generation = new AtomicLong();
+
 	/** Constructor.
 	 *
 	 * @param authenticationContext the context of authentication of the application.
@@ -56,19 +65,44 @@ public class AuthenticatedUser {
 	}
 
 	/** Replies the authenticated user.
+	 * If this function is invoked within a Vaadin session, the user is loaded from the database only
+	 * at the first call and after the cached user was invalidated. Because the replied user is shared
+	 * by all the calls within the Vaadin session, it must not be changed; a fresh instance of the user
+	 * must be loaded from the database for editing it.
+	 *
+	 * <p>This function is not transactional, in order to avoid the opening of a transaction when the cached
+	 * user is replied. The user is loaded by the repository within its own read-only transaction only when
+	 * it is not cached.
 	 *
 	 * @return the user.
+	 * @see #invalidate()
 	 */
-	@Transactional
 	public Optional<User> get() {
 		final var userName = getUserName(this.authenticationContext);
 		if (!Strings.isNullOrEmpty(userName)) {
-			final var user = this.userRepository.findByLogin(userName);
-			return user;
+			final var session = VaadinSession.getCurrent();
+			if (session != null && session.hasLock()) {
+				final var generation = this.generation.get();
+				final var cachedUser = session.getAttribute(CachedUser.class);
+				if (cachedUser != null && cachedUser.generation() == generation && userName.equals(cachedUser.login())) {
+					return Optional.ofNullable(cachedUser.user());
+				}
+				final var user = this.userRepository.findByLogin(userName);
+				session.setAttribute(CachedUser.class, new CachedUser(userName, generation, user.orElse(null)));
+				return user;
+			}
+			return this.userRepository.findByLogin(userName);
 		}
 		return Optional.empty();
 	}
 
+	/** Force the authenticated users that are cached into the Vaadin sessions to be reloaded from the database
+	 * at their next access. This function must be invoked when an application user, its role or its person is changed.
+	 */
+	public void invalidate() {
+		this.generation.incrementAndGet();
+	}
+
 	/** Log out the user.
 	 */
 	public void logout() {
@@ -105,4 +139,19 @@ public class AuthenticatedUser {
 		return ""; //$NON-NLS-1$
 	}
 
+	/** Authenticated user that is stored into a Vaadin session.
+	 *
+	 * @param login the login of the authenticated principal.
+	 * @param generation the value of the invalidation counter when the user was loaded.
+	 * @param user the user, or {@code null} if there is no user with the login.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	private record CachedUser(String login, long generation, User user) implements Serializable {
+		//
+	}
+
 }
@@ -21,6 +21,7 @@ package fr.utbm.ciad.labmanager.security;
 
 import com.vaadin.flow.spring.security.VaadinWebSecurity;
 import fr.utbm.ciad.labmanager.Constants;
+import fr.utbm.ciad.labmanager.components.avatars.AvatarController;
 import fr.utbm.ciad.labmanager.security.cas.CasAuthenticationProvider;
 import fr.utbm.ciad.labmanager.security.cas.CasServerConfigurations;
 import fr.utbm.ciad.labmanager.security.cas.DirectCasAuthenticationEntryPoint;
@@ -70,6 +71,8 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 public class SecurityConfiguration extends VaadinWebSecurity {
 
 	private static final String API_URL = "/api/v" + Constants.MANAGER_MAJOR_VERSION + "/**/*"; //$NON-NLS-1$ //$NON-NLS-2$
+
+	private static final String AVATAR_URL = "/" + AvatarController.AVATAR_ENDPOINT + "/**"; //$NON-NLS-1$ //$NON-NLS-2$
 	
 	@Autowired
 	private UserDetailsService userDetailsService;
@@ -136,6 +139,7 @@ public class SecurityConfiguration extends VaadinWebSecurity {
 			http.authorizeHttpRequests(authorize -> authorize
 				.requestMatchers(new AntPathRequestMatcher(API_URL)).anonymous()
 				.requestMatchers(new AntPathRequestMatcher("/images/**/*")).permitAll() //$NON-NLS-1$
+				.requestMatchers(new AntPathRequestMatcher(AVATAR_URL)).permitAll()
 				.requestMatchers(new AntPathRequestMatcher("/line-awesome/**/*.svg")).permitAll() //$NON-NLS-1$
 				.requestMatchers(new AntPathRequestMatcher("/VAADIN/**/")).permitAll() //$NON-NLS-1$
 				.requestMatchers(new AntPathRequestMatcher("/themes/**")).permitAll() //$NON-NLS-1$
@@ -155,6 +159,7 @@ public class SecurityConfiguration extends VaadinWebSecurity {
 				authorize
 				.requestMatchers(new AntPathRequestMatcher(API_URL)).anonymous()
 				.requestMatchers(new AntPathRequestMatcher("/images/**/*")).permitAll() //$NON-NLS-1$
+				.requestMatchers(new AntPathRequestMatcher(AVATAR_URL)).permitAll()
 				.requestMatchers(new AntPathRequestMatcher("/line-awesome/**/*.svg")).permitAll() //$NON-NLS-1$
 				.requestMatchers(new AntPathRequestMatcher("/VAADIN/**/")).permitAll() //$NON-NLS-1$
 				.requestMatchers(new AntPathRequestMatcher("/themes/**")).permitAll() //$NON-NLS-1$
@@ -24,6 +24,8 @@ import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.function.ThrowingConsumer;
 import org.springframework.util.function.ThrowingFunction;
 
@@ -97,4 +99,24 @@ public abstract class AbstractService extends AbstractComponent {
 		return code.apply(currentSession);
 	}
 
+	/** Run the provided code when the current transaction is committed, or immediately if there is no active transaction.
+	 * This function is used for updating the in-memory caches and indexes only when the changes in the database
+	 * are visible to the other transactions, and not when the transaction is rolled back.
+	 *
+	 * @param code the code to run.
+	 * @since 4.0
+	 */
+	protected static void afterCommit(Runnable code) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					code.run();
+				}
+			});
+		} else {
+			code.run();
+		}
+	}
+
 }
@@ -0,0 +1,227 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
+import fr.utbm.ciad.labmanager.utils.names.ShingleIndex;
+import info.debatty.java.stringsimilarity.Jaccard;
+import info.debatty.java.stringsimilarity.ShingleBased;
+import info.debatty.java.stringsimilarity.SorensenDice;
+import info.debatty.java.stringsimilarity.interfaces.NormalizedStringSimilarity;
+
+/** Abstract implementation of an in-memory index of the names of the publication venues, e.g. journals or conferences,
+ * that is used for searching the venues with similar names without loading all the venues from the database
+ * for each search.
+ *
+ * <p>Each venue is described by a name and a secondary name, e.g. the publisher of a journal or the acronym
+ * of a conference. The comparators of the venue names reply the maximum of the similarities of the names
+ * and of the secondary names. When the similarity computer is based on shingles, i.e., Jaccard or Sørensen–Dice,
+ * the names and the secondary names are stored into two {@link ShingleIndex shingle indexes}, and only
+ * the venues with a name or a secondary name that may reach the similarity level are tested. Otherwise, all
+ * the venues are tested.
+ *
+ * <p>The index is lazily built from the database at the first search. It is kept up-to-date
+ * by the services when the changes of the venues are committed. If the database is changed
+ * without using these services, e.g. when a database dump is imported, the index must be
+ * invalidated with {@link #invalidate()}.
+ *
+ * @param <T> the type of the venues.
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public abstract class AbstractVenueNameIndex<T extends IdentifiableEntity> implements Serializable {
+
+	private static final long serialVersionUID = -2958337213740931306L;
+
+	private final Map<Long, VenueNames> names = new TreeMap<>();
+
+	private final ShingleIndex primaryNames;
+
+	private final ShingleIndex secondaryNames;
+
+	private final double blockingLevel;
+
+	private boolean initialized;
+
+	/** Constructor.
+	 *
+	 * @param similarityComputer the similarity computer that is used by the comparator of the venue names.
+	 * @param similarityLevel the minimum level of similarity that is used by the comparator of the venue names.
+	 */
+	protected AbstractVenueNameIndex(NormalizedStringSimilarity similarityComputer, double similarityLevel) {
+		if (similarityComputer instanceof Jaccard || similarityComputer instanceof SorensenDice) {
+			final var shingleSize = ((ShingleBased) similarityComputer).getK();
+			this.primaryNames = new ShingleIndex(shingleSize);
+			this.secondaryNames = new ShingleIndex(shingleSize);
+			this.blockingLevel = similarityLevel;
+		} else {
+			this.primaryNames = null;
+			this.secondaryNames = null;
+			this.blockingLevel = 0.0;
+		}
+	}
+
+	/** Replies the identifiers and the names of all the venues in the database.
+	 *
+	 * @return the rows. Each row contains the identifier, the name and the secondary name of a venue.
+	 */
+	protected abstract List<Object[]> loadNames();
+
+	/** Replies the name of the given venue.
+	 *
+	 * @param venue the venue.
+	 * @return the name.
+	 */
+	protected abstract String getName(T venue);
+
+	/** Replies the secondary name of the given venue, e.g. the publisher of a journal or the acronym of a conference.
+	 *
+	 * @param venue the venue.
+	 * @return the secondary name.
+	 */
+	protected abstract String getSecondaryName(T venue);
+
+	/** Replies if the given names are similar according to the comparator of the venue names.
+	 *
+	 * @param name1 the name of the first venue.
+	 * @param secondaryName1 the secondary name of the first venue.
+	 * @param name2 the name of the second venue.
+	 * @param secondaryName2 the secondary name of the second venue.
+	 * @return {@code true} if the venues are similar.
+	 */
+	protected abstract boolean isSimilar(String name1, String secondaryName1, String name2, String secondaryName2);
+
+	private void ensureIndex() {
+		if (!this.initialized) {
+			clear();
+			for (final var row : loadNames()) {
+				put(((Number) row[0]).longValue(), (String) row[1], (String) row[2]);
+			}
+			this.initialized = true;
+		}
+	}
+
+	private void clear() {
+		this.names.clear();
+		if (this.primaryNames != null) {
+			this.primaryNames.clear();
+			this.secondaryNames.clear();
+		}
+	}
+
+	private void put(long id, String name, String secondaryName) {
+		this.names.put(Long.valueOf(id), new VenueNames(name, secondaryName));
+		if (this.primaryNames != null) {
+			this.primaryNames.put(id, name);
+			this.secondaryNames.put(id, secondaryName);
+		}
+	}
+
+	private void remove0(long id) {
+		this.names.remove(Long.valueOf(id));
+		if (this.primaryNames != null) {
+			this.primaryNames.remove(id);
+			this.secondaryNames.remove(id);
+		}
+	}
+
+	private Collection<Long> getCandidates(String name, String secondaryName) {
+		if (this.primaryNames == null || this.blockingLevel <= 0.0) {
+			return this.names.keySet();
+		}
+		// The similarity of the venues is the maximum of the similarities of the names and of the secondary names.
+		// The venues are similar only if the names or the secondary names reach the similarity level
+		final var candidates = new TreeSet<Long>();
+		candidates.addAll(this.primaryNames.getCandidates(name, this.blockingLevel));
+		candidates.addAll(this.secondaryNames.getCandidates(secondaryName, this.blockingLevel));
+		return candidates;
+	}
+
+	/** Force the index to be rebuilt from the database at the next search.
+	 */
+	public synchronized void invalidate() {
+		this.initialized = false;
+		clear();
+	}
+
+	/** Update the index with the names of the given venue.
+	 * This function does nothing if the index was not yet built, or if the venue was not saved in the database.
+	 *
+	 * @param venue the saved venue.
+	 */
+	public synchronized void update(T venue) {
+		if (venue != null && venue.getId() != 0l && this.initialized) {
+			put(venue.getId(), getName(venue), getSecondaryName(venue));
+		}
+	}
+
+	/** Remove the venue with the given identifier from the index.
+	 *
+	 * @param identifier the identifier of the deleted venue.
+	 */
+	public synchronized void remove(long identifier) {
+		if (this.initialized) {
+			remove0(identifier);
+		}
+	}
+
+	/** Replies the identifier of a venue with names similar to the given names.
+	 * If there is multiple venues with similar names, the one with the lowest identifier is replied.
+	 *
+	 * @param name the name of the venue.
+	 * @param secondaryName the secondary name of the venue.
+	 * @return the identifier of the venue, or {@code 0} if no venue has similar names.
+	 */
+	protected synchronized long getIdBySimilarNames(String name, String secondaryName) {
+		ensureIndex();
+		for (final var candidate : getCandidates(name, secondaryName)) {
+			final var venueNames = this.names.get(candidate);
+			if (isSimilar(name, secondaryName, venueNames.name(), venueNames.secondaryName())) {
+				return candidate.longValue();
+			}
+		}
+		return 0;
+	}
+
+	/** Names of a venue in the index.
+	 *
+	 * @param name the name of the venue.
+	 * @param secondaryName the secondary name of the venue.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	private record VenueNames(String name, String secondaryName) implements Serializable {
+		//
+	}
+
+}
@@ -19,7 +19,7 @@
 
 package fr.utbm.ciad.labmanager.services.admin;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.InputStream;
@@ -39,7 +39,6 @@ import fr.utbm.ciad.labmanager.utils.io.json.DatabaseToZipExporter;
 import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
 import jakarta.transaction.Transactional;
 import org.arakhne.afc.progress.Progression;
-import org.arakhne.afc.util.OutputParameter;
 import org.hibernate.SessionFactory;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -111,21 +110,24 @@ public class DatabaseService extends AbstractService {
 	public InputStream exportJson(Locale locale, Logger logger, Progression progression) throws Exception {
 		logger.info("Exporting database content to JSON"); //$NON-NLS-1$
 		progression.setProperties(0, 0, 50, false);
-		final var bytes = new OutputParameter<byte[]>();
-		inSession(session -> {
-			final var mapper = JsonUtils.createMapper();
-			final var obj = this.jsonExporter.exportFromDatabaseToJsonObject(mapper.getNodeFactory(), null, null, locale, logger, progression.subTask(40));
-			if (obj != null) {
-				bytes.set(mapper.writeValueAsBytes(obj));
-			}
-			progression.increment(5);
-		});
-		if (bytes.isSet()) {
-			final var is = new ByteArrayInputStream(bytes.get());
-			progression.end();
-			return is;
+		final var tmpFile = File.createTempFile(JsonDatabaseInitializer.INITIALIZATION_BASENAME, IoConstants.JSON_FILENAME_EXTENSION);
+		final boolean exported;
+		try {
+			exported = inSessionWithResult(session -> {
+				final var mapper = JsonUtils.createMapper();
+				try (var generator = mapper.createGenerator(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+					return Boolean.valueOf(this.jsonExporter.exportFromDatabaseToJsonStream(generator, locale, logger, progression.subTask(45)));
+				}
+			}).booleanValue();
+		} catch (Throwable ex) {
+			tmpFile.delete();
+			throw ex;
 		}
 		progression.end();
+		if (exported) {
+			return new AutomaticDeletionFileInputStream(tmpFile);
+		}
+		tmpFile.delete();
 		return null;
 	}
 
@@ -137,16 +139,18 @@ public class DatabaseService extends AbstractService {
 	 * @return the content of the file.
 	 * @throws Exception the export error.
 	 */
-	@SuppressWarnings("resource")
 	@Transactional
 	public InputStream exportZip(Locale locale, Logger logger, Progression progression) throws Exception {
 		logger.info("Exporting database content to ZIP"); //$NON-NLS-1$
-		final var exporter = inSessionWithResult(session -> {
-			return this.zipExporter.startExportFromDatabase(locale, logger, progression);
-		});
-
 		final var tmpFile = File.createTempFile(JsonDatabaseInitializer.INITIALIZATION_BASENAME, IoConstants.ZIP_FILENAME_EXTENSION);
-		exporter.exportToZip(new FileOutputStream(tmpFile));
+		try {
+			inSession(session -> {
+				this.zipExporter.exportFromDatabaseToZip(new BufferedOutputStream(new FileOutputStream(tmpFile)), locale, logger, progression);
+			});
+		} catch (Throwable ex) {
+			tmpFile.delete();
+			throw ex;
+		}
 		return new AutomaticDeletionFileInputStream(tmpFile);
 	}
 
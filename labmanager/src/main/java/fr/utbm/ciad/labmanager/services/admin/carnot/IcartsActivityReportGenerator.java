@@ -20,10 +20,12 @@
 package fr.utbm.ciad.labmanager.services.admin.carnot;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import com.google.common.base.Strings;
@@ -41,6 +43,7 @@ import fr.utbm.ciad.labmanager.data.project.ProjectContractType;
 import fr.utbm.ciad.labmanager.data.project.ProjectMember;
 import fr.utbm.ciad.labmanager.data.project.ProjectStatus;
 import fr.utbm.ciad.labmanager.data.publication.PublicationCategory;
+import fr.utbm.ciad.labmanager.data.publication.PublicationType;
 import fr.utbm.ciad.labmanager.data.supervision.Supervision;
 import fr.utbm.ciad.labmanager.services.assostructure.AssociatedStructureService;
 import fr.utbm.ciad.labmanager.services.member.MembershipService;
@@ -343,7 +346,10 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
 	protected void exportETPs(OdfSpreadsheetHelper document, ResearchOrganization organization, int year, Locale locale, Progression progression) throws Exception {
 		progression.setProperties(0, 0, 4, false, getMessage(locale, "IcartsActivityReportGenerator.indicators.etps")); //$NON-NLS-1$
 		//
-		final var memberships = organization.getDirectOrganizationMemberships();
+		final LocalDate startDate = LocalDate.of(year, 1, 1);
+		final LocalDate endDate = LocalDate.of(year, 12, 31);
+		// The time window is applied by the database
+		final var memberships = this.membershipService.getMembershipsActiveIn(organization.getId(), startDate, endDate);
 		progression.increment();
 		//
 		final TableHelper output = document.newTable(getMessage(Locale.FRANCE, "IcartsActivityReportGenerator.table.etp", Integer.valueOf(year))); //$NON-NLS-1$
@@ -365,11 +371,9 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
 		//
 		final var subProgress = progression.subTask(1);
 		subProgress.setProperties(0, 0, memberships.size(), false);
-		final LocalDate startDate = LocalDate.of(year, 1, 1);
-		final LocalDate endDate = LocalDate.of(year, 12, 31);
 		final TableContentHelper content = output.getContent();
 		for (final var membership : memberships) {
-			if (membership.isActiveIn(startDate, endDate) && membershipStatus(membership) != null) {
+			if (membershipStatus(membership) != null) {
 				final List<ResearchOrganization> employers = extractEmployers(membership);
 				final String employerValue = employerValue(employers);
 				final TableContentRowHelper row = content.appendRow();
@@ -406,7 +410,8 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
 	protected void exportProjects(OdfSpreadsheetHelper document, ResearchOrganization organization, int year, Locale locale, Progression progression) throws Exception {
 		progression.setProperties(0, 0, 4, false, getMessage(locale, "IcartsActivityReportGenerator.indicators.projects")); //$NON-NLS-1$
 		//
-		final var projects = this.projectService.getAllProjects();
+		// The year and status filters are applied by the database
+		final var projects = this.projectService.getProjectsStartingIn(year, ProjectStatus.ACCEPTED);
 		progression.increment();
 		//
 		final TableHelper output = document.newTable(getMessage(Locale.FRANCE, "IcartsActivityReportGenerator.table.projects", Integer.valueOf(year))); //$NON-NLS-1$
@@ -428,7 +433,7 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
 		final AtomicInteger rowIndex = new AtomicInteger(1);
 		final TableContentHelper content = output.getContent();
 		for (final var project : projects) {
-			if (project.getStartDate().getYear() == year && project.getStatus() == ProjectStatus.ACCEPTED) {
+			if (project.getStartDate() != null) {
 				final TableContentRowHelper row = content.appendRow();
 				rowIndex.incrementAndGet();
 				row.append(project.getAcronym());
@@ -462,11 +467,19 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
 		final TableContentHelper content = output.getContent();
 		progression.increment();
 		// Publications
-		final long pubs = this.publicationService.getPublicationsByOrganizationId(organization.getId(), true, false).stream()
-			.filter(it -> it.getPublicationYear() == year
-				&& (it.getCategory() == PublicationCategory.OS
-					|| ((it.getCategory() == PublicationCategory.C_ACTI || it.getCategory() == PublicationCategory.ACL) && it.isRanked())))
-			.count();
+		// The organization, year and type filters are applied by the database; the ranking is tested on the loaded publications
+		final var types = Arrays.stream(PublicationType.values())
+				.filter(it -> isSynthesisCategory(it.getCategory(true)) || isSynthesisCategory(it.getCategory(false)))
+				.toList();
+		final var identifiers = this.publicationService.getPublicationIdsByOrganizationIdAndYear(organization.getId(), true, year, types);
+		final var counter = new AtomicLong();
+		this.publicationService.forEachPublicationInMemory(identifiers, it -> {
+			if (it.getCategory() == PublicationCategory.OS
+					|| ((it.getCategory() == PublicationCategory.C_ACTI || it.getCategory() == PublicationCategory.ACL) && it.isRanked())) {
+				counter.incrementAndGet();
+			}
+		});
+		final long pubs = counter.get();
 		final TableContentRowHelper row0 = content.appendRow();
 		row0.append(getMessage(Locale.FRANCE, "IcartsActivityReportGenerator.value.pubs_synthesis")); //$NON-NLS-1$
 		row0.append(Long.valueOf(pubs));
@@ -491,6 +504,10 @@ public class IcartsActivityReportGenerator extends AbstractComponent {
 		progression.end();
 	}
 
+	private static boolean isSynthesisCategory(PublicationCategory category) {
+		return category == PublicationCategory.OS || category == PublicationCategory.C_ACTI || category == PublicationCategory.ACL;
+	}
+
 	/** Extract the employers from the memberships.
 	 *
 	 * @param membership the membership for which the status should be converted.
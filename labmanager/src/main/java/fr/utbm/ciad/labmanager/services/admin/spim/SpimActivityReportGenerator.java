@@ -21,13 +21,14 @@ package fr.utbm.ciad.labmanager.services.admin.spim;
 
 import java.time.LocalDate;
 import java.util.Locale;
-import java.util.Set;
+import java.util.List;
 import java.util.TreeMap;
 
 import fr.utbm.ciad.labmanager.components.AbstractComponent;
 import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.member.Membership;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.services.member.MembershipService;
 import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationService;
 import fr.utbm.ciad.labmanager.utils.DownloadableFileDescription;
 import fr.utbm.ciad.labmanager.utils.io.od.OdfSpreadsheetHelper;
@@ -56,18 +57,23 @@ public class SpimActivityReportGenerator extends AbstractComponent {
 
 	private ResearchOrganizationService organizationService;
 
+	private MembershipService membershipService;
+
 	/** Constructor.
 	 *
 	 * @param messages the provider of messages.
 	 * @param constants the accessor to the constants.
 	 * @param organizationService the service for accessing to research organizations.
+	 * @param membershipService the service for accessing to the memberships.
 	 */
 	public SpimActivityReportGenerator(
 			@Autowired MessageSourceAccessor messages,
 			@Autowired ConfigurationConstants constants,
-			@Autowired ResearchOrganizationService organizationService) {
+			@Autowired ResearchOrganizationService organizationService,
+			@Autowired MembershipService membershipService) {
 		super(messages, constants);
 		this.organizationService = organizationService;
+		this.membershipService = membershipService;
 	}
 
 	/**
@@ -109,7 +115,10 @@ public class SpimActivityReportGenerator extends AbstractComponent {
 			Locale locale, Progression progression) throws Exception {
 		progression.setProperties(0, 0, 5, false, getMessage(locale, "SpimActivityReportGenerator.human_resources")); //$NON-NLS-1$
 		//
-		Set<Membership> memberships = organization.getDirectOrganizationMemberships();
+		final LocalDate startDate = LocalDate.of(year, 1, 1);
+		final LocalDate endDate = LocalDate.of(year, 12, 31);
+		// The time window is applied by the database
+		final List<Membership> memberships = this.membershipService.getMembershipsActiveIn(organization.getId(), startDate, endDate);
 		progression.increment();
 		//
 		final TableHelper output = document.newTable(getMessage(Locale.FRANCE, "SpimActivityReportGenerator.table.rh", Integer.valueOf(year))); //$NON-NLS-1$
@@ -124,13 +133,11 @@ public class SpimActivityReportGenerator extends AbstractComponent {
 		header.appendColumn(getMessage(Locale.FRANCE, "SpimActivityReportGenerator.column.emeritus")); //$NON-NLS-1$
 		progression.increment();
 		//
-		final LocalDate startDate = LocalDate.of(year, 1, 1);
-		final LocalDate endDate = LocalDate.of(year, 12, 31);
 		final var subProgress0 = progression.subTask(1);
 		subProgress0.setProperties(0, 0, memberships.size(), false);
 		final var selectedMemberships = new TreeMap<String, Membership>();
 		for (final var membership : memberships) {
-			if (membership.isActiveIn(startDate, endDate) && !membership.getMemberStatus().isExternalPosition()
+			if (!membership.getMemberStatus().isExternalPosition()
 					&& membership.isPermanentPosition() && (membership.getMemberStatus().isResearcher() || membership.getMemberStatus().isTechnicalStaff())) {
 				final var key = membership.getPerson().getFullNameWithLastNameFirst();
 				final var existing = selectedMemberships.get(key);
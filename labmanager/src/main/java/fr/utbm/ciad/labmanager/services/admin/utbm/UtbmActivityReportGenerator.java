@@ -109,7 +109,8 @@ public class UtbmActivityReportGenerator extends AbstractComponent {
 	 */
 	protected void exportPublications(OdfSpreadsheetHelper document, ResearchOrganization organization, int year, Progression progression) throws Exception {
 		progression.setProperties(0, 0, 2, false);
-		final var publications = this.publicationService.getPublicationsByOrganizationId(organization.getId(), true, false);
+		// The organization and year filters are applied by the database
+		final var publications = this.publicationService.getPublicationIdsByOrganizationIdAndYear(organization.getId(), true, year, null);
 		progression.increment();
 		final var subProgress = progression.subTask(1);
 		subProgress.setProperties(0, 0, publications.size() + 1, false);
@@ -144,76 +145,75 @@ public class UtbmActivityReportGenerator extends AbstractComponent {
 		subProgress.increment();
 		//
 		final var content = output.getContent();
-		for (final var publication : publications ) {
-			if (publication.getPublicationYear() == year) {
-				final var row = content.appendRow();
-				row.append(publication.getCategory().name());
-				row.append(publication.getTitle());
-				if (publication instanceof JournalBasedPublication paper) {
-					final var journal = paper.getJournal();
-					row.append(publication.getPublicationTarget() + ", " + journal.getPublisher()); //$NON-NLS-1$
-					row.append((String) null);
-				} else if (publication instanceof ConferenceBasedPublication paper) {
-					row.append((String) null);
-					final var conference = paper.getConference();
-					if (conference != null) {
-						row.append(publication.getPublicationTarget() + ", " + conference.getPublisher()); //$NON-NLS-1$
-					} else {
-						row.append(publication.getWherePublishedShortDescription());
-					}
+		// The publications are loaded by chunks in order to write the rows progressively
+		this.publicationService.forEachPublicationInMemory(publications, publication -> {
+			final var row = content.appendRow();
+			row.append(publication.getCategory().name());
+			row.append(publication.getTitle());
+			if (publication instanceof JournalBasedPublication paper) {
+				final var journal = paper.getJournal();
+				row.append(publication.getPublicationTarget() + ", " + journal.getPublisher()); //$NON-NLS-1$
+				row.append((String) null);
+			} else if (publication instanceof ConferenceBasedPublication paper) {
+				row.append((String) null);
+				final var conference = paper.getConference();
+				if (conference != null) {
+					row.append(publication.getPublicationTarget() + ", " + conference.getPublisher()); //$NON-NLS-1$
 				} else {
-					row.append((String) null);
 					row.append(publication.getWherePublishedShortDescription());
 				}
-				final var authors = publication.getAuthors();
-				for (int i = 0; i < 15; ++i) {
-					if (i < authors.size()) {
-						row.append(authors.get(i).getFullNameWithLastNameFirst());
-					} else {
-						row.append((String) null);
-					}
-				}
-				final var doi = publication.getDOI();
-				if (Strings.isNullOrEmpty(doi)) {
-					row.append(publication.getHalId());
+			} else {
+				row.append((String) null);
+				row.append(publication.getWherePublishedShortDescription());
+			}
+			final var authors = publication.getAuthors();
+			for (int i = 0; i < 15; ++i) {
+				if (i < authors.size()) {
+					row.append(authors.get(i).getFullNameWithLastNameFirst());
 				} else {
-					row.append(doi);
+					row.append((String) null);
 				}
-				row.append(publication.getKeywords());
-				row.append(organization.getAcronymOrName());
-				boolean hasRank = false;
-				boolean hasImpactFactor = false;
-				if (publication instanceof JournalBasedPublication paper) {
-					final var journal = paper.getJournal();
-					final var quartile = journal.getWosQIndexByYear(year);
-					if (quartile != null && quartile != QuartileRanking.NR) {
-						hasRank = true;
-						row.append(quartile.name());
-					}
-					final var impactFactor = journal.getImpactFactorByYear(year);
-					if (impactFactor > 0f) {
-						hasImpactFactor = true;
-						row.append(Double.valueOf(impactFactor));
-					}
-				} else if (publication instanceof ConferenceBasedPublication paper) {
-					final var conference = paper.getConference();
-					if (conference != null) {
-						final var ranking = conference.getCoreIndexByYear(year);
-						if (ranking != null && ranking != CoreRanking.NR) {
-							hasRank = true;
-							row.append(ranking.toString());
-						}
-					}
+			}
+			final var doi = publication.getDOI();
+			if (Strings.isNullOrEmpty(doi)) {
+				row.append(publication.getHalId());
+			} else {
+				row.append(doi);
+			}
+			row.append(publication.getKeywords());
+			row.append(organization.getAcronymOrName());
+			boolean hasRank = false;
+			boolean hasImpactFactor = false;
+			if (publication instanceof JournalBasedPublication paper) {
+				final var journal = paper.getJournal();
+				final var quartile = journal.getWosQIndexByYear(year);
+				if (quartile != null && quartile != QuartileRanking.NR) {
+					hasRank = true;
+					row.append(quartile.name());
 				}
-				if (!hasRank) {
-					row.append((String) null);
+				final var impactFactor = journal.getImpactFactorByYear(year);
+				if (impactFactor > 0f) {
+					hasImpactFactor = true;
+					row.append(Double.valueOf(impactFactor));
 				}
-				if (!hasImpactFactor) {
-					row.append((String) null);
+			} else if (publication instanceof ConferenceBasedPublication paper) {
+				final var conference = paper.getConference();
+				if (conference != null) {
+					final var ranking = conference.getCoreIndexByYear(year);
+					if (ranking != null && ranking != CoreRanking.NR) {
+						hasRank = true;
+						row.append(ranking.toString());
+					}
 				}
 			}
+			if (!hasRank) {
+				row.append((String) null);
+			}
+			if (!hasImpactFactor) {
+				row.append((String) null);
+			}
 			subProgress.increment();
-		}
+		});
 		subProgress.end();
 		progression.end();
 	}
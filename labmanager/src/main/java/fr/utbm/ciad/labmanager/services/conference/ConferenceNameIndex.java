@@ -0,0 +1,94 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.conference;
+
+import java.util.List;
+
+import fr.utbm.ciad.labmanager.data.conference.Conference;
+import fr.utbm.ciad.labmanager.data.conference.ConferenceRepository;
+import fr.utbm.ciad.labmanager.services.AbstractVenueNameIndex;
+import fr.utbm.ciad.labmanager.utils.names.ConferenceNameComparator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/** In-memory index of the names and acronyms of the conferences that is used for searching the conferences
+ * with similar names or acronyms without loading all the conferences from the database for each search.
+ * The similarity between the conferences is computed by the {@link ConferenceNameComparator}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Component
+public class ConferenceNameIndex extends AbstractVenueNameIndex<Conference> {
+
+	private static final long serialVersionUID = -1820914530873419657L;
+
+	private final ConferenceRepository conferenceRepository;
+
+	private final ConferenceNameComparator nameComparator;
+
+	/** Constructor.
+	 *
+	 * @param conferenceRepository the repository of the conferences.
+	 * @param nameComparator the comparator of the conference names.
+	 */
+	public ConferenceNameIndex(
+			@Autowired ConferenceRepository conferenceRepository,
+			@Autowired ConferenceNameComparator nameComparator) {
+		super(nameComparator.getStringSimilarityComputer(), nameComparator.getSimilarityLevel());
+		this.conferenceRepository = conferenceRepository;
+		this.nameComparator = nameComparator;
+	}
+
+	@Override
+	protected List<Object[]> loadNames() {
+		return this.conferenceRepository.findAllIdentifiersAndNames();
+	}
+
+	@Override
+	protected String getName(Conference venue) {
+		return venue.getName();
+	}
+
+	@Override
+	protected String getSecondaryName(Conference venue) {
+		return venue.getAcronym();
+	}
+
+	@Override
+	protected boolean isSimilar(String name1, String secondaryName1, String name2, String secondaryName2) {
+		return this.nameComparator.isSimilar(name1, secondaryName1, name2, secondaryName2);
+	}
+
+	/** Replies the identifier of a conference with a name or an acronym similar to the given ones.
+	 * If there is multiple conferences with similar names, the one with the lowest identifier is replied.
+	 *
+	 * @param name the name of the conference.
+	 * @param acronym the acronym of the conference.
+	 * @return the identifier of the conference, or {@code 0} if no conference is similar.
+	 */
+	public long getConferenceIdBySimilarNameAndAcronym(String name, String acronym) {
+		return getIdBySimilarNames(name, acronym);
+	}
+
+}
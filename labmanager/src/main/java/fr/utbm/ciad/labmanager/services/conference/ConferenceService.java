@@ -47,9 +47,9 @@ import fr.utbm.ciad.labmanager.data.conference.ConferenceRepository;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
 import fr.utbm.ciad.labmanager.services.DeletionStatus;
 import fr.utbm.ciad.labmanager.utils.HasAsynchronousUploadService;
+import fr.utbm.ciad.labmanager.utils.io.RankingFetchPipeline;
 import fr.utbm.ciad.labmanager.utils.io.coreportal.CorePortal;
 import fr.utbm.ciad.labmanager.utils.io.coreportal.CorePortal.CorePortalConference;
-import fr.utbm.ciad.labmanager.utils.names.ConferenceNameComparator;
 import fr.utbm.ciad.labmanager.utils.ranking.CoreRanking;
 import org.arakhne.afc.progress.DefaultProgression;
 import org.arakhne.afc.progress.Progression;
@@ -88,7 +88,9 @@ public class ConferenceService extends AbstractEntityService<Conference> {
 
 	private final CorePortal corePortal;
 
-	private final ConferenceNameComparator conferenceNameComparator;
+	private final ConferenceNameIndex nameIndex;
+
+	private final RankingFetchPipeline fetchPipeline;
 
 	/** Constructor for injector.
 	 * This constructor is defined for being invoked by the IOC injector.
@@ -96,7 +98,8 @@ public class ConferenceService extends AbstractEntityService<Conference> {
 	 * @param conferenceRepository the journal repository.
 	 * @param indicatorsRepository the repository for accessing to the quality indicators.
 	 * @param corePortal the accessor to the online CORE portal.
-	 * @param conferenceNameComparator the comparator of conferences based on their names.
+	 * @param nameIndex the index of the conference names that is used for searching for similar conferences.
+	 * @param fetchPipeline the pipeline for fetching the rankings from the online platforms.
 	 * @param messages the provider of localized messages.
 	 * @param constants the accessor to the live constants.
 	 * @param sessionFactory the Hibernate session factory.
@@ -105,7 +108,8 @@ public class ConferenceService extends AbstractEntityService<Conference> {
 			@Autowired ConferenceRepository conferenceRepository,
 			@Autowired ConferenceQualityAnnualIndicatorsRepository indicatorsRepository,
 			@Autowired CorePortal corePortal,
-			@Autowired ConferenceNameComparator conferenceNameComparator,
+			@Autowired ConferenceNameIndex nameIndex,
+			@Autowired RankingFetchPipeline fetchPipeline,
 			@Autowired MessageSourceAccessor messages,
 			@Autowired ConfigurationConstants constants,
 			@Autowired SessionFactory sessionFactory) {
@@ -113,7 +117,8 @@ public class ConferenceService extends AbstractEntityService<Conference> {
 		this.conferenceRepository = conferenceRepository;
 		this.indicatorsRepository = indicatorsRepository;
 		this.corePortal = corePortal;
-		this.conferenceNameComparator = conferenceNameComparator;
+		this.nameIndex = nameIndex;
+		this.fetchPipeline = fetchPipeline;
 	}
 
 	/** Save the given conference or create a JPA entity if the given object is a fake.
@@ -132,6 +137,8 @@ public class ConferenceService extends AbstractEntityService<Conference> {
 			}
 			logger.info("Saving conference into the database: " + sconference.toString()); //$NON-NLS-1$
 			this.conferenceRepository.save(sconference);
+			final var savedConference = sconference;
+			afterCommit(() -> this.nameIndex.update(savedConference));
 		}
 		return sconference;
 	}
@@ -225,10 +232,9 @@ public class ConferenceService extends AbstractEntityService<Conference> {
 	 */
 	public Optional<Conference> getConferenceBySimilarNameAndAcronym(String name, String acronym) {
 		if (!Strings.isNullOrEmpty(name) && !Strings.isNullOrEmpty(acronym)) {
-			for (Conference conference : this.conferenceRepository.findAll()) {
-				if (this.conferenceNameComparator.isSimilar(name, acronym, conference.getName(), conference.getAcronym())) {
-					return Optional.of(conference);
-				}
+			final var id = this.nameIndex.getConferenceIdBySimilarNameAndAcronym(name, acronym);
+			if (id != 0) {
+				return this.conferenceRepository.findById(Long.valueOf(id));
 			}
 		}
 		return Optional.empty();
@@ -351,6 +357,7 @@ public class ConferenceService extends AbstractEntityService<Conference> {
 		this.conferenceRepository.save(conference);
 		conference.setEnclosingConference(enclosingConference);
 		this.conferenceRepository.save(conference);
+		afterCommit(() -> this.nameIndex.update(conference));
 	}
 
 	/** Delete the conference with the given identifier
@@ -365,6 +372,7 @@ public class ConferenceService extends AbstractEntityService<Conference> {
 		final Optional<Conference> conferenceRef = this.conferenceRepository.findById(id);
 		if (conferenceRef.isPresent()) {
 			this.conferenceRepository.deleteById(id);
+			afterCommit(() -> this.nameIndex.remove(identifier));
 		}
 	}
 
@@ -548,6 +556,7 @@ public class ConferenceService extends AbstractEntityService<Conference> {
 
 	/** Download the conference indicators for the given reference year for the CORE portail.
 	 * This function uses the {@link CorePortalPlatform} tool for downloading indicators.
+	 * The indicators of several conferences are downloaded in parallel by the {@link RankingFetchPipeline}.
 	 *
 	 * @param referenceYear the reference year.
 	 * @param conferences the list of conferences for which the indicators should be downloaded.
@@ -561,27 +570,28 @@ public class ConferenceService extends AbstractEntityService<Conference> {
 	public void downloadConferenceIndicatorsFromCore(int referenceYear, List<Conference> conferences, Logger logger, Progression progress, ConferenceRankingConsumer consumer) throws Exception {
 		logger.info("Downloading the conferences' ranking indicators from the CORE Portal for year " + referenceYear); //$NON-NLS-1$
 		final var progress0 = progress == null ? new DefaultProgression() : progress; 
-		progress0.setProperties(0, 0, conferences.size() * 2, false);
+		progress0.setProperties(0, 0, conferences.size(), false);
+		final var rankedConferences = new ArrayList<Conference>(conferences.size());
 		for (final var conference : conferences) {
-			progress0.setComment(conference.getAcronymAndName());
 			if (!Strings.isNullOrEmpty(conference.getCoreId())) {
-				final var lastRanking = conference.getCoreIndexByYear(referenceYear);
-				final var rankings = this.corePortal.getConferenceRanking(referenceYear, conference.getCoreId(), progress0.subTask(1));
-				progress0.ensureNoSubTask();
-				if (rankings != null) {
-					if (rankings.ranking == null) {
-						consumer.consume(referenceYear, conference.getId(), lastRanking, CoreRanking.NR);
-					} else {
-						consumer.consume(referenceYear, conference.getId(), lastRanking, rankings.ranking);
-					}
-				} else {
-					consumer.consume(referenceYear, conference.getId(), lastRanking, CoreRanking.NR);
-				}
-				progress0.increment();
+				rankedConferences.add(conference);
 			} else {
-				progress0.subTask(2);
+				progress0.increment();
 			}
 		}
+		this.fetchPipeline.fetch(rankedConferences,
+				it -> CorePortal.class.getName(),
+				(conference, fetchProgress) -> this.corePortal.getConferenceRanking(referenceYear, conference.getCoreId(), fetchProgress),
+				logger, progress0,
+				(conference, rankings) -> {
+					progress0.setComment(conference.getAcronymAndName());
+					final var lastRanking = conference.getCoreIndexByYear(referenceYear);
+					if (rankings != null && rankings.ranking != null) {
+						consumer.consume(referenceYear, conference.getId(), lastRanking, rankings.ranking);
+					} else {
+						consumer.consume(referenceYear, conference.getId(), lastRanking, CoreRanking.NR);
+					}
+				});
 		progress0.end();
 	}
 
@@ -642,6 +652,8 @@ public class ConferenceService extends AbstractEntityService<Conference> {
 		@Override
 		public void save(HasAsynchronousUploadService... components) throws IOException {
 			this.entity = ConferenceService.this.conferenceRepository.save(this.entity);
+			final var savedConference = this.entity;
+			afterCommit(() -> ConferenceService.this.nameIndex.update(savedConference));
 			getLogger().info("Saved conference: " + this.entity); //$NON-NLS-1$
 		}
 
@@ -699,6 +711,12 @@ public class ConferenceService extends AbstractEntityService<Conference> {
 			}
 			//
 			ConferenceService.this.conferenceRepository.deleteAllById(identifiers);
+			final var deletedIdentifiers = new ArrayList<>(identifiers);
+			afterCommit(() -> {
+				for (final var identifier : deletedIdentifiers) {
+					ConferenceService.this.nameIndex.remove(identifier.longValue());
+				}
+			});
 		}
 
 	}
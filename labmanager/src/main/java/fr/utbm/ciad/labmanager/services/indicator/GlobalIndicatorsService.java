@@ -20,6 +20,7 @@
 package fr.utbm.ciad.labmanager.services.indicator;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeSet;
@@ -61,6 +62,8 @@ public class GlobalIndicatorsService extends AbstractService {
 
 	private final Map<String, Indicator> allIndicatorsPerKey;
 
+	private volatile GlobalIndicators globalIndicators;
+
 	/** Constructor for injector.
 	 * This constructor is defined for being invoked by the IOC injector.
 	 *
@@ -84,31 +87,62 @@ public class GlobalIndicatorsService extends AbstractService {
 	}
 
 	/** Ensure that the global indicators' object is created.
+	 * The object is read from the database only once, and kept in memory for the next calls.
 	 *
 	 * @param logger the logger to be used.
 	 * @return the global indicators' object.
 	 */
 	public GlobalIndicators getGlobalIndicatorsNeverNull(Logger logger) {
-		final var opt = this.indicatorRepository.findAll().stream().findFirst();
-		GlobalIndicators gi;
-		if (opt.isEmpty()) {
-			gi = createGlobalIndicators(logger);
-		} else {
-			gi = opt.get();
+		var gi = getGlobalIndicatorsOrNull();
+		if (gi == null) {
+			synchronized (this) {
+				gi = this.globalIndicators;
+				if (gi == null) {
+					gi = createGlobalIndicators(logger);
+					this.globalIndicators = gi;
+				}
+			}
 		}
 		return gi;
 	}
 
 	/** Replies the global indicators.
+	 * The object is read from the database only once, and kept in memory for the next calls.
 	 *
 	 * @return the indicators or {@code null} if there is no global indicators yet.
 	 */
 	public GlobalIndicators getGlobalIndicatorsOrNull() {
-		final var opt = this.indicatorRepository.findAll().stream().findFirst();
-		if (opt.isPresent()) {
-			return opt.get();
+		var gi = this.globalIndicators;
+		if (gi == null) {
+			synchronized (this) {
+				gi = this.globalIndicators;
+				if (gi == null) {
+					final var opt = this.indicatorRepository.findAll().stream().findFirst();
+					if (opt.isPresent()) {
+						gi = opt.get();
+						this.globalIndicators = gi;
+					}
+				}
+			}
 		}
-		return null;
+		return gi;
+	}
+
+	/** Force the global indicators' object to be read again from the database at the next call.
+	 * This function should be invoked when the database is changed without using this service.
+	 *
+	 * @since 4.0
+	 */
+	public synchronized void reloadGlobalIndicators() {
+		this.globalIndicators = null;
+	}
+
+	/** Save the global indicators' object in the database and keep the saved instance in memory.
+	 *
+	 * @param gi the object to save.
+	 */
+	private synchronized void saveGlobalIndicators(GlobalIndicators gi) {
+		this.globalIndicators = this.indicatorRepository.save(gi);
 	}
 
 	/** Create the global indicators' object.
@@ -119,8 +153,7 @@ public class GlobalIndicatorsService extends AbstractService {
 	protected GlobalIndicators createGlobalIndicators(Logger logger) {
 		logger.info("Creating global indicators into the database"); //$NON-NLS-1$
 		final GlobalIndicators gi = new GlobalIndicators();
-		this.indicatorRepository.save(gi);
-		return gi;
+		return this.indicatorRepository.save(gi);
 	}
 
 	/** Replies all the visible global indicators in the order that they should be displayed.
@@ -179,9 +212,11 @@ public class GlobalIndicatorsService extends AbstractService {
 	 * @param logger the logger to be used.
 	 */
 	public void setVisibleIndicators(String visibleIndicators, Logger logger) {
-		final var gi = getGlobalIndicatorsNeverNull(logger);
-		gi.setVisibleIndicatorKeys(visibleIndicators);
-		this.indicatorRepository.save(gi);
+		synchronized (this) {
+			final var gi = getGlobalIndicatorsNeverNull(logger);
+			gi.setVisibleIndicatorKeys(visibleIndicators);
+			saveGlobalIndicators(gi);
+		}
 		logger.info("Global indicators are saved into the database"); //$NON-NLS-1$
 	}
 
@@ -208,29 +243,45 @@ public class GlobalIndicatorsService extends AbstractService {
 	 * @return the map from the indicator keys to the values.
 	 */
 	public List<Pair<? extends Indicator, Number>> getVisibleIndicatorsWithValues(ResearchOrganization organization, boolean useCache, Logger logger) {
-		final var gi = getGlobalIndicatorsNeverNull(logger);
+		final var indicators = getVisibleIndicators(logger);
 		if (useCache) {
+			final var gi = getGlobalIndicatorsNeverNull(logger);
+			final var organizationId = organization.getId();
 			final Map<String, Number> cache;
-			if (gi.getCacheAge() > MAX_CACHE_AGE) {
-				gi.resetCachedValues();
-				cache = Collections.emptyMap();
-			} else {
-				cache = gi.getCachedValues();
+			synchronized (this) {
+				if (gi.getCacheAge() > MAX_CACHE_AGE) {
+					gi.resetCachedValues();
+					cache = Collections.emptyMap();
+				} else {
+					cache = new HashMap<>(gi.getCachedValues(organizationId));
+				}
 			}
-			assert cache != null;
-			return getVisibleIndicatorStream(logger)
-				.map(it -> {
-					var value = cache.get(it.getKey());
-					if (value == null) {
-						value = it.getNumericValue(organization, logger);
-						gi.setCachedValues(it.getKey(), value);
-						this.indicatorRepository.save(gi);
-					}
-					return Pair.of(it, value);
-				})
-				.collect(Collectors.toList());
+			// The values are computed sequentially because the indicators walk the lazy collections of the entities,
+			// and the Hibernate session is not thread-safe
+			final var computedValues = indicators.stream()
+					.filter(it -> cache.get(it.getKey()) == null)
+					.map(it -> Pair.of(it.getKey(), it.getNumericValue(organization, logger)))
+					.filter(it -> it.getValue() != null)
+					.collect(Collectors.toMap(it -> it.getKey(), it -> it.getValue()));
+			// Write the new values in the database at once
+			if (!computedValues.isEmpty()) {
+				synchronized (this) {
+					final var current = getGlobalIndicatorsNeverNull(logger);
+					current.setCachedValues(organizationId, computedValues);
+					saveGlobalIndicators(current);
+				}
+			}
+			return indicators.stream()
+					.map(it -> {
+						var value = cache.get(it.getKey());
+						if (value == null) {
+							value = computedValues.get(it.getKey());
+						}
+						return Pair.of(it, value);
+					})
+					.collect(Collectors.toList());
 		}
-		return getVisibleIndicatorStream(logger)
+		return indicators.stream()
 				.map(it -> Pair.of(it, it.getNumericValue(organization, logger)))
 				.collect(Collectors.toList());
 	}
@@ -240,11 +291,13 @@ public class GlobalIndicatorsService extends AbstractService {
 	 * @param logger the logger to be used.
 	 */
 	public void clearCache(Logger logger) {
-		final var gi = getGlobalIndicatorsOrNull();
-		if (gi != null) {
-			gi.resetCachedValues();
-			this.indicatorRepository.save(gi);
-			logger.info("Global indicators have been cleared from the database"); //$NON-NLS-1$
+		synchronized (this) {
+			final var gi = getGlobalIndicatorsOrNull();
+			if (gi != null) {
+				gi.resetCachedValues();
+				saveGlobalIndicators(gi);
+				logger.info("Global indicators have been cleared from the database"); //$NON-NLS-1$
+			}
 		}
 	}
 
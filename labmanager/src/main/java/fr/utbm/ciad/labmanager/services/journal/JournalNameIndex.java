@@ -0,0 +1,94 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.journal;
+
+import java.util.List;
+
+import fr.utbm.ciad.labmanager.data.journal.Journal;
+import fr.utbm.ciad.labmanager.data.journal.JournalRepository;
+import fr.utbm.ciad.labmanager.services.AbstractVenueNameIndex;
+import fr.utbm.ciad.labmanager.utils.names.JournalNameOrPublisherComparator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/** In-memory index of the names and publishers of the journals that is used for searching the journals
+ * with similar names or publishers without loading all the journals from the database for each search.
+ * The similarity between the journals is computed by the {@link JournalNameOrPublisherComparator}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Component
+public class JournalNameIndex extends AbstractVenueNameIndex<Journal> {
+
+	private static final long serialVersionUID = 7506229170524361428L;
+
+	private final JournalRepository journalRepository;
+
+	private final JournalNameOrPublisherComparator nameComparator;
+
+	/** Constructor.
+	 *
+	 * @param journalRepository the repository of the journals.
+	 * @param nameComparator the comparator of the journal names and publishers.
+	 */
+	public JournalNameIndex(
+			@Autowired JournalRepository journalRepository,
+			@Autowired JournalNameOrPublisherComparator nameComparator) {
+		super(nameComparator.getStringSimilarityComputer(), nameComparator.getSimilarityLevel());
+		this.journalRepository = journalRepository;
+		this.nameComparator = nameComparator;
+	}
+
+	@Override
+	protected List<Object[]> loadNames() {
+		return this.journalRepository.findAllIdentifiersAndNames();
+	}
+
+	@Override
+	protected String getName(Journal venue) {
+		return venue.getJournalName();
+	}
+
+	@Override
+	protected String getSecondaryName(Journal venue) {
+		return venue.getPublisher();
+	}
+
+	@Override
+	protected boolean isSimilar(String name1, String secondaryName1, String name2, String secondaryName2) {
+		return this.nameComparator.isSimilar(name1, secondaryName1, name2, secondaryName2);
+	}
+
+	/** Replies the identifier of a journal with a name or a publisher similar to the given ones.
+	 * If there is multiple journals with similar names, the one with the lowest identifier is replied.
+	 *
+	 * @param name the name of the journal.
+	 * @param publisher the name of the journal publisher.
+	 * @return the identifier of the journal, or {@code 0} if no journal is similar.
+	 */
+	public long getJournalIdBySimilarNameAndPublisher(String name, String publisher) {
+		return getIdBySimilarNames(name, publisher);
+	}
+
+}
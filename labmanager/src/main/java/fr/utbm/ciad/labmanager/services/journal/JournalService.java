@@ -48,11 +48,11 @@ import fr.utbm.ciad.labmanager.data.publication.type.JournalPaperRepository;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
 import fr.utbm.ciad.labmanager.services.DeletionStatus;
 import fr.utbm.ciad.labmanager.utils.HasAsynchronousUploadService;
+import fr.utbm.ciad.labmanager.utils.io.RankingFetchPipeline;
 import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
 import fr.utbm.ciad.labmanager.utils.io.network.NetConnection;
 import fr.utbm.ciad.labmanager.utils.io.scimago.ScimagoPlatform;
 import fr.utbm.ciad.labmanager.utils.io.wos.WebOfSciencePlatform;
-import fr.utbm.ciad.labmanager.utils.names.JournalNameOrPublisherComparator;
 import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
 import org.arakhne.afc.progress.DefaultProgression;
 import org.arakhne.afc.progress.Progression;
@@ -91,12 +91,14 @@ public class JournalService extends AbstractEntityService<Journal> {
 
 	private final NetConnection netConnection;
 
-	private final JournalNameOrPublisherComparator journalNameAndPublisherComparator;
+	private final JournalNameIndex nameIndex;
 
 	private final ScimagoPlatform scimago;
 
 	private final WebOfSciencePlatform wos;
 
+	private final RankingFetchPipeline fetchPipeline;
+
 	/** Constructor for injector.
 	 * This constructor is defined for being invoked by the IOC injector.
 	 *
@@ -106,7 +108,8 @@ public class JournalService extends AbstractEntityService<Journal> {
 	 * @param scimago the reference to the tool for accessing to the Scimago platform.
 	 * @param wos the reference to the tool for accessing to the Web-of-Science platform.
 	 * @param netConnection the tools for accessing the network.
-	 * @param journalNameAndPublisherComparator a comparator this is able to detect similarity between journals basedx on their names and publishers.
+	 * @param nameIndex the index of the journal names that is used for searching for similar journals.
+	 * @param fetchPipeline the pipeline for fetching the rankings from the online platforms.
 	 * @param messages the provider of localized messages.
 	 * @param constants the accessor to the live constants.
 	 * @param sessionFactory the Hibernate session factory.
@@ -118,7 +121,8 @@ public class JournalService extends AbstractEntityService<Journal> {
 			@Autowired ScimagoPlatform scimago,
 			@Autowired WebOfSciencePlatform wos,
 			@Autowired NetConnection netConnection,
-			@Autowired JournalNameOrPublisherComparator journalNameAndPublisherComparator,
+			@Autowired JournalNameIndex nameIndex,
+			@Autowired RankingFetchPipeline fetchPipeline,
 			@Autowired MessageSourceAccessor messages,
 			@Autowired ConfigurationConstants constants,
 			@Autowired SessionFactory sessionFactory) {
@@ -129,7 +133,8 @@ public class JournalService extends AbstractEntityService<Journal> {
 		this.scimago = scimago;
 		this.wos = wos;
 		this.netConnection = netConnection;
-		this.journalNameAndPublisherComparator = journalNameAndPublisherComparator;
+		this.nameIndex = nameIndex;
+		this.fetchPipeline = fetchPipeline;
 	}
 
 	/** Save the given journal or create a JPA entity if the given object is a fake.
@@ -147,6 +152,8 @@ public class JournalService extends AbstractEntityService<Journal> {
 				sjournal = new Journal(sjournal);
 			}
 			this.journalRepository.save(sjournal);
+			final var savedJournal = sjournal;
+			afterCommit(() -> this.nameIndex.update(savedJournal));
 			logger.info("Saved journal: " + journal); //$NON-NLS-1$
 		}
 		return sjournal;
@@ -285,10 +292,9 @@ public class JournalService extends AbstractEntityService<Journal> {
 	 */
 	public Optional<Journal> getJournalBySimilarNameAndSimilarPublisher(String name, String publisher) {
 		if (!Strings.isNullOrEmpty(name) || !Strings.isNullOrEmpty(publisher)) {
-			for (final var journal : this.journalRepository.findAll()) {
-				if (this.journalNameAndPublisherComparator.isSimilar(name, publisher, journal.getJournalName(), journal.getPublisher())) {
-					return Optional.of(journal);
-				}
+			final var id = this.nameIndex.getJournalIdBySimilarNameAndPublisher(name, publisher);
+			if (id != 0) {
+				return this.journalRepository.findById(Long.valueOf(id));
 			}
 		}
 		return Optional.empty();
@@ -328,6 +334,7 @@ public class JournalService extends AbstractEntityService<Journal> {
 		res.setWosCategory(wosCategory);
 		res.setValidated(validated);
 		this.journalRepository.save(res);
+		afterCommit(() -> this.nameIndex.update(res));
 		return res;
 	}
 
@@ -349,6 +356,7 @@ public class JournalService extends AbstractEntityService<Journal> {
 				throw new AttachedJournalPaperException();
 			}
 			this.journalRepository.deleteById(id);
+			afterCommit(() -> this.nameIndex.remove(identifier));
 		}
 	}
 
@@ -393,6 +401,7 @@ public class JournalService extends AbstractEntityService<Journal> {
 				journal.setWosCategory(Strings.emptyToNull(wosCategory));
 				journal.setValidated(validated);
 				this.journalRepository.save(journal);
+				afterCommit(() -> this.nameIndex.update(journal));
 				return journal; 
 			}
 		}
@@ -599,6 +608,9 @@ public class JournalService extends AbstractEntityService<Journal> {
 	/** Download the journal indicators for the given reference year for the Scimago platform.
 	 * This function uses the {@link ScimagoPlatform} tool for downloading the CSV file from the Scimago
 	 * website.
+	 * The CSV file is downloaded once before the journals are processed. The indicators of the journals
+	 * are then extracted from the in-memory table by the {@link RankingFetchPipeline} without rate limit,
+	 * because no request is sent to the Scimago website for each journal.
 	 *
 	 * @param referenceYear the reference year.
 	 * @param journals the list of journals for which the indicators should be downloaded.
@@ -613,39 +625,53 @@ public class JournalService extends AbstractEntityService<Journal> {
 			Progression progress, JournalRankingConsumer consumer) throws Exception {
 		logger.info("Downloading the journals' ranking indicators from Scimago for year " + referenceYear); //$NON-NLS-1$
 		final var progress0 = progress == null ? new DefaultProgression() : progress; 
-		progress0.setProperties(0, 0, journals.size() * 2, false);
+		progress0.setProperties(0, 0, journals.size(), false);
+		final var rankedJournals = new ArrayList<Journal>(journals.size());
 		for (final var journal : journals) {
-			logger.info("Downloading the Scimago indicators for journal " + journal.getJournalName()); //$NON-NLS-1$
-			progress0.setComment(journal.getJournalName());
 			if (!Strings.isNullOrEmpty(journal.getScimagoId())) {
-				final var scientificField = ScimagoPlatform.formatCategory(journal.getScimagoCategory());
-				final var lastScimagoQuartile = journal.getScimagoQIndexByYear(referenceYear);
-				final var rankings = this.scimago.getJournalRanking(referenceYear, journal.getScimagoId(), progress0.subTask(1));
-				progress0.ensureNoSubTask();
-				if (rankings != null) {
-					QuartileRanking q = null;
-					if (!Strings.isNullOrEmpty(scientificField)) {
-						q = rankings.get(scientificField);
-					}
-					if (q == null) {
-						final var availableQuartiles = rankings.entrySet().stream().filter(it -> !ScimagoPlatform.BEST.equals(it.getKey())).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-						consumer.consume(referenceYear, journal.getId(), scientificField, lastScimagoQuartile, availableQuartiles);
-					} else {
-						consumer.consume(referenceYear, journal.getId(), scientificField, lastScimagoQuartile, Collections.singletonMap(scientificField, q));
-					}
-				} else {
-					consumer.consume(referenceYear, journal.getId(), scientificField, lastScimagoQuartile, Collections.emptyMap());
-				}
-				progress0.increment();
+				rankedJournals.add(journal);
 			} else {
-				progress0.subTask(2);
+				progress0.increment();
 			}
 		}
+		if (rankedJournals.isEmpty()) {
+			progress0.end();
+			return;
+		}
+		final var allRankings = this.scimago.getJournalRanking(referenceYear, null);
+		this.fetchPipeline.fetch(rankedJournals,
+				null,
+				(journal, fetchProgress) -> {
+					logger.info("Extracting the Scimago indicators for journal " + journal.getJournalName()); //$NON-NLS-1$
+					final var rankings = allRankings.get(journal.getScimagoId());
+					return rankings == null ? Collections.<String, QuartileRanking>emptyMap() : Collections.unmodifiableMap(rankings);
+				},
+				logger, progress0,
+				(journal, rankings) -> {
+					progress0.setComment(journal.getJournalName());
+					final var scientificField = ScimagoPlatform.formatCategory(journal.getScimagoCategory());
+					final var lastScimagoQuartile = journal.getScimagoQIndexByYear(referenceYear);
+					if (rankings != null) {
+						QuartileRanking q = null;
+						if (!Strings.isNullOrEmpty(scientificField)) {
+							q = rankings.get(scientificField);
+						}
+						if (q == null) {
+							final var availableQuartiles = rankings.entrySet().stream().filter(it -> !ScimagoPlatform.BEST.equals(it.getKey())).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+							consumer.consume(referenceYear, journal.getId(), scientificField, lastScimagoQuartile, availableQuartiles);
+						} else {
+							consumer.consume(referenceYear, journal.getId(), scientificField, lastScimagoQuartile, Collections.singletonMap(scientificField, q));
+						}
+					} else {
+						consumer.consume(referenceYear, journal.getId(), scientificField, lastScimagoQuartile, Collections.emptyMap());
+					}
+				});
 		progress0.end();
 	}
 
 	/** Download the journal indicators for the given reference year for the WoS platform.
 	 * This function uses the {@link WosPlatform} tool for downloading the indicators.
+	 * The indicators of several journals are downloaded in parallel by the {@link RankingFetchPipeline}.
 	 *
 	 * @param referenceYear the reference year.
 	 * @param journals the list of journals for which the indicators should be downloaded.
@@ -660,36 +686,43 @@ public class JournalService extends AbstractEntityService<Journal> {
 			Progression progress, JournalRankingConsumer2 consumer) throws Exception {
 		logger.info("Downloading the journals' ranking indicators from Web-of-Science for year " + referenceYear); //$NON-NLS-1$
 		final var progress0 = progress == null ? new DefaultProgression() : progress; 
-		progress0.setProperties(0, 0, journals.size() * 2, false);
+		progress0.setProperties(0, 0, journals.size(), false);
+		final var rankedJournals = new ArrayList<Journal>(journals.size());
 		for (final var journal : journals) {
-			progress0.setComment(journal.getJournalName());
 			if (!Strings.isNullOrEmpty(journal.getWosId())) {
-				logger.info("Downloading the WoS indicators for journal " + journal.getJournalName()); //$NON-NLS-1$
-				final var scientificField = WebOfSciencePlatform.formatCategory(journal.getWosCategory());
-				final var lastWosQuartile = journal.getWosQIndexByYear(referenceYear);
-				final var lastImpactFactor = journal.getImpactFactorByYear(referenceYear);
-				final var rankings = this.wos.getJournalRanking(journal.getWosId(), progress0.subTask(1));
-				progress0.ensureNoSubTask();
-				if (rankings != null) {
-					final var currentImpactFactor = rankings.impactFactor;
-					QuartileRanking q = null;
-					if (!Strings.isNullOrEmpty(scientificField)) {
-						q = rankings.quartiles.get(scientificField);
-					}
-					if (q == null) {
-						final var availableQuartiles = rankings.quartiles.entrySet().stream().filter(it -> !ScimagoPlatform.BEST.equals(it.getKey())).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-						consumer.consume(referenceYear, journal.getId(), scientificField, lastWosQuartile, availableQuartiles, lastImpactFactor, currentImpactFactor);
-					} else {
-						consumer.consume(referenceYear, journal.getId(), scientificField, lastWosQuartile, Collections.singletonMap(scientificField, q), lastImpactFactor, currentImpactFactor);
-					}
-				} else {
-					consumer.consume(referenceYear, journal.getId(), scientificField, lastWosQuartile, Collections.emptyMap(), lastImpactFactor, 0f);
-				}
-				progress0.increment();
+				rankedJournals.add(journal);
 			} else {
-				progress0.subTask(2);
+				progress0.increment();
 			}
 		}
+		this.fetchPipeline.fetch(rankedJournals,
+				it -> WebOfSciencePlatform.class.getName(),
+				(journal, fetchProgress) -> {
+					logger.info("Downloading the WoS indicators for journal " + journal.getJournalName()); //$NON-NLS-1$
+					return this.wos.getJournalRanking(journal.getWosId(), fetchProgress);
+				},
+				logger, progress0,
+				(journal, rankings) -> {
+					progress0.setComment(journal.getJournalName());
+					final var scientificField = WebOfSciencePlatform.formatCategory(journal.getWosCategory());
+					final var lastWosQuartile = journal.getWosQIndexByYear(referenceYear);
+					final var lastImpactFactor = journal.getImpactFactorByYear(referenceYear);
+					if (rankings != null) {
+						final var currentImpactFactor = rankings.impactFactor;
+						QuartileRanking q = null;
+						if (!Strings.isNullOrEmpty(scientificField)) {
+							q = rankings.quartiles.get(scientificField);
+						}
+						if (q == null) {
+							final var availableQuartiles = rankings.quartiles.entrySet().stream().filter(it -> !ScimagoPlatform.BEST.equals(it.getKey())).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+							consumer.consume(referenceYear, journal.getId(), scientificField, lastWosQuartile, availableQuartiles, lastImpactFactor, currentImpactFactor);
+						} else {
+							consumer.consume(referenceYear, journal.getId(), scientificField, lastWosQuartile, Collections.singletonMap(scientificField, q), lastImpactFactor, currentImpactFactor);
+						}
+					} else {
+						consumer.consume(referenceYear, journal.getId(), scientificField, lastWosQuartile, Collections.emptyMap(), lastImpactFactor, 0f);
+					}
+				});
 		progress0.end();
 	}
 
@@ -748,6 +781,8 @@ public class JournalService extends AbstractEntityService<Journal> {
 		final var progress0 = progress == null ? new DefaultProgression() : progress; 
 		final var journals = this.journalRepository.findAll();
 		progress0.setProperties(0, 0, journals.size(), false);
+		// The CSV stream is read once for all the journals
+		final var wosRankings = wosCsv == null ? null : this.wos.getJournalRanking(referenceYear, wosCsv, null);
 		final var mapper = JsonUtils.createMapper();
 		final var root = new ObjectNode(mapper.getNodeFactory());
 		final var dataNode = root.putArray("data"); //$NON-NLS-1$
@@ -797,9 +832,9 @@ public class JournalService extends AbstractEntityService<Journal> {
 				}
 			}
 			// Read updates from the Web-of-Science provider
-			if (wosCsv != null && !Strings.isNullOrEmpty(journal.getISSN())) {
+			if (wosRankings != null && !Strings.isNullOrEmpty(journal.getISSN())) {
 				final var wosNode = journalNode.objectNode();
-				final var rankings = this.wos.getJournalRanking(referenceYear, wosCsv, journal.getISSN(), null);
+				final var rankings = wosRankings.get(this.wos.normalizeIssn(journal.getISSN()));
 				if (rankings != null) {
 					if (rankings.impactFactor > 0f) {
 						journalNode.put("impactFactor", rankings.impactFactor); //$NON-NLS-1$
@@ -993,6 +1028,8 @@ public class JournalService extends AbstractEntityService<Journal> {
 		@Override
 		public void save(HasAsynchronousUploadService... components) throws IOException {
 			this.entity = JournalService.this.journalRepository.save(this.entity);
+			final var savedJournal = this.entity;
+			afterCommit(() -> JournalService.this.nameIndex.update(savedJournal));
 			getLogger().info("Saved journal: " + this.entity); //$NON-NLS-1$
 		}
 
@@ -1049,6 +1086,12 @@ public class JournalService extends AbstractEntityService<Journal> {
 			}
 			//
 			JournalService.this.journalRepository.deleteAllById(identifiers);
+			final var deletedIdentifiers = new ArrayList<>(identifiers);
+			afterCommit(() -> {
+				for (final var identifier : deletedIdentifiers) {
+					JournalService.this.nameIndex.remove(identifier.longValue());
+				}
+			});
 			getLogger().info("Deleted journals: " + identifiers); //$NON-NLS-1$
 		}
 
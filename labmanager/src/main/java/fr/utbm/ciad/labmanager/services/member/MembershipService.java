@@ -25,9 +25,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -39,6 +37,7 @@ import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import com.vaadin.flow.internal.LocaleUtil;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorCache;
 import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.member.MemberStatus;
 import fr.utbm.ciad.labmanager.data.member.Membership;
@@ -52,6 +51,8 @@ import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
 import fr.utbm.ciad.labmanager.data.scientificaxis.ScientificAxis;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
 import fr.utbm.ciad.labmanager.services.DeletionStatus;
+import fr.utbm.ciad.labmanager.services.organization.OrganizationHierarchyIndex;
+import fr.utbm.ciad.labmanager.services.publication.PublicationCountCache;
 import fr.utbm.ciad.labmanager.utils.HasAsynchronousUploadService;
 import fr.utbm.ciad.labmanager.utils.bap.FrenchBap;
 import fr.utbm.ciad.labmanager.utils.cnu.CnuSection;
@@ -90,12 +91,21 @@ public class MembershipService extends AbstractEntityService<Membership> {
 
 	private PersonRepository personRepository;
 
+	private IndicatorCache indicatorCache;
+
+	private PublicationCountCache countCache;
+
+	private OrganizationHierarchyIndex organizationHierarchy;
+
 	/** Constructor for injector.
 	 * This constructor is defined for being invoked by the IOC injector.
 	 *
 	 * @param organizationRepository the organization repository.
 	 * @param membershipRepository the membership repository.
 	 * @param personRepository the person repository.
+	 * @param indicatorCache the cache of the indicator values that must be invalidated when the memberships are changed.
+	 * @param countCache the cache of the publication counts that must be invalidated when the memberships are changed.
+	 * @param organizationHierarchy the index of the hierarchy of the organizations.
 	 * @param messages the provider of localized messages.
 	 * @param constants the accessor to the live constants.
 	 * @param sessionFactory the Hibernate session factory.
@@ -104,6 +114,9 @@ public class MembershipService extends AbstractEntityService<Membership> {
 			@Autowired ResearchOrganizationRepository organizationRepository,
 			@Autowired MembershipRepository membershipRepository,
 			@Autowired PersonRepository personRepository,
+			@Autowired IndicatorCache indicatorCache,
+			@Autowired PublicationCountCache countCache,
+			@Autowired OrganizationHierarchyIndex organizationHierarchy,
 			@Autowired MessageSourceAccessor messages,
 			@Autowired ConfigurationConstants constants,
 			@Autowired SessionFactory sessionFactory) {			
@@ -111,6 +124,27 @@ public class MembershipService extends AbstractEntityService<Membership> {
 		this.organizationRepository = organizationRepository;
 		this.membershipRepository = membershipRepository;
 		this.personRepository = personRepository;
+		this.indicatorCache = indicatorCache;
+		this.countCache = countCache;
+		this.organizationHierarchy = organizationHierarchy;
+	}
+
+	/** Invalidate the caches that depend on the memberships when the current transaction is committed.
+	 */
+	private void invalidateCaches() {
+		afterCommit(() -> {
+			this.indicatorCache.invalidateAll();
+			this.countCache.invalidateAll();
+		});
+	}
+
+	/** Replies the index of the hierarchy of the organizations.
+	 *
+	 * @return the index.
+	 * @since 4.0
+	 */
+	public OrganizationHierarchyIndex getOrganizationHierarchy() {
+		return this.organizationHierarchy;
 	}
 
 	/** Replies the list of all the memberships.
@@ -305,6 +339,20 @@ public class MembershipService extends AbstractEntityService<Membership> {
 		return this.membershipRepository.findByResearchOrganizationIdAndPersonId(organizationId, memberId);
 	}
 
+	/** Replies the memberships with the given organization that are active in the given time window.
+	 * The filtering is done by the database; the persons of the memberships are loaded.
+	 *
+	 * @param organizationId the identifier of the organization.
+	 * @param windowStart the start of the time window.
+	 * @param windowEnd the end of the time window.
+	 * @return the memberships, never {@code null}.
+	 * @since 4.0
+	 * @see Membership#isActiveIn(LocalDate, LocalDate)
+	 */
+	public List<Membership> getMembershipsActiveIn(long organizationId, LocalDate windowStart, LocalDate windowEnd) {
+		return this.membershipRepository.findAllActiveInOrganization(organizationId, windowStart, windowEnd);
+	}
+
 	/** Replies the membership of the given person.
 	 *
 	 * @param memberId the identifier of the person.
@@ -395,6 +443,7 @@ public class MembershipService extends AbstractEntityService<Membership> {
 				mem.setMainPosition(isMainPosition);
 				mem.setScientificAxes(axes);
 				this.membershipRepository.save(mem);
+				invalidateCaches();
 				return Pair.of(mem, Boolean.TRUE);
 			}
 			throw new IllegalArgumentException("Person not found with id: " + personId); //$NON-NLS-1$
@@ -466,6 +515,7 @@ public class MembershipService extends AbstractEntityService<Membership> {
 			membership.setMainPosition(isMainPosition);
 			membership.setScientificAxes(axes);
 			this.membershipRepository.save(membership);
+			invalidateCaches();
 			return membership;
 		}
 		throw new IllegalArgumentException("Cannot find membership with id: " + membershipId); //$NON-NLS-1$
@@ -498,6 +548,7 @@ public class MembershipService extends AbstractEntityService<Membership> {
 		}
 		mbr.setScientificAxes(null);
 		this.membershipRepository.deleteById(mid);
+		invalidateCaches();
 	}
 
 	/** Replies the persons in the organization of the given identifier.
@@ -522,24 +573,11 @@ public class MembershipService extends AbstractEntityService<Membership> {
 	 * @see #getDirectMembersOf(long)
 	 */
 	public Set<Person> getMembersOf(long organizationId) {
-		final var optOrg = this.organizationRepository.findById(Long.valueOf(organizationId));
-		if (optOrg.isPresent()) {
-			final var organization = optOrg.get();
-
-			final var persons = new HashSet<Person>();
-
-			final var organizationCandidates = new LinkedList<ResearchOrganization>();
-			organizationCandidates.add(organization);
-
-			do {
-				final var currentOrganization = organizationCandidates.removeFirst();
-				persons.addAll(getDirectMembersOf(currentOrganization.getId()));
-				organizationCandidates.addAll(currentOrganization.getSubOrganizations());
-			} while (!organizationCandidates.isEmpty());
-
-			return persons;
+		final var organizations = this.organizationHierarchy.getOrganizationAndSubOrganizations(organizationId);
+		if (organizations.isEmpty()) {
+			return Collections.emptySet();
 		}
-		return Collections.emptySet();
+		return this.personRepository.findDistinctByMembershipsResearchOrganizationIdIn(organizations);
 	}
 
 	/** Replies the persons in the organization of the given name, with the given status.
@@ -717,6 +755,7 @@ public class MembershipService extends AbstractEntityService<Membership> {
 		@Override
 		public void save(HasAsynchronousUploadService... components) throws IOException {
 			this.entity = MembershipService.this.membershipRepository.save(this.entity);
+			MembershipService.this.invalidateCaches();
 			getLogger().info("Saved organization membership: " + this.entity); //$NON-NLS-1$
 		}
 
@@ -761,6 +800,7 @@ public class MembershipService extends AbstractEntityService<Membership> {
 		@Override
 		protected void deleteEntities(Collection<Long> identifiers) throws Exception {
 			MembershipService.this.membershipRepository.deleteAllById(identifiers);
+			MembershipService.this.invalidateCaches();
 			getLogger().info("Deleted organization memberships: " + identifiers); //$NON-NLS-1$
 		}
 
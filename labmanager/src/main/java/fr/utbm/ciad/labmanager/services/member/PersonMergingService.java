@@ -23,10 +23,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Set;
 import java.util.TreeSet;
 
+import com.google.common.base.Strings;
 import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.EntityUtils;
 import fr.utbm.ciad.labmanager.data.assostructure.AssociatedStructureHolder;
@@ -41,7 +41,9 @@ import fr.utbm.ciad.labmanager.services.AbstractService;
 import fr.utbm.ciad.labmanager.services.invitation.PersonInvitationService;
 import fr.utbm.ciad.labmanager.services.jury.JuryMembershipService;
 import fr.utbm.ciad.labmanager.services.supervision.SupervisionService;
+import fr.utbm.ciad.labmanager.utils.names.BlockingDuplicateDetector;
 import fr.utbm.ciad.labmanager.utils.names.PersonNameComparator;
+import fr.utbm.ciad.labmanager.utils.names.PersonNameParser;
 import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -81,6 +83,8 @@ public class PersonMergingService extends AbstractService {
 
 	private PersonNameComparator nameComparator;
 
+	private PersonNameParser nameParser;
+
 	/** Constructor for injector.
 	 * This constructor is defined for being invoked by the IOC injector.
 	 *
@@ -94,6 +98,7 @@ public class PersonMergingService extends AbstractService {
 	 * @param projectMemberRepository the repository for accessing the project members.
 	 * @param structureHolderRepository the repository for accessing the structure holders.
 	 * @param nameComparator the comparator of person names.
+	 * @param nameParser the parser of person names.
 	 * @param messages the provider of localized messages.
 	 * @param constants the accessor to the live constants.
 	 * @param sessionFactory the factory of JPA session.
@@ -109,6 +114,7 @@ public class PersonMergingService extends AbstractService {
 			@Autowired ProjectMemberRepository projectMemberRepository,
 			@Autowired AssociatedStructureHolderRepository structureHolderRepository,
 			@Autowired PersonNameComparator nameComparator,
+			@Autowired PersonNameParser nameParser,
 			@Autowired MessageSourceAccessor messages,
 			@Autowired ConfigurationConstants constants,
 			@Autowired SessionFactory sessionFactory) {
@@ -123,6 +129,7 @@ public class PersonMergingService extends AbstractService {
 		this.projectMemberRepository = projectMemberRepository;
 		this.structureHolderRepository = structureHolderRepository;
 		this.nameComparator = nameComparator;
+		this.nameParser = nameParser;
 	}
 
 	/** Replies the duplicate person names.
@@ -135,50 +142,59 @@ public class PersonMergingService extends AbstractService {
 	 * @throws Exception if a problem occurred during the building.
 	 */
 	public List<Set<Person>> getPersonDuplicates(Comparator<? super Person> comparator, PersonDuplicateCallback callback) throws Exception {
-		// Each list represents a group of authors that could be duplicate
-		final var matchingAuthors = new ArrayList<Set<Person>>();
-
-		// Copy the list of authors into another list in order to enable its
-		// modification during the function's process
+		// Copy the list of authors into another list in order to have a stable order during the function's process
 		final var authorsList = new ArrayList<>(this.personRepository.findAll());
 
 		final Comparator<? super Person> theComparator = comparator == null ? EntityUtils.getPreferredPersonComparator() : comparator;
 
-		final var total = authorsList.size();
-		// Notify the callback
-		if (callback != null) {
-			callback.onDuplicate(0, 0, total);
-		}
-		var duplicateCount = 0;
-		
-		for (var i = 0; i < authorsList.size() - 1; ++i) {
-			final var referencePerson = authorsList.get(i);
-
-			final var currentMatching = new TreeSet<Person>(theComparator);
-			currentMatching.add(referencePerson);
-
-			final ListIterator<Person> iterator2 = authorsList.listIterator(i + 1);
-			while (iterator2.hasNext()) {
-				final var otherPerson = iterator2.next();
-				if (this.nameComparator.isSimilar(
+		// The persons are grouped into blocks of persons with names that share enough shingles
+		// for being similar. Only the persons within the same block are compared.
+		final var candidates = BlockingDuplicateDetector.newShingleBlocking(authorsList,
+				this::getNameBlockingKeys,
+				this.nameComparator.getStringSimilarityComputer(),
+				this.nameComparator.getSimilarityLevel());
+
+		final var detector = new BlockingDuplicateDetector<Person>();
+		return detector.getDuplicates(authorsList, candidates,
+				(referencePerson, otherPerson) -> this.nameComparator.isSimilar(
 						referencePerson.getFirstName(), referencePerson.getLastName(),
-						otherPerson.getFirstName(), otherPerson.getLastName())) {
-					currentMatching.add(otherPerson);
-					++duplicateCount;
-					// Consume the other person to avoid to be treated twice times
-					iterator2.remove();
-				}
-			}
-			if (currentMatching.size() > 1) {
-				matchingAuthors.add(currentMatching);
-			}
-			// Notify the callback
-			if (callback != null) {
-				callback.onDuplicate(i, duplicateCount, total);
-			}
-		}
+						otherPerson.getFirstName(), otherPerson.getLastName()),
+				theComparator,
+				callback == null ? null : new BlockingDuplicateDetector.DuplicateCallback<>() {
+					@Override
+					public void onDuplicate(int index, int duplicateCount, int total, Set<Person> group) throws Exception {
+						callback.onDuplicate(index, duplicateCount, total);
+					}
 
-		return matchingAuthors;
+					@Override
+					public void onComparisonProgress(int comparedCount, int total) throws Exception {
+						callback.onComparisonProgress(comparedCount, total);
+					}
+				});
+	}
+
+	/** Replies the keys that are used for blocking the person during the search of duplicates.
+	 * The keys are all the normalized names and the short names that are compared by
+	 * the {@link PersonNameComparator}. A {@code null} key is added when one of the names is empty,
+	 * because an empty name is assumed to be similar to any name.
+	 *
+	 * @param person the person.
+	 * @return the keys of the person.
+	 */
+	private Collection<String> getNameBlockingKeys(Person person) {
+		final var keys = new ArrayList<String>();
+		final var first = this.nameParser.normalizeName(person.getFirstName());
+		final var last = this.nameParser.normalizeName(person.getLastName());
+		final var firsts = this.nameParser.getNormalizedNamesFor(person.getFirstName(), true, true);
+		final var lasts = this.nameParser.getNormalizedNamesFor(person.getLastName(), true, false);
+		if (Strings.isNullOrEmpty(first) || Strings.isNullOrEmpty(last) || firsts.isEmpty() || lasts.isEmpty()) {
+			keys.add(null);
+		}
+		keys.add(first);
+		keys.add(last);
+		keys.addAll(firsts);
+		keys.addAll(lasts);
+		return keys;
 	}
 
 	/** Merge the persons and authorships by replacing those with an old author name by those with the new author name.
@@ -450,6 +466,19 @@ public class PersonMergingService extends AbstractService {
 		 */
 		void onDuplicate(int index, int duplicateCount, int total) throws Exception;
 
+		/** Invoked periodically while the persons are compared in parallel, before the first invocation
+		 * of {@link #onDuplicate(int, int, int)}.
+		 *
+		 * @param comparedCount the number of persons that were already compared to the other persons.
+		 * @param total the total number of persons in the list.
+		 * @throws Exception if there is an error during the callback treatment. This exception is forwarded to the
+		 *     caller of the function that has invoked this callback.
+		 * @since 4.0
+		 */
+		default void onComparisonProgress(int comparedCount, int total) throws Exception {
+			//
+		}
+
 	}
 
 }
@@ -0,0 +1,264 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.member;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.google.common.base.Strings;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.member.PersonRepository;
+import fr.utbm.ciad.labmanager.utils.names.NormalizedPersonName;
+import fr.utbm.ciad.labmanager.utils.names.PersonNameComparator;
+import fr.utbm.ciad.labmanager.utils.names.PersonNameParser;
+import fr.utbm.ciad.labmanager.utils.names.ShingleIndex;
+import info.debatty.java.stringsimilarity.Jaccard;
+import info.debatty.java.stringsimilarity.ShingleBased;
+import info.debatty.java.stringsimilarity.SorensenDice;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/** In-memory index of the names of the persons that is used for searching the persons with similar names
+ * without loading and parsing all the persons from the database for each search.
+ *
+ * <p>The normalized forms of the name of each person are computed once. The similarity of two names that is
+ * computed by {@link PersonNameComparator#isSimilar(NormalizedPersonName, NormalizedPersonName)} is the mean
+ * of the similarity of the first names and of the similarity of the last names, in the best order. When this mean
+ * is at least the similarity level {@code L}, the normalized first or last name of the searched person has
+ * a similarity of at least {@code 2L-1} with the normalized first or last name of the person. The normalized
+ * first and last names are then stored in {@link ShingleIndex shingle indexes} and only the persons that
+ * are candidates for this lower similarity level are tested, in the order of their identifiers. In this way,
+ * the replied person is the same as when testing all the persons, and a search without similar person does
+ * not test all the persons. If the string similarity computer of the comparator is not based on Jaccard or
+ * Sørensen–Dice shingles, all the persons are tested.
+ *
+ * <p>The index is lazily built from the database at the first search. It is kept up-to-date
+ * by the services when the changes of the persons are committed. If the database is changed
+ * without using these services, e.g. when a database dump is imported, the index must be
+ * invalidated with {@link #invalidate()}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Component
+public class PersonNameIndex implements Serializable {
+
+	private static final long serialVersionUID = -6052553963436327950L;
+
+	private final PersonRepository personRepository;
+
+	private final PersonNameParser nameParser;
+
+	private final PersonNameComparator nameComparator;
+
+	private final Map<Long, NormalizedPersonName> names = new TreeMap<>();
+
+	private final ShingleIndex firstNames;
+
+	private final ShingleIndex lastNames;
+
+	private final double blockingLevel;
+
+	private boolean initialized;
+
+	/** Constructor.
+	 *
+	 * @param personRepository the repository of the persons.
+	 * @param nameParser the parser of the person names.
+	 * @param nameComparator the comparator of the person names.
+	 */
+	public PersonNameIndex(
+			@Autowired PersonRepository personRepository,
+			@Autowired PersonNameParser nameParser,
+			@Autowired PersonNameComparator nameComparator) {
+		this.personRepository = personRepository;
+		this.nameParser = nameParser;
+		this.nameComparator = nameComparator;
+		final var similarityComputer = nameComparator.getStringSimilarityComputer();
+		if (similarityComputer instanceof Jaccard || similarityComputer instanceof SorensenDice) {
+			final var shingleSize = ((ShingleBased) similarityComputer).getK();
+			this.firstNames = new ShingleIndex(shingleSize);
+			this.lastNames = new ShingleIndex(shingleSize);
+			this.blockingLevel = 2.0 * nameComparator.getSimilarityLevel() - 1.0;
+		} else {
+			this.firstNames = null;
+			this.lastNames = null;
+			this.blockingLevel = 0.0;
+		}
+	}
+
+	private void ensureIndex() {
+		if (!this.initialized) {
+			clear();
+			for (final var row : this.personRepository.findAllIdentifiersAndNames()) {
+				put(((Number) row[0]).longValue(), (String) row[1], (String) row[2]);
+			}
+			this.initialized = true;
+		}
+	}
+
+	private void clear() {
+		this.names.clear();
+		if (this.firstNames != null) {
+			this.firstNames.clear();
+			this.lastNames.clear();
+		}
+	}
+
+	/** Replies the key of the given normalized name in the shingle indexes.
+	 * The shingle index removes the leading and trailing spaces, that may be part of the normalized names,
+	 * e.g., for {@code "J.-P."}, and that are part of the shingles that are compared by the similarity computer.
+	 * They are replaced in order to keep the same shingles. Because the normalized names contain only upper-case
+	 * ASCII characters, the other normalizations of the shingle index do not change the shingles.
+	 *
+	 * @param normalizedName the normalized name.
+	 * @return the key.
+	 */
+	private static String getBlockingKey(String normalizedName) {
+		return normalizedName == null ? null : normalizedName.replace(' ', '_');
+	}
+
+	private void put(long id, String firstName, String lastName) {
+		final var name = normalize(firstName, lastName);
+		this.names.put(Long.valueOf(id), name);
+		if (this.firstNames != null) {
+			this.firstNames.put(id, getBlockingKey(name.getNormalizedFirstName()));
+			this.lastNames.put(id, getBlockingKey(name.getNormalizedLastName()));
+		}
+	}
+
+	private void remove0(long id) {
+		this.names.remove(Long.valueOf(id));
+		if (this.firstNames != null) {
+			this.firstNames.remove(id);
+			this.lastNames.remove(id);
+		}
+	}
+
+	private Collection<Long> getCandidates(NormalizedPersonName name) {
+		if (this.firstNames == null || this.blockingLevel <= 0.0) {
+			return this.names.keySet();
+		}
+		final var candidates = new TreeSet<Long>();
+		for (final var normalizedName : new String[] {name.getNormalizedFirstName(), name.getNormalizedLastName()}) {
+			final var key = getBlockingKey(normalizedName);
+			candidates.addAll(this.firstNames.getCandidates(key, this.blockingLevel));
+			candidates.addAll(this.lastNames.getCandidates(key, this.blockingLevel));
+		}
+		return candidates;
+	}
+
+	/** Compute the normalized forms of the given name.
+	 *
+	 * @param firstName the first name.
+	 * @param lastName the last name.
+	 * @return the normalized name.
+	 */
+	public NormalizedPersonName normalize(String firstName, String lastName) {
+		return new NormalizedPersonName(firstName, lastName, this.nameParser);
+	}
+
+	/** Force the index to be rebuilt from the database at the next search.
+	 */
+	public synchronized void invalidate() {
+		this.initialized = false;
+		clear();
+	}
+
+	/** Update the index with the name of the given person.
+	 * This function does nothing if the index was not yet built, or if the person was not saved in the database.
+	 *
+	 * @param person the saved person.
+	 */
+	public synchronized void update(Person person) {
+		if (person != null && person.getId() != 0l && this.initialized) {
+			put(person.getId(), person.getFirstName(), person.getLastName());
+		}
+	}
+
+	/** Remove the person with the given identifier from the index.
+	 *
+	 * @param identifier the identifier of the deleted person.
+	 */
+	public synchronized void remove(long identifier) {
+		if (this.initialized) {
+			remove0(identifier);
+		}
+	}
+
+	/** Replies the identifier of a person with a name similar to the given name.
+	 * If there is multiple persons with similar names, the one with the lowest identifier is replied.
+	 *
+	 * @param firstName the first name of the person.
+	 * @param lastName the last name of the person.
+	 * @return the identifier of the person, or {@code 0} if no person has a similar name.
+	 */
+	public long getPersonIdBySimilarName(String firstName, String lastName) {
+		if (Strings.isNullOrEmpty(firstName) && Strings.isNullOrEmpty(lastName)) {
+			return 0;
+		}
+		return getPersonIdBySimilarName(normalize(firstName, lastName));
+	}
+
+	/** Replies the identifier of a person with a name similar to the given name.
+	 * If there is multiple persons with similar names, the one with the lowest identifier is replied.
+	 *
+	 * @param name the normalized name of the person.
+	 * @return the identifier of the person, or {@code 0} if no person has a similar name.
+	 */
+	public synchronized long getPersonIdBySimilarName(NormalizedPersonName name) {
+		ensureIndex();
+		for (final var candidate : getCandidates(name)) {
+			if (this.nameComparator.isSimilar(name, this.names.get(candidate))) {
+				return candidate.longValue();
+			}
+		}
+		return 0;
+	}
+
+	/** Replies the person, among the given persons, with a name similar to the given name.
+	 * The index is not used. This function is used for searching among the persons that were saved
+	 * in the current transaction, and that are added into the index only when this transaction is committed.
+	 *
+	 * @param persons the persons to test.
+	 * @param firstName the first name of the person.
+	 * @param lastName the last name of the person.
+	 * @return the first person with a similar name, or {@code null} if no person has a similar name.
+	 */
+	public Person getPersonBySimilarName(Collection<? extends Person> persons, String firstName, String lastName) {
+		if (persons.isEmpty() || (Strings.isNullOrEmpty(firstName) && Strings.isNullOrEmpty(lastName))) {
+			return null;
+		}
+		final var name = normalize(firstName, lastName);
+		for (final var person : persons) {
+			if (this.nameComparator.isSimilar(name, normalize(person.getFirstName(), person.getLastName()))) {
+				return person;
+			}
+		}
+		return null;
+	}
+
+}
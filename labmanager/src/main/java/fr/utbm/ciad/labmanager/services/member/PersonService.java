@@ -44,9 +44,11 @@ import fr.utbm.ciad.labmanager.data.member.WebPageNaming;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.data.publication.AuthorshipRepository;
 import fr.utbm.ciad.labmanager.data.publication.PublicationRepository;
+import fr.utbm.ciad.labmanager.security.AuthenticatedUser;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
 import fr.utbm.ciad.labmanager.services.DeletionStatus;
 import fr.utbm.ciad.labmanager.utils.HasAsynchronousUploadService;
+import fr.utbm.ciad.labmanager.utils.io.RankingFetchPipeline;
 import fr.utbm.ciad.labmanager.utils.io.gscholar.GoogleScholarPlatform;
 import fr.utbm.ciad.labmanager.utils.io.gscholar.GoogleScholarPlatform.GoogleScholarPerson;
 import fr.utbm.ciad.labmanager.utils.io.scopus.ScopusPlatform;
@@ -57,6 +59,7 @@ import fr.utbm.ciad.labmanager.utils.names.PersonNameComparator;
 import fr.utbm.ciad.labmanager.utils.names.PersonNameParser;
 import fr.utbm.ciad.labmanager.utils.phone.PhoneNumber;
 import org.apache.commons.lang3.mutable.MutableInt;
+import org.apache.commons.lang3.tuple.Pair;
 import org.arakhne.afc.progress.DefaultProgression;
 import org.arakhne.afc.progress.Progression;
 import org.hibernate.Hibernate;
@@ -100,6 +103,12 @@ public class PersonService extends AbstractEntityService<Person> {
 
 	private PersonNameComparator personNameComparator;
 
+	private PersonNameIndex nameIndex;
+
+	private RankingFetchPipeline fetchPipeline;
+
+	private AuthenticatedUser authenticatedUser;
+
 	/** Constructor for injector.
 	 * This constructor is defined for being invoked by the IOC injector.
 	 *
@@ -111,6 +120,9 @@ public class PersonService extends AbstractEntityService<Person> {
 	 * @param wosPlatfom the tool for accessing the remote WoS platform.
 	 * @param nameParser the parser of person names.
 	 * @param personNameComparator the comparator of person names.
+	 * @param nameIndex the index of the person names that is used for searching for similar names.
+	 * @param fetchPipeline the pipeline for fetching the indicators of the persons from the remote platforms.
+	 * @param authenticatedUser the accessor to the authenticated user that must be refreshed when the persons are changed.
 	 * @param structureService the service for accessing the associated structures.
 	 * @param invitationService the service for accessing the person invitations.
 	 * @param juryMembershipService the service for accessing the jury memberships.
@@ -131,6 +143,9 @@ public class PersonService extends AbstractEntityService<Person> {
 			@Autowired WebOfSciencePlatform wosPlatfom,
 			@Autowired PersonNameParser nameParser,
 			@Autowired PersonNameComparator personNameComparator,
+			@Autowired PersonNameIndex nameIndex,
+			@Autowired RankingFetchPipeline fetchPipeline,
+			@Autowired AuthenticatedUser authenticatedUser,
 			@Autowired MessageSourceAccessor messages,
 			@Autowired ConfigurationConstants constants,
 			@Autowired SessionFactory sessionFactory) {
@@ -143,6 +158,9 @@ public class PersonService extends AbstractEntityService<Person> {
 		this.wosPlatform = wosPlatfom;
 		this.nameParser = nameParser;
 		this.personNameComparator = personNameComparator;
+		this.nameIndex = nameIndex;
+		this.fetchPipeline = fetchPipeline;
+		this.authenticatedUser = authenticatedUser;
 	}
 
 	/** Replies the number of persons who are inside the database, whatever their organization.
@@ -366,12 +384,14 @@ public class PersonService extends AbstractEntityService<Person> {
 		res.setScopusCitations(scopusCitations);
 		res.setValidated(validated);
 		this.personRepository.save(res);
+		afterCommit(() -> this.nameIndex.update(res));
 		logger.info("Created person in database: " + res); //$NON-NLS-1$
 		return res;
 	}
 
 	/** Download the person indicators from the WoS platform.
 	 * This function uses the {@link WosPlatform} tool for downloading the indicators.
+	 * The indicators of several persons are downloaded in parallel by the {@link RankingFetchPipeline}.
 	 *
 	 * @param persons the list of persons for who the indicators should be downloaded.
 	 * @param logger the logger to be used.
@@ -382,40 +402,43 @@ public class PersonService extends AbstractEntityService<Person> {
 	 */
 	@Transactional(readOnly = true)
 	public void downloadPersonIndicatorsFromWoS(List<Person> persons, Logger logger,
-			Progression progress, PersonRankingConsumer consumer) {
+			Progression progress, PersonRankingConsumer consumer) throws Exception {
 		final var progress0 = progress == null ? new DefaultProgression() : progress; 
-		progress0.setProperties(0, 0, persons.size() * 2, false);
+		progress0.setProperties(0, 0, persons.size(), false);
+		final var rankedPersons = new ArrayList<Person>(persons.size());
 		for (final var person : persons) {
-			logger.info("Downloading the person's ranking indicators from WoS for: " + person); //$NON-NLS-1$
-			progress0.setComment(person.getFullName());
-			final var wosURL = person.getResearcherIdURL();
-			if (wosURL != null) {
-				final var lastHindex = person.getWosHindex();
-				final var lastCitations = person.getWosCitations();
-				WebOfSciencePerson rankings = null;
-				try {
-					rankings = this.wosPlatform.getPersonRanking(wosURL, progress0.subTask(1));
-				} catch (Throwable ex) {
-					rankings = null;
-				}
-				progress0.ensureNoSubTask();
-				if (rankings != null) {
-					final var currentHindex = rankings.hindex;
-					final var currentCitations = rankings.citations;
-					consumer.consume(person.getId(), lastHindex, currentHindex, lastCitations, currentCitations);
-				} else {
-					consumer.consume(person.getId(), lastHindex, 0, lastCitations, 0);
-				}
-				progress0.increment();
+			if (person.getResearcherIdURL() != null) {
+				rankedPersons.add(person);
 			} else {
-				progress0.subTask(2);
+				progress0.increment();
 			}
 		}
+		this.fetchPipeline.fetch(rankedPersons,
+				it -> it.getResearcherIdURL().getHost(),
+				(person, fetchProgress) -> {
+					logger.info("Downloading the person's ranking indicators from WoS for: " + person); //$NON-NLS-1$
+					return this.wosPlatform.getPersonRanking(person.getResearcherIdURL(), fetchProgress);
+				},
+				(person, error) -> null,
+				logger, progress0,
+				(person, rankings) -> {
+					progress0.setComment(person.getFullName());
+					final var lastHindex = person.getWosHindex();
+					final var lastCitations = person.getWosCitations();
+					if (rankings != null) {
+						final var currentHindex = rankings.hindex;
+						final var currentCitations = rankings.citations;
+						consumer.consume(person.getId(), lastHindex, currentHindex, lastCitations, currentCitations);
+					} else {
+						consumer.consume(person.getId(), lastHindex, 0, lastCitations, 0);
+					}
+				});
 		progress0.end();
 	}
 
 	/** Download the person indicators from the Scopus platform.
 	 * This function uses the {@link ScopusPlatform} tool for downloading the indicators.
+	 * The indicators of several persons are downloaded in parallel by the {@link RankingFetchPipeline}.
 	 *
 	 * @param persons the list of persons for who the indicators should be downloaded.
 	 * @param logger the logger to be used.
@@ -426,40 +449,43 @@ public class PersonService extends AbstractEntityService<Person> {
 	 */
 	@Transactional(readOnly = true)
 	public void downloadPersonIndicatorsFromScopus(List<Person> persons, Logger logger,
-			Progression progress, PersonRankingConsumer consumer) {
+			Progression progress, PersonRankingConsumer consumer) throws Exception {
 		final var progress0 = progress == null ? new DefaultProgression() : progress; 
-		progress0.setProperties(0, 0, persons.size() * 2, false);
+		progress0.setProperties(0, 0, persons.size(), false);
+		final var rankedPersons = new ArrayList<Person>(persons.size());
 		for (final var person : persons) {
-			logger.info("Downloading the person's ranking indicators from Scopus for: " + person); //$NON-NLS-1$
-			progress0.setComment(person.getFullName());
-			final var scopusId = person.getScopusId();
-			if (!Strings.isNullOrEmpty(scopusId)) {
-				final var lastHindex = person.getScopusHindex();
-				final var lastCitations = person.getScopusCitations();
-				ScopusPerson rankings = null;
-				try {
-					rankings = this.scopusPlatform.getPersonRanking(scopusId, progress0.subTask(1));
-				} catch (Throwable ex) {
-					rankings = null;
-				}
-				progress0.ensureNoSubTask();
-				if (rankings != null) {
-					final var currentHindex = rankings.hindex;
-					final var currentCitations = rankings.citations;
-					consumer.consume(person.getId(), lastHindex, currentHindex, lastCitations, currentCitations);
-				} else {
-					consumer.consume(person.getId(), lastHindex, 0, lastCitations, 0);
-				}
-				progress0.increment();
+			if (!Strings.isNullOrEmpty(person.getScopusId())) {
+				rankedPersons.add(person);
 			} else {
-				progress0.subTask(2);
+				progress0.increment();
 			}
 		}
+		this.fetchPipeline.fetch(rankedPersons,
+				it -> ScopusPlatform.class.getName(),
+				(person, fetchProgress) -> {
+					logger.info("Downloading the person's ranking indicators from Scopus for: " + person); //$NON-NLS-1$
+					return this.scopusPlatform.getPersonRanking(person.getScopusId(), fetchProgress);
+				},
+				(person, error) -> null,
+				logger, progress0,
+				(person, rankings) -> {
+					progress0.setComment(person.getFullName());
+					final var lastHindex = person.getScopusHindex();
+					final var lastCitations = person.getScopusCitations();
+					if (rankings != null) {
+						final var currentHindex = rankings.hindex;
+						final var currentCitations = rankings.citations;
+						consumer.consume(person.getId(), lastHindex, currentHindex, lastCitations, currentCitations);
+					} else {
+						consumer.consume(person.getId(), lastHindex, 0, lastCitations, 0);
+					}
+				});
 		progress0.end();
 	}
 
 	/** Download the person indicators from the Google Scholar platform.
 	 * This function uses the {@link GoogleScholarPlatform} tool for downloading the indicators.
+	 * The indicators of several persons are downloaded in parallel by the {@link RankingFetchPipeline}.
 	 *
 	 * @param persons the list of persons for who the indicators should be downloaded.
 	 * @param logger the logger to be used.
@@ -470,35 +496,37 @@ public class PersonService extends AbstractEntityService<Person> {
 	 */
 	@Transactional(readOnly = true)
 	public void downloadPersonIndicatorsFromGoogleScholar(List<Person> persons, Logger logger,
-			Progression progress, PersonRankingConsumer consumer) {
+			Progression progress, PersonRankingConsumer consumer) throws Exception {
 		final var progress0 = progress == null ? new DefaultProgression() : progress; 
-		progress0.setProperties(0, 0, persons.size() * 2, false);
+		progress0.setProperties(0, 0, persons.size(), false);
+		final var rankedPersons = new ArrayList<Person>(persons.size());
 		for (final var person : persons) {
-			logger.info("Downloading the person's ranking indicators from Gogle Scholar for: " + person); //$NON-NLS-1$
-			progress0.setComment(person.getFullName());
-			final var gsURL = person.getGoogleScholarURL();
-			if (gsURL != null) {
-				final var lastHindex = person.getGoogleScholarHindex();
-				final var lastCitations = person.getGoogleScholarCitations();
-				GoogleScholarPerson rankings = null;
-				try {
-					rankings = this.googlePlatform.getPersonRanking(gsURL, progress0.subTask(1));
-				} catch (Throwable ex) {
-					rankings = null;
-				}
-				progress0.ensureNoSubTask();
-				if (rankings != null) {
-					final var currentHindex = rankings.hindex;
-					final var currentCitations = rankings.citations;
-					consumer.consume(person.getId(), lastHindex, currentHindex, lastCitations, currentCitations);
-				} else {
-					consumer.consume(person.getId(), lastHindex, 0, lastCitations, 0);
-				}
-				progress0.increment();
+			if (person.getGoogleScholarURL() != null) {
+				rankedPersons.add(person);
 			} else {
-				progress0.subTask(2);
+				progress0.increment();
 			}
 		}
+		this.fetchPipeline.fetch(rankedPersons,
+				it -> it.getGoogleScholarURL().getHost(),
+				(person, fetchProgress) -> {
+					logger.info("Downloading the person's ranking indicators from Google Scholar for: " + person); //$NON-NLS-1$
+					return this.googlePlatform.getPersonRanking(person.getGoogleScholarURL(), fetchProgress);
+				},
+				(person, error) -> null,
+				logger, progress0,
+				(person, rankings) -> {
+					progress0.setComment(person.getFullName());
+					final var lastHindex = person.getGoogleScholarHindex();
+					final var lastCitations = person.getGoogleScholarCitations();
+					if (rankings != null) {
+						final var currentHindex = rankings.hindex;
+						final var currentCitations = rankings.citations;
+						consumer.consume(person.getId(), lastHindex, currentHindex, lastCitations, currentCitations);
+					} else {
+						consumer.consume(person.getId(), lastHindex, 0, lastCitations, 0);
+					}
+				});
 		progress0.end();
 	}
 
@@ -631,6 +659,10 @@ public class PersonService extends AbstractEntityService<Person> {
 			person.setScopusCitations(scopusCitations);
 			person.setValidated(validated);
 			this.personRepository.save(person);
+			afterCommit(() -> {
+				this.nameIndex.update(person);
+				this.authenticatedUser.invalidate();
+			});
 			return person;
 		}
 		return null;
@@ -674,6 +706,10 @@ public class PersonService extends AbstractEntityService<Person> {
 			person.deleteAllAuthorships();
 			this.personRepository.save(person);
 			this.personRepository.deleteById(id);
+			afterCommit(() -> {
+				this.nameIndex.remove(identifier);
+				this.authenticatedUser.invalidate();
+			});
 			return person;
 		}
 		return null;
@@ -708,15 +744,7 @@ public class PersonService extends AbstractEntityService<Person> {
 	 * @see #getPersonIdByName(String, String)
 	 */
 	public long getPersonIdBySimilarName(String firstName, String lastName) {
-		return getPersonIdBySimilarName(null, firstName, lastName);
-	}
-
-	private long getPersonIdBySimilarName(List<Person> allPersons, String firstName, String lastName) {
-		final var person = getPersonBySimilarName(allPersons, firstName, lastName);
-		if (person != null) {
-			return person.getId();
-		}
-		return 0;
+		return this.nameIndex.getPersonIdBySimilarName(firstName, lastName);
 	}
 
 	/** Replies the person with a similar name to the givan last name and givan first name.
@@ -730,17 +758,9 @@ public class PersonService extends AbstractEntityService<Person> {
 	 * @see #getPersonIdBySimilarName(String, String)
 	 */
 	public Person getPersonBySimilarName(String firstName, String lastName) {
-		return getPersonBySimilarName(null, firstName, lastName);
-	}
-
-	private Person getPersonBySimilarName(List<Person> allPersons, String firstName, String lastName) {
-		if (!Strings.isNullOrEmpty(firstName) || !Strings.isNullOrEmpty(lastName)) {
-			final var list = allPersons == null ? this.personRepository.findAll() : allPersons;
-			for (final var person : list) {
-				if (this.personNameComparator.isSimilar(firstName, lastName, person.getFirstName(), person.getLastName())) {
-					return person;
-				}
-			}
+		final var id = getPersonIdBySimilarName(firstName, lastName);
+		if (id != 0) {
+			return this.personRepository.findById(Long.valueOf(id)).orElse(null);
 		}
 		return null;
 	}
@@ -765,13 +785,8 @@ public class PersonService extends AbstractEntityService<Person> {
 	 */
 	public List<Person> extractPersonsFrom(String authorText, boolean useNameSimilarity, boolean assignRandomId, boolean ensureAtLeastOneMember) {
 		final var memberCount = new MutableInt();
-		final var persons = new ArrayList<Person>();
-		final List<Person> allPersons;
-		if (useNameSimilarity) {
-			allPersons = this.personRepository.findAll();
-		} else {
-			allPersons = null;
-		}
+		final var names = new ArrayList<Pair<String, String>>();
+		final var identifiers = new ArrayList<Long>();
 		this.nameParser.parseNames(authorText, (fn, von, ln, pos) -> {
 			// Build last name
 			final var firstname = new StringBuilder();
@@ -783,18 +798,26 @@ public class PersonService extends AbstractEntityService<Person> {
 			//
 			final long id;
 			if (useNameSimilarity) {
-				id = getPersonIdBySimilarName(allPersons, firstname.toString(), ln);
+				id = getPersonIdBySimilarName(firstname.toString(), ln);
 			} else {
 				id = getPersonIdByName(firstname.toString(), ln);
 			}
-			Person person = null;
-			if (id != 0) {
-				person = getPersonById(id);
-			}
+			names.add(Pair.of(firstname.toString(), ln));
+			identifiers.add(Long.valueOf(id));
+		});
+		// Load all the known persons with a single query
+		final var knownPersons = new HashMap<Long, Person>();
+		for (final var person : this.personRepository.findAllById(identifiers.stream().filter(it -> it.longValue() != 0).distinct().toList())) {
+			knownPersons.put(Long.valueOf(person.getId()), person);
+		}
+		final var persons = new ArrayList<Person>(names.size());
+		for (var i = 0; i < names.size(); ++i) {
+			var person = knownPersons.get(identifiers.get(i));
 			if (person == null) {
+				final var name = names.get(i);
 				person = new Person();
-				person.setFirstName(firstname.toString());
-				person.setLastName(ln);
+				person.setFirstName(name.getLeft());
+				person.setLastName(name.getRight());
 				if (assignRandomId) {
 					person.setId(generateUUID().intValue());
 				}
@@ -802,7 +825,7 @@ public class PersonService extends AbstractEntityService<Person> {
 				memberCount.increment();
 			}
 			persons.add(person);
-		});
+		}
 		if (ensureAtLeastOneMember && memberCount.intValue() <= 0) {
 			throw new IllegalArgumentException("The list of the authors does not contain a member of a known research organization."); //$NON-NLS-1$
 		}
@@ -1099,6 +1122,11 @@ public class PersonService extends AbstractEntityService<Person> {
 		@Override
 		public void save(HasAsynchronousUploadService... components) throws IOException {
 			this.entity = PersonService.this.personRepository.save(this.entity);
+			final var savedPerson = this.entity;
+			afterCommit(() -> {
+				PersonService.this.nameIndex.update(savedPerson);
+				PersonService.this.authenticatedUser.invalidate();
+			});
 			getLogger().info("Saved person: " + this.entity); //$NON-NLS-1$
 		}
 
@@ -1167,6 +1195,13 @@ public class PersonService extends AbstractEntityService<Person> {
 		@Override
 		protected void deleteEntities(Collection<Long> identifiers) throws Exception {
 			PersonService.this.personRepository.deleteAllById(identifiers);
+			final var deletedIdentifiers = new ArrayList<>(identifiers);
+			afterCommit(() -> {
+				for (final var identifier : deletedIdentifiers) {
+					PersonService.this.nameIndex.remove(identifier.longValue());
+				}
+				PersonService.this.authenticatedUser.invalidate();
+			});
 			getLogger().info("Deleted persons: " + identifiers); //$NON-NLS-1$
 		}
 
@@ -0,0 +1,237 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.organization;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/** In-memory index of the hierarchy of the research organizations.
+ *
+ * <p>The index stores the links from each organization to its super organizations, and the transitive
+ * closure of these links, i.e., the ancestors and the descendants of each organization. The closure
+ * is used for testing if an organization is inside another organization without walking the
+ * JPA entities, and for obtaining all the suborganizations of an organization for building
+ * a single database query.
+ *
+ * <p>The links are lazily loaded from the database at the first request. They are kept up-to-date
+ * by the {@link ResearchOrganizationService} when the changes of the organizations are committed;
+ * the closure is then recomputed in memory at the next request. If the database is changed without using the
+ * organization service, e.g. when a database dump is imported, the index must be
+ * invalidated with {@link #invalidate()}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Component
+public class OrganizationHierarchyIndex implements Serializable {
+
+	private static final long serialVersionUID = 4718863395218733614L;
+
+	private final ResearchOrganizationRepository organizationRepository;
+
+	private final Map<Long, Set<Long>> superOrganizations = new HashMap<>();
+
+	private Map<Long, Set<Long>> ancestors;
+
+	private Map<Long, Set<Long>> descendants;
+
+	private boolean initialized;
+
+	/** Constructor.
+	 *
+	 * @param organizationRepository the repository of the research organizations.
+	 */
+	public OrganizationHierarchyIndex(@Autowired ResearchOrganizationRepository organizationRepository) {
+		this.organizationRepository = organizationRepository;
+	}
+
+	private void ensureIndex() {
+		if (!this.initialized) {
+			this.superOrganizations.clear();
+			for (final var row : this.organizationRepository.findAllIdentifiersAndSubOrganizationIdentifiers()) {
+				final var id = Long.valueOf(((Number) row[0]).longValue());
+				this.superOrganizations.computeIfAbsent(id, it -> new HashSet<>());
+				if (row[1] != null) {
+					final var subId = Long.valueOf(((Number) row[1]).longValue());
+					this.superOrganizations.computeIfAbsent(subId, it -> new HashSet<>()).add(id);
+				}
+			}
+			this.ancestors = null;
+			this.descendants = null;
+			this.initialized = true;
+		}
+		if (this.ancestors == null) {
+			computeClosure();
+		}
+	}
+
+	private void computeClosure() {
+		final var ancestors = new HashMap<Long, Set<Long>>();
+		final var descendants = new HashMap<Long, Set<Long>>();
+		for (final var id : this.superOrganizations.keySet()) {
+			final var organizationAncestors = new HashSet<Long>();
+			final var candidates = new LinkedList<Long>();
+			candidates.add(id);
+			while (!candidates.isEmpty()) {
+				final var candidate = candidates.removeFirst();
+				// The test on the set avoids infinite loops if there is a cycle in the hierarchy
+				if (organizationAncestors.add(candidate)) {
+					final var supers = this.superOrganizations.get(candidate);
+					if (supers != null) {
+						candidates.addAll(supers);
+					}
+				}
+			}
+			ancestors.put(id, Collections.unmodifiableSet(organizationAncestors));
+			for (final var ancestor : organizationAncestors) {
+				descendants.computeIfAbsent(ancestor, it -> new HashSet<>()).add(id);
+			}
+		}
+		descendants.replaceAll((id, set) -> Collections.unmodifiableSet(set));
+		this.ancestors = ancestors;
+		this.descendants = descendants;
+	}
+
+	/** Force the index to be reloaded from the database at the next request.
+	 */
+	public synchronized void invalidate() {
+		this.initialized = false;
+		this.superOrganizations.clear();
+		this.ancestors = null;
+		this.descendants = null;
+	}
+
+	/** Update the index with the super organizations of the given organization.
+	 * This function does nothing if the index was not yet built, or if the organization was not saved in the database.
+	 *
+	 * @param organization the saved organization.
+	 */
+	public synchronized void update(ResearchOrganization organization) {
+		if (organization != null && organization.getId() != 0l && this.initialized) {
+			final var supers = new HashSet<Long>();
+			for (final var superOrganization : organization.getSuperOrganizations()) {
+				supers.add(Long.valueOf(superOrganization.getId()));
+			}
+			this.superOrganizations.put(Long.valueOf(organization.getId()), supers);
+			for (final var superId : supers) {
+				this.superOrganizations.computeIfAbsent(superId, it -> new HashSet<>());
+			}
+			this.ancestors = null;
+			this.descendants = null;
+		}
+	}
+
+	/** Remove the organization with the given identifier from the index.
+	 *
+	 * @param identifier the identifier of the deleted organization.
+	 */
+	public synchronized void remove(long identifier) {
+		if (this.initialized) {
+			final var id = Long.valueOf(identifier);
+			this.superOrganizations.remove(id);
+			for (final var supers : this.superOrganizations.values()) {
+				supers.remove(id);
+			}
+			this.ancestors = null;
+			this.descendants = null;
+		}
+	}
+
+	/** Replies if the first organization is the second organization or one of its suborganizations, at any level.
+	 *
+	 * @param organization the identifier of the organization to test.
+	 * @param ancestor the identifier of the candidate ancestor.
+	 * @return {@code true} if {@code organization} is inside {@code ancestor}.
+	 */
+	public synchronized boolean isInside(long organization, long ancestor) {
+		if (organization == ancestor) {
+			return true;
+		}
+		ensureIndex();
+		final var organizationAncestors = this.ancestors.get(Long.valueOf(organization));
+		return organizationAncestors != null && organizationAncestors.contains(Long.valueOf(ancestor));
+	}
+
+	/** Replies if the given organization is the organization with the given identifier or one of its suborganizations,
+	 * at any level. If the organization is not yet saved in the database, the super organizations of the given
+	 * entity are explored.
+	 *
+	 * @param organization the organization to test.
+	 * @param ancestor the identifier of the candidate ancestor.
+	 * @return {@code true} if {@code organization} is inside {@code ancestor}.
+	 */
+	public boolean isInside(ResearchOrganization organization, long ancestor) {
+		if (organization == null) {
+			return false;
+		}
+		if (organization.getId() != 0l && isKnown(organization.getId())) {
+			return isInside(organization.getId(), ancestor);
+		}
+		final var visited = new HashSet<ResearchOrganization>();
+		final var candidates = new LinkedList<ResearchOrganization>();
+		candidates.add(organization);
+		while (!candidates.isEmpty()) {
+			final var candidate = candidates.removeFirst();
+			if (candidate.getId() == ancestor) {
+				return true;
+			}
+			if (visited.add(candidate)) {
+				candidates.addAll(candidate.getSuperOrganizations());
+			}
+		}
+		return false;
+	}
+
+	private synchronized boolean isKnown(long organization) {
+		ensureIndex();
+		return this.superOrganizations.containsKey(Long.valueOf(organization));
+	}
+
+	/** Replies the identifiers of the given organization and of all its suborganizations, at any level.
+	 * If the organization is unknown, the index is not reloaded from the database; the organizations that
+	 * are created without the organization service become known after the next invalidation of the index.
+	 *
+	 * @param organization the identifier of the organization.
+	 * @return the identifiers of the organization and its suborganizations, or an empty set if the organization
+	 *     does not exist.
+	 */
+	public synchronized Set<Long> getOrganizationAndSubOrganizations(long organization) {
+		ensureIndex();
+		final var organizations = this.descendants.get(Long.valueOf(organization));
+		if (organizations == null) {
+			return Collections.emptySet();
+		}
+		return organizations;
+	}
+
+}
@@ -20,6 +20,7 @@
 package fr.utbm.ciad.labmanager.services.organization;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
@@ -36,6 +37,7 @@ import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationComparator;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
 import fr.utbm.ciad.labmanager.data.project.ProjectRepository;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
+import fr.utbm.ciad.labmanager.utils.names.BlockingDuplicateDetector;
 import fr.utbm.ciad.labmanager.utils.names.OrganizationNameComparator;
 import org.hibernate.SessionFactory;
 import org.slf4j.Logger;
@@ -117,50 +119,38 @@ public class OrganizationMergingService extends AbstractEntityService<ResearchOr
 	 * @throws Exception if a problem occurred during the building.
 	 */
 	public List<Set<ResearchOrganization>> getOrganizationDuplicates(Comparator<? super ResearchOrganization> comparator, OrganizationDuplicateCallback callback) throws Exception {
-		// Each list represents a group of organizations that could be duplicate
-		final var matchingOrganizations = new ArrayList<Set<ResearchOrganization>>();
-
-		// Copy the list of organizations into another list in order to enable its
-		// modification during the function's process
+		// Copy the list of organizations into another list in order to have a stable order during the function's process
 		final var organizationsList = new ArrayList<>(this.organizationService.getAllResearchOrganizations());
 
 		final Comparator<? super ResearchOrganization> theComparator = comparator == null ? EntityUtils.getPreferredResearchOrganizationComparator() : comparator;
 
-		final var total = organizationsList.size();
-		// Notify the callback
-		if (callback != null) {
-			callback.onDuplicate(0, 0, total);
-		}
-		int duplicateCount = 0;
-		
-		for (var i = 0; i < organizationsList.size() - 1; ++i) {
-			final var referenceOrganization = organizationsList.get(i);
-
-			final var currentMatching = new TreeSet<ResearchOrganization>(theComparator);
-			currentMatching.add(referenceOrganization);
+		// The organizations are grouped into blocks of organizations with acronyms or names that share enough shingles
+		// for being similar. Only the organizations within the same block are compared.
+		final var candidates = BlockingDuplicateDetector.newShingleBlocking(organizationsList,
+				it -> Arrays.asList(it.getAcronym(), it.getName()),
+				this.nameComparator.getStringSimilarityComputer(),
+				this.nameComparator.getSimilarityLevel());
 
-			final var iterator2 = organizationsList.listIterator(i + 1);
-			while (iterator2.hasNext()) {
-				final var otherOrganization = iterator2.next();
-				if (this.nameComparator.isSimilar(
+		final var detector = new BlockingDuplicateDetector<ResearchOrganization>();
+		return detector.getDuplicates(organizationsList, candidates,
+				(referenceOrganization, otherOrganization) -> this.nameComparator.isSimilar(
 						referenceOrganization.getAcronym(), referenceOrganization.getName(),
-						otherOrganization.getAcronym(), otherOrganization.getName())) {
-					currentMatching.add(otherOrganization);
-					++duplicateCount;
-					// Consume the other person to avoid to be treated twice times
-					iterator2.remove();
-				}
-			}
-			if (currentMatching.size() > 1) {
-				matchingOrganizations.add(currentMatching);
-			}
-			// Notify the callback
-			if (callback != null) {
-				callback.onDuplicate(i, duplicateCount, total);
-			}
-		}
+						otherOrganization.getAcronym(), otherOrganization.getName()),
+				theComparator,
+				callback == null ? null : new BlockingDuplicateDetector.DuplicateCallback<>() {
+					@Override
+					public void onDuplicate(int index, int duplicateCount, int total, Set<ResearchOrganization> group) throws Exception {
+						if (group != null) {
+							callback.onDuplicateGroup(group);
+						}
+						callback.onDuplicate(index, duplicateCount, total);
+					}
 
-		return matchingOrganizations;
+					@Override
+					public void onComparisonProgress(int comparedCount, int total) throws Exception {
+						callback.onComparisonProgress(comparedCount, total);
+					}
+				});
 	}
 
 	/** Merge the entities by replacing those with an old organization by those with the new organization.
@@ -364,6 +354,34 @@ public class OrganizationMergingService extends AbstractEntityService<ResearchOr
 		 */
 		void onDuplicate(int index, int duplicateCount, int total) throws Exception;
 
+		/** Invoked periodically while the organizations are compared in parallel, before the first invocation
+		 * of {@link #onDuplicate(int, int, int)}.
+		 *
+		 * @param comparedCount the number of organizations that were already compared to the other organizations.
+		 * @param total the total number of organizations in the list.
+		 * @throws Exception if there is an error during the callback treatment. This exception is forwarded to the
+		 *     caller of the function that has invoked this callback.
+		 * @since 4.0
+		 */
+		default void onComparisonProgress(int comparedCount, int total) throws Exception {
+			//
+		}
+
+		/** Invoked when a group of duplicate organizations is found, before the invocation of
+		 * {@link #onDuplicate(int, int, int)} for the reference organization of the group.
+		 * The groups are notified in the same order as in the list that is replied by
+		 * {@link OrganizationMergingService#getOrganizationDuplicates(Comparator, OrganizationDuplicateCallback)}.
+		 * This function enables to show the groups without waiting the end of the search.
+		 *
+		 * @param group the group of duplicate organizations. It contains at least two organizations.
+		 * @throws Exception if there is an error during the callback treatment. This exception is forwarded to the
+		 *     caller of the function that has invoked this callback.
+		 * @since 4.0
+		 */
+		default void onDuplicateGroup(Set<ResearchOrganization> group) throws Exception {
+			//
+		}
+
 	}
 
 }
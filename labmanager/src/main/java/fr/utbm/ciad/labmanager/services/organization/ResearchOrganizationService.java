@@ -38,6 +38,7 @@ import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationType;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
 import fr.utbm.ciad.labmanager.services.DeletionStatus;
+import fr.utbm.ciad.labmanager.services.publication.PublicationCountCache;
 import fr.utbm.ciad.labmanager.utils.country.CountryCode;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
 import fr.utbm.ciad.labmanager.utils.names.OrganizationNameComparator;
@@ -76,6 +77,10 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
 
 	private OrganizationNameComparator organizationComparator;
 
+	private OrganizationHierarchyIndex organizationHierarchy;
+
+	private PublicationCountCache countCache;
+
 	/** Constructor for injector.
 	 * This constructor is defined for being invoked by the IOC injector.
 	 *
@@ -83,6 +88,8 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
 	 * @param organizationRepository the organization repository.
 	 * @param fileManager the manager of the uploaded and downloadable files.
 	 * @param organizationComparator the comparator to use for comparing to organizations based on their names and acronyms.
+	 * @param organizationHierarchy the index of the hierarchy of the organizations that must be updated when organizations are changed.
+	 * @param countCache the cache of the publication counts that must be invalidated when the organizations are changed.
 	 * @param messages the provider of localized messages.
 	 * @param constants the accessor to the live constants.
 	 * @param sessionFactory the Hibernate session factory.
@@ -92,6 +99,8 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
 			@Autowired ResearchOrganizationRepository organizationRepository,
 			@Autowired DownloadableFileManager fileManager,
 			@Autowired OrganizationNameComparator organizationComparator,
+			@Autowired OrganizationHierarchyIndex organizationHierarchy,
+			@Autowired PublicationCountCache countCache,
 			@Autowired MessageSourceAccessor messages,
 			@Autowired ConfigurationConstants constants,
 			@Autowired SessionFactory sessionFactory) {			
@@ -100,6 +109,20 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
 		this.organizationRepository = organizationRepository;
 		this.fileManager = fileManager;
 		this.organizationComparator = organizationComparator;
+		this.organizationHierarchy = organizationHierarchy;
+		this.countCache = countCache;
+	}
+
+	/** Update the index of the hierarchy of the organizations and invalidate the caches when the saving of
+	 * the given organization is committed.
+	 *
+	 * @param organization the saved organization.
+	 */
+	private void afterSave(ResearchOrganization organization) {
+		afterCommit(() -> {
+			this.organizationHierarchy.update(organization);
+			this.countCache.invalidateAll();
+		});
 	}
 
 	/** Replies the file manager used by this service.
@@ -317,6 +340,10 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
 			res.setSuperOrganizations(sres);
 		}
 		this.organizationRepository.save(res);
+		afterCommit(() -> {
+			this.organizationHierarchy.invalidate();
+			this.countCache.invalidateAll();
+		});
 		//
 		if (updateLogo(res, false, pathToLogo, LoggerFactory.getLogger(getClass()))) {
 			this.organizationRepository.save(res);
@@ -389,6 +416,10 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
 			}
 			//
 			this.organizationRepository.save(organization);
+			afterCommit(() -> {
+				this.organizationHierarchy.invalidate();
+				this.countCache.invalidateAll();
+			});
 			//
 			if (updateLogo(organization, removePathToLogo, pathToLogo, LoggerFactory.getLogger(getClass()))) {
 				this.organizationRepository.save(organization);
@@ -438,6 +469,7 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
 							&& superOrganization.getSubOrganizations().add(subOrganization)) {
 						this.organizationRepository.save(subOrganization);
 						this.organizationRepository.save(superOrganization);
+						afterSave(subOrganization);
 						return true;
 					}
 				}
@@ -465,6 +497,7 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
 					subOrganization.getSuperOrganizations().remove(superOrganization);
 					this.organizationRepository.save(superOrganization);
 					this.organizationRepository.save(subOrganization);
+					afterSave(subOrganization);
 					return true;
 				}
 			}
@@ -589,9 +622,13 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
 				}
 	
 				final var changedOrganizations = ResearchOrganizationService.this.organizationRepository.saveAll(orgas);
-				return changedOrganizations.stream().filter(it -> it.equals(this.entity)).findAny().orElse(entity);
+				final var savedEntity = changedOrganizations.stream().filter(it -> it.equals(this.entity)).findAny().orElse(entity);
+				ResearchOrganizationService.this.afterSave(savedEntity);
+				return savedEntity;
 			}
-			return ResearchOrganizationService.this.organizationRepository.save(this.entity);
+			final var savedEntity = ResearchOrganizationService.this.organizationRepository.save(this.entity);
+			ResearchOrganizationService.this.afterSave(savedEntity);
+			return savedEntity;
 		}
 
 		@Override
@@ -699,6 +736,13 @@ public class ResearchOrganizationService extends AbstractEntityService<ResearchO
 
 			// Do the deletion
 			ResearchOrganizationService.this.organizationRepository.deleteAllById(getDeletableEntityIdentifiers());
+			final var deletedIdentifiers = getDeletableEntityIdentifiers();
+			afterCommit(() -> {
+				for (final var id : deletedIdentifiers) {
+					ResearchOrganizationService.this.organizationHierarchy.remove(id.longValue());
+				}
+				ResearchOrganizationService.this.countCache.invalidateAll();
+			});
 
 			for (final var id : identifiers) {
 				ResearchOrganizationService.this.fileManager.deleteOrganizationLogo(id.longValue(), getLogger());
@@ -43,6 +43,7 @@ import java.util.stream.Stream;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Strings;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorCache;
 import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.member.Membership;
 import fr.utbm.ciad.labmanager.data.member.PersonRepository;
@@ -116,6 +117,8 @@ public class ProjectService extends AbstractEntityService<Project> {
 
 	private DownloadableFileManager fileManager;
 
+	private IndicatorCache indicatorCache;
+
 	/** Constructor for injector.
 	 * This constructor is defined for being invoked by the IOC injector.
 	 *
@@ -125,6 +128,7 @@ public class ProjectService extends AbstractEntityService<Project> {
 	 * @param personRepository the repository for the persons.
 	 * @param membershipService the service for memberships.
 	 * @param fileManager the manager of the uploaded and downloadable files.
+	 * @param indicatorCache the cache of the indicator values that must be invalidated when the projects are changed.
 	 * @param messages the provider of localized messages.
 	 * @param constants the accessor to the live constants.
 	 * @param sessionFactory the Hibernate session factory.
@@ -136,6 +140,7 @@ public class ProjectService extends AbstractEntityService<Project> {
 			@Autowired PersonRepository personRepository,
 			@Autowired MembershipService membershipService,
 			@Autowired DownloadableFileManager fileManager,
+			@Autowired IndicatorCache indicatorCache,
 			@Autowired MessageSourceAccessor messages,
 			@Autowired ConfigurationConstants constants,
 			@Autowired SessionFactory sessionFactory) {
@@ -146,6 +151,7 @@ public class ProjectService extends AbstractEntityService<Project> {
 		this.personRepository = personRepository;
 		this.fileManager = fileManager;
 		this.membershipService = membershipService;
+		this.indicatorCache = indicatorCache;
 	}
 
 	/** Replies the file manager used by this service.
@@ -165,6 +171,18 @@ public class ProjectService extends AbstractEntityService<Project> {
 		return this.projectRepository.findAll();
 	}
 
+	/** Replies the projects with the given status that are starting in the given year.
+	 * The filtering is done by the database.
+	 *
+	 * @param year the year of the start of the projects.
+	 * @param status the status of the projects.
+	 * @return the list of projects, never {@code null}.
+	 * @since 4.0
+	 */
+	public List<Project> getProjectsStartingIn(int year, ProjectStatus status) {
+		return this.projectRepository.findAllByStatusAndStartDateBetween(status, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+	}
+
 	/** Replies the list of all the projects from the database.
 	 *
 	 * @param pageable the manager of pages.
@@ -1434,7 +1452,9 @@ public class ProjectService extends AbstractEntityService<Project> {
 
 		@Override
 		protected Project writeInJPA(Project entity, boolean initialSaving) {
-			return ProjectService.this.projectRepository.save(entity);
+			final var savedProject = ProjectService.this.projectRepository.save(entity);
+			afterCommit(ProjectService.this.indicatorCache::invalidateAll);
+			return savedProject;
 		}
 
 		@Override
@@ -1510,6 +1530,7 @@ public class ProjectService extends AbstractEntityService<Project> {
 		protected void deleteEntities(Collection<Long> identifiers) throws Exception {
 			final var logger = getLogger();
 			ProjectService.this.projectRepository.deleteAllById(identifiers);
+			afterCommit(ProjectService.this.indicatorCache::invalidateAll);
 			logger.info("Deleted projects from database: " + identifiers); //$NON-NLS-1$
 			for (final var id : identifiers) {
 				final var idl = id.longValue();
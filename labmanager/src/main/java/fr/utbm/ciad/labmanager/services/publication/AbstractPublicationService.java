@@ -32,6 +32,7 @@ import fr.utbm.ciad.labmanager.data.member.Person;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.data.publication.Publication;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService;
+import fr.utbm.ciad.labmanager.services.organization.OrganizationHierarchyIndex;
 import org.hibernate.SessionFactory;
 import org.springframework.context.support.MessageSourceAccessor;
 
@@ -63,13 +64,15 @@ public abstract class AbstractPublicationService extends AbstractEntityService<P
 	 * @param publications the publications to filter.
 	 * @param organizationId the identifier of the organization for which the publications are accepted.
 	 * @param includeSubOrganizations indicates if the members of the suborganizations are considered.
+	 * @param hierarchy the index of the hierarchy of the organizations. If it is {@code null}, the hierarchy
+	 *     is explored from the organization entities.
 	 * @return the filtered publications.
 	 */
 	protected static <P extends Publication> Set<P> filterPublicationsWithMemberships(Set<P> publications,
-			long organizationId, boolean includeSubOrganizations) {
+			long organizationId, boolean includeSubOrganizations, OrganizationHierarchyIndex hierarchy) {
 		final Function<Person, Stream<Membership>> streamBuilder;
 		if (includeSubOrganizations) {
-			streamBuilder = it -> buildStream(it, organizationId);
+			streamBuilder = it -> buildStream(it, organizationId, hierarchy);
 		} else {
 			streamBuilder = it -> buildStreamStrict(it, organizationId);
 		}
@@ -77,9 +80,12 @@ public abstract class AbstractPublicationService extends AbstractEntityService<P
 					.collect(Collectors.toUnmodifiableSet());
 	}
 
-	private static boolean isOrganizationOf(Membership membership, long organizationId) {
+	private static boolean isOrganizationOf(ResearchOrganization organization, long organizationId, OrganizationHierarchyIndex hierarchy) {
+		if (hierarchy != null) {
+			return hierarchy.isInside(organization, organizationId);
+		}
 		final var candidates = new LinkedList<ResearchOrganization>();
-		candidates.add(membership.getDirectResearchOrganization());
+		candidates.add(organization);
 		while (!candidates.isEmpty()) {
 			final var candidate = candidates.removeFirst();
 			if (candidate.getId() == organizationId) {
@@ -87,21 +93,19 @@ public abstract class AbstractPublicationService extends AbstractEntityService<P
 			}
 			candidates.addAll(candidate.getSuperOrganizations());
 		}
-		if (membership.getSuperResearchOrganization() != null) {
-			candidates.add(membership.getSuperResearchOrganization());
-			while (!candidates.isEmpty()) {
-				final var candidate = candidates.removeFirst();
-				if (candidate.getId() == organizationId) {
-					return true;
-				}
-				candidates.addAll(candidate.getSuperOrganizations());
-			}
-		}
 		return false;
 	}
+
+	private static boolean isOrganizationOf(Membership membership, long organizationId, OrganizationHierarchyIndex hierarchy) {
+		if (isOrganizationOf(membership.getDirectResearchOrganization(), organizationId, hierarchy)) {
+			return true;
+		}
+		final var superOrganization = membership.getSuperResearchOrganization();
+		return superOrganization != null && isOrganizationOf(superOrganization, organizationId, hierarchy);
+	}
 	
-	private static Stream<Membership> buildStream(Person author, long organizationId) {
-		return author.getMemberships().stream().filter(it -> isOrganizationOf(it, organizationId));
+	private static Stream<Membership> buildStream(Person author, long organizationId, OrganizationHierarchyIndex hierarchy) {
+		return author.getMemberships().stream().filter(it -> isOrganizationOf(it, organizationId, hierarchy));
 	}
 	
 	private static Stream<Membership> buildStreamStrict(Person author, long organizationId) {
@@ -0,0 +1,66 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package fr.utbm.ciad.labmanager.services.publication;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+/** Cache of the matrices of the numbers of publications per type and per year.
+ *
+ * <p>The matrices are stored per organization. The identifier {@code 0} is used for the matrix of all the publications.
+ * The services that change the data that is used for computing the matrices, i.e., the publications, the memberships
+ * and the organizations, must invalidate the cache when the changes are committed.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see PublicationService#countPublicationsPerTypeAndYear(long)
+ */
+@Component
+public class PublicationCountCache implements Serializable {
+
+	private static final long serialVersionUID = 6285412783019474317L;
+
+	private final Map<Long, PublicationCountMatrix> matrices = new ConcurrentHashMap<>();
+
+	/** Replies the matrix for the given organization from the cache, or compute it if it is not in the cache.
+	 *
+	 * @param organization the identifier of the organization, or {@code 0} for all the publications.
+	 * @param computer the function for computing the matrix.
+	 * @return the matrix.
+	 */
+	public PublicationCountMatrix getMatrix(long organization, Supplier<PublicationCountMatrix> computer) {
+		return this.matrices.computeIfAbsent(Long.valueOf(organization), it -> computer.get());
+	}
+
+	/** Remove all the matrices from the cache.
+	 */
+	public void invalidateAll() {
+		this.matrices.clear();
+	}
+
+}
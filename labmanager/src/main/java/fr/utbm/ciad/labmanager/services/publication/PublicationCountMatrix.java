@@ -0,0 +1,106 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.publication;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import fr.utbm.ciad.labmanager.data.publication.PublicationType;
+
+/** Immutable matrix of the numbers of publications per publication type and per year.
+ *
+ * <p>The matrix is built from the result of a single grouped query. The cells that are not
+ * provided by the query have a count equal to zero.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see PublicationService#countPublicationsPerTypeAndYear()
+ */
+public class PublicationCountMatrix implements Serializable {
+
+	private static final long serialVersionUID = 3924917066826722455L;
+
+	private final Map<PublicationType, Map<Integer, Integer>> counts = new EnumMap<>(PublicationType.class);
+
+	/** Constructor.
+	 *
+	 * @param rows the rows replied by the grouped query. Each row contains the publication type,
+	 *     the publication year and the number of publications.
+	 */
+	public PublicationCountMatrix(Collection<Object[]> rows) {
+		for (final var row : rows) {
+			final var type = (PublicationType) row[0];
+			final var year = (Number) row[1];
+			final var count = (Number) row[2];
+			if (type != null && year != null && count != null) {
+				this.counts.computeIfAbsent(type, it -> new HashMap<>()).merge(
+						Integer.valueOf(year.intValue()), Integer.valueOf(count.intValue()), Integer::sum);
+			}
+		}
+	}
+
+	/** Replies the number of publications of the given type for the given year.
+	 *
+	 * @param type the type of the publications.
+	 * @param year the year of the publications.
+	 * @return the number of publications.
+	 */
+	public int getCount(PublicationType type, int year) {
+		final var perYear = this.counts.get(type);
+		if (perYear != null) {
+			final var count = perYear.get(Integer.valueOf(year));
+			if (count != null) {
+				return count.intValue();
+			}
+		}
+		return 0;
+	}
+
+	/** Replies the number of publications of the given types for the given year.
+	 *
+	 * @param types the types of the publications.
+	 * @param year the year of the publications.
+	 * @return the number of publications.
+	 */
+	public int getCount(Collection<PublicationType> types, int year) {
+		var total = 0;
+		for (final var type : types) {
+			total += getCount(type, year);
+		}
+		return total;
+	}
+
+	/** Replies the publication types for which at least one publication is counted.
+	 *
+	 * @return the types.
+	 */
+	public Set<PublicationType> getTypes() {
+		return Collections.unmodifiableSet(this.counts.keySet());
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.publication;
+
+/** Plan for loading the lazy data of a page of publications in a fixed number of batched queries,
+ * instead of one query per publication when the data is used for rendering the publication.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see PublicationService#getAllPublications(org.springframework.data.domain.Pageable, org.springframework.data.jpa.domain.Specification, PublicationFetchPlan, java.util.function.Consumer)
+ */
+public enum PublicationFetchPlan {
+
+	/** No lazy data is loaded.
+	 */
+	NONE {
+		@Override
+		public boolean isAuthorsLoaded() {
+			return false;
+		}
+
+		@Override
+		public boolean isVenuesLoaded() {
+			return false;
+		}
+	},
+
+	/** The authorships and the authors are loaded.
+	 */
+	AUTHORS {
+		@Override
+		public boolean isAuthorsLoaded() {
+			return true;
+		}
+
+		@Override
+		public boolean isVenuesLoaded() {
+			return false;
+		}
+	},
+
+	/** The authorships, the authors, the journals and the conferences are loaded.
+	 * This plan is the one needed by the lists of publications.
+	 */
+	AUTHORS_AND_VENUES {
+		@Override
+		public boolean isAuthorsLoaded() {
+			return true;
+		}
+
+		@Override
+		public boolean isVenuesLoaded() {
+			return true;
+		}
+	};
+
+	/** Replies if the authorships and the authors are loaded.
+	 *
+	 * @return {@code true} if the authors are loaded.
+	 */
+	public abstract boolean isAuthorsLoaded();
+
+	/** Replies if the journals and the conferences are loaded.
+	 *
+	 * @return {@code true} if the venues are loaded.
+	 */
+	public abstract boolean isVenuesLoaded();
+
+	/** Replies the default plan.
+	 *
+	 * @return the default plan.
+	 */
+	public static PublicationFetchPlan getDefault() {
+		return AUTHORS_AND_VENUES;
+	}
+
+}
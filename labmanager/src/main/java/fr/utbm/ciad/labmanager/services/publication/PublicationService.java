@@ -19,14 +19,20 @@
 
 package fr.utbm.ciad.labmanager.services.publication;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.io.Writer;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
@@ -42,6 +48,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Strings;
 import com.vaadin.flow.function.SerializableConsumer;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorCache;
 import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.conference.Conference;
 import fr.utbm.ciad.labmanager.data.conference.ConferenceRepository;
@@ -69,9 +76,12 @@ import fr.utbm.ciad.labmanager.data.publication.type.Patent;
 import fr.utbm.ciad.labmanager.data.publication.type.Report;
 import fr.utbm.ciad.labmanager.data.publication.type.Thesis;
 import fr.utbm.ciad.labmanager.data.scientificaxis.ScientificAxis;
+import fr.utbm.ciad.labmanager.services.conference.ConferenceNameIndex;
 import fr.utbm.ciad.labmanager.services.conference.ConferenceService;
+import fr.utbm.ciad.labmanager.services.journal.JournalNameIndex;
 import fr.utbm.ciad.labmanager.services.journal.JournalService;
 import fr.utbm.ciad.labmanager.services.member.MembershipService;
+import fr.utbm.ciad.labmanager.services.member.PersonNameIndex;
 import fr.utbm.ciad.labmanager.services.member.PersonService;
 import fr.utbm.ciad.labmanager.services.publication.type.BookChapterService;
 import fr.utbm.ciad.labmanager.services.publication.type.BookService;
@@ -89,6 +99,7 @@ import fr.utbm.ciad.labmanager.utils.io.bibtex.BibTeX;
 import fr.utbm.ciad.labmanager.utils.io.bibtex.ConferenceFake;
 import fr.utbm.ciad.labmanager.utils.io.bibtex.JournalFake;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
+import fr.utbm.ciad.labmanager.utils.io.filemanager.ThumbnailPipeline;
 import fr.utbm.ciad.labmanager.utils.io.html.HtmlDocumentExporter;
 import fr.utbm.ciad.labmanager.utils.io.json.JsonExporter;
 import fr.utbm.ciad.labmanager.utils.io.od.OpenDocumentTextPublicationExporter;
@@ -127,6 +138,13 @@ public class PublicationService extends AbstractPublicationService {
 
 	private static final String MESSAGE_PREFIX = "publicationService."; //$NON-NLS-1$
 
+	/** Maximum number of identifiers that are given to a single query when the publications are loaded in memory.
+	 *
+	 * @since 4.0
+	 * @see #loadPublicationsInMemory(Iterable)
+	 */
+	public static final int LOADING_CHUNK_SIZE = 500;
+
 	private PublicationRepository publicationRepository;
 
 	private AuthorshipRepository authorshipRepository;
@@ -157,6 +175,8 @@ public class PublicationService extends AbstractPublicationService {
 
 	private DownloadableFileManager fileManager;
 
+	private ThumbnailPipeline thumbnailPipeline;
+
 	private PrePublicationFactory prePublicationFactory;
 
 	private MembershipService membershipService;
@@ -183,6 +203,18 @@ public class PublicationService extends AbstractPublicationService {
 
 	private PublicationTitleComparator titleComparator;
 
+	private PublicationTitleIndex titleIndex;
+
+	private PersonNameIndex personNameIndex;
+
+	private JournalNameIndex journalNameIndex;
+
+	private ConferenceNameIndex conferenceNameIndex;
+
+	private IndicatorCache indicatorCache;
+
+	private PublicationCountCache countCache;
+
 	/** Constructor for injector.
 	 * This constructor is defined for being invoked by the IOC injector.
 	 *
@@ -198,12 +230,19 @@ public class PublicationService extends AbstractPublicationService {
 	 * @param conferenceRepository the repository of the conferences.
 	 * @param nameParser the parser of person names.
 	 * @param titleComparator a comparator used for comparing publications based on their titles.
+	 * @param titleIndex the index of the publication titles that is used for searching for similar titles.
+	 * @param personNameIndex the index of the person names that must be updated when authors are created.
+	 * @param journalNameIndex the index of the journal names that must be updated when journals are created.
+	 * @param conferenceNameIndex the index of the conference names that must be updated when conferences are created.
+	 * @param indicatorCache the cache of the indicator values that must be invalidated when the publications are changed.
+	 * @param countCache the cache of the publication counts that must be invalidated when the publications are changed.
 	 * @param bibtex the tool for managing BibTeX source.
 	 * @param ris the tool for managing RIS source.
 	 * @param html the tool for exporting to HTML.
 	 * @param odt the tool for exporting to Open Document Text.
 	 * @param json the tool for exporting to JSON.
 	 * @param fileManager the manager of downloadable files.
+	 * @param thumbnailPipeline the pipeline for generating the thumbnails of the downloadable files.
 	 * @param membershipService the service for managing memberships.
 	 * @param bookService the service for books.
 	 * @param bookChapterService the service for book chapters.
@@ -230,12 +269,19 @@ public class PublicationService extends AbstractPublicationService {
 			@Autowired ConferenceRepository conferenceRepository,
 			@Autowired PersonNameParser nameParser,
 			@Autowired PublicationTitleComparator titleComparator,
+			@Autowired PublicationTitleIndex titleIndex,
+			@Autowired PersonNameIndex personNameIndex,
+			@Autowired JournalNameIndex journalNameIndex,
+			@Autowired ConferenceNameIndex conferenceNameIndex,
+			@Autowired IndicatorCache indicatorCache,
+			@Autowired PublicationCountCache countCache,
 			@Autowired BibTeX bibtex,
 			@Autowired RIS ris,
 			@Autowired HtmlDocumentExporter html,
 			@Autowired OpenDocumentTextPublicationExporter odt,
 			@Autowired JsonExporter json,
 			@Autowired DownloadableFileManager fileManager,
+			@Autowired ThumbnailPipeline thumbnailPipeline,
 			@Autowired MembershipService membershipService,
 			@Autowired BookService bookService,
 			@Autowired BookChapterService bookChapterService,
@@ -262,12 +308,19 @@ public class PublicationService extends AbstractPublicationService {
 		this.conferenceRepository = conferenceRepository;
 		this.nameParser = nameParser;
 		this.titleComparator = titleComparator;
+		this.titleIndex = titleIndex;
+		this.personNameIndex = personNameIndex;
+		this.journalNameIndex = journalNameIndex;
+		this.conferenceNameIndex = conferenceNameIndex;
+		this.indicatorCache = indicatorCache;
+		this.countCache = countCache;
 		this.bibtex = bibtex;
 		this.ris = ris;
 		this.html = html;
 		this.odt = odt;
 		this.json = json;
 		this.fileManager = fileManager;
+		this.thumbnailPipeline = thumbnailPipeline;
 		this.membershipService = membershipService;
 		this.bookService = bookService;
 		this.bookChapterService = bookChapterService;
@@ -281,35 +334,139 @@ public class PublicationService extends AbstractPublicationService {
 		this.thesisService = thesisService;
 	}
 
-	/** Load the components of the given publications in a JPA session. The loaded components are the authors, the quality indicators for journals or conferences.
+	/** Load the components of the given publications in a JPA session. The loaded components are the authors, the memberships
+	 * of the authors, the quality indicators for journals or conferences, and the enclosing conferences.
+	 *
+	 * <p>The components are loaded by a bounded number of queries with {@code IN} clauses, instead of one query per
+	 * component. The identifiers are split into chunks of {@link #LOADING_CHUNK_SIZE} elements in order to respect
+	 * the limits of the database engines on the number of parameters in a query.
 	 *
 	 * @param identifiers the identifiers of the publications to load.
-	 * @return the loaded publications.
+	 * @return the loaded publications, in the order of the given identifiers.
 	 * @since 4.0
 	 */
 	@Transactional
 	public List<Publication> loadPublicationsInMemory(Iterable<Long> identifiers) {
-		final var publications = this.publicationRepository.findAllById(identifiers);
-		for (final var publication : publications) {
-			Hibernate.initialize(publication.getAuthorshipsRaw());
+		final var ids = new LinkedHashSet<Long>();
+		identifiers.forEach(ids::add);
+		final var result = new ArrayList<Publication>(ids.size());
+		forEachChunk(ids, chunk -> result.addAll(loadPublicationChunk(chunk)));
+		return result;
+	}
+
+	/** Load the publications with the given identifiers and their components, chunk by chunk, and pass each of them
+	 * to the given consumer. Only one chunk of {@link #LOADING_CHUNK_SIZE} publications is loaded
+	 * at a time by this function; in this way, the caller could produce its output progressively.
+	 * The publications of a chunk and their authorships are detached from the JPA session when they were
+	 * consumed. The consumer must not keep a reference to them for accessing their components later.
+	 *
+	 * @param identifiers the identifiers of the publications to load.
+	 * @param consumer the consumer of the loaded publications, invoked in the order of the given identifiers.
+	 * @since 4.0
+	 * @see #loadPublicationsInMemory(Iterable)
+	 */
+	@Transactional
+	public void forEachPublicationInMemory(Collection<Long> identifiers, Consumer<Publication> consumer) {
+		forEachChunk(identifiers, chunk -> {
+			final var publications = loadPublicationChunk(chunk);
+			publications.forEach(consumer);
+			// The persistence context keeps only the entities that are shared by the chunks, e.g., the authors and the venues
+			inSession(session -> {
+				for (final var publication : publications) {
+					for (final var authorship : publication.getAuthorshipsRaw()) {
+						session.detach(authorship);
+					}
+					session.detach(publication);
+				}
+			});
+		});
+	}
+
+	/** Replies the identifiers of the publications of the given year that have at least one author who has a membership
+	 * in the given organization. The filtering is done by the database.
+	 *
+	 * @param organizationId the identifier of the organization.
+	 * @param includeSubOrganizations indicates if the members of the suborganizations are considered.
+	 * @param year the year of publication.
+	 * @param types the types of the publications to reply. If it is {@code null}, all the types are considered.
+	 * @return the identifiers of the publications.
+	 * @since 4.0
+	 * @see #forEachPublicationInMemory(Collection, Consumer)
+	 * @see #getPublicationsByOrganizationId(long, boolean, boolean)
+	 */
+	public List<Long> getPublicationIdsByOrganizationIdAndYear(long organizationId, boolean includeSubOrganizations,
+			int year, Collection<PublicationType> types) {
+		final Set<Long> organizations;
+		if (includeSubOrganizations) {
+			organizations = this.membershipService.getOrganizationHierarchy().getOrganizationAndSubOrganizations(organizationId);
+		} else {
+			organizations = Collections.singleton(Long.valueOf(organizationId));
+		}
+		final Collection<PublicationType> allTypes = types == null ? Arrays.asList(PublicationType.values()) : types;
+		if (organizations.isEmpty() || allTypes.isEmpty()) {
+			return Collections.emptyList();
+		}
+		return this.publicationRepository.findAllIdsByOrganizationsAndYearAndTypes(organizations, year, allTypes);
+	}
+
+	/** Load the publications with the given identifiers and their components.
+	 */
+	private List<Publication> loadPublicationChunk(List<Long> ids) {
+		// Publications, authorships and authors
+		final var publications = new HashMap<Long, Publication>();
+		final var persons = new HashSet<Long>();
+		for (final var publication : this.publicationRepository.findAllWithAuthorsByIdIn(ids)) {
+			publications.put(Long.valueOf(publication.getId()), publication);
 			for (final var authorship : publication.getAuthorshipsRaw()) {
-				Hibernate.initialize(authorship.getPerson());
-				Hibernate.initialize(authorship.getPerson().getMemberships());
+				if (authorship.getPerson() != null) {
+					persons.add(Long.valueOf(authorship.getPerson().getId()));
+				}
 			}
-
-			if (publication instanceof JournalBasedPublication paper) {
-				Hibernate.initialize(paper.getJournal());
-				Hibernate.initialize(paper.getJournal().getQualityIndicators());
-			} else if (publication instanceof ConferenceBasedPublication paper) {
-				var conf = paper.getConference();
-				while (conf != null) {
-					Hibernate.initialize(conf);
-					Hibernate.initialize(conf.getQualityIndicators());
-					conf = conf.getEnclosingConference();
+		}
+		if (publications.isEmpty()) {
+			return Collections.emptyList();
+		}
+		// Memberships of the authors
+		forEachChunk(persons, chunk -> this.personRepository.findAllWithMembershipsByIdIn(chunk));
+		// Journals and their quality indicators
+		this.journalRepository.findAllWithQualityIndicatorsByPublicationIdIn(ids);
+		// Conferences, their quality indicators and the chain of enclosing conferences
+		final var conferences = new HashSet<Long>();
+		final var enclosingConferences = new HashSet<Long>();
+		final Consumer<List<Conference>> conferenceCollector = list -> {
+			for (final var conference : list) {
+				conferences.add(Long.valueOf(conference.getId()));
+				final var enclosing = conference.getEnclosingConference();
+				if (enclosing != null) {
+					enclosingConferences.add(Long.valueOf(enclosing.getId()));
 				}
 			}
+		};
+		conferenceCollector.accept(this.conferenceRepository.findAllWithQualityIndicatorsByPublicationIdIn(ids));
+		enclosingConferences.removeAll(conferences);
+		while (!enclosingConferences.isEmpty()) {
+			final var level = new ArrayList<>(enclosingConferences);
+			enclosingConferences.clear();
+			forEachChunk(level, chunk -> conferenceCollector.accept(this.conferenceRepository.findAllWithQualityIndicatorsByIdIn(chunk)));
+			// The test on the loaded conferences avoids infinite loops if there is a cycle of enclosing conferences
+			enclosingConferences.removeAll(conferences);
+		}
+		//
+		final var result = new ArrayList<Publication>(publications.size());
+		for (final var id : ids) {
+			final var publication = publications.get(id);
+			if (publication != null) {
+				result.add(publication);
+			}
+		}
+		return result;
+	}
+
+	private static void forEachChunk(Collection<Long> identifiers, Consumer<List<Long>> consumer) {
+		final var list = identifiers instanceof List<Long> ids ? ids : new ArrayList<>(identifiers);
+		for (var i = 0; i < list.size(); i += LOADING_CHUNK_SIZE) {
+			consumer.accept(list.subList(i, Math.min(list.size(), i + LOADING_CHUNK_SIZE)));
 		}
-		return publications;
 	}
 
 	/** Replies the factory for pre-publications. A pre-publication is a publication in which only the shared properties are set. It does not correspond to a concrete publication instance.
@@ -339,23 +496,78 @@ public class PublicationService extends AbstractPublicationService {
 		return this.publicationRepository.findAll(filter);
 	}
 
-	/** Replies all the publications from the database.
+	/** Replies all the publications from the database. The authors and the venues of the publications in the page
+	 * are loaded with the {@link PublicationFetchPlan#getDefault() default fetch plan}.
 	 *
 	 * @param pageable the manager of pages.
 	 * @param filter the filter of publications.
 	 * @param callback is invoked on each entity in the context of the JPA session. It may be used for forcing the loading of some lazy-loaded data.
 	 * @return the publications.
 	 * @since 4.0
+	 * @see #getAllPublications(Pageable, Specification, PublicationFetchPlan, Consumer)
 	 */
 	@Transactional
 	public Page<Publication> getAllPublications(Pageable pageable, Specification<Publication> filter, Consumer<Publication> callback) {
+		return getAllPublications(pageable, filter, PublicationFetchPlan.getDefault(), callback);
+	}
+
+	/** Replies all the publications from the database. The lazy data of the publications in the page
+	 * are loaded according to the given plan with a fixed number of batched queries, before the callback is invoked.
+	 *
+	 * @param pageable the manager of pages.
+	 * @param filter the filter of publications.
+	 * @param fetchPlan the plan for loading the lazy data of the publications.
+	 * @param callback is invoked on each entity in the context of the JPA session. It may be used for forcing the loading of some lazy-loaded data.
+	 * @return the publications.
+	 * @since 4.0
+	 */
+	@Transactional
+	public Page<Publication> getAllPublications(Pageable pageable, Specification<Publication> filter, PublicationFetchPlan fetchPlan, Consumer<Publication> callback) {
 		final var page = this.publicationRepository.findAll(filter, pageable);
+		applyFetchPlan(page.getContent(), fetchPlan);
 		if (callback != null) {
 			page.forEach(callback);
 		}
 		return page;
 	}
 
+	/** Load the lazy data of the given publications according to the given plan.
+	 * The authorships and the authors of all the publications are loaded with a single query.
+	 * The journals and the conferences are loaded by batches of identifiers
+	 * (see the property {@code spring.jpa.properties.hibernate.default_batch_fetch_size}).
+	 * This function must be invoked inside the JPA session that has loaded the publications.
+	 *
+	 * @param publications the publications to initialize.
+	 * @param fetchPlan the plan for loading the lazy data of the publications.
+	 * @since 4.0
+	 */
+	@Transactional
+	public void applyFetchPlan(Collection<? extends Publication> publications, PublicationFetchPlan fetchPlan) {
+		if (publications == null || publications.isEmpty() || fetchPlan == null) {
+			return;
+		}
+		if (fetchPlan.isAuthorsLoaded()) {
+			final var ids = publications.stream()
+					.filter(it -> !Hibernate.isInitialized(it.getAuthorshipsRaw()))
+					.map(it -> Long.valueOf(it.getId()))
+					.collect(Collectors.toSet());
+			if (!ids.isEmpty()) {
+				// The publications are already in the JPA session; the query initializes their authorships
+				this.publicationRepository.findAllWithAuthorsByIdIn(ids);
+			}
+		}
+		if (fetchPlan.isVenuesLoaded()) {
+			// The initialization of the first uninitialized proxy loads a batch of venues of the same type
+			for (final var publication : publications) {
+				if (publication instanceof JournalBasedPublication journalPaper) {
+					Hibernate.initialize(journalPaper.getJournal());
+				} else if (publication instanceof ConferenceBasedPublication conferencePaper) {
+					Hibernate.initialize(conferencePaper.getConference());
+				}
+			}
+		}
+	}
+
 	/** Replies all the publications that have the given maximum age.
 	 *
 	 * @param maxAge the maximum age of the publications.
@@ -420,7 +632,8 @@ public class PublicationService extends AbstractPublicationService {
 		final var identifiers = members.stream().map(it -> Long.valueOf(it.getId())).collect(Collectors.toUnmodifiableSet());
 		final var publications = this.publicationRepository.findAllByAuthorshipsPersonIdIn(identifiers);
 		if (filterAuthorshipsWithActiveMemberships) {
-			return filterPublicationsWithMemberships(publications, identifier, includeSubOrganizations);
+			return filterPublicationsWithMemberships(publications, identifier, includeSubOrganizations,
+					this.membershipService.getOrganizationHierarchy());
 		}
 		return publications;
 	}
@@ -492,9 +705,10 @@ public class PublicationService extends AbstractPublicationService {
 	@Deprecated(since = "4.0", forRemoval = true)
 	public Publication getPublicationBySimilarTitle(String title) {
 		if (!Strings.isNullOrEmpty(title)) {
-			for (final var publication : this.publicationRepository.findAll()) {
-				if (this.titleComparator.isSimilar(title, publication.getTitle())) {
-					return publication;
+			for (final var identifier : this.titleIndex.getPublicationIdsBySimilarTitle(title, this.titleComparator)) {
+				final var publication = this.publicationRepository.findById(identifier);
+				if (publication.isPresent()) {
+					return publication.get();
 				}
 			}
 		}
@@ -516,7 +730,13 @@ public class PublicationService extends AbstractPublicationService {
 		if (Strings.isNullOrEmpty(title)) {
 			return Collections.<Publication>emptyList();
 		}
-		final var list = this.publicationRepository.findAll().stream().filter(it -> this.titleComparator.isSimilar(title, it.getTitle())).toList();
+		final var identifiers = this.titleIndex.getPublicationIdsBySimilarTitle(title, this.titleComparator);
+		if (identifiers.isEmpty()) {
+			return Collections.<Publication>emptyList();
+		}
+		final var list = this.publicationRepository.findAllById(identifiers).stream()
+				.sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+				.toList();
 		if (initializer != null) {
 			for (final var publication : list) {
 				initializer.accept(publication);
@@ -584,6 +804,52 @@ public class PublicationService extends AbstractPublicationService {
 		return this.publicationRepository.countPublicationsForTypeAndYear(type,year);
 	}
 
+	/** Replies the numbers of publications for all the pairs of publication type and year.
+	 * The matrix is computed with a single query and kept in a cache until the publications are changed.
+	 *
+	 * @return the matrix of the counts.
+	 * @since 4.0
+	 * @see #countPublicationsPerTypeAndYear(long)
+	 */
+	public PublicationCountMatrix countPublicationsPerTypeAndYear() {
+		return this.countCache.getMatrix(0, () -> new PublicationCountMatrix(
+				this.publicationRepository.countPublicationsPerTypeAndYear()));
+	}
+
+	/** Replies the numbers of publications for all the pairs of publication type and year, when the
+	 * publications are authored by at least one member of the given organization or of its suborganizations,
+	 * and when the membership of this author is active at the publication date, or during the publication year
+	 * if the publication has no date.
+	 * The matrix is computed with a single query and kept in a cache until the publications, the memberships
+	 * or the organizations are changed.
+	 *
+	 * @param organization the identifier of the organization, or {@code 0} for all the publications.
+	 * @return the matrix of the counts.
+	 * @since 4.0
+	 * @see #countPublicationsPerTypeAndYear()
+	 */
+	public PublicationCountMatrix countPublicationsPerTypeAndYear(long organization) {
+		if (organization == 0) {
+			return countPublicationsPerTypeAndYear();
+		}
+		return this.countCache.getMatrix(organization, () -> {
+			final var organizations = this.membershipService.getOrganizationHierarchy().getOrganizationAndSubOrganizations(organization);
+			if (organizations.isEmpty()) {
+				return new PublicationCountMatrix(Collections.emptyList());
+			}
+			return new PublicationCountMatrix(this.publicationRepository.countPublicationsPerTypeAndYearForActiveMembers(organizations));
+		});
+	}
+
+	/** Invalidate the caches that depend on the publications when the current transaction is committed.
+	 */
+	private void invalidateCaches() {
+		afterCommit(() -> {
+			this.indicatorCache.invalidateAll();
+			this.countCache.invalidateAll();
+		});
+	}
+
 	/** Replies the publication categories.
 	 *
 	 * @return the list of publication categories.
@@ -695,6 +961,8 @@ public class PublicationService extends AbstractPublicationService {
 			publication.getAuthorshipsRaw().clear();
 			publication.setScientificAxes(null);
 			this.publicationRepository.deleteById(id);
+			afterCommit(() -> this.titleIndex.remove(identifier));
+			invalidateCaches();
 			logger.info("Deleted publication from database: " + identifier); //$NON-NLS-1$
 			if (removeAssociatedFiles) {
 				try {
@@ -742,6 +1010,8 @@ public class PublicationService extends AbstractPublicationService {
 				publication.getAuthorshipsRaw().clear();
 				publication.setScientificAxes(null);
 				this.publicationRepository.deleteById(Long.valueOf(id));
+				afterCommit(() -> this.titleIndex.remove(id));
+				invalidateCaches();
 				if (removeAssociatedFiles) {
 					try {
 						this.fileManager.deletePublicationPdfFile(id, logger);
@@ -815,11 +1085,14 @@ public class PublicationService extends AbstractPublicationService {
 		}
 		// Final saving into the database
 		final var newPublication = this.publicationRepository.save(publication);
+		afterCommit(() -> this.titleIndex.update(newPublication));
+		invalidateCaches();
 		if (authors != null) {
 			// Create the list of authors from the temporary (not yet saved) list. 
 			var rank = 0;
 			for (final var author : authors) {
 				this.personRepository.save(author);
+				afterCommit(() -> this.personNameIndex.update(author));
 				addAuthorship(author.getId(), publication.getId(), rank, false, logger);
 				++rank;
 			}
@@ -967,6 +1240,8 @@ public class PublicationService extends AbstractPublicationService {
 			Locale locale, Logger logger) throws Exception {
 		//Holds the IDs of the successfully imported IDs. We'll need it for type differentiation later.
 		final var importedPublicationIdentifiers = new ArrayList<Long>();
+		// The created authors are added into the index of the person names only when the transaction is committed
+		final var createdAuthors = new ArrayList<Person>();
 
 		//We are going to try to import every publication in the list
 		final var errors = new LinkedList<Throwable>();
@@ -1013,6 +1288,7 @@ public class PublicationService extends AbstractPublicationService {
 						if (jbpub.getJournal() != null && jbpub.getJournal().isFakeEntity()) {
 							final var journal = new Journal(jbpub.getJournal());
 							this.journalRepository.save(journal);
+							afterCommit(() -> this.journalNameIndex.update(journal));
 							jbpub.setJournal(journal);
 							logger.info("Created journal: " + journal); //$NON-NLS-1$
 						}
@@ -1020,6 +1296,7 @@ public class PublicationService extends AbstractPublicationService {
 						if (cbpub.getConference() != null && cbpub.getConference().isFakeEntity()) {
 							final var conference = new Conference(cbpub.getConference());
 							this.conferenceRepository.save(conference);
+							afterCommit(() -> this.conferenceNameIndex.update(conference));
 							cbpub.setConference(conference);
 							logger.info("Created conference: " + conference); //$NON-NLS-1$
 						}
@@ -1027,6 +1304,8 @@ public class PublicationService extends AbstractPublicationService {
 
 					// Add the publication to the database and get the new assigned identifier
 					this.publicationRepository.save(publication);
+					afterCommit(() -> this.titleIndex.update(publication));
+					invalidateCaches();
 					logger.info("Saved publication: " + publication.getId()); //$NON-NLS-1$
 					final var publicationId = publication.getId();
 					final var publicationIdObj = Long.valueOf(publicationId);
@@ -1043,11 +1322,20 @@ public class PublicationService extends AbstractPublicationService {
 							// Search for a person with a "similar name"
 							var personId = this.personService.getPersonIdBySimilarName(
 									author.getFirstName(), author.getLastName());
+							if (personId == 0) {
+								final var createdAuthor = this.personNameIndex.getPersonBySimilarName(
+										createdAuthors, author.getFirstName(), author.getLastName());
+								if (createdAuthor != null) {
+									personId = createdAuthor.getId();
+								}
+							}
 							// Create new author if is not inside the database.
 							// If we've already got the author with the abbreviated first name in DB, 
 							// but the one parsed have the full version, it creates a new author
 							if (personId == 0) {
 								this.personRepository.save(author);
+								createdAuthors.add(author);
+								afterCommit(() -> this.personNameIndex.update(author));
 								personId = author.getId();
 								logger.info("Created person that will becomes author: " + author); //$NON-NLS-1$
 							}
@@ -1071,6 +1359,8 @@ public class PublicationService extends AbstractPublicationService {
 								logger.info("Removed old authorship: " + toRemove); //$NON-NLS-1$
 							}
 							this.publicationRepository.deleteById(publicationIdObj);
+							afterCommit(() -> this.titleIndex.remove(publicationId));
+							invalidateCaches();
 							logger.info("Deleted publication: " + publicationIdObj); //$NON-NLS-1$
 							throw ex;
 						}
@@ -1106,6 +1396,27 @@ public class PublicationService extends AbstractPublicationService {
 		return this.bibtex.exportPublications(publications, configurator, progression, logger);
 	}
 
+	/**
+	 * Export function for BibTeX that writes the BibTeX entries into the given writer as soon as they are generated.
+	 *
+	 * @param output the receiver of the BibTeX. It is not closed by this function.
+	 * @param publications the array of publications that should be exported.
+	 * @param configurator the configurator of the exporter.
+	 * @param progression the progression indicator to be used.
+	 * @param logger the logger to be used.
+	 * @throws IOException if the BibTeX cannot be written.
+	 * @since 4.0
+	 */
+	public void exportBibTeX(Writer output, Collection<? extends Publication> publications, ExporterConfigurator configurator, Progression progression, Logger logger) throws IOException {
+		if (publications == null) {
+			progression.end();
+			return;
+		}
+		logger.info("Exporting to BibTeX the publications: " + (publications.stream().map(it -> Long.valueOf(it.getId())).toList()).toString()); //$NON-NLS-1$
+		this.bibtex.exportPublications(output, publications, configurator, progression, logger);
+		output.flush();
+	}
+
 	/**
 	 * Export function for RIS using a list of publication identifiers.
 	 *
@@ -1124,6 +1435,27 @@ public class PublicationService extends AbstractPublicationService {
 		return this.ris.exportPublications(publications, configurator, progression, logger);
 	}
 
+	/**
+	 * Export function for RIS that writes the RIS entries into the given writer as soon as they are generated.
+	 *
+	 * @param output the receiver of the RIS. It is not closed by this function.
+	 * @param publications the array of publications that should be exported.
+	 * @param configurator the configurator of the exporter.
+	 * @param progression the progression indicator to be used.
+	 * @param logger the logger to be used.
+	 * @throws IOException if the RIS cannot be written.
+	 * @since 4.0
+	 */
+	public void exportRIS(Writer output, Collection<? extends Publication> publications, ExporterConfigurator configurator, Progression progression, Logger logger) throws IOException {
+		if (publications == null) {
+			progression.end();
+			return;
+		}
+		logger.info("Exporting to RIS the publications: " + (publications.stream().map(it -> Long.valueOf(it.getId())).toList()).toString()); //$NON-NLS-1$
+		this.ris.exportPublications(output, publications, configurator, progression);
+		output.flush();
+	}
+
 	/**
 	 * Export function for HTML using a list of publication identifiers.
 	 *
@@ -1142,6 +1474,26 @@ public class PublicationService extends AbstractPublicationService {
 		return this.html.exportPublications(publications, configurator, progression, logger);
 	}
 
+	/**
+	 * Export function for HTML that writes the HTML code into the given writer as soon as it is generated.
+	 *
+	 * @param output the receiver of the HTML. It is not closed by this function.
+	 * @param publications the array of publications that should be exported.
+	 * @param configurator the configurator of the exporter.
+	 * @param progression the progression indicator to be used.
+	 * @param logger the logger to be used.
+	 * @throws Exception if it is impossible to generate the HTML for the publications.
+	 * @since 4.0
+	 */
+	public void exportHtml(Writer output, Collection<? extends Publication> publications, ExporterConfigurator configurator, Progression progression, Logger logger) throws Exception {
+		if (publications == null) {
+			progression.end();
+			return;
+		}
+		logger.info("Exporting to HTML the publications: " + (publications.stream().map(it -> Long.valueOf(it.getId())).toList()).toString()); //$NON-NLS-1$
+		this.html.exportPublications(output, publications, configurator, progression, logger);
+	}
+
 	/**
 	 * Export function for Open Document Text using a list of publication identifiers.
 	 *
@@ -1160,6 +1512,26 @@ public class PublicationService extends AbstractPublicationService {
 		return this.odt.exportPublications(publications, configurator, progression, logger);
 	}
 
+	/**
+	 * Export function for Open Document Text that saves the document directly into the given stream.
+	 *
+	 * @param output the receiver of the ODT document. It is not closed by this function.
+	 * @param publications the array of publications that should be exported.
+	 * @param configurator the configurator of the exporter.
+	 * @param progression the progression indicator to be used.
+	 * @param logger the logger to be used.
+	 * @throws Exception if it is impossible to generate the ODT for the publications.
+	 * @since 4.0
+	 */
+	public void exportOdt(OutputStream output, Collection<? extends Publication> publications, ExporterConfigurator configurator, Progression progression, Logger logger) throws Exception {
+		if (publications == null) {
+			progression.end();
+			return;
+		}
+		logger.info("Exporting to ODT the publications: " + (publications.stream().map(it -> Long.valueOf(it.getId())).toList()).toString()); //$NON-NLS-1$
+		this.odt.exportPublications(output, publications, configurator, progression, logger);
+	}
+
 	/**
 	 * Export function for JSON using a list of publication identifiers.
 	 *
@@ -1181,6 +1553,29 @@ public class PublicationService extends AbstractPublicationService {
 		return this.json.exportPublicationsWithRootKeys(publications, configurator, progression, logger, rootKeys);
 	}
 
+	/**
+	 * Export function for JSON that writes the JSON description of each publication into the given writer as soon as it is generated.
+	 *
+	 * @param output the receiver of the JSON. It is not closed by this function.
+	 * @param publications the array of publications that should be exported.
+	 * @param configurator the configurator of the exporter.
+	 * @param progression the progression indicator to be used.
+	 * @param logger the logger to be used.
+	 * @param rootKeys the sequence of keys for building the root of the tree. The exported data is then
+	 *     output into the last created node with the {@code rootKeys}.
+	 * @throws Exception if it is impossible to generate the JSON for the publications.
+	 * @since 4.0
+	 */
+	public void exportJson(Writer output, Collection<? extends Publication> publications, ExporterConfigurator configurator,
+			Progression progression, Logger logger, String... rootKeys) throws Exception {
+		if (publications == null) {
+			progression.end();
+			return;
+		}
+		logger.info("Exporting to JSON the publications: " + (publications.stream().map(it -> Long.valueOf(it.getId())).toList()).toString()); //$NON-NLS-1$
+		this.json.exportPublicationsWithRootKeys(output, publications, configurator, progression, logger, rootKeys);
+	}
+
 	/**
 	 * Export function for JSON using a list of publication identifiers.
 	 *
@@ -1835,7 +2230,9 @@ public class PublicationService extends AbstractPublicationService {
 
 	private void updateScientificAxes(boolean creation, Publication publication, List<ScientificAxis> axes) {
 		publication.setScientificAxes(axes);
-		this.publicationRepository.save(publication);
+		final var savedPublication = this.publicationRepository.save(publication);
+		afterCommit(() -> this.titleIndex.update(savedPublication));
+		invalidateCaches();
 	}
 
 	private void updateAuthorList(boolean creation, Publication publication, List<String> authors, Logger logger) {
@@ -1914,7 +2311,9 @@ public class PublicationService extends AbstractPublicationService {
 			this.personRepository.save(oldAuthor);
 			this.authorshipRepository.deleteById(Long.valueOf(oldAutshp.getId()));
 		}
-		this.publicationRepository.save(publication);
+		final var savedPublication = this.publicationRepository.save(publication);
+		afterCommit(() -> this.titleIndex.update(savedPublication));
+		invalidateCaches();
 		this.authorshipRepository.flush();
 	}
 
@@ -2308,6 +2707,9 @@ public class PublicationService extends AbstractPublicationService {
 	private Publication updateAuthorListAndSave(Publication publication, List<Person> authors, Logger logger) throws IOException {
 		// Save the publication before changing the authors
 		var savedPublication = this.publicationRepository.save(publication);
+		final var indexedPublication = savedPublication;
+		afterCommit(() -> this.titleIndex.update(indexedPublication));
+		invalidateCaches();
 		logger.info("Saved publication: " + publication.getId()); //$NON-NLS-1$
 
 		// Update the list of authors.
@@ -2375,6 +2777,8 @@ public class PublicationService extends AbstractPublicationService {
 	}
 
 	/** Generate the thumbnails for the given publications.
+	 * The thumbnails are generated in parallel, and only the thumbnails that are not up-to-date are generated.
+	 * The thumbnails without associated PDF file are deleted.
 	 *
 	 * @param publications the list of publications
 	 * @param locale the locale to be used for the progress messages.
@@ -2384,37 +2788,38 @@ public class PublicationService extends AbstractPublicationService {
 	 */
 	public void generateThumbnails(List<Publication> publications, Locale locale, Logger logger, Progression progress) throws IOException {
 		final var progress0 = progress == null ? new DefaultProgression() : progress;
-		final var existingThumbnails = this.fileManager.getThumbailFiles();
-		progress0.setProperties(0, 0, existingThumbnails.totalSize() + publications.size() * 2, false);
-		while (existingThumbnails.hasNext()) {
-			final var thumbnail = existingThumbnails.next();
-			final var logMessage = getMessage(locale, MESSAGE_PREFIX + "deleteThumbnail", thumbnail.getName()); //$NON-NLS-1$
-			logger.info(logMessage);
-			progress0.setComment(logMessage);
-			thumbnail.delete();
-			progress0.increment();
-		}
+		final var sources = new LinkedHashMap<File, String>();
 		for (final var publication : publications) {
 			final var logMessage = getMessage(locale, MESSAGE_PREFIX + "generateThumbnail", publication.getTitle()); //$NON-NLS-1$
-			logger.info(logMessage);
-			progress0.setComment(logMessage);
 			final var paperFile = publication.getPathToDownloadablePDF();
 			if (!Strings.isNullOrEmpty(paperFile)) {
 				final var file = FileSystem.convertStringToFile(paperFile);
 				if (file != null) {
-					this.fileManager.regenerateThumbnail(file, logger);
+					sources.put(file, logMessage);
 				}
 			}
-			progress0.increment();
 			final var awardFile = publication.getPathToDownloadableAwardCertificate();
 			if (!Strings.isNullOrEmpty(awardFile)) {
 				final var file = FileSystem.convertStringToFile(awardFile);
 				if (file != null) {
-					this.fileManager.regenerateThumbnail(file, logger);
+					sources.put(file, logMessage);
 				}
 			}
+		}
+		final var existingThumbnails = this.fileManager.getThumbailFiles();
+		progress0.setProperties(0, 0, existingThumbnails.totalSize() + sources.size(), false);
+		while (existingThumbnails.hasNext()) {
+			final var thumbnail = existingThumbnails.next();
+			// Only the thumbnails of the deleted PDF files are removed; the other thumbnails are updated by the pipeline
+			if (!FileSystem.replaceExtension(thumbnail, DownloadableFileManager.PDF_FILE_EXTENSION).exists()) {
+				final var logMessage = getMessage(locale, MESSAGE_PREFIX + "deleteThumbnail", thumbnail.getName()); //$NON-NLS-1$
+				logger.info(logMessage);
+				progress0.setComment(logMessage);
+				thumbnail.delete();
+			}
 			progress0.increment();
 		}
+		this.thumbnailPipeline.generateThumbnails(sources, logger, progress0.subTask(sources.size()));
 		progress0.end();
 	}
 
@@ -2574,6 +2979,8 @@ public class PublicationService extends AbstractPublicationService {
 
 				// Save the entity
 				PublicationService.this.publicationRepository.deleteById(Long.valueOf(id));
+				afterCommit(() -> PublicationService.this.titleIndex.remove(id));
+				PublicationService.this.invalidateCaches();
 				
 				// Delete file managers
 				final var pubid = publication.getId();
@@ -0,0 +1,127 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.services.publication;
+
+import java.io.Serializable;
+import java.util.List;
+
+import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.data.publication.PublicationRepository;
+import fr.utbm.ciad.labmanager.data.publication.comparators.PublicationTitleComparator;
+import fr.utbm.ciad.labmanager.utils.names.ShingleIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/** In-memory index of the publication titles that is used for searching the publications with similar titles
+ * without loading all the publications from the database.
+ *
+ * <p>The index is lazily built from the database at the first search. It is kept up-to-date
+ * by the {@link PublicationService} when the changes of the publications are committed. If the database is changed
+ * without using the publication service, e.g. when a database dump is imported, the index must be
+ * invalidated with {@link #invalidate()}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see ShingleIndex
+ */
+@Component
+public class PublicationTitleIndex implements Serializable {
+
+	private static final long serialVersionUID = 2466853620781458934L;
+
+	private final PublicationRepository publicationRepository;
+
+	private final ShingleIndex index = new ShingleIndex();
+
+	private volatile boolean initialized;
+
+	/** Constructor.
+	 *
+	 * @param publicationRepository the repository of the publications.
+	 */
+	public PublicationTitleIndex(@Autowired PublicationRepository publicationRepository) {
+		this.publicationRepository = publicationRepository;
+	}
+
+	private void ensureIndex() {
+		if (!this.initialized) {
+			synchronized (this) {
+				if (!this.initialized) {
+					this.index.clear();
+					for (final var row : this.publicationRepository.findAllIdentifiersAndTitles()) {
+						this.index.put(((Number) row[0]).longValue(), (String) row[1]);
+					}
+					this.initialized = true;
+				}
+			}
+		}
+	}
+
+	/** Force the index to be rebuilt from the database at the next search.
+	 */
+	public void invalidate() {
+		synchronized (this) {
+			this.initialized = false;
+			this.index.clear();
+		}
+	}
+
+	/** Update the index with the title of the given publication.
+	 * This function does nothing if the index was not yet built, or if the publication was not saved in the database.
+	 *
+	 * @param publication the saved publication.
+	 */
+	public void update(Publication publication) {
+		if (publication != null && publication.getId() != 0l && this.initialized) {
+			this.index.put(publication.getId(), publication.getTitle());
+		}
+	}
+
+	/** Remove the publication with the given identifier from the index.
+	 *
+	 * @param identifier the identifier of the deleted publication.
+	 */
+	public void remove(long identifier) {
+		if (this.initialized) {
+			this.index.remove(identifier);
+		}
+	}
+
+	/** Replies the identifiers of the publications with a title similar to the given title.
+	 * The index provides a reduced set of candidates that are confirmed with the given comparator.
+	 *
+	 * @param title the title to search for.
+	 * @param comparator the comparator of titles that is used for confirming the similarity of the candidates.
+	 * @return the identifiers of the publications with similar titles, sorted in ascending order.
+	 */
+	public List<Long> getPublicationIdsBySimilarTitle(String title, PublicationTitleComparator comparator) {
+		ensureIndex();
+		return this.index.getCandidates(title, comparator.getSimilarityLevel()).stream()
+				.filter(it -> {
+					final var candidateTitle = this.index.getText(it.longValue());
+					return candidateTitle != null && comparator.isSimilar(title, candidateTitle);
+				})
+				.toList();
+	}
+
+}
@@ -137,7 +137,8 @@ public class JournalPaperService extends AbstractPublicationTypeService {
 		final var identifiers = members.stream().map(it -> Long.valueOf(it.getId())).collect(Collectors.toUnmodifiableSet());
 		final var publications = this.repository.findAllByAuthorshipsPersonIdIn(identifiers);
 		if (filterAuthorshipsWithActiveMemberships) {
-			return filterPublicationsWithMemberships(publications, identifier, includeSubOrganizations);
+			return filterPublicationsWithMemberships(publications, identifier, includeSubOrganizations,
+					this.membershipService.getOrganizationHierarchy());
 		}
 		return publications;
 	}
@@ -28,6 +28,7 @@ import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.member.Person;
 import fr.utbm.ciad.labmanager.data.user.User;
 import fr.utbm.ciad.labmanager.data.user.UserRepository;
+import fr.utbm.ciad.labmanager.security.AuthenticatedUser;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService.EntityDeletingContext;
 import fr.utbm.ciad.labmanager.services.AbstractEntityService.EntityEditingContext;
 import fr.utbm.ciad.labmanager.services.AbstractService;
@@ -54,21 +55,26 @@ public class UserService extends AbstractService {
 
 	private final UserRepository userRepository;
 
+	private final AuthenticatedUser authenticatedUser;
+
 	/** Constructor for injector.
 	 * This constructor is defined for being invoked by the IOC injector.
 	 *
 	 * @param userRepository the repository for the application users.
+	 * @param authenticatedUser the accessor to the authenticated user that must be refreshed when the users are changed.
 	 * @param messages the provider of localized messages.
 	 * @param constants the accessor to the live constants.
 	 * @param sessionFactory the factory of JPA session.
 	 */
 	public UserService(
 			@Autowired UserRepository userRepository,
+			@Autowired AuthenticatedUser authenticatedUser,
 			@Autowired MessageSourceAccessor messages,
 			@Autowired ConfigurationConstants constants,
 			@Autowired SessionFactory sessionFactory) {
 		super(messages, constants, sessionFactory);
 		this.userRepository = userRepository;
+		this.authenticatedUser = authenticatedUser;
 	}
 
 	/** Replies all the known users.
@@ -141,6 +147,7 @@ public class UserService extends AbstractService {
 					final var user = getUserFor(person);
 					if (user != null) {
 						UserService.this.userRepository.delete(user);
+						UserService.this.authenticatedUser.invalidate();
 					}
 				}
 				// Delete persons
@@ -226,12 +233,14 @@ public class UserService extends AbstractService {
 				} catch (Throwable ex) {
 					//
 				}
+				UserService.this.authenticatedUser.invalidate();
 				this.user = new User();
 				this.user.setPerson(this.personContext.getEntity());
 				return false;
 			}
 			this.user.setPerson(this.personContext.getEntity());
 			this.user = UserService.this.userRepository.save(this.user);
+			UserService.this.authenticatedUser.invalidate();
 			return true;
 		}
 
@@ -253,6 +262,7 @@ public class UserService extends AbstractService {
 			} catch (Throwable ex) {
 				return false;
 			}
+			UserService.this.authenticatedUser.invalidate();
 			this.user = new User();
 			this.user.setPerson(this.personContext.getEntity());
 			//
@@ -20,16 +20,18 @@
 package fr.utbm.ciad.labmanager.utils.io;
 
 import com.google.common.base.Strings;
-import com.microsoft.playwright.BrowserType.LaunchOptions;
 import com.microsoft.playwright.ElementHandle;
 import com.microsoft.playwright.Page;
-import com.microsoft.playwright.Playwright;
 import org.arakhne.afc.progress.DefaultProgression;
 import org.arakhne.afc.progress.Progression;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import java.net.URL;
 
 /** Abstract implementation of a web-scraper.
+ *
+ * <p>The web pages are loaded with the browsers of a {@link WebBrowserPool}. The browsers are
+ * launched once and reused for the following pages.
  * 
  * @author $Author: sgalland$
  * @version $Name$ $Revision$ $Date$
@@ -45,6 +47,32 @@ public abstract class AbstractWebScraper {
 
 	private static final int TIMEOUT = 30000;
 
+	private WebBrowserPool browserPool;
+
+	/** Change the pool of browsers that is used for loading the web pages.
+	 *
+	 * @param pool the pool of browsers.
+	 * @since 4.0
+	 */
+	@Autowired
+	public synchronized void setWebBrowserPool(WebBrowserPool pool) {
+		this.browserPool = pool;
+	}
+
+	/** Replies the pool of browsers that is used for loading the web pages.
+	 * If no pool was injected, the default pool is used.
+	 *
+	 * @return the pool of browsers.
+	 * @since 4.0
+	 * @see WebBrowserPool#getDefault()
+	 */
+	protected synchronized WebBrowserPool getWebBrowserPool() {
+		if (this.browserPool == null) {
+			this.browserPool = WebBrowserPool.getDefault();
+		}
+		return this.browserPool;
+	}
+
 	/** Ensure the definition of a progress bar.
 	 *
 	 * @param progress the original progress bar.
@@ -205,6 +233,7 @@ public abstract class AbstractWebScraper {
 	}
 
 	/** Read the content of the page pointed by the given URL.
+	 * The page is opened in a browser of the pool; this function waits if all the browsers are used.
 	 *
 	 * @param developer indicates if the browser is launched in developer mode (window visible) or not (window invisible).
 	 * @param url the URL.
@@ -214,37 +243,29 @@ public abstract class AbstractWebScraper {
 	 * @param loadedHandler the handler invoked when the page is loaded.
 	 * @throws Exception if it is impossible to read the page.
 	 */
-	@SuppressWarnings("deprecation")
-	protected static void loadHtmlPage(boolean developer, URL url, Progression progress,
+	protected void loadHtmlPage(boolean developer, URL url, Progression progress,
 			String loadElementSelector, int waitingDuration,
 			HtmlPageExtractor loadedHandler) throws Exception {
 		assert progress != null;
 		progress.setProperties(0, 0, 100, false);
 		try {
 			if (url != null) {
-				try (var playwright = Playwright.create()) {
-					final var browserType = playwright.firefox();
-					final var options = new LaunchOptions();
-					options.setDevtools(developer);
-					try (final var browser = browserType.launch(options)) {
-						try (final var page = browser.newPage()) {
-							progress.setValue(20);
-							final var response = page.navigate(url.toExternalForm());
-							if (response != null) {
-								response.finished();
-							}
-							progress.setValue(80);
-							if (waitingDuration > 0) {
-								Thread.sleep(waitingDuration);
-							}
-							var section0 = waitForElement(page, loadElementSelector);
-							progress.setValue(95);
-							if (section0 != null) {
-								loadedHandler.apply(page, section0);
-							}
-						}
+				getWebBrowserPool().withPage(developer, page -> {
+					progress.setValue(20);
+					final var response = page.navigate(url.toExternalForm());
+					if (response != null) {
+						response.finished();
 					}
-				}
+					progress.setValue(80);
+					if (waitingDuration > 0) {
+						Thread.sleep(waitingDuration);
+					}
+					var section0 = waitForElement(page, loadElementSelector);
+					progress.setValue(95);
+					if (section0 != null) {
+						loadedHandler.apply(page, section0);
+					}
+				});
 			}
 		} finally {
 			progress.end();
@@ -0,0 +1,354 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.io;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.arakhne.afc.progress.DefaultProgression;
+import org.arakhne.afc.progress.Progression;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/** Pipeline for fetching the rankings of a batch of entities from the online platforms.
+ *
+ * <p>The lookups are run in parallel by a bounded number of threads (property {@code labmanager.ranking-fetch.parallelism}).
+ * The lookups that target the same host are rate-limited (property {@code labmanager.ranking-fetch.requests-per-second}).
+ * A failed lookup is retried with an exponential backoff (properties {@code labmanager.ranking-fetch.max-retries}
+ * and {@code labmanager.ranking-fetch.retry-delay}).
+ *
+ * <p>The results are given to the consumer, and the progression is updated, from the thread that has invoked
+ * {@link #fetch(List, Function, Fetcher, ErrorHandler, Logger, Progression, ResultConsumer) fetch}. In this way, the
+ * consumer does not need to be thread-safe and it is run in the transaction of the caller.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Component
+public class RankingFetchPipeline {
+
+	/** Default number of lookups that are run in parallel.
+	 */
+	public static final int DEFAULT_PARALLELISM = 4;
+
+	/** Default maximum number of requests per second to the same host.
+	 */
+	public static final double DEFAULT_REQUESTS_PER_SECOND = 4.;
+
+	/** Default number of retries of a failed lookup.
+	 */
+	public static final int DEFAULT_MAX_RETRIES = 2;
+
+	/** Default delay before the first retry of a failed lookup.
+	 */
+	public static final Duration DEFAULT_RETRY_DELAY = Duration.ofSeconds(1);
+
+	private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+	private final int parallelism;
+
+	private final long minRequestInterval;
+
+	private final int maxRetries;
+
+	private final long retryDelay;
+
+	private final Map<String, HostRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+	/** Constructor with the default configuration.
+	 */
+	public RankingFetchPipeline() {
+		this(DEFAULT_PARALLELISM, DEFAULT_REQUESTS_PER_SECOND, DEFAULT_MAX_RETRIES, DEFAULT_RETRY_DELAY);
+	}
+
+	/** Constructor.
+	 *
+	 * @param parallelism the number of lookups that are run in parallel.
+	 * @param requestsPerSecond the maximum number of requests per second to the same host. A value
+	 *     that is negative or zero disables the rate limit.
+	 * @param maxRetries the number of retries of a failed lookup.
+	 * @param retryDelay the delay before the first retry of a failed lookup. This delay is doubled at each retry.
+	 */
+	@Autowired
+	public RankingFetchPipeline(
+			@Value("${labmanager.ranking-fetch.parallelism:4}") int parallelism,
+			@Value("${labmanager.ranking-fetch.requests-per-second:4}") double requestsPerSecond,
+			@Value("${labmanager.ranking-fetch.max-retries:2}") int maxRetries,
+			@Value("${labmanager.ranking-fetch.retry-delay:1s}") Duration retryDelay) {
+		this.parallelism = Math.max(1, parallelism);
+		this.minRequestInterval = requestsPerSecond > 0. ? (long) (1000000000. / requestsPerSecond) : 0l;
+		this.maxRetries = Math.max(0, maxRetries);
+		this.retryDelay = retryDelay == null ? DEFAULT_RETRY_DELAY.toMillis() : Math.max(0l, retryDelay.toMillis());
+	}
+
+	/** Replies the number of lookups that are run in parallel.
+	 *
+	 * @return the number of parallel lookups.
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	/** Fetch the rankings of the given entities. Any failure of a lookup, after the retries, is forwarded to the caller.
+	 *
+	 * @param <T> the type of the entities.
+	 * @param <R> the type of the rankings.
+	 * @param entities the entities for which the rankings must be fetched.
+	 * @param rateLimitKey the function that replies the key for the rate limit of an entity, usually the name of the host
+	 *     that is queried for the entity. If the replied key is {@code null}, the lookup is not rate-limited.
+	 * @param fetcher the lookup of the ranking of a single entity.
+	 * @param logger the logger to be used.
+	 * @param progress the progression monitor that is incremented of one unit for each entity. It may be {@code null}.
+	 * @param consumer the consumer of the rankings.
+	 * @throws Exception if a lookup has failed or if the consumer has failed.
+	 * @see #fetch(List, Function, Fetcher, ErrorHandler, Logger, Progression, ResultConsumer)
+	 */
+	public <T, R> void fetch(List<? extends T> entities, Function<? super T, String> rateLimitKey, Fetcher<T, R> fetcher,
+			Logger logger, Progression progress, ResultConsumer<T, R> consumer) throws Exception {
+		fetch(entities, rateLimitKey, fetcher, null, logger, progress, consumer);
+	}
+
+	/** Fetch the rankings of the given entities.
+	 *
+	 * @param <T> the type of the entities.
+	 * @param <R> the type of the rankings.
+	 * @param entities the entities for which the rankings must be fetched.
+	 * @param rateLimitKey the function that replies the key for the rate limit of an entity, usually the name of the host
+	 *     that is queried for the entity. If the replied key is {@code null}, the lookup is not rate-limited.
+	 * @param fetcher the lookup of the ranking of a single entity.
+	 * @param errorHandler the handler that is invoked when a lookup has failed after all the retries. It replies the ranking
+	 *     to give to the consumer. If it is {@code null}, the failure is forwarded to the caller.
+	 * @param logger the logger to be used.
+	 * @param progress the progression monitor that is incremented of one unit for each entity. It may be {@code null}.
+	 * @param consumer the consumer of the rankings.
+	 * @throws Exception if a lookup has failed and the error handler has forwarded the failure, or if the consumer has failed.
+	 */
+	public <T, R> void fetch(List<? extends T> entities, Function<? super T, String> rateLimitKey, Fetcher<T, R> fetcher,
+			ErrorHandler<T, R> errorHandler, Logger logger, Progression progress, ResultConsumer<T, R> consumer) throws Exception {
+		if (entities.isEmpty()) {
+			return;
+		}
+		final var progress0 = progress == null ? new DefaultProgression() : progress;
+		final var executor = Executors.newFixedThreadPool(Math.min(this.parallelism, entities.size()), runnable -> {
+			final var thread = new Thread(runnable, "ranking-fetch-" + THREAD_COUNTER.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			final var completion = new ExecutorCompletionService<FetchResult<T, R>>(executor);
+			for (final T entity : entities) {
+				completion.submit(() -> {
+					final R result = fetchWithRetries(entity, rateLimitKey, fetcher, errorHandler, logger);
+					return new FetchResult<>(entity, result);
+				});
+			}
+			for (var i = 0; i < entities.size(); ++i) {
+				final FetchResult<T, R> result;
+				try {
+					result = completion.take().get();
+				} catch (ExecutionException ex) {
+					final var cause = ex.getCause();
+					if (cause instanceof Exception cex) {
+						throw cex;
+					}
+					throw ex;
+				}
+				consumer.consume(result.entity(), result.ranking());
+				progress0.increment();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private <T, R> R fetchWithRetries(T entity, Function<? super T, String> rateLimitKey, Fetcher<T, R> fetcher,
+			ErrorHandler<T, R> errorHandler, Logger logger) throws Exception {
+		final var key = rateLimitKey == null ? null : rateLimitKey.apply(entity);
+		var delay = this.retryDelay;
+		var attempt = 0;
+		while (true) {
+			if (key != null && this.minRequestInterval > 0l) {
+				this.rateLimiters.computeIfAbsent(key, it -> new HostRateLimiter(this.minRequestInterval)).acquire();
+			}
+			try {
+				return fetcher.fetch(entity, new DefaultProgression());
+			} catch (InterruptedException ex) {
+				throw ex;
+			} catch (Exception ex) {
+				if (attempt >= this.maxRetries) {
+					if (errorHandler != null) {
+						return errorHandler.onError(entity, ex);
+					}
+					throw ex;
+				}
+				++attempt;
+				if (logger != null) {
+					logger.warn("Retrying the ranking lookup for " + entity + " (attempt " + attempt + "): " + ex.getLocalizedMessage()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				}
+				if (delay > 0l) {
+					Thread.sleep(delay);
+					delay *= 2;
+				}
+			}
+		}
+	}
+
+	/** Lookup of the ranking of a single entity.
+	 *
+	 * @param <T> the type of the entities.
+	 * @param <R> the type of the rankings.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	@FunctionalInterface
+	public interface Fetcher<T, R> {
+
+		/** Fetch the ranking of the given entity. This function is invoked from a thread of the pipeline.
+		 *
+		 * @param entity the entity.
+		 * @param progress the progression monitor for the lookup.
+		 * @return the ranking, or {@code null} if there is no ranking.
+		 * @throws Exception if the ranking cannot be fetched. The lookup is retried.
+		 */
+		R fetch(T entity, Progression progress) throws Exception;
+
+	}
+
+	/** Handler of the lookups that have failed after all the retries.
+	 *
+	 * @param <T> the type of the entities.
+	 * @param <R> the type of the rankings.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	@FunctionalInterface
+	public interface ErrorHandler<T, R> {
+
+		/** Invoked when the lookup of the ranking of the given entity has failed.
+		 *
+		 * @param entity the entity.
+		 * @param error the last error.
+		 * @return the ranking to give to the consumer.
+		 * @throws Exception if the failure must be forwarded to the caller of the pipeline.
+		 */
+		R onError(T entity, Exception error) throws Exception;
+
+	}
+
+	/** Consumer of the rankings.
+	 *
+	 * @param <T> the type of the entities.
+	 * @param <R> the type of the rankings.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	@FunctionalInterface
+	public interface ResultConsumer<T, R> {
+
+		/** Invoked from the thread of the caller of the pipeline when the ranking of an entity is fetched.
+		 * The rankings are given in the order of the end of their lookups.
+		 *
+		 * @param entity the entity.
+		 * @param ranking the ranking, or {@code null} if there is no ranking.
+		 * @throws Exception if the ranking cannot be consumed.
+		 */
+		void consume(T entity, R ranking) throws Exception;
+
+	}
+
+	/** Result of a lookup.
+	 *
+	 * @param <T> the type of the entities.
+	 * @param <R> the type of the rankings.
+	 * @param entity the entity.
+	 * @param ranking the ranking.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	private record FetchResult<T, R>(T entity, R ranking) {
+		//
+	}
+
+	/** Rate limiter for a host that is ensuring a minimum interval between two requests.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	private static class HostRateLimiter {
+
+		private final long interval;
+
+		private long nextRequest = Long.MIN_VALUE;
+
+		/** Constructor.
+		 *
+		 * @param interval the minimum interval between two requests in nanoseconds.
+		 */
+		HostRateLimiter(long interval) {
+			this.interval = interval;
+		}
+
+		/** Wait until a request could be sent to the host.
+		 *
+		 * @throws InterruptedException if the thread is interrupted while waiting.
+		 */
+		void acquire() throws InterruptedException {
+			final long waitingTime;
+			synchronized (this) {
+				final var now = System.nanoTime();
+				final var slot = this.nextRequest == Long.MIN_VALUE ? now : Math.max(now, this.nextRequest);
+				this.nextRequest = slot + this.interval;
+				waitingTime = slot - now;
+			}
+			if (waitingTime > 0l) {
+				Thread.sleep(waitingTime / 1000000l, (int) (waitingTime % 1000000l));
+			}
+		}
+
+	}
+
+}
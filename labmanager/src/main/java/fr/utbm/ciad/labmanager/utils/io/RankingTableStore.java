@@ -0,0 +1,535 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import com.google.common.base.Strings;
+import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
+import org.arakhne.afc.vmutil.FileSystem;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/** Store of the ranking tables of the journals, e.g., the Scimago or Web-of-Science tables.
+ *
+ * <p>A ranking table maps the identifiers of the journals, for a given source and a given year, to their quartiles
+ * per scientific category and their impact factor. Each table is saved in a compact binary file in the folder
+ * {@code Rankings} of the upload folder (property {@code labmanager.file.upload-directory}). In this way,
+ * the tables are neither downloaded nor parsed again after a restart of the application.
+ *
+ * <p>The tables that were recently used are kept in memory. The number of tables in memory is bounded
+ * (property {@code labmanager.rankings.max-years-in-memory}); the least recently used tables are
+ * removed from the memory when this bound is reached. The names of the categories are shared by all the
+ * journals of a table.
+ *
+ * <p>A table may be associated to a version, e.g., the hash code of the uploaded CSV file or the URL from which it was
+ * downloaded, and to a maximal age. When the version of the requested table is not the version of the stored
+ * table, or when the stored table is too old, the table is loaded again and it replaces the stored table.
+ * In this way, a corrected file that is uploaded for the same year, or the rankings of the current year that are
+ * still updated by an online source, are not hidden by the stored table.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Component
+public class RankingTableStore {
+
+	/** Default number of tables that are kept in memory.
+	 */
+	public static final int DEFAULT_MAX_TABLES_IN_MEMORY = 3;
+
+	/** Default duration of the tables that are downloaded from an online source and that may still be updated by this source.
+	 */
+	public static final Duration DEFAULT_ONLINE_TABLE_DURATION = Duration.ofDays(7);
+
+	private static final String FOLDER_NAME = "Rankings"; //$NON-NLS-1$
+
+	private static final String FILE_EXTENSION = ".bin"; //$NON-NLS-1$
+
+	private static final int MAGIC_NUMBER = 0x4C4D5254;
+
+	private static final int FORMAT_VERSION = 2;
+
+	private final File folder;
+
+	private final int maxTablesInMemory;
+
+	private final Duration onlineTableDuration;
+
+	private final Map<TableKey, StoredTable> tables;
+
+	private final Map<TableKey, Object> locks = new ConcurrentHashMap<>();
+
+	private final LongSupplier clock;
+
+	/** Constructor for a store that is not saving the tables on the disk.
+	 */
+	public RankingTableStore() {
+		this((File) null, DEFAULT_MAX_TABLES_IN_MEMORY);
+	}
+
+	/** Constructor.
+	 *
+	 * @param uploadFolder the path of the upload folder. It is defined by the property {@code labmanager.file.upload-directory}.
+	 * @param maxTablesInMemory the maximum number of tables that are kept in memory.
+	 * @param onlineTableDuration the duration of the tables that may still be updated by their online sources.
+	 */
+	@Autowired
+	public RankingTableStore(
+			@Value("${labmanager.file.upload-directory}") String uploadFolder,
+			@Value("${labmanager.rankings.max-years-in-memory:3}") int maxTablesInMemory,
+			@Value("${labmanager.rankings.online-duration:7d}") Duration onlineTableDuration) {
+		this(Strings.isNullOrEmpty(uploadFolder) ? null
+				: FileSystem.join(FileSystem.convertStringToFile(uploadFolder).getAbsoluteFile(), FOLDER_NAME),
+				maxTablesInMemory, onlineTableDuration, System::currentTimeMillis);
+	}
+
+	/** Constructor.
+	 *
+	 * @param folder the folder in which the tables are saved, or {@code null} if the tables are not saved on the disk.
+	 * @param maxTablesInMemory the maximum number of tables that are kept in memory.
+	 */
+	public RankingTableStore(File folder, int maxTablesInMemory) {
+		this(folder, maxTablesInMemory, DEFAULT_ONLINE_TABLE_DURATION, System::currentTimeMillis);
+	}
+
+	/** Constructor.
+	 *
+	 * @param folder the folder in which the tables are saved, or {@code null} if the tables are not saved on the disk.
+	 * @param maxTablesInMemory the maximum number of tables that are kept in memory.
+	 * @param onlineTableDuration the duration of the tables that may still be updated by their online sources.
+	 * @param clock the provider of the current time in milliseconds.
+	 */
+	public RankingTableStore(File folder, int maxTablesInMemory, Duration onlineTableDuration, LongSupplier clock) {
+		this.folder = folder;
+		this.onlineTableDuration = onlineTableDuration == null ? DEFAULT_ONLINE_TABLE_DURATION : onlineTableDuration;
+		this.clock = clock;
+		this.maxTablesInMemory = Math.max(1, maxTablesInMemory);
+		this.tables = new LinkedHashMap<>(16, .75f, true) {
+			private static final long serialVersionUID = -3218412573398497437L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<TableKey, StoredTable> eldest) {
+				return size() > RankingTableStore.this.maxTablesInMemory;
+			}
+		};
+	}
+
+	/** Replies the folder in which the tables are saved.
+	 *
+	 * @return the folder, or {@code null} if the tables are not saved on the disk.
+	 */
+	public File getFolder() {
+		return this.folder;
+	}
+
+	/** Replies the maximal age of the tables that are downloaded from an online source and that may still be
+	 * updated by this source, e.g., the Scimago rankings of the current year.
+	 *
+	 * @return the duration of these tables.
+	 */
+	public Duration getOnlineTableDuration() {
+		return this.onlineTableDuration;
+	}
+
+	/** Replies the file in which the table for the given source and year is saved.
+	 *
+	 * @param source the name of the source of the rankings.
+	 * @param year the reference year.
+	 * @return the file, or {@code null} if the tables are not saved on the disk.
+	 */
+	public File getTableFile(String source, int year) {
+		if (this.folder == null) {
+			return null;
+		}
+		return FileSystem.join(this.folder, source + "-" + year + FILE_EXTENSION); //$NON-NLS-1$
+	}
+
+	/** Replies if the table for the given source and year is in memory.
+	 *
+	 * @param source the name of the source of the rankings.
+	 * @param year the reference year.
+	 * @return {@code true} if the table is in memory.
+	 */
+	public synchronized boolean isInMemory(String source, int year) {
+		return this.tables.containsKey(new TableKey(source, year));
+	}
+
+	/** Replies the ranking table for the given source and year. The table is searched in memory, then on the disk.
+	 * If it is found in neither of them, it is loaded with the given loader and saved on the disk.
+	 * The table is loaded only once, even if several threads request it at the same time.
+	 * The stored table has no version and never expires.
+	 *
+	 * @param <T> the type of the rankings of the journals.
+	 * @param source the name of the source of the rankings, e.g., {@code scimago}.
+	 * @param year the reference year.
+	 * @param codec the converter between the rankings and their representation in the store.
+	 * @param loader the loader of the table when it is not in the store.
+	 * @return the unmodifiable ranking table.
+	 * @see #getTable(String, int, String, Duration, RankingCodec, TableLoader)
+	 */
+	public <T> Map<String, T> getTable(String source, int year, RankingCodec<T> codec, TableLoader<T> loader) {
+		return getTable(source, year, null, null, codec, loader);
+	}
+
+	/** Replies the ranking table for the given source, year and version. The table is searched in memory, then on the disk.
+	 * If it is found in neither of them, if the stored table has not the given version, or if the stored table
+	 * is older than the given age, the table is loaded with the given loader and it replaces the stored table in memory
+	 * and on the disk. The table is loaded only once, even if several threads request it at the same time.
+	 *
+	 * @param <T> the type of the rankings of the journals.
+	 * @param source the name of the source of the rankings, e.g., {@code scimago}.
+	 * @param year the reference year.
+	 * @param version the version of the table, e.g., the hash code of the source file, or {@code null} if any stored table
+	 *     could be replied.
+	 * @param maxAge the maximal age of the stored table, or {@code null} if the stored table never expires.
+	 * @param codec the converter between the rankings and their representation in the store.
+	 * @param loader the loader of the table when it is not in the store.
+	 * @return the unmodifiable ranking table.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> Map<String, T> getTable(String source, int year, String version, Duration maxAge, RankingCodec<T> codec, TableLoader<T> loader) {
+		final var key = new TableKey(source, year);
+		synchronized (this) {
+			final var table = this.tables.get(key);
+			if (isValid(table, version, maxAge)) {
+				return (Map<String, T>) table.rankings();
+			}
+		}
+		final var lock = this.locks.computeIfAbsent(key, it -> new Object());
+		synchronized (lock) {
+			synchronized (this) {
+				final var table = this.tables.get(key);
+				if (isValid(table, version, maxAge)) {
+					return (Map<String, T>) table.rankings();
+				}
+			}
+			final var file = getTableFile(source, year);
+			StoredTable table = null;
+			if (file != null && file.isFile()) {
+				try {
+					table = readTable(file, codec);
+				} catch (Throwable ex) {
+					LoggerFactory.getLogger(getClass()).warn("Invalid ranking table " + file + ": " + ex.getLocalizedMessage(), ex); //$NON-NLS-1$ //$NON-NLS-2$
+					table = null;
+				}
+				if (!isValid(table, version, maxAge)) {
+					table = null;
+				}
+			}
+			if (table == null) {
+				table = new StoredTable(compact(loader.load(), codec), version, this.clock.getAsLong());
+				if (file != null) {
+					try {
+						writeTable(file, table, codec);
+					} catch (Throwable ex) {
+						LoggerFactory.getLogger(getClass()).warn("Cannot save the ranking table " + file + ": " + ex.getLocalizedMessage(), ex); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+				}
+			}
+			synchronized (this) {
+				this.tables.put(key, table);
+			}
+			return (Map<String, T>) table.rankings();
+		}
+	}
+
+	private boolean isValid(StoredTable table, String version, Duration maxAge) {
+		if (table == null) {
+			return false;
+		}
+		if (version != null && !version.equals(table.version())) {
+			return false;
+		}
+		return maxAge == null || this.clock.getAsLong() - table.creationTime() <= maxAge.toMillis();
+	}
+
+	/** Remove the table for the given source and year from the memory and from the disk.
+	 * The table will be loaded again at the next request.
+	 *
+	 * @param source the name of the source of the rankings.
+	 * @param year the reference year.
+	 */
+	public void invalidate(String source, int year) {
+		final var key = new TableKey(source, year);
+		final var lock = this.locks.computeIfAbsent(key, it -> new Object());
+		synchronized (lock) {
+			synchronized (this) {
+				this.tables.remove(key);
+			}
+			final var file = getTableFile(source, year);
+			if (file != null && file.exists()) {
+				file.delete();
+			}
+		}
+	}
+
+	/** Create a copy of the table in which the category names are shared and the maps are unmodifiable.
+	 * The journals with equal rankings share the same ranking object.
+	 *
+	 * @param <T> the type of the rankings of the journals.
+	 * @param table the table.
+	 * @param codec the converter of the rankings.
+	 * @return the compact table.
+	 */
+	private static <T> Map<String, T> compact(Map<String, T> table, RankingCodec<T> codec) {
+		if (table == null || table.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		final var categories = new HashMap<String, String>();
+		final var rankings = new HashMap<RankingValue, T>();
+		final var result = new HashMap<String, T>(table.size() * 4 / 3 + 1);
+		for (final var entry : table.entrySet()) {
+			if (entry.getValue() != null) {
+				final var quartiles = new HashMap<String, QuartileRanking>();
+				for (final var quartile : codec.getQuartiles(entry.getValue()).entrySet()) {
+					quartiles.put(categories.computeIfAbsent(quartile.getKey(), name -> name), quartile.getValue());
+				}
+				final var value = new RankingValue(Collections.unmodifiableMap(quartiles), codec.getImpactFactor(entry.getValue()));
+				final var ranking = rankings.computeIfAbsent(value, it -> codec.create(it.quartiles(), it.impactFactor()));
+				result.put(entry.getKey(), ranking);
+			}
+		}
+		return Collections.unmodifiableMap(result);
+	}
+
+	/** Save the given table in the given file. The file is replaced only when the table is completely written.
+	 *
+	 * @param <T> the type of the rankings of the journals.
+	 * @param file the file.
+	 * @param storedTable the table to save.
+	 * @param codec the converter of the rankings.
+	 * @throws IOException if the file cannot be written.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> void writeTable(File file, StoredTable storedTable, RankingCodec<T> codec) throws IOException {
+		final var table = (Map<String, T>) storedTable.rankings();
+		final var categoryIndexes = new HashMap<String, Integer>();
+		final var categories = new ArrayList<String>();
+		final var rankingIndexes = new IdentityHashMap<T, Integer>();
+		final var rankings = new ArrayList<T>();
+		for (final var ranking : table.values()) {
+			if (!rankingIndexes.containsKey(ranking)) {
+				rankingIndexes.put(ranking, Integer.valueOf(rankings.size()));
+				rankings.add(ranking);
+				for (final var category : codec.getQuartiles(ranking).keySet()) {
+					categoryIndexes.computeIfAbsent(category, it -> {
+						categories.add(it);
+						return Integer.valueOf(categories.size() - 1);
+					});
+				}
+			}
+		}
+
+		file.getParentFile().mkdirs();
+		final var tmpFile = new File(file.getParentFile(), file.getName() + ".tmp"); //$NON-NLS-1$
+		try (final var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile.toPath())))) {
+			output.writeInt(MAGIC_NUMBER);
+			output.writeInt(FORMAT_VERSION);
+			output.writeBoolean(storedTable.version() != null);
+			if (storedTable.version() != null) {
+				output.writeUTF(storedTable.version());
+			}
+			output.writeLong(storedTable.creationTime());
+			output.writeInt(categories.size());
+			for (final var category : categories) {
+				output.writeUTF(category);
+			}
+			output.writeInt(rankings.size());
+			for (final var ranking : rankings) {
+				output.writeFloat(codec.getImpactFactor(ranking));
+				final var quartiles = codec.getQuartiles(ranking);
+				output.writeInt(quartiles.size());
+				for (final var quartile : quartiles.entrySet()) {
+					output.writeInt(categoryIndexes.get(quartile.getKey()).intValue());
+					output.writeByte(QuartileRanking.normalize(quartile.getValue()).ordinal());
+				}
+			}
+			output.writeInt(table.size());
+			for (final var entry : table.entrySet()) {
+				output.writeUTF(entry.getKey());
+				output.writeInt(rankingIndexes.get(entry.getValue()).intValue());
+			}
+		}
+		Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/** Read the table from the given file.
+	 *
+	 * @param <T> the type of the rankings of the journals.
+	 * @param file the file.
+	 * @param codec the converter of the rankings.
+	 * @return the table.
+	 * @throws IOException if the file cannot be read.
+	 */
+	private static <T> StoredTable readTable(File file, RankingCodec<T> codec) throws IOException {
+		try (final var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (input.readInt() != MAGIC_NUMBER || input.readInt() != FORMAT_VERSION) {
+				throw new IOException("Unsupported format of ranking table"); //$NON-NLS-1$
+			}
+			final var version = input.readBoolean() ? input.readUTF() : null;
+			final var creationTime = input.readLong();
+			final var quartileValues = QuartileRanking.values();
+			final var categories = new String[input.readInt()];
+			for (var i = 0; i < categories.length; ++i) {
+				categories[i] = input.readUTF();
+			}
+			final var rankingCount = input.readInt();
+			final var rankings = new ArrayList<T>(rankingCount);
+			for (var i = 0; i < rankingCount; ++i) {
+				final var impactFactor = input.readFloat();
+				final var quartileCount = input.readInt();
+				final var quartiles = new HashMap<String, QuartileRanking>();
+				for (var j = 0; j < quartileCount; ++j) {
+					final var category = categories[input.readInt()];
+					quartiles.put(category, quartileValues[input.readByte()]);
+				}
+				rankings.add(codec.create(Collections.unmodifiableMap(quartiles), impactFactor));
+			}
+			final var entryCount = input.readInt();
+			final var table = new HashMap<String, T>(entryCount * 4 / 3 + 1);
+			for (var i = 0; i < entryCount; ++i) {
+				final var identifier = input.readUTF();
+				table.put(identifier, rankings.get(input.readInt()));
+			}
+			return new StoredTable(Collections.unmodifiableMap(table), version, creationTime);
+		}
+	}
+
+	/** Converter between the rankings of a journal and their representation in the store.
+	 *
+	 * @param <T> the type of the rankings of the journals.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	public interface RankingCodec<T> {
+
+		/** Replies the quartiles per category of the given rankings.
+		 *
+		 * @param rankings the rankings of the journal.
+		 * @return the quartiles per category.
+		 */
+		Map<String, QuartileRanking> getQuartiles(T rankings);
+
+		/** Replies the impact factor of the given rankings.
+		 *
+		 * @param rankings the rankings of the journal.
+		 * @return the impact factor, or {@code 0} if it is unknown.
+		 */
+		float getImpactFactor(T rankings);
+
+		/** Create the rankings of a journal.
+		 *
+		 * @param quartiles the quartiles per category.
+		 * @param impactFactor the impact factor.
+		 * @return the rankings.
+		 */
+		T create(Map<String, QuartileRanking> quartiles, float impactFactor);
+
+	}
+
+	/** Loader of a ranking table when it is not in the store.
+	 *
+	 * @param <T> the type of the rankings of the journals.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	@FunctionalInterface
+	public interface TableLoader<T> {
+
+		/** Load the table, usually by downloading and parsing a CSV file.
+		 *
+		 * @return the table that maps the journal identifiers to their rankings.
+		 */
+		Map<String, T> load();
+
+	}
+
+	/** Key of a table in the store.
+	 *
+	 * @param source the name of the source of the rankings.
+	 * @param year the reference year.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	private record TableKey(String source, int year) {
+		//
+	}
+
+	/** Content of a ranking that is used for sharing the equal rankings.
+	 *
+	 * @param quartiles the quartiles per scientific category.
+	 * @param impactFactor the impact factor.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	private record RankingValue(Map<String, QuartileRanking> quartiles, float impactFactor) {
+		//
+	}
+
+	/** Table in the store.
+	 *
+	 * @param rankings the map from the journal identifiers to their rankings.
+	 * @param version the version of the table, or {@code null} if none.
+	 * @param creationTime the time at which the table was loaded from its source, in milliseconds.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	private record StoredTable(Map<String, ?> rankings, String version, long creationTime) {
+		//
+	}
+
+}
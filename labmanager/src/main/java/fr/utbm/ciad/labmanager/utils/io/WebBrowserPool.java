@@ -0,0 +1,356 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.io;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/** Pool of headless web browsers that are used by the web scrapers.
+ *
+ * <p>Launching a Playwright browser takes several seconds. This pool keeps the launched browsers
+ * alive between two page loadings, and closes them after an idle duration. The number of browsers,
+ * and therefore the number of pages that are loaded in parallel, is bounded. A thread that needs
+ * a browser while all the browsers are used waits until one of them is returned to the pool.
+ *
+ * <p>Because the Playwright objects are not thread-safe, a browser is used by a single thread
+ * at a time. Each page is opened in a new browser context that is closed when the page is
+ * released, so that the cookies and the cache of a page are not shared with the next page.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Component
+public class WebBrowserPool implements AutoCloseable {
+
+	/** Default maximum number of browsers.
+	 */
+	public static final int DEFAULT_MAX_BROWSERS = 2;
+
+	/** Default duration after which an unused browser is closed.
+	 */
+	public static final Duration DEFAULT_IDLE_DURATION = Duration.ofMinutes(5);
+
+	private static WebBrowserPool defaultPool;
+
+	private final int maxBrowsers;
+
+	private final long idleDuration;
+
+	private final Semaphore permits;
+
+	private final Deque<PooledBrowser> idleBrowsers = new ArrayDeque<>();
+
+	private final ScheduledExecutorService idleChecker;
+
+	private final Supplier<Playwright> playwrightFactory;
+
+	private boolean closed;
+
+	/** Constructor.
+	 *
+	 * @param maxBrowsers the maximum number of browsers that are launched at the same time.
+	 * @param idleDuration the duration after which an unused browser is closed.
+	 */
+	@Autowired
+	public WebBrowserPool(
+			@Value("${labmanager.web-scraper.max-browsers:2}") int maxBrowsers,
+			@Value("${labmanager.web-scraper.idle-duration:5m}") Duration idleDuration) {
+		this(maxBrowsers, idleDuration, Playwright::create);
+	}
+
+	/** Constructor with a specific factory of Playwright instances.
+	 *
+	 * @param maxBrowsers the maximum number of browsers that are launched at the same time.
+	 * @param idleDuration the duration after which an unused browser is closed.
+	 * @param playwrightFactory the factory of the Playwright instances that launch the browsers.
+	 */
+	public WebBrowserPool(int maxBrowsers, Duration idleDuration, Supplier<Playwright> playwrightFactory) {
+		this.playwrightFactory = playwrightFactory;
+		this.maxBrowsers = Math.max(1, maxBrowsers);
+		this.idleDuration = (idleDuration == null ? DEFAULT_IDLE_DURATION : idleDuration).toMillis();
+		this.permits = new Semaphore(this.maxBrowsers, true);
+		this.idleChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final var thread = new Thread(runnable, "web-browser-pool"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		final var period = Math.max(1000, this.idleDuration / 2);
+		this.idleChecker.scheduleWithFixedDelay(this::closeIdleBrowsers, period, period, TimeUnit.MILLISECONDS);
+	}
+
+	/** Replies the pool that is shared by the web scrapers that are not created by the Spring injector.
+	 *
+	 * @return the default pool.
+	 */
+	public static synchronized WebBrowserPool getDefault() {
+		if (defaultPool == null) {
+			defaultPool = new WebBrowserPool(DEFAULT_MAX_BROWSERS, DEFAULT_IDLE_DURATION);
+			Runtime.getRuntime().addShutdownHook(new Thread(defaultPool::close));
+		}
+		return defaultPool;
+	}
+
+	/** Replies the maximum number of browsers that are launched at the same time.
+	 *
+	 * @return the maximum number of browsers.
+	 */
+	public int getMaxBrowsers() {
+		return this.maxBrowsers;
+	}
+
+	/** Replies the number of launched browsers that are not used.
+	 *
+	 * @return the number of idle browsers.
+	 */
+	public synchronized int getIdleBrowserCount() {
+		return this.idleBrowsers.size();
+	}
+
+	/** Open a new page in a browser of the pool, and run the given code on it.
+	 * The page and its browser context are closed after the call, and the browser is returned to the pool.
+	 * If all the browsers are used, this function waits for a browser to be returned to the pool.
+	 *
+	 * @param developer indicates if the browser is launched in developer mode (window visible) or not (window invisible).
+	 * @param handler the code to run on the page.
+	 * @throws Exception if the page cannot be opened or if the handler fails.
+	 */
+	public void withPage(boolean developer, PageHandler handler) throws Exception {
+		final var browser = checkout(developer);
+		var healthy = false;
+		try {
+			try (final var context = browser.browser.newContext()) {
+				try (final var page = context.newPage()) {
+					handler.apply(page);
+				}
+			}
+			healthy = true;
+		} finally {
+			release(browser, healthy);
+		}
+	}
+
+	/** Take a browser from the pool, or launch a new one.
+	 *
+	 * @param developer indicates if the browser is launched in developer mode.
+	 * @return the browser.
+	 * @throws InterruptedException if the thread is interrupted while waiting for a browser.
+	 */
+	private PooledBrowser checkout(boolean developer) throws InterruptedException {
+		this.permits.acquire();
+		try {
+			final var toClose = new ArrayList<PooledBrowser>();
+			PooledBrowser candidate = null;
+			synchronized (this) {
+				if (this.closed) {
+					throw new IllegalStateException("The pool of web browsers is closed"); //$NON-NLS-1$
+				}
+				final var iterator = this.idleBrowsers.iterator();
+				while (candidate == null && iterator.hasNext()) {
+					final var browser = iterator.next();
+					if (!browser.isHealthy()) {
+						iterator.remove();
+						toClose.add(browser);
+					} else if (browser.developer == developer) {
+						iterator.remove();
+						candidate = browser;
+					}
+				}
+				// Keep the number of launched browsers bounded
+				if (candidate == null && this.idleBrowsers.size() >= this.maxBrowsers) {
+					toClose.add(this.idleBrowsers.removeLast());
+				}
+			}
+			toClose.forEach(PooledBrowser::close);
+			if (candidate == null) {
+				candidate = new PooledBrowser(developer, this.playwrightFactory.get());
+			}
+			return candidate;
+		} catch (Throwable ex) {
+			this.permits.release();
+			throw ex;
+		}
+	}
+
+	/** Give back the browser to the pool.
+	 *
+	 * @param browser the browser.
+	 * @param healthy indicates if the browser was used without error.
+	 */
+	private void release(PooledBrowser browser, boolean healthy) {
+		try {
+			var keep = false;
+			if (healthy && browser.isHealthy()) {
+				synchronized (this) {
+					if (!this.closed) {
+						browser.lastUse = System.currentTimeMillis();
+						this.idleBrowsers.addFirst(browser);
+						keep = true;
+					}
+				}
+			}
+			if (!keep) {
+				browser.close();
+			}
+		} finally {
+			this.permits.release();
+		}
+	}
+
+	/** Close the browsers that are not used since the idle duration.
+	 */
+	protected void closeIdleBrowsers() {
+		final var toClose = new ArrayList<PooledBrowser>();
+		final var limit = System.currentTimeMillis() - this.idleDuration;
+		synchronized (this) {
+			final var iterator = this.idleBrowsers.iterator();
+			while (iterator.hasNext()) {
+				final var browser = iterator.next();
+				if (browser.lastUse <= limit || !browser.isHealthy()) {
+					iterator.remove();
+					toClose.add(browser);
+				}
+			}
+		}
+		toClose.forEach(PooledBrowser::close);
+	}
+
+	/** Close all the browsers of the pool. The browsers that are currently used are closed when
+	 * they are returned to the pool.
+	 */
+	@Override
+	@PreDestroy
+	public void close() {
+		final ArrayList<PooledBrowser> toClose;
+		synchronized (this) {
+			this.closed = true;
+			toClose = new ArrayList<>(this.idleBrowsers);
+			this.idleBrowsers.clear();
+		}
+		this.idleChecker.shutdownNow();
+		toClose.forEach(PooledBrowser::close);
+	}
+
+	/** Code that is run on a page of the pool.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	@FunctionalInterface
+	public interface PageHandler {
+
+		/** Invoked with the opened page.
+		 *
+		 * @param page the page, never {@code null}.
+		 * @throws Exception if the page cannot be used.
+		 */
+		void apply(Page page) throws Exception;
+
+	}
+
+	/** Browser in the pool.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	private static class PooledBrowser {
+
+		final boolean developer;
+
+		final Playwright playwright;
+
+		final Browser browser;
+
+		long lastUse;
+
+		/** Constructor that launches the browser.
+		 *
+		 * @param developer indicates if the browser is launched in developer mode.
+		 * @param playwright the Playwright instance that launches the browser. It is closed with the browser.
+		 */
+		@SuppressWarnings("deprecation")
+		PooledBrowser(boolean developer, Playwright playwright) {
+			this.developer = developer;
+			this.playwright = playwright;
+			try {
+				final var options = new LaunchOptions();
+				options.setDevtools(developer);
+				this.browser = this.playwright.firefox().launch(options);
+			} catch (Throwable ex) {
+				this.playwright.close();
+				throw ex;
+			}
+		}
+
+		/** Replies if the browser is still usable.
+		 *
+		 * @return {@code true} if the browser is connected.
+		 */
+		boolean isHealthy() {
+			try {
+				return this.browser.isConnected();
+			} catch (Throwable ex) {
+				return false;
+			}
+		}
+
+		/** Close the browser and the Playwright instance.
+		 */
+		void close() {
+			try {
+				this.browser.close();
+			} catch (Throwable ex) {
+				LoggerFactory.getLogger(WebBrowserPool.class).warn(ex.getLocalizedMessage(), ex);
+			}
+			try {
+				this.playwright.close();
+			} catch (Throwable ex) {
+				LoggerFactory.getLogger(WebBrowserPool.class).warn(ex.getLocalizedMessage(), ex);
+			}
+		}
+
+	}
+
+}
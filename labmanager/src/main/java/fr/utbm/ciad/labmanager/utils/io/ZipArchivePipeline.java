@@ -0,0 +1,417 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.arakhne.afc.progress.DefaultProgression;
+import org.arakhne.afc.progress.Progression;
+import org.arakhne.afc.vmutil.FileSystem;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/** Pipeline for writing the attached files into a ZIP archive, and for extracting them from a ZIP archive.
+ *
+ * <p>When writing, the files are read by a bounded number of threads (property {@code labmanager.zip.parallelism})
+ * while the previous files are written into the archive by the calling thread. The files that are already
+ * compressed, e.g., PDF or JPEG files, are stored into the archive without compression when the property
+ * {@code labmanager.zip.store-compressed-files} is {@code true}. These files are read twice: a first time by
+ * the worker threads for computing their CRC, and a second time by the calling thread for copying them into
+ * the archive. The entries are written in the order of the given files.
+ *
+ * <p>When extracting, the entries of the archive are written into their target files by the worker threads,
+ * while the calling thread continues its job, e.g., the import of the JSON content. The calling thread
+ * waits for an entry with {@link Extraction#await(String)} only when it needs the extracted file.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Component
+public class ZipArchivePipeline {
+
+	/** Default number of files that are read or extracted in parallel.
+	 */
+	public static final int DEFAULT_PARALLELISM = 4;
+
+	/** Extensions of the files that are already compressed.
+	 */
+	public static final Set<String> COMPRESSED_FILE_EXTENSIONS = Set.of(
+			".pdf", ".jpg", ".jpeg", ".png", ".gif", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			".pptx", ".docx", ".xlsx", ".odp", ".odt", ".ods", ".zip", ".gz"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+
+	/** Maximum size of a file that is loaded in memory by a worker thread before being written into the archive.
+	 */
+	private static final int MAX_PREFETCH_SIZE = 4 * 1024 * 1024;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+	private final int parallelism;
+
+	private final boolean storeCompressedFiles;
+
+	/** Constructor with the default configuration.
+	 */
+	public ZipArchivePipeline() {
+		this(DEFAULT_PARALLELISM, true);
+	}
+
+	/** Constructor.
+	 *
+	 * @param parallelism the number of files that are read or extracted in parallel.
+	 * @param storeCompressedFiles indicates if the files that are already compressed are stored without compression into the archive.
+	 */
+	@Autowired
+	public ZipArchivePipeline(
+			@Value("${labmanager.zip.parallelism:4}") int parallelism,
+			@Value("${labmanager.zip.store-compressed-files:true}") boolean storeCompressedFiles) {
+		this.parallelism = Math.max(1, parallelism);
+		this.storeCompressedFiles = storeCompressedFiles;
+	}
+
+	/** Replies the number of files that are read or extracted in parallel.
+	 *
+	 * @return the number of parallel tasks.
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	/** Replies if the files that are already compressed are stored without compression into the archive.
+	 *
+	 * @return {@code true} if the compressed files are stored.
+	 */
+	public boolean isCompressedFileStored() {
+		return this.storeCompressedFiles;
+	}
+
+	/** Replies if the file with the given name is stored without compression into the archive.
+	 *
+	 * @param filename the name of the file.
+	 * @return {@code true} if the file is stored without compression.
+	 */
+	public boolean isStoredEntry(String filename) {
+		return this.storeCompressedFiles && filename != null
+				&& COMPRESSED_FILE_EXTENSIONS.contains(FileSystem.extension(filename).toLowerCase(Locale.ROOT));
+	}
+
+	private ExecutorService createExecutor(int tasks) {
+		return Executors.newFixedThreadPool(Math.max(1, Math.min(this.parallelism, tasks)), runnable -> {
+			final var thread = new Thread(runnable, "zip-pipeline-" + THREAD_COUNTER.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	private static Exception unwrap(ExecutionException ex) {
+		final var cause = ex.getCause();
+		if (cause instanceof Exception cex) {
+			return cex;
+		}
+		return ex;
+	}
+
+	/** Write the given files into the archive. The entries are written in the iteration order of the given map.
+	 * The files that cannot be read are ignored.
+	 *
+	 * @param archive the receiver of the files.
+	 * @param files the files to write. The keys are the names of the entries in the archive, and the values are the files
+	 *     in the local file system.
+	 * @param logger the logger to be used.
+	 * @param progress the progression monitor that is incremented of one unit for each file. It may be {@code null}.
+	 * @return the number of files that were written into the archive.
+	 * @throws Exception if a file cannot be written into the archive.
+	 */
+	public int writeFiles(ZipOutputStream archive, Map<String, File> files, Logger logger, Progression progress) throws Exception {
+		final var progress0 = progress == null ? new DefaultProgression() : progress;
+		progress0.setProperties(0, 0, Math.max(1, files.size()), false);
+		var count = 0;
+		if (!files.isEmpty()) {
+			final var executor = createExecutor(files.size());
+			try {
+				// The number of prepared files is bounded for limiting the memory that is used by the prefetched files
+				final var window = this.parallelism * 2;
+				final var pending = new ArrayDeque<Future<PreparedFile>>(window);
+				final var iterator = files.entrySet().iterator();
+				while (iterator.hasNext() || !pending.isEmpty()) {
+					while (iterator.hasNext() && pending.size() < window) {
+						final var file = iterator.next();
+						final var stored = isStoredEntry(file.getKey());
+						pending.add(executor.submit(() -> prepareFile(file.getKey(), file.getValue(), stored)));
+					}
+					final PreparedFile prepared;
+					try {
+						prepared = pending.removeFirst().get();
+					} catch (ExecutionException ex) {
+						throw unwrap(ex);
+					}
+					if (prepared != null) {
+						progress0.setComment(prepared.name());
+						writePreparedFile(archive, prepared);
+						++count;
+					}
+					progress0.increment();
+				}
+			} finally {
+				executor.shutdownNow();
+			}
+		}
+		logger.info("Writing " + count + " files into the archive"); //$NON-NLS-1$ //$NON-NLS-2$
+		progress0.end();
+		return count;
+	}
+
+	/** Read the file, or compute its CRC if it must be stored and it is too big for being loaded in memory.
+	 */
+	private static PreparedFile prepareFile(String name, File file, boolean stored) throws IOException {
+		if (!file.canRead()) {
+			return null;
+		}
+		try (final var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			final var size = channel.size();
+			if (size <= MAX_PREFETCH_SIZE) {
+				final var content = ByteBuffer.allocate((int) size);
+				while (content.hasRemaining() && channel.read(content) >= 0) {
+					//
+				}
+				content.flip();
+				var crc = 0l;
+				if (stored) {
+					final var crc32 = new CRC32();
+					crc32.update(content.duplicate());
+					crc = crc32.getValue();
+				}
+				return new PreparedFile(name, file, stored, content.remaining(), crc, content);
+			}
+			var crc = 0l;
+			if (stored) {
+				final var crc32 = new CRC32();
+				final var buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+				while (channel.read(buffer) >= 0) {
+					buffer.flip();
+					crc32.update(buffer);
+					buffer.clear();
+				}
+				crc = crc32.getValue();
+			}
+			return new PreparedFile(name, file, stored, size, crc, null);
+		}
+	}
+
+	private static void writePreparedFile(ZipOutputStream archive, PreparedFile prepared) throws IOException {
+		final var entry = new ZipEntry(prepared.name());
+		if (prepared.stored()) {
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(prepared.size());
+			entry.setCompressedSize(prepared.size());
+			entry.setCrc(prepared.crc());
+		}
+		archive.putNextEntry(entry);
+		if (prepared.content() != null) {
+			final var content = prepared.content();
+			archive.write(content.array(), content.arrayOffset() + content.position(), content.remaining());
+		} else {
+			try (final var channel = FileChannel.open(prepared.file().toPath(), StandardOpenOption.READ)) {
+				final var output = Channels.newChannel(new UnclosableStream(archive));
+				final var size = channel.size();
+				var position = 0l;
+				while (position < size) {
+					final var transferred = channel.transferTo(position, size - position, output);
+					if (transferred <= 0) {
+						break;
+					}
+					position += transferred;
+				}
+			}
+		}
+		archive.closeEntry();
+	}
+
+	/** Start the extraction of the given entries of the archive. The extraction is run by the worker threads,
+	 * and the function replies immediately.
+	 *
+	 * @param archive the archive to read. It must not be closed before the replied extraction.
+	 * @param entries the entries to extract.
+	 * @param target the provider of the target file for each entry.
+	 * @param logger the logger to be used.
+	 * @return the extraction that must be closed by the caller.
+	 */
+	public Extraction startExtraction(ZipFile archive, Collection<? extends ZipEntry> entries, ExtractionTarget target, Logger logger) {
+		final var executor = createExecutor(entries.size());
+		final var tasks = new TreeMap<String, Future<File>>();
+		for (final var entry : entries) {
+			tasks.put(entry.getName(), executor.submit(() -> {
+				final var file = target.getTargetFile(entry.getName());
+				logger.info("Copying attached file: " + entry.getName() + "; to: " + file.toString()); //$NON-NLS-1$ //$NON-NLS-2$
+				final var parent = file.getParentFile();
+				if (parent != null) {
+					parent.mkdirs();
+				}
+				try (final var input = Channels.newChannel(archive.getInputStream(entry));
+						final var output = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+								StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+					var position = 0l;
+					var transferred = 0l;
+					do {
+						transferred = output.transferFrom(input, position, BUFFER_SIZE * 16);
+						position += transferred;
+					} while (transferred > 0);
+				}
+				return file;
+			}));
+		}
+		executor.shutdown();
+		return new Extraction(executor, tasks);
+	}
+
+	/** Provider of the file in which an entry of an archive is extracted.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	@FunctionalInterface
+	public interface ExtractionTarget {
+
+		/** Replies the file in which the entry with the given name must be extracted.
+		 *
+		 * @param entryName the name of the entry in the archive.
+		 * @return the target file.
+		 * @throws Exception if the target file cannot be computed.
+		 */
+		File getTargetFile(String entryName) throws Exception;
+
+	}
+
+	/** Extraction of the entries of an archive that is run by the worker threads.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	public static class Extraction implements AutoCloseable {
+
+		private final ExecutorService executor;
+
+		private final Map<String, Future<File>> tasks;
+
+		/** Constructor.
+		 *
+		 * @param executor the executor of the tasks.
+		 * @param tasks the extraction tasks per entry name.
+		 */
+		Extraction(ExecutorService executor, Map<String, Future<File>> tasks) {
+			this.executor = executor;
+			this.tasks = tasks;
+		}
+
+		/** Wait for the extraction of the entry with the given name.
+		 *
+		 * @param entryName the name of the entry in the archive.
+		 * @return the extracted file, or {@code null} if the entry is not extracted by this extraction.
+		 * @throws Exception if the entry cannot be extracted.
+		 */
+		public File await(String entryName) throws Exception {
+			final var task = this.tasks.get(entryName);
+			if (task == null) {
+				return null;
+			}
+			try {
+				return task.get();
+			} catch (ExecutionException ex) {
+				throw unwrap(ex);
+			}
+		}
+
+		/** Wait for the extraction of all the entries.
+		 *
+		 * @throws Exception if an entry cannot be extracted.
+		 */
+		public void awaitAll() throws Exception {
+			for (final var name : this.tasks.keySet()) {
+				await(name);
+			}
+		}
+
+		/** Cancel the extractions that are not yet terminated, and wait for the termination of the worker threads.
+		 */
+		@Override
+		public void close() {
+			this.executor.shutdownNow();
+			try {
+				this.executor.awaitTermination(1, TimeUnit.MINUTES);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+	}
+
+	/** Description of a file that is ready to be written into the archive.
+	 *
+	 * @param name the name of the entry.
+	 * @param file the file in the local file system.
+	 * @param stored indicates if the file is stored without compression.
+	 * @param size the size of the file.
+	 * @param crc the CRC of the file if it is stored.
+	 * @param content the content of the file if it was loaded in memory.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	private record PreparedFile(String name, File file, boolean stored, long size, long crc, ByteBuffer content) {
+		//
+	}
+
+}
@@ -72,6 +72,8 @@ public class DefaultDownloadableFileManager extends AbstractFileManager implemen
 
 	private static final float JPEG_RESOLUTION_F = .5f;
 
+	private static final int JPEG_QUALITY = 100;
+
 	private static final String TEMP_NAME = "labmanager_tmp"; //$NON-NLS-1$
 
 	static final String DOWNLOADABLE_FOLDER_NAME = "Downloadables"; //$NON-NLS-1$
@@ -580,7 +582,7 @@ public class DefaultDownloadableFileManager extends AbstractFileManager implemen
 				if (!pdfDocument.getPages().isEmpty()) {
 					final var resolution = new Resolution(JPEG_RESOLUTION);
 					// Create JpegDevice object where second argument indicates the quality of resultant image
-					final var jpegDevice = new JpegDevice(resolution, 100);
+					final var jpegDevice = new JpegDevice(resolution, JPEG_QUALITY);
 					// Convert a particular page and save the image to stream
 					try (final var page = pdfDocument.getPages().get_Item(1)) {
 						jpegDevice.process(page, jpgStream);
@@ -595,7 +597,7 @@ public class DefaultDownloadableFileManager extends AbstractFileManager implemen
 			if (!pdfDocument.getPages().isEmpty()) {
 				final var resolution = new Resolution(JPEG_RESOLUTION);
 				// Create JpegDevice object where second argument indicates the quality of resultant image
-				final var jpegDevice = new JpegDevice(resolution, 100);
+				final var jpegDevice = new JpegDevice(resolution, JPEG_QUALITY);
 				// Convert a particular page and save the image to stream
 				try (final var page = pdfDocument.getPages().get_Item(1)) {
 					jpegDevice.process(page, jpgStream);
@@ -615,6 +617,11 @@ public class DefaultDownloadableFileManager extends AbstractFileManager implemen
 		logger.info("Creating file: " + basename); //$NON-NLS-1$
 	}
 
+	@Override
+	public String getThumbnailRenderingParameters() {
+		return "jpeg;pdf-resolution=" + JPEG_RESOLUTION + ";pdf-quality=" + JPEG_QUALITY + ";slide-scale=" + JPEG_RESOLUTION_F; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
 	@Override
 	public void moveFiles(long sourceId, long targetId, Logger logger, Procedure3<String, String, String> callback) throws IOException {
 		final var sourcePdfRel = makePdfFilename(sourceId);
@@ -435,6 +435,14 @@ public interface DownloadableFileManager extends FileManager {
 	 */
 	void generateThumbnail(String basename, InputStream input, OutputStream output, Logger logger) throws IOException;
 
+	/** Replies a description of the parameters that are used for rendering the thumbnails, e.g., the resolution
+	 * of the pictures. This description changes when the thumbnails must be regenerated with new parameters.
+	 *
+	 * @return the description of the rendering parameters.
+	 * @since 4.0
+	 */
+	String getThumbnailRenderingParameters();
+
 	/** Delete from the server the logo image associated to the organization with given identifier.
 	 *
 	 * @param id the identifier of the organization.
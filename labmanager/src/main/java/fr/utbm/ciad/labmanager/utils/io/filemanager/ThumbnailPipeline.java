@@ -0,0 +1,396 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package fr.utbm.ciad.labmanager.utils.io.filemanager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.Strings;
+import org.arakhne.afc.progress.DefaultProgression;
+import org.arakhne.afc.progress.Progression;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/** Pipeline for generating the thumbnails of the uploaded PDF or PowerPoint files.
+ *
+ * <p>The thumbnails are rendered by a bounded number of threads (property {@code labmanager.thumbnails.parallelism}),
+ * that is by default the number of processors. Each folder of thumbnails contains a small manifest that stores,
+ * for each source file, the hash of its content and the parameters that were used for rendering its thumbnail.
+ * A thumbnail is rendered again only if the content of the source file or the rendering parameters have changed,
+ * or if the thumbnail does not exist. Each thumbnail is rendered into a temporary file that is moved to
+ * the thumbnail file when the rendering is finished; in this way, a partially written thumbnail is never visible.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@Component
+public class ThumbnailPipeline {
+
+	/** Name of the manifest file in each folder of thumbnails.
+	 */
+	public static final String MANIFEST_FILENAME = ".thumbnails.properties"; //$NON-NLS-1$
+
+	private static final String TEMP_FILE_SUFFIX = ".tmp"; //$NON-NLS-1$
+
+	private static final String HASH_ALGORITHM = "SHA-256"; //$NON-NLS-1$
+
+	private static final String KEY_SEPARATOR = ";"; //$NON-NLS-1$
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+	private final DownloadableFileManager fileManager;
+
+	private final int parallelism;
+
+	/** Constructor.
+	 *
+	 * @param fileManager the manager of the downloadable files that is rendering the thumbnails.
+	 * @param parallelism the number of thumbnails that are rendered in parallel. If it is not positive,
+	 *     the number of processors is used.
+	 */
+	public ThumbnailPipeline(
+			@Autowired DownloadableFileManager fileManager,
+			@Value("${labmanager.thumbnails.parallelism:0}") int parallelism) {
+		this.fileManager = fileManager;
+		this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+	}
+
+	/** Replies the number of thumbnails that are rendered in parallel.
+	 *
+	 * @return the number of parallel tasks.
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	private ExecutorService createExecutor(int tasks) {
+		return Executors.newFixedThreadPool(Math.max(1, Math.min(this.parallelism, tasks)), runnable -> {
+			final var thread = new Thread(runnable, "thumbnail-pipeline-" + THREAD_COUNTER.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/** Generate the thumbnails of the given files. The thumbnails that are up-to-date are not rendered again.
+	 * The generation continues when the thumbnail of a file cannot be rendered; the first error is thrown
+	 * when all the other thumbnails are generated.
+	 *
+	 * @param files the PDF or PowerPoint files. The keys are the files, relative to the upload folder, and
+	 *     the values are the comments to be given to the progression monitor when the thumbnail of the file is generated.
+	 * @param logger the logger to be used.
+	 * @param progress the progression monitor that is incremented of one unit for each file. It may be {@code null}.
+	 * @return the report on the generation.
+	 * @throws IOException if a thumbnail cannot be generated.
+	 */
+	public Report generateThumbnails(Map<File, String> files, Logger logger, Progression progress) throws IOException {
+		final var progress0 = progress == null ? new DefaultProgression() : progress;
+		progress0.setProperties(0, 0, Math.max(1, files.size()), false);
+		var generated = 0;
+		var unchanged = 0;
+		var failed = 0;
+		IOException error = null;
+		if (!files.isEmpty()) {
+			final var parameters = Strings.nullToEmpty(this.fileManager.getThumbnailRenderingParameters());
+			final var manifests = new HashMap<File, Manifest>();
+			final var executor = createExecutor(files.size());
+			try {
+				final var completion = new ExecutorCompletionService<RenderedThumbnail>(executor);
+				for (final var file : files.entrySet()) {
+					final var sourceFile = this.fileManager.normalizeForServerSide(file.getKey());
+					final var thumbnailFile = this.fileManager.normalizeForServerSide(this.fileManager.toThumbnailFilename(file.getKey()));
+					final var manifest = manifests.computeIfAbsent(thumbnailFile.getParentFile(), it -> new Manifest(it, logger));
+					final var previousKey = manifest.get(sourceFile.getName());
+					completion.submit(() -> render(sourceFile, thumbnailFile, file.getValue(), manifest, previousKey, parameters, logger));
+				}
+				for (var i = 0; i < files.size(); ++i) {
+					final RenderedThumbnail thumbnail;
+					try {
+						thumbnail = completion.take().get();
+					} catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+						throw new InterruptedIOException("Interrupted generation of the thumbnails"); //$NON-NLS-1$
+					} catch (ExecutionException ex) {
+						throw new IOException(ex.getCause());
+					}
+					progress0.setComment(thumbnail.comment());
+					switch (thumbnail.status()) {
+					case GENERATED:
+						thumbnail.manifest().put(thumbnail.source().getName(), thumbnail.key());
+						++generated;
+						break;
+					case UNCHANGED:
+						++unchanged;
+						break;
+					case FAILED:
+						thumbnail.manifest().remove(thumbnail.source().getName());
+						logger.error("Cannot generate the thumbnail of: " + thumbnail.source().getName(), thumbnail.error()); //$NON-NLS-1$
+						if (error == null) {
+							error = new IOException("Could not save picture file for: " + thumbnail.source().getName(), thumbnail.error()); //$NON-NLS-1$
+						}
+						++failed;
+						break;
+					case NO_SOURCE:
+					default:
+						thumbnail.manifest().remove(thumbnail.source().getName());
+						break;
+					}
+					progress0.increment();
+				}
+			} finally {
+				executor.shutdownNow();
+			}
+			for (final var manifest : manifests.values()) {
+				try {
+					manifest.save();
+				} catch (IOException ex) {
+					logger.warn("Cannot save the manifest of the thumbnails: " + ex.getLocalizedMessage(), ex); //$NON-NLS-1$
+				}
+			}
+		}
+		logger.info("Generated " + generated + " thumbnails; " + unchanged + " thumbnails are unchanged"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		progress0.end();
+		if (error != null) {
+			throw error;
+		}
+		return new Report(generated, unchanged, failed);
+	}
+
+	/** Render the thumbnail of the given file if it is not up-to-date. This function is invoked by the worker threads.
+	 */
+	private RenderedThumbnail render(File source, File thumbnail, String comment, Manifest manifest, String previousKey,
+			String parameters, Logger logger) {
+		if (!source.canRead()) {
+			return new RenderedThumbnail(source, comment, manifest, ThumbnailStatus.NO_SOURCE, null, null);
+		}
+		try {
+			final var key = computeHash(source) + KEY_SEPARATOR + parameters;
+			if (key.equals(previousKey) && thumbnail.isFile()) {
+				return new RenderedThumbnail(source, comment, manifest, ThumbnailStatus.UNCHANGED, key, null);
+			}
+			final var folder = thumbnail.getParentFile();
+			folder.mkdirs();
+			final var temporaryFile = Files.createTempFile(folder.toPath(), thumbnail.getName(), TEMP_FILE_SUFFIX);
+			try {
+				try (final var input = new BufferedInputStream(new FileInputStream(source));
+						final var output = new BufferedOutputStream(Files.newOutputStream(temporaryFile))) {
+					this.fileManager.generateThumbnail(source.getName(), input, output, logger);
+				}
+				moveAtomically(temporaryFile, thumbnail.toPath());
+			} finally {
+				Files.deleteIfExists(temporaryFile);
+			}
+			return new RenderedThumbnail(source, comment, manifest, ThumbnailStatus.GENERATED, key, null);
+		} catch (Exception ex) {
+			return new RenderedThumbnail(source, comment, manifest, ThumbnailStatus.FAILED, null, ex);
+		}
+	}
+
+	/** Compute the hash of the content of the given file.
+	 *
+	 * @param file the file to read.
+	 * @return the hexadecimal representation of the hash.
+	 * @throws IOException if the file cannot be read.
+	 */
+	static String computeHash(File file) throws IOException {
+		final MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IOException(ex);
+		}
+		try (final var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			final var buffer = ByteBuffer.allocate(BUFFER_SIZE);
+			while (channel.read(buffer) >= 0) {
+				buffer.flip();
+				digest.update(buffer);
+				buffer.clear();
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static void moveAtomically(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException ex) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/** Report on the generation of the thumbnails.
+	 *
+	 * @param generated the number of thumbnails that were rendered.
+	 * @param unchanged the number of thumbnails that were up-to-date and not rendered again.
+	 * @param failed the number of thumbnails that cannot be rendered.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	public record Report(int generated, int unchanged, int failed) {
+		//
+	}
+
+	/** Status of the generation of a thumbnail.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	private enum ThumbnailStatus {
+		/** The thumbnail was rendered.
+		 */
+		GENERATED,
+		/** The thumbnail is up-to-date.
+		 */
+		UNCHANGED,
+		/** The source file does not exist.
+		 */
+		NO_SOURCE,
+		/** The thumbnail cannot be rendered.
+		 */
+		FAILED;
+	}
+
+	/** Result of the generation of a thumbnail by a worker thread.
+	 *
+	 * @param source the source file.
+	 * @param comment the comment to be given to the progression monitor.
+	 * @param manifest the manifest of the folder of the thumbnail.
+	 * @param status the status of the generation.
+	 * @param key the key of the source file and the rendering parameters to be stored in the manifest.
+	 * @param error the error that occurred during the rendering.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	private record RenderedThumbnail(File source, String comment, Manifest manifest, ThumbnailStatus status, String key, Exception error) {
+		//
+	}
+
+	/** Manifest of a folder of thumbnails. It is read and written by the calling thread only.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	private static class Manifest {
+
+		private final File file;
+
+		private final Properties entries = new Properties();
+
+		private boolean changed;
+
+		/** Constructor. The manifest is read from the given folder if it exists.
+		 *
+		 * @param folder the folder of thumbnails.
+		 * @param logger the logger to be used.
+		 */
+		Manifest(File folder, Logger logger) {
+			this.file = new File(folder, MANIFEST_FILENAME);
+			if (this.file.isFile()) {
+				try (final Reader reader = Files.newBufferedReader(this.file.toPath(), StandardCharsets.UTF_8)) {
+					this.entries.load(reader);
+				} catch (IOException ex) {
+					// The thumbnails of the folder will be generated again
+					logger.warn("Cannot read the manifest of the thumbnails: " + ex.getLocalizedMessage(), ex); //$NON-NLS-1$
+					this.entries.clear();
+				}
+			}
+		}
+
+		String get(String name) {
+			return this.entries.getProperty(name);
+		}
+
+		void put(String name, String key) {
+			if (!Objects.equals(this.entries.setProperty(name, key), key)) {
+				this.changed = true;
+			}
+		}
+
+		void remove(String name) {
+			if (this.entries.remove(name) != null) {
+				this.changed = true;
+			}
+		}
+
+		void save() throws IOException {
+			if (this.changed) {
+				final var folder = this.file.getParentFile();
+				folder.mkdirs();
+				final var temporaryFile = Files.createTempFile(folder.toPath(), MANIFEST_FILENAME, TEMP_FILE_SUFFIX);
+				try {
+					try (final Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+						this.entries.store(writer, null);
+					}
+					moveAtomically(temporaryFile, this.file.toPath());
+				} finally {
+					Files.deleteIfExists(temporaryFile);
+				}
+				this.changed = false;
+			}
+		}
+
+	}
+
+}
@@ -19,6 +19,9 @@
 
 package fr.utbm.ciad.labmanager.utils.io.html;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.Collection;
 
 import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
@@ -58,37 +61,52 @@ public class CiadHtmlDocumentExporter extends AbstractCiadHtmlExporter implement
 	}
 
 	@Override
-	public String exportPublications(Collection<? extends Publication> publications, ExporterConfigurator configurator,
+	public void exportPublications(Writer output, Collection<? extends Publication> publications, ExporterConfigurator configurator,
 			Progression progression, Logger logger) throws Exception {
 		assert configurator != null;
 		if (publications == null) {
-			return null;
+			return;
+		}
+		output.write("<html><body>"); //$NON-NLS-1$
+		try {
+			exportPublicationsWithGroupingCriteria(publications, configurator, progression,
+					it -> write(output, "<h1>" + it + "</h1>"), //$NON-NLS-1$ //$NON-NLS-2$
+					it -> write(output, "<h2>" + it + "</h2>"), //$NON-NLS-1$ //$NON-NLS-2$
+					(it, progress) -> exportFlatList(output, it, configurator, progress));
+		} catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+		output.write("</html></body>"); //$NON-NLS-1$
+		output.flush();
+	}
+
+	private static void write(Writer output, String text) {
+		try {
+			output.write(text);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
 		}
-		final var html = new StringBuilder();
-		html.append("<html><body>"); //$NON-NLS-1$
-		exportPublicationsWithGroupingCriteria(publications, configurator, progression,
-				it -> html.append("<h1>").append(it).append("</h1>"), //$NON-NLS-1$ //$NON-NLS-2$
-				it -> html.append("<h2>").append(it).append("</h2>"), //$NON-NLS-1$ //$NON-NLS-2$
-				(it, progress) -> exportFlatList(html, it, configurator, progress));
-		html.append("</html></body>"); //$NON-NLS-1$
-		return html.toString();
 	}
 
 	/** Export the publications in a flat list.
 	 *
-	 * @param html the receiver of the HTML code.
+	 * @param output the receiver of the HTML code.
 	 * @param publications the publications to export.
 	 * @param configurator the exporter configurator.
 	 * @param progression the progression indicator.
+	 * @throws IOException if the HTML code cannot be written.
 	 */
-	protected void exportFlatList(StringBuilder html, Collection<? extends Publication> publications, ExporterConfigurator configurator,
-			Progression progression) {
-		html.append("<ul>"); //$NON-NLS-1$
+	protected void exportFlatList(Writer output, Collection<? extends Publication> publications, ExporterConfigurator configurator,
+			Progression progression) throws IOException {
+		output.write("<ul>"); //$NON-NLS-1$
+		final var html = new StringBuilder();
 		for (final var publication : publications) {
+			html.setLength(0);
 			exportPublication(html, publication, configurator);
+			output.write(html.toString());
 			progression.increment();
 		}
-		html.append("</ul>"); //$NON-NLS-1$
+		output.write("</ul>"); //$NON-NLS-1$
 	}
 
 	/** Export in HTML a single publication.
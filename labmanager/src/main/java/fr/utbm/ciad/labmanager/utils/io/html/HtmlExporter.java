@@ -25,6 +25,8 @@ import fr.utbm.ciad.labmanager.utils.io.PublicationExporter;
 import org.arakhne.afc.progress.Progression;
 import org.slf4j.Logger;
 
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Collection;
 
 /** Utilities for exporting publications to HTML content.
@@ -92,6 +94,28 @@ public interface HtmlExporter extends PublicationExporter<String> {
 	 * @throws Exception if the publication cannot be converted to HTML.
 	 */
 	@Override
-	String exportPublications(Collection<? extends Publication> publications, ExporterConfigurator configurator, Progression progression, Logger logger) throws Exception;
+	default String exportPublications(Collection<? extends Publication> publications, ExporterConfigurator configurator, Progression progression, Logger logger) throws Exception {
+		if (publications == null) {
+			return null;
+		}
+		try (final var output = new StringWriter()) {
+			exportPublications(output, publications, configurator, progression, logger);
+			return output.toString();
+		}
+	}
+
+	/** Write the HTML representation of the publications that are given as argument into the given writer.
+	 * The HTML code of each publication is written as soon as it is generated.
+	 *
+	 * @param output the receiver of the HTML code. It is not closed by this function.
+	 * @param publications the publications to export.
+	 * @param configurator the configurator for the export, never {@code null}.
+	 * @param progression the progression indicator.
+	 * @param logger the logger to be used.
+	 * @throws Exception if the publication cannot be converted to HTML.
+	 * @since 4.0
+	 * @see #exportPublications(Collection, ExporterConfigurator, Progression, Logger)
+	 */
+	void exportPublications(Writer output, Collection<? extends Publication> publications, ExporterConfigurator configurator, Progression progression, Logger logger) throws Exception;
 
 }
@@ -30,11 +30,14 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.TreeMap;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeCreator;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Strings;
+import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
 import fr.utbm.ciad.labmanager.data.assostructure.AssociatedStructureRepository;
 import fr.utbm.ciad.labmanager.data.conference.Conference;
 import fr.utbm.ciad.labmanager.data.conference.ConferenceRepository;
@@ -60,9 +63,17 @@ import fr.utbm.ciad.labmanager.utils.phone.PhoneNumber;
 import org.apache.commons.lang3.tuple.Pair;
 import org.arakhne.afc.progress.DefaultProgression;
 import org.arakhne.afc.progress.Progression;
+import org.hibernate.Hibernate;
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
 /** Exporter of JSON data from the database.
@@ -79,6 +90,8 @@ public class DatabaseToJsonExporter extends JsonTool {
 
 	private static final long serialVersionUID = 426529408893181686L;
 
+	private static final int PUBLICATION_PAGE_SIZE = 200;
+
 	private OrganizationAddressRepository addressRepository;
 
 	private ResearchOrganizationRepository organizationRepository;
@@ -111,6 +124,8 @@ public class DatabaseToJsonExporter extends JsonTool {
 
 	private UserRepository userRepository;
 
+	private SessionFactory sessionFactory;
+
 	/** Constructor.
 	 * 
 	 * @param messages the accessor to the localized messages.
@@ -130,6 +145,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 	 * @param teachingRepository the accessor to the teaching activities.
 	 * @param scientificAxisRepository the accessor to the scientific axes.
 	 * @param userRepository the accessor to the application users.
+	 * @param sessionFactory the factory of JPA sessions.
 	 */
 	public DatabaseToJsonExporter(
 			@Autowired MessageSourceAccessor messages,
@@ -148,7 +164,8 @@ public class DatabaseToJsonExporter extends JsonTool {
 			@Autowired AssociatedStructureRepository structureRepository,
 			@Autowired TeachingActivityRepository teachingRepository,
 			@Autowired ScientificAxisRepository scientificAxisRepository,
-			@Autowired UserRepository userRepository) {
+			@Autowired UserRepository userRepository,
+			@Autowired SessionFactory sessionFactory) {
 		super(messages);
 		this.addressRepository = addressRepository;
 		this.organizationRepository = organizationRepository;
@@ -166,6 +183,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 		this.teachingRepository = teachingRepository;
 		this.scientificAxisRepository = scientificAxisRepository;
 		this.userRepository = userRepository;
+		this.sessionFactory = sessionFactory;
 	}
 
 	/** Run the exporter.
@@ -239,47 +257,222 @@ public class DatabaseToJsonExporter extends JsonTool {
 	 */
 	public JsonNode exportFromDatabaseToJsonObject(JsonNodeCreator factory, SimilarPublicationProvider similarPublicationProvider,
 			ExtraPublicationProvider extraPublicationProvider, Locale locale, Logger logger, Progression progression) throws Exception {
+		final var root = factory.objectNode();
+		if (exportSections(root, null, null, similarPublicationProvider, extraPublicationProvider, locale, logger, progression)) {
+			root.set(LAST_CHANGE_FIELDNAME, factory.textNode(LocalDate.now().toString()));
+			return root;
+		}
+		return null;
+	}
+
+	/** Run the exporter for writing the JSON content into the given generator.
+	 *
+	 * @param generator the receiver of the JSON content.
+	 * @param locale the locale to use for the messages. 
+	 * @param logger the logger to use for put a message in the log.
+	 * @param progression the progression indicator. 
+	 * @return {@code true} if a section was written into the generator; {@code false} if the database is empty.
+	 * @throws Exception if there is problem for exporting.
+	 * @since 4.0
+	 * @see #exportFromDatabaseToJsonStream(JsonGenerator, SimilarPublicationProvider, ExtraPublicationProvider, JsonElementHandler, Locale, Logger, Progression)
+	 */
+	public boolean exportFromDatabaseToJsonStream(JsonGenerator generator, Locale locale, Logger logger, Progression progression) throws Exception {
+		return exportFromDatabaseToJsonStream(generator, null, null, null, locale, logger, progression);
+	}
+
+	/** Run the exporter for writing the JSON content into the given generator.
+	 *
+	 * <p>Contrary to {@link #exportFromDatabaseToJsonObject(JsonNodeCreator, SimilarPublicationProvider, ExtraPublicationProvider, Locale, Logger, Progression)},
+	 * the JSON tree of the whole database is never built in memory. Each section is written into the generator as soon as
+	 * it is built, and then it is discarded. The publications are read from the database page by page and written one by one.
+	 * The only exception is when extra publications are provided: the persons that are built for the unknown authors
+	 * of these publications are added to the section of the persons, that is then written after the publications.
+	 *
+	 * @param generator the receiver of the JSON content.
+	 * @param similarPublicationProvider a provider of a publication that is similar to a given publication. 
+	 *      If this argument is not {@code null} and if it replies a similar publication, the information in this
+	 *      similar publication is used to complete the JSON file that is initially filled up with the source publication.
+	 * @param extraPublicationProvider this provider gives publications that must be exported into the JSON that are
+	 *      not directly extracted from the database. If this argument is {@code null}, no extra publication is exported.
+	 * @param handler the handler that is invoked on each element of the sections before it is written into the generator.
+	 *      It may be {@code null}.
+	 * @param locale the locale to use for the messages. 
+	 * @param logger the logger to use for put a message in the log.
+	 * @param progression the progression indicator. 
+	 * @return {@code true} if a section was written into the generator; {@code false} if the database is empty.
+	 * @throws Exception if there is problem for exporting.
+	 * @since 4.0
+	 */
+	public boolean exportFromDatabaseToJsonStream(JsonGenerator generator, SimilarPublicationProvider similarPublicationProvider,
+			ExtraPublicationProvider extraPublicationProvider, JsonElementHandler handler, Locale locale, Logger logger,
+			Progression progression) throws Exception {
+		assert generator != null;
+		final var root = JsonNodeFactory.instance.objectNode();
+		generator.writeStartObject();
+		final var exported = exportSections(root, generator, handler, similarPublicationProvider, extraPublicationProvider, locale, logger, progression);
+		if (exported) {
+			generator.writeStringField(LAST_CHANGE_FIELDNAME, LocalDate.now().toString());
+		}
+		generator.writeEndObject();
+		generator.flush();
+		return exported;
+	}
+
+	/** Export all the sections of the database.
+	 *
+	 * @param root the receiver of the sections.
+	 * @param generator the generator in which the sections are written as soon as they are built. If it is {@code null},
+	 *     the sections stay in the {@code root}.
+	 * @param handler the handler of the elements that are written into the generator. It may be {@code null}.
+	 * @param similarPublicationProvider a provider of a publication that is similar to a given publication.
+	 * @param extraPublicationProvider this provider gives publications that must be exported into the JSON that are
+	 *      not directly extracted from the database.
+	 * @param locale the locale to use for the messages. 
+	 * @param logger the logger to use for put a message in the log.
+	 * @param progression the progression indicator. 
+	 * @return {@code true} if at least one section was exported.
+	 * @throws Exception if there is problem for exporting.
+	 */
+	private boolean exportSections(ObjectNode root, JsonGenerator generator, JsonElementHandler handler,
+			SimilarPublicationProvider similarPublicationProvider, ExtraPublicationProvider extraPublicationProvider,
+			Locale locale, Logger logger, Progression progression) throws Exception {
 		final var progressionInstance = progression == null ? new DefaultProgression() : progression;
 		progressionInstance.setProperties(0, 0, 16, false, getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.global_indicators", locale)); //$NON-NLS-1$
-		final var root = factory.objectNode();
 		final var repository = new HashMap<Object, String>();
+		// The persons must stay in memory until the extra publications are exported because
+		// these publications may add unknown authors into the section of the persons
+		final var keepPersons = extraPublicationProvider != null;
+		var exported = false;
 		exportGlobalIndicators(root, repository);
+		exported |= flushSections(root, generator, handler);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.addresses", locale)); //$NON-NLS-1$
 		exportAddresses(root, repository);
+		exported |= flushSections(root, generator, handler);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.organizations", locale)); //$NON-NLS-1$
 		exportOrganizations(root, repository);
+		exported |= flushSections(root, generator, handler);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.persons", locale)); //$NON-NLS-1$
 		exportPersons(root, repository);
+		if (!keepPersons) {
+			exported |= flushSections(root, generator, handler);
+		}
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.memberships", locale)); //$NON-NLS-1$
 		exportOrganizationMemberships(root, repository);
+		if (!keepPersons) {
+			exported |= flushSections(root, generator, handler);
+		}
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.journals", locale)); //$NON-NLS-1$
 		exportJournals(root, repository);
+		if (!keepPersons) {
+			exported |= flushSections(root, generator, handler);
+		}
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.conferences", locale)); //$NON-NLS-1$
 		exportConferences(root, repository);
+		if (!keepPersons) {
+			exported |= flushSections(root, generator, handler);
+		}
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.publications", locale)); //$NON-NLS-1$
-		exportPublications(root, repository, similarPublicationProvider, extraPublicationProvider, logger);
+		if (generator != null && !keepPersons) {
+			exported |= exportPublications(generator, root, repository, similarPublicationProvider, handler, logger) > 0;
+		} else {
+			exportPublications(root, repository, similarPublicationProvider, extraPublicationProvider, logger);
+			exported |= flushSections(root, generator, handler);
+		}
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.jury_memberships", locale)); //$NON-NLS-1$
 		exportJuryMemberships(root, repository);
+		exported |= flushSections(root, generator, handler);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.supervisions", locale)); //$NON-NLS-1$
 		exportSupervisions(root, repository);
+		exported |= flushSections(root, generator, handler);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.invitations", locale)); //$NON-NLS-1$
 		exportInvitations(root, repository);
+		exported |= flushSections(root, generator, handler);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.projects", locale)); //$NON-NLS-1$
 		exportProjects(root, repository);
+		exported |= flushSections(root, generator, handler);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.associated_structures", locale)); //$NON-NLS-1$
 		exportAssociatedStructures(root, repository);
+		exported |= flushSections(root, generator, handler);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.teaching_activities", locale)); //$NON-NLS-1$
 		exportTeachingActivities(root, repository);
+		exported |= flushSections(root, generator, handler);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.scientific_axes", locale)); //$NON-NLS-1$
 		exportScientificAxes(root, repository);
+		exported |= flushSections(root, generator, handler);
 		progressionInstance.increment(getMessageSourceAccessor().getMessage("DatabaseToJsonExporter.exporting.users", locale)); //$NON-NLS-1$
 		exportApplicationUsers(root, repository);
+		exported |= flushSections(root, generator, handler);
 		progressionInstance.end();
-		if (root.size() > 0) {
-			root.set(LAST_CHANGE_FIELDNAME, factory.textNode(LocalDate.now().toString()));
-			return root;
+		return exported || root.size() > 0;
+	}
+
+	/** Replies the key of the given object in the repository of the exported elements.
+	 * The JPA entities are identified by their types and their database identifiers. In this way, the repository does not
+	 * keep a reference to the entities, and the entities are found even if they were loaded in another persistence context.
+	 *
+	 * @param object the object for which the key must be replied.
+	 * @return the key, or the object itself if it is not saved in the database.
+	 * @since 4.0
+	 */
+	protected static Object getRepositoryKey(Object object) {
+		if (object instanceof IdentifiableEntity entity && entity.getId() != 0) {
+			return new EntityKey(Hibernate.getClass(object), entity.getId());
+		}
+		return object;
+	}
+
+	/** Remove all the entities from the current persistence context, if there is one, in order to let the garbage
+	 * collector release the entities that were already exported.
+	 */
+	private void clearPersistenceContext() {
+		final var currentSession = getCurrentSession();
+		if (currentSession != null) {
+			currentSession.clear();
 		}
-		return null;
+	}
+
+	/** Replies the session that is bound to the current thread.
+	 *
+	 * @return the current session, or {@code null} if no session is bound to the current thread.
+	 */
+	private Session getCurrentSession() {
+		try {
+			return this.sessionFactory.getCurrentSession();
+		} catch (HibernateException ex) {
+			// No session is bound to the current thread
+			return null;
+		}
+	}
+
+	/** Write the sections that are inside the given root into the generator, and remove them from the root.
+	 * If the generator is {@code null}, the sections stay in the root.
+	 *
+	 * @param root the sections to write.
+	 * @param generator the receiver of the sections.
+	 * @param handler the handler of the elements of the sections. It may be {@code null}.
+	 * @return {@code true} if at least one section was written.
+	 * @throws Exception if the sections cannot be written.
+	 */
+	private static boolean flushSections(ObjectNode root, JsonGenerator generator, JsonElementHandler handler) throws Exception {
+		if (generator == null || root.isEmpty()) {
+			return false;
+		}
+		final var sections = root.fields();
+		while (sections.hasNext()) {
+			final var section = sections.next();
+			final var content = section.getValue();
+			if (handler != null && content.isArray()) {
+				for (final var element : content) {
+					if (element instanceof ObjectNode objectElement) {
+						handler.handle(section.getKey(), objectElement);
+					}
+				}
+			}
+			generator.writeFieldName(section.getKey());
+			generator.writeTree(content);
+		}
+		root.removeAll();
+		return true;
 	}
 
 	/** Export the given object to the receiver.
@@ -380,7 +573,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 				exportObject(jsonAddress, id, address, jsonAddress, null);
 
 				if (jsonAddress.size() > 0) {
-					repository.put(address, id);
+					repository.put(getRepositoryKey(address), id);
 					nodes.put(Long.valueOf(address.getId()), jsonAddress);
 					array.add(jsonAddress);
 					++i;
@@ -411,7 +604,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 				exportObject(jsonOrganization, id, organization, jsonOrganization, null);
 
 				if (jsonOrganization.size() > 0) {
-					repository.put(organization, id);
+					repository.put(getRepositoryKey(organization), id);
 					nodes.put(Long.valueOf(organization.getId()), jsonOrganization);
 					array.add(jsonOrganization);
 					++i;
@@ -422,7 +615,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 				if (!organization.getAddresses().isEmpty()) {
 					final var jsonAddresses = array.arrayNode();
 					for (final var adr : organization.getAddresses()) {
-						final var id = repository.get(adr);
+						final var id = repository.get(getRepositoryKey(adr));
 						if (Strings.isNullOrEmpty(id)) {
 							throw new IllegalStateException("Address not found: " + adr.getName()); //$NON-NLS-1$
 						}
@@ -450,7 +643,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 					}
 					final var superOrgasNode = objNode.arrayNode();
 					for (final var superOrga : organization.getSuperOrganizations()) {
-						final var id = repository.get(superOrga);
+						final var id = repository.get(getRepositoryKey(superOrga));
 						if (Strings.isNullOrEmpty(id)) {
 							throw new IllegalStateException("Organization not found: " + superOrga.getAcronymOrName()); //$NON-NLS-1$
 						}
@@ -490,7 +683,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 				exportPhoneNumber(jsonPerson, MOBILE_PHONE_NUMBER_KEY, person.getMobilePhone());
 				
 				if (jsonPerson.size() > 0) {
-					repository.put(person, id);
+					repository.put(getRepositoryKey(person), id);
 					array.add(jsonPerson);
 					++i;
 				}
@@ -533,12 +726,12 @@ public class DatabaseToJsonExporter extends JsonTool {
 			for (final var membership : memberships) {
 				final String adrId;
 				if (membership.getOrganizationAddress() != null) {
-					adrId = repository.get(membership.getOrganizationAddress());
+					adrId = repository.get(getRepositoryKey(membership.getOrganizationAddress()));
 				} else {
 					adrId = null;
 				}
-				final var personId = repository.get(membership.getPerson());
-				final var organizationId = repository.get(membership.getDirectResearchOrganization());
+				final var personId = repository.get(getRepositoryKey(membership.getPerson()));
+				final var organizationId = repository.get(getRepositoryKey(membership.getDirectResearchOrganization()));
 				if (!Strings.isNullOrEmpty(personId) && !Strings.isNullOrEmpty(organizationId)) {
 					final var jsonMembership = array.objectNode();
 
@@ -553,13 +746,13 @@ public class DatabaseToJsonExporter extends JsonTool {
 					addReference(jsonMembership, PERSON_KEY, personId);
 					addReference(jsonMembership, RESEARCHORGANIZATION_KEY, organizationId);
 
-					final var superOrganizationId = repository.get(membership.getSuperResearchOrganization());
+					final var superOrganizationId = repository.get(getRepositoryKey(membership.getSuperResearchOrganization()));
 					if (!Strings.isNullOrEmpty(superOrganizationId)) {
 						addReference(jsonMembership, SUPER_ORGANIZATION_KEY, superOrganizationId);
 					}
 
 					if (jsonMembership.size() > 0) {
-						repository.put(membership, id);
+						repository.put(getRepositoryKey(membership), id);
 						array.add(jsonMembership);
 						++i;
 					}
@@ -605,7 +798,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 				}
 
 				if (jsonJournal.size() > 0) {
-					repository.put(journal, id);
+					repository.put(getRepositoryKey(journal), id);
 					array.add(jsonJournal);
 					++i;
 				}
@@ -657,7 +850,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 				}
 
 				if (jsonConference.size() > 0) {
-					repository.put(conference, id);
+					repository.put(getRepositoryKey(conference), id);
 					array.add(jsonConference);
 					++i;
 				}
@@ -667,7 +860,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 			for (final var pair : enclosingConferences) {
 				final var node = pair.getLeft();
 				final var enclosingConference = pair.getRight();
-				final var id = repository.get(enclosingConference);
+				final var id = repository.get(getRepositoryKey(enclosingConference));
 				if (Strings.isNullOrEmpty(id)) {
 					throw new IllegalStateException("Conference not found: " + enclosingConference.getAcronymOrName()); //$NON-NLS-1$
 				}
@@ -703,7 +896,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 				final var id = exportPublication(i, publication, root, jsonPublication, repository, similarPublicationProvider, logger);
 				if (jsonPublication.size() > 0) {
 					jsonPublication.set(HIDDEN_INTERNAL_DATA_SOURCE_KEY, jsonPublication.textNode(HIDDEN_INTERNAL_DATABASE_SOURCE_VALUE));
-					repository.put(publication, id);
+					repository.put(getRepositoryKey(publication), id);
 					array.add(jsonPublication);
 					++i;
 				}
@@ -716,7 +909,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 				final var id = exportPublication(i, publication, root, jsonPublication, repository, null, logger);
 				if (jsonPublication.size() > 0) {
 					jsonPublication.set(HIDDEN_INTERNAL_DATA_SOURCE_KEY, jsonPublication.textNode(HIDDEN_INTERNAL_EXTERNAL_SOURCE_VALUE));
-					repository.put(publication, id);
+					repository.put(getRepositoryKey(publication), id);
 					array.add(jsonPublication);
 					++i;
 				}
@@ -728,6 +921,56 @@ public class DatabaseToJsonExporter extends JsonTool {
 		}
 	}
 
+	/** Export the publications of the database into the given generator. The publications are read
+	 * from the database page by page, and each publication is written into the generator as soon as it is built.
+	 *
+	 * @param generator the receiver of the JSON elements.
+	 * @param root the JSON root that contains the sections that are not yet written into the generator.
+	 * @param repository the repository of elements that maps an object to its JSON id.
+	 * @param similarPublicationProvider a provider of a publication that is similar to a given publication. 
+	 *      If this argument is not {@code null} and if it replies a similar publication, the information in this
+	 *      similar publication is used to complete the JSON file that is initially filled up with the source publication.
+	 * @param handler the handler that is invoked on each publication before it is written. It may be {@code null}.
+	 * @param logger the logger to use for put a message in the log.
+	 * @return the number of exported publications.
+	 * @throws Exception if there is problem for exporting.
+	 * @since 4.0
+	 */
+	protected int exportPublications(JsonGenerator generator, ObjectNode root, Map<Object, String> repository,
+			SimilarPublicationProvider similarPublicationProvider, JsonElementHandler handler, Logger logger) throws Exception {
+		var i = 0;
+		Pageable pageable = PageRequest.of(0, PUBLICATION_PAGE_SIZE, Sort.by("id")); //$NON-NLS-1$
+		Page<Publication> page;
+		do {
+			page = this.publicationRepository.findAll(pageable);
+			for (final var publication : page) {
+				final var jsonPublication = root.objectNode();
+				final var id = exportPublication(i, publication, root, jsonPublication, repository, similarPublicationProvider, logger);
+				if (jsonPublication.size() > 0) {
+					jsonPublication.set(HIDDEN_INTERNAL_DATA_SOURCE_KEY, jsonPublication.textNode(HIDDEN_INTERNAL_DATABASE_SOURCE_VALUE));
+					repository.put(getRepositoryKey(publication), id);
+					if (i == 0) {
+						generator.writeArrayFieldStart(PUBLICATIONS_SECTION);
+					}
+					if (handler != null) {
+						handler.handle(PUBLICATIONS_SECTION, jsonPublication);
+					}
+					generator.writeTree(jsonPublication);
+					++i;
+				}
+			}
+			// The exported publications are not needed anymore, and the other entities are referenced
+			// by the repository with their keys
+			clearPersistenceContext();
+			pageable = page.nextPageable();
+		} while (page.hasNext());
+		if (i > 0) {
+			generator.writeEndArray();
+		}
+		logger.info("Exporting " + i + " publications from the database."); //$NON-NLS-1$ //$NON-NLS-2$
+		return i;
+	}
+
 	/** Export the publications to the given JSON root element.
 	 *
 	 * @param index the index of the publication in the list of publications.
@@ -768,7 +1011,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 		// It is due to the reference to person entities.
 		final var authorArray = jsonPublication.arrayNode();
 		for (final var author : publication.getAuthors()) {
-			var authorId = repository.get(author);
+			var authorId = repository.get(getRepositoryKey(author));
 			if (Strings.isNullOrEmpty(authorId)) {
 				// Author not found in the repository. It is a behavior that may
 				// occur when the authors are provided by a BibTeX source and the
@@ -794,7 +1037,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 		if (publication instanceof JournalBasedPublication jbp) {
 			final var journal = jbp.getJournal();
 			if (journal != null) {
-				final var journalId = repository.get(journal);
+				final var journalId = repository.get(getRepositoryKey(journal));
 				if (Strings.isNullOrEmpty(journalId)) {
 					// Journal not found in the repository. It is an unexpected behavior but
 					// the name of the journal is output to JSON
@@ -811,7 +1054,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 		if (publication instanceof ConferenceBasedPublication cbp) {
 			final var conference = cbp.getConference();
 			if (conference != null) {
-				final var conferenceId = repository.get(conference);
+				final var conferenceId = repository.get(getRepositoryKey(conference));
 				if (Strings.isNullOrEmpty(conferenceId)) {
 					// Conference not found in the repository. It is an unexpected behavior but
 					// the name of the conference is output to JSON
@@ -831,7 +1074,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 			final var jsonPerson = personNode.objectNode();
 			final var id = PERSON_ID_PREFIX + personNode.size();
 			exportObject(jsonPerson, id, person, jsonPerson, null);
-			repository.put(person, id);
+			repository.put(getRepositoryKey(person), id);
 			personNode.add(jsonPerson);
 			return id;
 		}
@@ -857,17 +1100,17 @@ public class DatabaseToJsonExporter extends JsonTool {
 
 				// Persons must be added explicitly because the "exportObject" function
 				// ignore the getter functions for all.
-				final var personId = repository.get(membership.getPerson());
+				final var personId = repository.get(getRepositoryKey(membership.getPerson()));
 				if (!Strings.isNullOrEmpty(personId)) {
 					addReference(jsonMembership, PERSON_KEY, personId);
 				}
-				final var candidateId = repository.get(membership.getCandidate());
+				final var candidateId = repository.get(getRepositoryKey(membership.getCandidate()));
 				if (!Strings.isNullOrEmpty(candidateId)) {
 					addReference(jsonMembership, CANDIDATE_KEY, candidateId);
 				}
 				final var promoterArray = jsonMembership.arrayNode();
 				for (final var promoter : membership.getPromoters()) {
-					final var promoterId = repository.get(promoter);
+					final var promoterId = repository.get(getRepositoryKey(promoter));
 					promoterArray.add(createReference(promoterId, jsonMembership));
 				}
 				if (promoterArray.size() > 0) {
@@ -903,14 +1146,14 @@ public class DatabaseToJsonExporter extends JsonTool {
 
 				// Persons must be added explicitly because the "exportObject" function
 				// ignore the getter functions for all.
-				final var personId = repository.get(supervision.getSupervisedPerson());
+				final var personId = repository.get(getRepositoryKey(supervision.getSupervisedPerson()));
 				if (!Strings.isNullOrEmpty(personId)) {
 					addReference(jsonSupervision, PERSON_KEY, personId);
 				}
 				final var supervisorsArray = jsonSupervision.arrayNode();
 				for (final var supervisorDesc : supervision.getSupervisors()) {
 					final var supervisorDescNode = supervisorsArray.objectNode();
-					final var supervisorId = repository.get(supervisorDesc.getSupervisor());
+					final var supervisorId = repository.get(getRepositoryKey(supervisorDesc.getSupervisor()));
 					supervisorDescNode.set(PERSON_KEY, createReference(supervisorId, supervisorDescNode));
 					supervisorDescNode.set(PERCENT_KEY, supervisorDescNode.numberNode(supervisorDesc.getPercentage())); 
 					supervisorDescNode.set(TYPE_KEY, supervisorDescNode.textNode(supervisorDesc.getType().name()));
@@ -949,11 +1192,11 @@ public class DatabaseToJsonExporter extends JsonTool {
 
 				// Persons must be added explicitly because the "exportObject" function
 				// ignore the getter functions for all.
-				var personId = repository.get(invitation.getGuest());
+				var personId = repository.get(getRepositoryKey(invitation.getGuest()));
 				if (!Strings.isNullOrEmpty(personId)) {
 					addReference(jsonInvitation, GUEST_KEY, personId);
 				}
-				personId = repository.get(invitation.getInviter());
+				personId = repository.get(getRepositoryKey(invitation.getInviter()));
 				if (!Strings.isNullOrEmpty(personId)) {
 					addReference(jsonInvitation, INVITER_KEY, personId);
 				}
@@ -1005,19 +1248,19 @@ public class DatabaseToJsonExporter extends JsonTool {
 					}
 				}
 
-				final var coordinatorId = repository.get(project.getCoordinator());
+				final var coordinatorId = repository.get(getRepositoryKey(project.getCoordinator()));
 				if (!Strings.isNullOrEmpty(coordinatorId)) {
 					addReference(jsonProject, COORDINATOR_KEY, coordinatorId);
 				}
-				final var localOrganizationId = repository.get(project.getLocalOrganization());
+				final var localOrganizationId = repository.get(getRepositoryKey(project.getLocalOrganization()));
 				if (!Strings.isNullOrEmpty(localOrganizationId)) {
 					addReference(jsonProject, LOCAL_ORGANIZATION_KEY, localOrganizationId);
 				}
-				final var superOrganizationId = repository.get(project.getSuperOrganization());
+				final var superOrganizationId = repository.get(getRepositoryKey(project.getSuperOrganization()));
 				if (!Strings.isNullOrEmpty(superOrganizationId)) {
 					addReference(jsonProject, SUPER_ORGANIZATION_KEY, superOrganizationId);
 				}
-				final var learOrganizationId = repository.get(project.getLearOrganization());
+				final var learOrganizationId = repository.get(getRepositoryKey(project.getLearOrganization()));
 				if (!Strings.isNullOrEmpty(learOrganizationId)) {
 					addReference(jsonProject, LEAR_ORGANIZATION_KEY, learOrganizationId);
 				}
@@ -1025,7 +1268,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 				if (!otherPartners.isEmpty()) {
 					final var jsonPartners = jsonProject.arrayNode();
 					for (final var partner : otherPartners) {
-						final var partnerId = repository.get(partner);
+						final var partnerId = repository.get(getRepositoryKey(partner));
 						if (!Strings.isNullOrEmpty(partnerId)) {
 							jsonPartners.add(createReference(partnerId, jsonPartners));
 						}
@@ -1038,7 +1281,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 				if (!participants.isEmpty()) {
 					final var jsonParticipants = jsonProject.arrayNode();
 					for (final var participant : participants) {
-						final var participantId = repository.get(participant.getPerson());
+						final var participantId = repository.get(getRepositoryKey(participant.getPerson()));
 						if (!Strings.isNullOrEmpty(participantId)) {
 							final var jsonParticipant = jsonParticipants.objectNode();
 							jsonParticipant.set(PERSON_KEY, createReference(participantId, jsonParticipant));
@@ -1053,7 +1296,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 				exportStringList(jsonProject, VIDEO_URLS_KEY, project.getVideoURLs());
 				exportStringList(jsonProject, PATHS_TO_IMAGES_KEY, project.getPathsToImages());
 				if (jsonProject.size() > 0) {
-					repository.put(project, id);
+					repository.put(getRepositoryKey(project), id);
 					array.add(jsonProject);
 					++i;
 				}
@@ -1106,7 +1349,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 				// Several fields must be added explicitly because the "exportObject" function
 				// ignore the getter functions for all.
 
-				final var fundingOrganizationId = repository.get(structure.getFundingOrganization());
+				final var fundingOrganizationId = repository.get(getRepositoryKey(structure.getFundingOrganization()));
 				if (!Strings.isNullOrEmpty(fundingOrganizationId)) {
 					addReference(jsonStructure, FUNDING_KEY, fundingOrganizationId);
 				}
@@ -1116,7 +1359,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 					final var holderNode = jsonStructure.arrayNode();
 					for (final var holder : holders) {
 						final var node = holderNode.addObject();
-						final var personId = repository.get(holder.getPerson());
+						final var personId = repository.get(getRepositoryKey(holder.getPerson()));
 						if (!Strings.isNullOrEmpty(personId)) {
 							addReference(node, PERSON_KEY, personId);
 						}
@@ -1124,11 +1367,11 @@ public class DatabaseToJsonExporter extends JsonTool {
 						if (!Strings.isNullOrEmpty(holder.getRoleDescription())) {
 							node.put(ROLE_DESCRIPTION_KEY, holder.getRoleDescription());
 						}
-						final var organizationId = repository.get(holder.getOrganization());
+						final var organizationId = repository.get(getRepositoryKey(holder.getOrganization()));
 						if (!Strings.isNullOrEmpty(organizationId)) {
 							addReference(node, ORGANIZATION_KEY, organizationId);
 						}
-						final var superOrganizationId = repository.get(holder.getSuperOrganization());
+						final var superOrganizationId = repository.get(getRepositoryKey(holder.getSuperOrganization()));
 						if (!Strings.isNullOrEmpty(superOrganizationId)) {
 							addReference(node, SUPER_ORGANIZATION_KEY, superOrganizationId);
 						}
@@ -1142,7 +1385,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 				if (projects != null && !projects.isEmpty()) {
 					final var projectNode = jsonStructure.arrayNode();
 					for (final var project : projects) {
-						final String projectId = repository.get(project);
+						final String projectId = repository.get(getRepositoryKey(project));
 						addReference(projectNode, projectId);
 					}
 					if (!projectNode.isEmpty()) {
@@ -1180,12 +1423,12 @@ public class DatabaseToJsonExporter extends JsonTool {
 
 				// Organizations and persons must be added explicitly because the "exportObject" function
 				// ignore the getter functions for all.
-				final var personId = repository.get(activity.getPerson());
+				final var personId = repository.get(getRepositoryKey(activity.getPerson()));
 				if (!Strings.isNullOrEmpty(personId)) {
 					addReference(jsonActivity, PERSON_KEY, personId);
 				}
 
-				final var universityId = repository.get(activity.getUniversity());
+				final var universityId = repository.get(getRepositoryKey(activity.getUniversity()));
 				if (!Strings.isNullOrEmpty(universityId)) {
 					addReference(jsonActivity, UNIVERSITY_KEY, universityId);
 				}
@@ -1206,7 +1449,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 					}
 				}
 				if (jsonActivity.size() > 0) {
-					repository.put(activity, id);
+					repository.put(getRepositoryKey(activity), id);
 					array.add(jsonActivity);
 					++i;
 				}
@@ -1242,7 +1485,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 				if (projects != null && !projects.isEmpty()) {
 					final var projectArray = jsonAxis.putArray(PROJECTS_KEY);
 					for (final var project : projects) {
-						final var projectId = repository.get(project);
+						final var projectId = repository.get(getRepositoryKey(project));
 						if (!Strings.isNullOrEmpty(projectId)) {
 							addReference(projectArray, projectId);
 						}
@@ -1253,7 +1496,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 				if (publications != null && !publications.isEmpty()) {
 					final var publicationArray = jsonAxis.putArray(PUBLICATIONS_KEY);
 					for (final var publication : publications) {
-						final var publicationId = repository.get(publication);
+						final var publicationId = repository.get(getRepositoryKey(publication));
 						if (!Strings.isNullOrEmpty(publicationId)) {
 							addReference(publicationArray, publicationId);
 						}
@@ -1264,7 +1507,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 				if (memberships != null && !memberships.isEmpty()) {
 					final var membershipArray = jsonAxis.putArray(MEMBERSHIPS_KEY);
 					for (final var membership : memberships) {
-						final var membershipId = repository.get(membership);
+						final var membershipId = repository.get(getRepositoryKey(membership));
 						if (!Strings.isNullOrEmpty(membershipId)) {
 							addReference(membershipArray, membershipId);
 						}
@@ -1272,7 +1515,7 @@ public class DatabaseToJsonExporter extends JsonTool {
 				}
 
 				if (jsonAxis.size() > 0) {
-					repository.put(axis, id);
+					repository.put(getRepositoryKey(axis), id);
 					array.add(jsonAxis);
 					++i;
 				}
@@ -1302,13 +1545,13 @@ public class DatabaseToJsonExporter extends JsonTool {
 
 				// Persons must be added explicitly because the "exportObject" function
 				// ignore the getter functions for all.
-				final var personId = repository.get(user.getPerson());
+				final var personId = repository.get(getRepositoryKey(user.getPerson()));
 				if (!Strings.isNullOrEmpty(personId)) {
 					addReference(jsonUser, PERSON_KEY, personId);
 				}
 
 				if (jsonUser.size() > 0) {
-					repository.put(user, id);
+					repository.put(getRepositoryKey(user), id);
 					array.add(jsonUser);
 					++i;
 				}
@@ -1319,4 +1562,40 @@ public class DatabaseToJsonExporter extends JsonTool {
 		}
 	}
 
+	/** Handler of the JSON elements that are written by
+	 * {@link DatabaseToJsonExporter#exportFromDatabaseToJsonStream(JsonGenerator, SimilarPublicationProvider, ExtraPublicationProvider, JsonElementHandler, Locale, Logger, Progression)}.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	@FunctionalInterface
+	public interface JsonElementHandler {
+
+		/** Invoked on an element of a section before it is written. The element may be changed by this function.
+		 *
+		 * @param section the name of the section, e.g. {@link JsonTool#PUBLICATIONS_SECTION}.
+		 * @param element the JSON element.
+		 * @throws Exception if the element cannot be handled.
+		 */
+		void handle(String section, ObjectNode element) throws Exception;
+
+	}
+
+	/** Key of a JPA entity in the repository of the exported elements.
+	 *
+	 * @param type the type of the entity.
+	 * @param id the database identifier of the entity.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	private record EntityKey(Class<?> type, long id) {
+		//
+	}
+
 }
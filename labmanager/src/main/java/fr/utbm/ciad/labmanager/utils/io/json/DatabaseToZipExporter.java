@@ -20,19 +20,26 @@
 package fr.utbm.ciad.labmanager.utils.io.json;
 
 import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Strings;
 import fr.utbm.ciad.labmanager.utils.io.UnclosableStream;
+import fr.utbm.ciad.labmanager.utils.io.ZipArchivePipeline;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
+import fr.utbm.ciad.labmanager.utils.io.json.DatabaseToJsonExporter.JsonElementHandler;
 import org.arakhne.afc.progress.Progression;
 import org.arakhne.afc.vmutil.FileSystem;
 import org.slf4j.Logger;
@@ -70,19 +77,24 @@ public class DatabaseToZipExporter {
 
 	private final DownloadableFileManager download;
 
+	private final ZipArchivePipeline zipPipeline;
+
 	/** Constructor.
 	 *
 	 * @param messages accessor to the localized messages.
 	 * @param jsonExporter the exporter to JSON file.
 	 * @param download the tool for accessing the downloadable files.
+	 * @param zipPipeline the pipeline for writing the attached files into the archive.
 	 */
 	public DatabaseToZipExporter(
 			@Autowired MessageSourceAccessor messages,
 			@Autowired DatabaseToJsonExporter jsonExporter,
-			@Autowired DownloadableFileManager download) {
+			@Autowired DownloadableFileManager download,
+			@Autowired ZipArchivePipeline zipPipeline) {
 		this.messages = messages;
 		this.jsonExporter = jsonExporter;
 		this.download = download;
+		this.zipPipeline = zipPipeline;
 	}
 
 	/** Replies the accessor to the localized strings.
@@ -100,7 +112,9 @@ public class DatabaseToZipExporter {
 	 * @param progress the progression indicator.
 	 * @return the tool for finalizing the export to ZIP.
 	 * @throws Exception if there is problem for exporting.
+	 * @deprecated see {@link #exportFromDatabaseToZip(OutputStream, Locale, Logger, Progression)}
 	 */
+	@Deprecated(since = "4.0", forRemoval = true)
 	public ZipExporter startExportFromDatabase(Locale locale, Logger logger, Progression progress) throws Exception {
 		assert progress != null;
 		progress.setProperties(0, 0, 100, false);
@@ -108,6 +122,53 @@ public class DatabaseToZipExporter {
 		return new ZipExporter(content, locale, progress.subTask(EIGHTY));
 	}
 
+	/** Export the database content into a ZIP archive.
+	 *
+	 * <p>The JSON content is written into the archive section by section, without building the JSON tree of
+	 * the whole database in memory. While the JSON content is written, the files that are referenced by the
+	 * JSON elements are collected; they are copied into the archive after the JSON content by the
+	 * {@link ZipArchivePipeline}, which reads the files in parallel and stores the already-compressed files
+	 * without compressing them again. A reference to a file that cannot be read is removed from the JSON content.
+	 * This function must be invoked inside a JPA session.
+	 *
+	 * @param output the receiver of the ZIP content. It is closed by this function.
+	 * @param locale the locale to use for progression messages.
+	 * @param logger the logger to use for put a message in the log.
+	 * @param progress the progression indicator.
+	 * @return {@code true} if the database content was exported; {@code false} if the database is empty.
+	 * @throws Exception if there is problem for exporting.
+	 * @since 4.0
+	 */
+	public boolean exportFromDatabaseToZip(OutputStream output, Locale locale, Logger logger, Progression progress) throws Exception {
+		assert progress != null;
+		progress.setProperties(0, 0, 100, false);
+		final var files = new AttachedFileCollector();
+		final boolean exported;
+		try (var zos = new ZipOutputStream(output)) {
+			final var jsonProgress = progress.subTask(TWENTY);
+			final var filename = ZipDatabaseConstants.DEFAULT_DBCONTENT_ATTACHMENT_BASENAME + ".json"; //$NON-NLS-1$
+			zos.putNextEntry(new ZipEntry(filename));
+			final var mapper = JsonUtils.createMapper();
+			try (var generator = mapper.createGenerator(new UnclosableStream(zos))) {
+				exported = this.jsonExporter.exportFromDatabaseToJsonStream(generator, null, null, files, locale, logger, jsonProgress);
+			}
+			zos.closeEntry();
+			zos.flush();
+			jsonProgress.end();
+
+			final var filesProgress = progress.subTask(EIGHTY);
+			final var attachedFiles = new LinkedHashMap<String, File>();
+			for (final var attachedFile : files.getFiles()) {
+				final var lfilename = FileSystem.convertStringToFile(attachedFile);
+				attachedFiles.put(lfilename.toString(), this.download.normalizeForServerSide(lfilename));
+			}
+			filesProgress.setComment(getMessageSourceAccessor().getMessage("DatabaseToZipExporter.exporting", locale)); //$NON-NLS-1$
+			this.zipPipeline.writeFiles(zos, attachedFiles, logger, filesProgress);
+		}
+		progress.end();
+		return exported;
+	}
+
 	private void writeJsonToZip(Map<String, Object> json, ZipOutputStream zos, Locale locale, Progression progress) throws Exception {
 		progress.setComment(getMessageSourceAccessor().getMessage("DatabaseToZipExporter.exporting.in_file", locale)); //$NON-NLS-1$
 		final var filename = ZipDatabaseConstants.DEFAULT_DBCONTENT_ATTACHMENT_BASENAME + ".json"; //$NON-NLS-1$
@@ -272,6 +333,86 @@ public class DatabaseToZipExporter {
 		return false;
 	}
 
+	/** Collector of the files that are referenced by the exported JSON elements.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	private class AttachedFileCollector implements JsonElementHandler {
+
+		private final Map<String, List<String>> fileFields = Map.of(
+				JsonTool.PUBLICATIONS_SECTION, Arrays.asList(
+						"pathToDownloadableAwardCertificate", //$NON-NLS-1$
+						"pathToDownloadablePDF"), //$NON-NLS-1$
+				JsonTool.ORGANIZATIONADDRESSES_SECTION, Arrays.asList(
+						"pathToBackgroundImage"), //$NON-NLS-1$
+				JsonTool.RESEARCHORGANIZATIONS_SECTION, Arrays.asList(
+						"pathToLogo"), //$NON-NLS-1$
+				JsonTool.PROJECTS_SECTION, Arrays.asList(
+						"pathToLogo", //$NON-NLS-1$
+						"pathToPowerpoint", //$NON-NLS-1$
+						"pathToPressDocument", //$NON-NLS-1$
+						"pathToScientificRequirements"), //$NON-NLS-1$
+				JsonTool.TEACHING_ACTIVITY_SECTION, Arrays.asList(
+						"pathToSlides")); //$NON-NLS-1$
+
+		private final Set<String> files = new LinkedHashSet<>();
+
+		/** Constructor.
+		 */
+		AttachedFileCollector() {
+			//
+		}
+
+		/** Replies the files that were collected and that could be read.
+		 *
+		 * @return the names of the files.
+		 */
+		Set<String> getFiles() {
+			return this.files;
+		}
+
+		private boolean isReadable(String filename) {
+			final var localFile = DatabaseToZipExporter.this.download.normalizeForServerSide(FileSystem.convertStringToFile(filename));
+			return localFile.canRead();
+		}
+
+		@Override
+		public void handle(String section, ObjectNode element) throws Exception {
+			final var fields = this.fileFields.get(section);
+			if (fields != null) {
+				for (final var fieldName : fields) {
+					final var value = element.get(fieldName);
+					if (value != null && value.isTextual()) {
+						final var filename = value.asText();
+						if (!Strings.isNullOrEmpty(filename)) {
+							if (isReadable(filename)) {
+								this.files.add(filename);
+							} else {
+								element.remove(fieldName);
+							}
+						}
+					}
+				}
+			}
+			if (JsonTool.PROJECTS_SECTION.equals(section)) {
+				final var images = element.get("pathsToImages"); //$NON-NLS-1$
+				if (images != null && images.isArray()) {
+					for (final var image : images) {
+						final var filename = image.asText();
+						if (!Strings.isNullOrEmpty(filename) && isReadable(filename)) {
+							this.files.add(filename);
+						}
+					}
+				}
+			}
+		}
+
+	}
+
 	/** Instance of a session of exporting to ZIP.
 	 * 
 	 * @author $Author: sgalland$
@@ -38,6 +38,8 @@ import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Collection;
 import java.util.Locale;
 
@@ -65,13 +67,42 @@ public class JacksonJsonExporter extends AbstractJsonExporter {
 	@Override
 	public String exportPublicationsWithRootKeys(Collection<? extends Publication> publications, ExporterConfigurator configurator,
 			Progression progression, Logger logger, String... rootKeys) throws Exception {
-		progression.setProperties(0, 0, publications.size() + 1, false);	
-		final var root = exportPublicationsAsTreeWithRootKeys(publications, configurator,
-				progression.subTask(publications.size()), logger, null, rootKeys);
+		try (final var output = new StringWriter()) {
+			exportPublicationsWithRootKeys(output, publications, configurator, progression, logger, rootKeys);
+			return output.toString();
+		}
+	}
+
+	@Override
+	public void exportPublicationsWithRootKeys(Writer output, Collection<? extends Publication> publications, ExporterConfigurator configurator,
+			Progression progression, Logger logger, String... rootKeys) throws Exception {
+		progression.setProperties(0, 0, publications.size() + 1, false);
 		final var mapper = JsonUtils.createMapper();
-		final var output = mapper.writer().writeValueAsString(root);
+		final var locale = configurator.getLocaleOrLanguageLocale(null);
+		try (final var generator = mapper.createGenerator(output)) {
+			// The writer is owned by the caller
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			if (rootKeys != null) {
+				for (final var rkey : rootKeys) {
+					generator.writeStartObject();
+					generator.writeFieldName(rkey);
+				}
+			}
+			generator.writeStartArray();
+			for (final var publication : publications) {
+				// Each publication is written as soon as it is converted in order to avoid to build the full tree in memory
+				generator.writeTree(exportPublicationNode(publication, configurator, logger, null, mapper, locale));
+				progression.increment();
+			}
+			generator.writeEndArray();
+			if (rootKeys != null) {
+				for (var i = 0; i < rootKeys.length; ++i) {
+					generator.writeEndObject();
+				}
+			}
+		}
+		output.flush();
 		progression.end();
-		return output;
 	}
 
 	@Override
@@ -117,39 +148,57 @@ public class JacksonJsonExporter extends AbstractJsonExporter {
 		progression.setProperties(0, 0, publications.size(), false);
 		final var array = mapper.createArrayNode();
 		for (final var publication : publications) {
-			final var entryNode = exportPublication(publication, configurator, mapper);
-			// Add additional fields by the callback function
-			if (callback != null) {
-				callback.apply(publication, entryNode);
-			}
-			// Make aliasing of the year
-			if (entryNode.has("publicationYear")) { //$NON-NLS-1$
-				entryNode.set("year", entryNode.get("publicationYear").deepCopy()); //$NON-NLS-1$ //$NON-NLS-2$
-			}
-			// Make aliasing for the Scimago Quartiles
-			if (entryNode.has("scimagoQIndex") && publication instanceof JournalBasedPublication jbp) { //$NON-NLS-1$
-				final var url = configurator.getJournalService().getScimagoQuartileImageURLByJournal(jbp.getJournal(), logger);
-				if (url != null) {
-					entryNode.set("scimagoQIndex_imageUrl", entryNode.textNode(url.toExternalForm())); //$NON-NLS-1$
-				}
-			}
-			// Add labels for type and category
-			if (configurator.isTypeAndCategoryLabels()) {
-				if (entryNode.has("type")) { //$NON-NLS-1$
-					entryNode.set("htmlTypeLabel", mapper.valueToTree(publication.getType().getLabel(getMessageSourceAccessor(), locale))); //$NON-NLS-1$
-				}
-				if (entryNode.has("category")) { //$NON-NLS-1$
-					entryNode.set("htmlCategoryLabel", mapper.valueToTree(publication.getCategory().getLabel(getMessageSourceAccessor(), locale))); //$NON-NLS-1$
-				}
-			}
-			//
-			array.add(entryNode);
+			array.add(exportPublicationNode(publication, configurator, logger, callback, mapper, locale));
 			progression.increment();
 		}
 		progression.end();
 		return array;
 	}
 
+	/** Export in JSON a single publication with the additional fields that are expected by the front-ends.
+	 *
+	 * @param publication the publication, never {@code null}.
+	 * @param configurator the configurator for the export, never {@code null}.
+	 * @param logger the logger to be used.
+	 * @param callback a function that is invoked for giving the opportunity
+	 *     to fill up the Json node of the publication.
+	 * @param mapper the JSON object creator and mapper.
+	 * @param locale the locale to use.
+	 * @return the representation of the publication.
+	 * @throws Exception if the publication cannot be converted.
+	 * @since 4.0
+	 */
+	protected ObjectNode exportPublicationNode(Publication publication, ExporterConfigurator configurator, Logger logger,
+			Procedure2<Publication, ObjectNode> callback, ObjectMapper mapper, Locale locale) throws Exception {
+		final var entryNode = exportPublication(publication, configurator, mapper);
+		// Add additional fields by the callback function
+		if (callback != null) {
+			callback.apply(publication, entryNode);
+		}
+		// Make aliasing of the year
+		if (entryNode.has("publicationYear")) { //$NON-NLS-1$
+			entryNode.set("year", entryNode.get("publicationYear").deepCopy()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		// Make aliasing for the Scimago Quartiles
+		if (entryNode.has("scimagoQIndex") && publication instanceof JournalBasedPublication jbp) { //$NON-NLS-1$
+			final var url = configurator.getJournalService().getScimagoQuartileImageURLByJournal(jbp.getJournal(), logger);
+			if (url != null) {
+				entryNode.set("scimagoQIndex_imageUrl", entryNode.textNode(url.toExternalForm())); //$NON-NLS-1$
+			}
+		}
+		// Add labels for type and category
+		if (configurator.isTypeAndCategoryLabels()) {
+			if (entryNode.has("type")) { //$NON-NLS-1$
+				entryNode.set("htmlTypeLabel", mapper.valueToTree(publication.getType().getLabel(getMessageSourceAccessor(), locale))); //$NON-NLS-1$
+			}
+			if (entryNode.has("category")) { //$NON-NLS-1$
+				entryNode.set("htmlCategoryLabel", mapper.valueToTree(publication.getCategory().getLabel(getMessageSourceAccessor(), locale))); //$NON-NLS-1$
+			}
+		}
+		//
+		return entryNode;
+	}
+
 	/** Export in JSON a single publication.
 	 *
 	 * @param publication the publication, never {@code null}.
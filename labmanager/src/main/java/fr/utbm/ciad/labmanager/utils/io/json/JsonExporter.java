@@ -19,6 +19,7 @@
 
 package fr.utbm.ciad.labmanager.utils.io.json;
 
+import java.io.Writer;
 import java.util.Collection;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -60,6 +61,22 @@ public interface JsonExporter extends PublicationExporter<String> {
 	String exportPublicationsWithRootKeys(Collection<? extends Publication> publications, ExporterConfigurator configurator, Progression progression,
 			Logger logger, String... rootKeys) throws Exception;
 
+	/** Export publications into the given writer. The publications are written one after the other,
+	 * without building the full JSON tree in memory.
+	 *
+	 * @param output the receiver of the JSON content. It is not closed by this function.
+	 * @param publications the publications to export.
+	 * @param configurator the configurator for the export, never {@code null}.
+	 * @param progression the progression indicator.
+	 * @param logger the logger to be used.
+	 * @param rootKeys the sequence of keys for building the root of the tree. The exported data is then
+	 *     output into the last created node with the {@code rootKeys}.
+	 * @throws Exception if the publication cannot be converted.
+	 * @since 4.0
+	 */
+	void exportPublicationsWithRootKeys(Writer output, Collection<? extends Publication> publications, ExporterConfigurator configurator, Progression progression,
+			Logger logger, String... rootKeys) throws Exception;
+
 	/** Export publications. The content of the exported flow depends on the sub-interfaces.
 	 *
 	 * @param publications the publications to export.
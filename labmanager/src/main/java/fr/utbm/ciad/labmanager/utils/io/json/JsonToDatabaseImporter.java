@@ -20,7 +20,6 @@
 package fr.utbm.ciad.labmanager.utils.io.json;
 
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.time.LocalDate;
@@ -44,6 +43,7 @@ import com.google.common.base.Strings;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Multimap;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorCache;
 import fr.utbm.ciad.labmanager.data.EntityUtils;
 import fr.utbm.ciad.labmanager.data.assostructure.AssociatedStructure;
 import fr.utbm.ciad.labmanager.data.assostructure.AssociatedStructureHolder;
@@ -92,9 +92,15 @@ import fr.utbm.ciad.labmanager.data.teaching.TeachingActivityRepository;
 import fr.utbm.ciad.labmanager.data.teaching.TeachingActivityType;
 import fr.utbm.ciad.labmanager.data.user.User;
 import fr.utbm.ciad.labmanager.data.user.UserRepository;
+import fr.utbm.ciad.labmanager.services.conference.ConferenceNameIndex;
 import fr.utbm.ciad.labmanager.services.indicator.GlobalIndicatorsService;
+import fr.utbm.ciad.labmanager.services.journal.JournalNameIndex;
+import fr.utbm.ciad.labmanager.services.member.PersonNameIndex;
 import fr.utbm.ciad.labmanager.services.member.PersonService;
+import fr.utbm.ciad.labmanager.services.organization.OrganizationHierarchyIndex;
+import fr.utbm.ciad.labmanager.services.publication.PublicationCountCache;
 import fr.utbm.ciad.labmanager.services.publication.PublicationService;
+import fr.utbm.ciad.labmanager.services.publication.PublicationTitleIndex;
 import fr.utbm.ciad.labmanager.utils.country.CountryCode;
 import fr.utbm.ciad.labmanager.utils.funding.FundingScheme;
 import fr.utbm.ciad.labmanager.utils.names.PersonNameParser;
@@ -105,12 +111,15 @@ import org.apache.commons.lang3.mutable.MutableInt;
 import org.apache.commons.lang3.tuple.Pair;
 import org.eclipse.xtext.xbase.lib.Functions.Function3;
 import org.hibernate.Hibernate;
-import org.hibernate.Session;
-import org.hibernate.SessionFactory;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.util.function.ThrowingFunction;
 
 /** Importer of JSON data into the database.
  * 
@@ -126,30 +135,42 @@ public class JsonToDatabaseImporter extends JsonTool {
 
 	private static final long serialVersionUID = 353807006051937542L;
 
-	private SessionFactory sessionFactory;
+	private PlatformTransactionManager transactionManager;
 
 	private OrganizationAddressRepository addressRepository;
 
 	private ResearchOrganizationRepository organizationRepository;
 
+	private OrganizationHierarchyIndex organizationHierarchy;
+
 	private PersonRepository personRepository;
 
 	private PersonService personService;
 
+	private PersonNameIndex personNameIndex;
+
 	private MembershipRepository organizationMembershipRepository;
 
 	private JournalRepository journalRepository;
 
+	private JournalNameIndex journalNameIndex;
+
 	private JournalQualityAnnualIndicatorsRepository journalIndicatorsRepository;
 
 	private ConferenceRepository conferenceRepository;
 
+	private ConferenceNameIndex conferenceNameIndex;
+
 	private ConferenceQualityAnnualIndicatorsRepository conferenceIndicatorsRepository;
 
 	private PublicationService publicationService;
 
+	private PublicationCountCache countCache;
+
 	private AuthorshipRepository authorshipRepository;
 
+	private PublicationTitleIndex titleIndex;
+
 	private PersonNameParser personNameParser;
 
 	private JuryMembershipRepository juryMembershipRepository;
@@ -160,6 +181,8 @@ public class JsonToDatabaseImporter extends JsonTool {
 
 	private GlobalIndicatorsService globalIndicatorsService;
 
+	private IndicatorCache indicatorCache;
+
 	private ProjectRepository projectRepository;
 
 	private AssociatedStructureRepository structureRepository;
@@ -174,79 +197,105 @@ public class JsonToDatabaseImporter extends JsonTool {
 
 	private boolean fake;
 
+	private final int batchSize;
+
 	/** Constructor.
 	 * 
 	 * @param messages the accessor to the localized strings.
-	 * @param sessionFactory the factory of an hibernate session.
+	 * @param transactionManager the manager of the JPA transactions.
 	 * @param addressRepository the accessor to the address repository.
 	 * @param organizationRepository the accessor to the organization repository.
+	 * @param organizationHierarchy the index of the organization hierarchy that must be updated when organizations are created.
 	 * @param personRepository the accessor to the person repository.
 	 * @param personService the accessor to the high-level person services.
+	 * @param personNameIndex the index of the person names that must be updated when persons are created.
 	 * @param organizationMembershipRepository the accessor to the organization membership repository.
 	 * @param journalRepository the accessor to the journal repository.
+	 * @param journalNameIndex the index of the journal names that must be updated when journals are created.
 	 * @param journalIndicatorsRepository the accessor to the repository of the journal quality annual indicators.
 	 * @param conferenceRepository the accessor to the conference repository.
+	 * @param conferenceNameIndex the index of the conference names that must be updated when conferences are created.
 	 * @param conferenceIndicatorsRepository the accessor to the repository of the conference quality annual indicators.
 	 * @param publicationService the service related to the publications.
+	 * @param countCache the cache of the publication counts that must be invalidated when publications are imported.
 	 * @param authorshipRepository the accessor to the authorships.
+	 * @param titleIndex the index of the publication titles that must be updated when publications are created.
 	 * @param personNameParser the parser of person names.
 	 * @param juryMembershipRepository the repository of jury memberships.
 	 * @param supervisionRepository the repository of supervisions.
 	 * @param invitationRepository the repository of invitations.
 	 * @param globalIndicatorsService the service of the global indicators.
+	 * @param indicatorCache the cache of the indicator values that must be invalidated when data are imported.
 	 * @param projectRepository the repository of the projects.
 	 * @param structureRepository the repository of the associated structures.
 	 * @param teachingRepository the repository of the teaching activities.
 	 * @param scientificAxisRepository the repository of the scientific axes.
 	 * @param userRepository the repository of the application users.
+	 * @param batchSize the number of imported objects that are saved in the same transaction.
 	 */
 	public JsonToDatabaseImporter(
 			@Autowired MessageSourceAccessor messages,
-			@Autowired SessionFactory sessionFactory,
+			@Autowired PlatformTransactionManager transactionManager,
 			@Autowired OrganizationAddressRepository addressRepository,
 			@Autowired ResearchOrganizationRepository organizationRepository,
+			@Autowired OrganizationHierarchyIndex organizationHierarchy,
 			@Autowired PersonRepository personRepository,
 			@Autowired PersonService personService,
+			@Autowired PersonNameIndex personNameIndex,
 			@Autowired MembershipRepository organizationMembershipRepository,
 			@Autowired JournalRepository journalRepository,
+			@Autowired JournalNameIndex journalNameIndex,
 			@Autowired JournalQualityAnnualIndicatorsRepository journalIndicatorsRepository,
 			@Autowired ConferenceRepository conferenceRepository,
+			@Autowired ConferenceNameIndex conferenceNameIndex,
 			@Autowired ConferenceQualityAnnualIndicatorsRepository conferenceIndicatorsRepository,
 			@Autowired PublicationService publicationService,
+			@Autowired PublicationCountCache countCache,
 			@Autowired AuthorshipRepository authorshipRepository,
+			@Autowired PublicationTitleIndex titleIndex,
 			@Autowired PersonNameParser personNameParser,
 			@Autowired JuryMembershipRepository juryMembershipRepository,
 			@Autowired SupervisionRepository supervisionRepository,
 			@Autowired PersonInvitationRepository invitationRepository,
 			@Autowired GlobalIndicatorsService globalIndicatorsService,
+			@Autowired IndicatorCache indicatorCache,
 			@Autowired ProjectRepository projectRepository,
 			@Autowired AssociatedStructureRepository structureRepository,
 			@Autowired TeachingActivityRepository teachingRepository,
 			@Autowired ScientificAxisRepository scientificAxisRepository,
-			@Autowired UserRepository userRepository) {
+			@Autowired UserRepository userRepository,
+			@Value("${labmanager.init.batch-size:100}") int batchSize) {
 		super(messages);
-		this.sessionFactory = sessionFactory;
+		this.transactionManager = transactionManager;
 		this.addressRepository = addressRepository;
 		this.organizationRepository = organizationRepository;
+		this.organizationHierarchy = organizationHierarchy;
 		this.personRepository = personRepository;
 		this.personService = personService;
+		this.personNameIndex = personNameIndex;
 		this.organizationMembershipRepository = organizationMembershipRepository;
 		this.journalRepository = journalRepository;
+		this.journalNameIndex = journalNameIndex;
 		this.journalIndicatorsRepository = journalIndicatorsRepository;
 		this.conferenceRepository = conferenceRepository;
+		this.conferenceNameIndex = conferenceNameIndex;
 		this.conferenceIndicatorsRepository = conferenceIndicatorsRepository;
 		this.publicationService = publicationService;
+		this.countCache = countCache;
 		this.authorshipRepository = authorshipRepository;
+		this.titleIndex = titleIndex;
 		this.personNameParser = personNameParser;
 		this.juryMembershipRepository = juryMembershipRepository;
 		this.supervisionRepository = supervisionRepository;
 		this.invitationRepository = invitationRepository;
 		this.globalIndicatorsService = globalIndicatorsService;
+		this.indicatorCache = indicatorCache;
 		this.projectRepository = projectRepository;
 		this.structureRepository = structureRepository;
 		this.teachingRepository = teachingRepository;
 		this.scientificAxisRepository = scientificAxisRepository;
 		this.userRepository = userRepository;
+		this.batchSize = Math.max(1, batchSize);
 		initializeFieldAliases();
 	}
 
@@ -463,20 +512,19 @@ public class JsonToDatabaseImporter extends JsonTool {
 	}
 
 	/** Run the importer for JSON data source only.
+	 * The JSON content is read with a token stream, and each section is loaded in memory only when it is imported.
 	 *
 	 * @param inputStream the input stream of the JSON file to read.
 	 * @param logger the logger to use for put a message in the log.
 	 * @return the import stats.
 	 * @throws Exception if there is problem for importing.
 	 * @see #importDataFileToDatabase(URL)
+	 * @see SpooledJsonSections
 	 */
 	public Stats importJsonFileToDatabase(InputStream inputStream, Logger logger) throws Exception {
-		final JsonNode content;
-		try (final var isr = new InputStreamReader(inputStream)) {
-			final var mapper = JsonUtils.createMapper();
-			content = mapper.readTree(isr);
+		try (final var sections = new SpooledJsonSections(inputStream, JsonUtils.createMapper())) {
+			return importJsonFileToDatabase(sections, null, logger);
 		}
-		return importJsonFileToDatabase(content, null, logger);
 	}
 
 	/** Run the importer for JSON data source only.
@@ -490,50 +538,99 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 */
 	public Stats importJsonFileToDatabase(JsonNode content, FileCallback fileCallback, Logger logger) throws Exception {
 		if (content != null && !content.isEmpty()) {
-			final var objectRepository = new TreeMap<String, Long>();
-			final var aliasRepository = new TreeMap<String, Set<String>>();
-
-			try (final var session = this.sessionFactory.openSession()) {
-				insertGlobalIndicators(session, content.get(GLOBALINDICATORS_SECTION), objectRepository, aliasRepository, logger);
-				final var nb6 = insertAddresses(session, content.get(ORGANIZATIONADDRESSES_SECTION), objectRepository, aliasRepository, fileCallback, logger);
-				final var nb0 = insertOrganizations(session, content.get(RESEARCHORGANIZATIONS_SECTION), objectRepository, aliasRepository, fileCallback, logger);
-				final var nb13 = insertScientificAxes(session, content.get(SCIENTIFIC_AXIS_SECTION), objectRepository, aliasRepository, fileCallback, logger);
-				final var nb1 = insertPersons(session, content.get(PERSONS_SECTION), objectRepository, aliasRepository, logger);
-				final var nb2 = insertJournals(session, content.get(JOURNALS_SECTION), objectRepository, aliasRepository, logger);
-				final var nb14 = insertConferences(session, content.get(CONFERENCES_SECTION), objectRepository, aliasRepository, logger);
-				final var scientificAxisNode = content.get(SCIENTIFIC_AXIS_SECTION);
-				final var nb3 = insertOrganizationMemberships(session, content.get(ORGANIZATION_MEMBERSHIPS_SECTION),
-						scientificAxisNode, objectRepository, aliasRepository, logger);
-				final var added = insertPublications(session, content.get(PUBLICATIONS_SECTION),
-						scientificAxisNode, objectRepository, aliasRepository, fileCallback, logger);
-				final var nb4 = added != null ? added.getLeft().intValue() : 0;
-				final var nb5 = added != null ? added.getRight().intValue() : 0;
-				final var nb7 = insertJuryMemberships(session, content.get(JURY_MEMBERSHIPS_SECTION), objectRepository, aliasRepository, logger);
-				final var nb8 = insertSupervisions(session, content.get(SUPERVISIONS_SECTION), objectRepository, aliasRepository, logger);
-				final var nb9 = insertInvitations(session, content.get(INVITATIONS_SECTION), objectRepository, aliasRepository, logger);
-				final var nb10 = insertProjects(session, content.get(PROJECTS_SECTION), 
-						scientificAxisNode, objectRepository, aliasRepository, fileCallback, logger);
-				final var nb11 = insertAssociatedStructures(session, content.get(ASSOCIATED_STRUCTURES_SECTION),
-						objectRepository, aliasRepository, fileCallback, logger);
-				final var nb12 = insertTeachingActivities(session, content.get(TEACHING_ACTIVITY_SECTION),
-						objectRepository, aliasRepository, fileCallback, logger);
-				final var nb15 = insertApplicationUsers(session, content.get(APPLICATION_USERS_SECTION), objectRepository, aliasRepository, logger);
-				return new Stats(nb6, nb0, nb2, nb14, nb1, nb5, nb3, nb4, nb7, nb8, nb9, nb10, nb11, nb12, nb13, nb15);
-			}
+			return importSections(content::get, fileCallback, logger);
+		}
+		return new Stats();
+	}
+
+	/** Run the importer for JSON data source only.
+	 *
+	 * @param content the sections of the JSON file to read.
+	 * @param fileCallback a tool that is invoked when associated file is detected. It could be {@code null}.
+	 * @param logger the logger to use for put a message in the log.
+	 * @return the import stats.
+	 * @throws Exception if there is problem for importing.
+	 * @since 4.0
+	 */
+	public Stats importJsonFileToDatabase(SpooledJsonSections content, FileCallback fileCallback, Logger logger) throws Exception {
+		if (content != null && !content.isEmpty()) {
+			return importSections(content::get, fileCallback, logger);
 		}
 		return new Stats();
 	}
 
+	/** Import the sections that are provided by the given function.
+	 *
+	 * <p>The objects are saved in batches of transactions (see {@link TransactionBatch}). If the import fails,
+	 * the current batch is rolled back; the batches that were already committed stay in the database.
+	 *
+	 * @param content the provider of the sections.
+	 * @param fileCallback a tool that is invoked when associated file is detected. It could be {@code null}.
+	 * @param logger the logger to use for put a message in the log.
+	 * @return the import stats.
+	 * @throws Exception if there is problem for importing.
+	 */
+	private Stats importSections(ThrowingFunction<String, JsonNode> content, FileCallback fileCallback, Logger logger) throws Exception {
+		final var objectRepository = new TreeMap<String, Long>();
+		final var aliasRepository = new TreeMap<String, Set<String>>();
+
+		final var transaction = new TransactionBatch(this.transactionManager, this.batchSize);
+		try {
+			insertGlobalIndicators(transaction, content.applyWithException(GLOBALINDICATORS_SECTION), objectRepository, aliasRepository, logger);
+			final var nb6 = insertAddresses(transaction, content.applyWithException(ORGANIZATIONADDRESSES_SECTION), objectRepository, aliasRepository, fileCallback, logger);
+			final var nb0 = insertOrganizations(transaction, content.applyWithException(RESEARCHORGANIZATIONS_SECTION), objectRepository, aliasRepository, fileCallback, logger);
+			// The organizations were directly saved into the database
+			this.organizationHierarchy.invalidate();
+			// The scientific axes are used by several sections; they are kept in memory during the import
+			final var scientificAxisNode = content.applyWithException(SCIENTIFIC_AXIS_SECTION);
+			final var nb13 = insertScientificAxes(transaction, scientificAxisNode, objectRepository, aliasRepository, fileCallback, logger);
+			final var nb1 = insertPersons(transaction, content.applyWithException(PERSONS_SECTION), objectRepository, aliasRepository, logger);
+			// The persons were directly saved into the database
+			this.personNameIndex.invalidate();
+			final var nb2 = insertJournals(transaction, content.applyWithException(JOURNALS_SECTION), objectRepository, aliasRepository, logger);
+			final var nb14 = insertConferences(transaction, content.applyWithException(CONFERENCES_SECTION), objectRepository, aliasRepository, logger);
+			// The journals and the conferences were directly saved into the database
+			this.journalNameIndex.invalidate();
+			this.conferenceNameIndex.invalidate();
+			final var nb3 = insertOrganizationMemberships(transaction, content.applyWithException(ORGANIZATION_MEMBERSHIPS_SECTION),
+					scientificAxisNode, objectRepository, aliasRepository, logger);
+			final var added = insertPublications(transaction, content.applyWithException(PUBLICATIONS_SECTION),
+					scientificAxisNode, objectRepository, aliasRepository, fileCallback, logger);
+			final var nb4 = added != null ? added.getLeft().intValue() : 0;
+			final var nb5 = added != null ? added.getRight().intValue() : 0;
+			// The memberships and the publications were directly saved into the database
+			this.countCache.invalidateAll();
+			this.titleIndex.invalidate();
+			final var nb7 = insertJuryMemberships(transaction, content.applyWithException(JURY_MEMBERSHIPS_SECTION), objectRepository, aliasRepository, logger);
+			final var nb8 = insertSupervisions(transaction, content.applyWithException(SUPERVISIONS_SECTION), objectRepository, aliasRepository, logger);
+			final var nb9 = insertInvitations(transaction, content.applyWithException(INVITATIONS_SECTION), objectRepository, aliasRepository, logger);
+			final var nb10 = insertProjects(transaction, content.applyWithException(PROJECTS_SECTION), 
+					scientificAxisNode, objectRepository, aliasRepository, fileCallback, logger);
+			final var nb11 = insertAssociatedStructures(transaction, content.applyWithException(ASSOCIATED_STRUCTURES_SECTION),
+					objectRepository, aliasRepository, fileCallback, logger);
+			final var nb12 = insertTeachingActivities(transaction, content.applyWithException(TEACHING_ACTIVITY_SECTION),
+					objectRepository, aliasRepository, fileCallback, logger);
+			final var nb15 = insertApplicationUsers(transaction, content.applyWithException(APPLICATION_USERS_SECTION), objectRepository, aliasRepository, logger);
+			// The indicators are computed from all the imported data
+			this.indicatorCache.invalidateAll();
+			transaction.close();
+			return new Stats(nb6, nb0, nb2, nb14, nb1, nb5, nb3, nb4, nb7, nb8, nb9, nb10, nb11, nb12, nb13, nb15);
+		} catch (Throwable ex) {
+			transaction.rollback();
+			throw ex;
+		}
+	}
+
 	/** Create the global indicators in the database.
 	 *
-	 * @param session the JPA session for managing transactions.
+	 * @param transaction the batch of transactions in which the objects are saved.
 	 * @param globalIndicators the global indicators.
 	 * @param objectIdRepository the mapping from JSON {@code @id} field and the JPA database identifier.
 	 * @param aliasRepository the repository of field aliases.
 	 * @param logger the logger to use for put a message in the log.
 	 * @throws Exception if an address cannot be created.
 	 */
-	protected void insertGlobalIndicators(Session session, JsonNode globalIndicators, Map<String, Long> objectIdRepository,
+	protected void insertGlobalIndicators(TransactionBatch transaction, JsonNode globalIndicators, Map<String, Long> objectIdRepository,
 			Map<String, Set<String>> aliasRepository, Logger logger) throws Exception {
 		if (globalIndicators != null && !globalIndicators.isEmpty()) {
 			logger.info("Inserting global indicators..."); //$NON-NLS-1$
@@ -553,7 +650,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 
 	/** Create the organization addresses in the database.
 	 *
-	 * @param session the JPA session for managing transactions.
+	 * @param transaction the batch of transactions in which the objects are saved.
 	 * @param addresses the list of addresses in the Json source.
 	 * @param objectIdRepository the mapping from JSON {@code @id} field and the JPA database identifier.
 	 * @param aliasRepository the repository of field aliases.
@@ -562,7 +659,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 * @return the number of new addresses in the database.
 	 * @throws Exception if an address cannot be created.
 	 */
-	protected int insertAddresses(Session session, JsonNode addresses, Map<String, Long> objectIdRepository,
+	protected int insertAddresses(TransactionBatch transaction, JsonNode addresses, Map<String, Long> objectIdRepository,
 			Map<String, Set<String>> aliasRepository, FileCallback fileCallback, Logger logger) throws Exception {
 		var nbNew = 0;
 		if (addresses != null && !addresses.isEmpty()) {
@@ -572,7 +669,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 				logger.info("> Address " + (i + 1) + "/" + addresses.size()); //$NON-NLS-1$ //$NON-NLS-2$
 				try {
 					final var id = getId(adrObject);
-					session.beginTransaction();
+					transaction.begin();
 					var adr = createObject(OrganizationAddress.class, adrObject,
 							aliasRepository, null);
 					if (adr != null) {
@@ -600,7 +697,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 							objectIdRepository.put(id, Long.valueOf(adr.getId()));
 						}
 					}
-					session.getTransaction().commit();
+					transaction.commit();
 				} catch (Throwable ex) {
 					throw new UnableToImportJsonException(ORGANIZATIONADDRESSES_SECTION, i, adrObject,ex);
 				}
@@ -612,7 +709,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 
 	/** Create the research organizations in the database.
 	 *
-	 * @param session the JPA session for managing transactions.
+	 * @param transaction the batch of transactions in which the objects are saved.
 	 * @param organizations the list of organizations in the Json source.
 	 * @param objectIdRepository the mapping from JSON {@code @id} field and the JPA database identifier.
 	 * @param aliasRepository the repository of field aliases.
@@ -621,7 +718,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 * @return the number of new organizations in the database.
 	 * @throws Exception if an organization cannot be created.
 	 */
-	protected int insertOrganizations(Session session, JsonNode organizations, Map<String, Long> objectIdRepository,
+	protected int insertOrganizations(TransactionBatch transaction, JsonNode organizations, Map<String, Long> objectIdRepository,
 			Map<String, Set<String>> aliasRepository, FileCallback fileCallback, Logger logger) throws Exception {
 		var nbNew = 0;
 		if (organizations != null && !organizations.isEmpty()) {
@@ -633,7 +730,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 				logger.info("> Organization " + (i + 1) + "/" + organizations.size()); //$NON-NLS-1$ //$NON-NLS-2$
 				try {
 					final var id = getId(orgaObject);
-					session.beginTransaction();
+					transaction.begin();
 					var orga = createObject(ResearchOrganization.class, orgaObject,
 							aliasRepository, null);
 					if (orga != null) {
@@ -699,7 +796,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 							superOrgas.add(Pair.of(orga, superOrgs));
 						}
 					}
-					session.getTransaction().commit();
+					transaction.commit();
 				} catch (Throwable ex) {
 					throw new UnableToImportJsonException(RESEARCHORGANIZATIONS_SECTION, i, orgaObject,ex);
 				}
@@ -716,7 +813,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 					}
 					superOrgasInstances.add(sup);
 				}
-				session.beginTransaction();
+				transaction.begin();
 				subOrgaInstance.getSuperOrganizations().addAll(superOrgasInstances);
 				for (final var sup : superOrgasInstances) {
 					sup.getSubOrganizations().add(subOrgaInstance);
@@ -725,7 +822,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 				if (!isFake()) {
 					this.organizationRepository.saveAllAndFlush(Iterables.concat(Collections.singletonList(subOrgaInstance), superOrgasInstances));
 				}
-				session.getTransaction().commit();
+				transaction.commit();
 			}
 		}
 		return nbNew;
@@ -758,7 +855,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 
 	/** Create the persons in the database.
 	 *
-	 * @param session the JPA session for managing transactions.
+	 * @param transaction the batch of transactions in which the objects are saved.
 	 * @param persons the list of persons in the Json source.
 	 * @param objectIdRepository the mapping from JSON {@code @id} field and the JPA database identifier.
 	 * @param aliasRepository the repository of field aliases.
@@ -766,7 +863,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 * @return the number of new persons in the database.
 	 * @throws Exception if a person cannot be created.
 	 */
-	protected int insertPersons(Session session, JsonNode persons, Map<String, Long> objectIdRepository,
+	protected int insertPersons(TransactionBatch transaction, JsonNode persons, Map<String, Long> objectIdRepository,
 			Map<String, Set<String>> aliasRepository, Logger logger) throws Exception {
 		var nbNew = 0;
 		if (persons != null && !persons.isEmpty()) {
@@ -790,7 +887,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 						person.setMobilePhone(mobilePhone);
 
 						// Finalize import
-						session.beginTransaction();
+						transaction.begin();
 						if (!isFake()) {
 							person = this.personRepository.save(person);
 						}
@@ -799,7 +896,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 						if (!Strings.isNullOrEmpty(id)) {
 							objectIdRepository.put(id, Long.valueOf(person.getId()));
 						}
-						session.getTransaction().commit();
+						transaction.commit();
 					}
 				} catch (Throwable ex) {
 					throw new UnableToImportJsonException(PERSONS_SECTION, i, personObject, ex);
@@ -986,7 +1083,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 		}
 	}
 
-	private int saveOrganizationMemberships(Session session, Map<Person, PersonMemberships> allData,
+	private int saveOrganizationMemberships(TransactionBatch transaction, Map<Person, PersonMemberships> allData,
 			Map<String, Long> objectIdRepository, Logger logger) throws Exception {
 		final var size = allData.size();
 		var nbNew = 0;
@@ -999,7 +1096,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 				
 
 				if (!isFake()) {
-					session.beginTransaction();
+					transaction.begin();
 					for (final var mbr : memberships.services) {
 						final var newMbr = this.organizationMembershipRepository.save(mbr.membership);
 						++nbNew;
@@ -1021,7 +1118,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 						}
 					}
 					this.personRepository.save(person);
-					session.getTransaction().commit();
+					transaction.commit();
 				}
 			} catch (Throwable ex) {
 				throw new UnableToImportJsonException(ORGANIZATION_MEMBERSHIPS_SECTION, i, "", ex); //$NON-NLS-1$
@@ -1031,12 +1128,12 @@ public class JsonToDatabaseImporter extends JsonTool {
 		return nbNew;
 	}
 
-	private void postFixingAddresses(Session session, List<Pair<Membership, Long>> addressPostProcessing,
+	private void postFixingAddresses(TransactionBatch transaction, List<Pair<Membership, Long>> addressPostProcessing,
 			Logger logger) throws Exception {
 		if (!addressPostProcessing.isEmpty()) {
 			final var size = addressPostProcessing.size();
 			var i = 0;
-			session.beginTransaction();
+			transaction.begin();
 			for (final var pair : addressPostProcessing) {
 				logger.info("  + Updating membership address " + (i+1) + "/" + size); //$NON-NLS-1$ //$NON-NLS-2$
 				final var membership = pair.getLeft();
@@ -1048,13 +1145,13 @@ public class JsonToDatabaseImporter extends JsonTool {
 				this.organizationMembershipRepository.save(membership);
 				++i;
 			}
-			session.getTransaction().commit();
+			transaction.commit();
 		}
 	}
 
 	/** Create the organization memberships in the database.
 	 *
-	 * @param session the JPA session for managing transactions.
+	 * @param transaction the batch of transactions in which the objects are saved.
 	 * @param memberships the list of memberships in the Json source.
 	 * @param scientificAxes the list of scientific axes of the memberships in the Json source.
 	 * @param objectIdRepository the mapping from JSON {@code @id} field and the JPA database identifier.
@@ -1062,7 +1159,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 * @return the number of new memberships in the database.
 	 * @throws Exception if a membership cannot be created.
 	 */
-	protected int insertOrganizationMemberships(Session session, JsonNode memberships, JsonNode scientificAxes,
+	protected int insertOrganizationMemberships(TransactionBatch transaction, JsonNode memberships, JsonNode scientificAxes,
 			Map<String, Long> objectIdRepository, Map<String, Set<String>> aliasRepository, Logger logger) throws Exception {
 		var nbNew = 0;
 		if (memberships != null && !memberships.isEmpty()) {
@@ -1079,19 +1176,19 @@ public class JsonToDatabaseImporter extends JsonTool {
 
 			//
 			// Saving the memberships in the JPA database
-			final var n = saveOrganizationMemberships(session, allData, objectIdRepository, logger);
+			final var n = saveOrganizationMemberships(transaction, allData, objectIdRepository, logger);
 			nbNew += n;
 
 			//
 			// Post processing of the addresses for avoiding lazy loading errors
-			postFixingAddresses(session, addressPostProcessing, logger);
+			postFixingAddresses(transaction, addressPostProcessing, logger);
 		}
 		return nbNew;
 	}
 
 	/** Create the journals in the database.
 	 *
-	 * @param session the JPA session for managing transactions.
+	 * @param transaction the batch of transactions in which the objects are saved.
 	 * @param journals the list of journals in the Json source.
 	 * @param objectIdRepository the mapping from JSON {@code @id} field and the JPA database identifier.
 	 * @param aliasRepository the repository of field aliases.
@@ -1099,7 +1196,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 * @return the number of new journals in the database.
 	 * @throws Exception if a membership cannot be created.
 	 */
-	protected int insertJournals(Session session, JsonNode journals, Map<String, Long> objectIdRepository,
+	protected int insertJournals(TransactionBatch transaction, JsonNode journals, Map<String, Long> objectIdRepository,
 			Map<String, Set<String>> aliasRepository, Logger logger) throws Exception {
 		var nbNew = 0;
 		if (journals != null && !journals.isEmpty()) {
@@ -1111,7 +1208,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 					final var id = getId(journalObject);
 					var journal = createObject(Journal.class, journalObject, aliasRepository, null);
 					if (journal != null) {
-						session.beginTransaction();
+						transaction.begin();
 						if (!isFake()) {
 							journal = this.journalRepository.save(journal);
 						}
@@ -1181,7 +1278,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 						if (!Strings.isNullOrEmpty(id)) {
 							objectIdRepository.put(id, Long.valueOf(journal.getId()));
 						}
-						session.getTransaction().commit();
+						transaction.commit();
 					}
 				} catch (Throwable ex) {
 					throw new UnableToImportJsonException(JOURNALS_SECTION, i, journalObject, ex);
@@ -1231,7 +1328,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 
 	/** Create the conferences in the database.
 	 *
-	 * @param session the JPA session for managing transactions.
+	 * @param transaction the batch of transactions in which the objects are saved.
 	 * @param conferences the list of conferences in the Json source.
 	 * @param objectIdRepository the mapping from JSON {@code @id} field and the JPA database identifier.
 	 * @param aliasRepository the repository of field aliases.
@@ -1239,7 +1336,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 * @return the number of new conferences in the database.
 	 * @throws Exception if a membership cannot be created.
 	 */
-	protected int insertConferences(Session session, JsonNode conferences, Map<String, Long> objectIdRepository,
+	protected int insertConferences(TransactionBatch transaction, JsonNode conferences, Map<String, Long> objectIdRepository,
 			Map<String, Set<String>> aliasRepository, Logger logger) throws Exception {
 		var nbNew = 0;
 		if (conferences != null && !conferences.isEmpty()) {
@@ -1252,7 +1349,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 					final var id = getId(conferenceObject);
 					var conference = createObject(Conference.class, conferenceObject, aliasRepository, null);
 					if (conference != null) {
-						session.beginTransaction();
+						transaction.begin();
 						if (!isFake()) {
 							conference = this.conferenceRepository.save(conference);
 						}
@@ -1297,7 +1394,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 						if (!Strings.isNullOrEmpty(id)) {
 							objectIdRepository.put(id, Long.valueOf(conference.getId()));
 						}
-						session.getTransaction().commit();
+						transaction.commit();
 					}
 				} catch (Throwable ex) {
 					throw new UnableToImportJsonException(CONFERENCES_SECTION, i, conferenceObject, ex);
@@ -1325,7 +1422,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 
 	/** Create the publications (and additional authors) in the database.
 	 *
-	 * @param session the JPA session for managing transactions.
+	 * @param transaction the batch of transactions in which the objects are saved.
 	 * @param publications the list of publications in the Json source.
 	 * @param scientificAxes the list of scientific axes of the publications in the Json source.
 	 * @param objectIdRepository the repository of the JSON elements with {@code "@id"} field.
@@ -1336,7 +1433,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 *     second number is the is the number of added persons.
 	 * @throws Exception if a membership cannot be created.
 	 */
-	protected Pair<Integer, Integer> insertPublications(Session session, JsonNode publications, JsonNode scientificAxes,
+	protected Pair<Integer, Integer> insertPublications(TransactionBatch transaction, JsonNode publications, JsonNode scientificAxes,
 			Map<String, Long> objectIdRepository, Map<String, Set<String>> aliasRepository, FileCallback fileCallback,
 			Logger logger) throws Exception {
 		var nbNewPublications = 0;
@@ -1357,7 +1454,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 					final var publication = createPublicationInstance(id,
 							publicationObject, objectIdRepository, aliasRepository, updatedObjects);
 					// Test if the publication is already inside the database
-					session.beginTransaction();
+					transaction.begin();
 					// Save the publication
 					if (!isFake()) {
 						this.publicationService.save(publication, logger);
@@ -1415,16 +1512,16 @@ public class JsonToDatabaseImporter extends JsonTool {
 						}
 						++authorRank;
 					}
-					session.getTransaction().commit();
+					transaction.commit();
 					final var publicationScientificAxes = axesOfPublications.get(id);
 					if (publicationScientificAxes != null && !publicationScientificAxes.isEmpty()) {
-						session.beginTransaction();
+						transaction.begin();
 						final var axisInstances = this.scientificAxisRepository.findAllById(publicationScientificAxes);
 						publication.setScientificAxes(axisInstances);
 						if (!isFake()) {
 							this.publicationService.save(publication, logger);
 						}
-						session.getTransaction().commit();
+						transaction.commit();
 					}
 				} catch (Throwable ex) {
 					throw new UnableToImportJsonException(PUBLICATIONS_SECTION, i, publicationObject, ex);
@@ -1543,6 +1640,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 				newAuthor.setLastName(this.personNameParser.formatNameForDisplay(lastName));
 				if (!isFake()) {
 					newAuthor = this.personRepository.save(newAuthor);
+					this.personNameIndex.update(newAuthor);
 				}
 				nbNewPersons.increment();
 				targetAuthor = newAuthor;
@@ -1555,7 +1653,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 
 	/** Create the jury memberships in the database.
 	 *
-	 * @param session the JPA session for managing transactions.
+	 * @param transaction the batch of transactions in which the objects are saved.
 	 * @param memberships the list of memberships in the Json source.
 	 * @param objectIdRepository the mapping from JSON {@code @id} field and the JPA database identifier.
 	 * @param aliasRepository the repository of field aliases.
@@ -1563,7 +1661,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 * @return the number of new memberships in the database.
 	 * @throws Exception if a membership cannot be created.
 	 */
-	protected int insertJuryMemberships(Session session, JsonNode memberships, Map<String, Long> objectIdRepository,
+	protected int insertJuryMemberships(TransactionBatch transaction, JsonNode memberships, Map<String, Long> objectIdRepository,
 			Map<String, Set<String>> aliasRepository, Logger logger) throws Exception {
 		var nbNew = 0;
 		if (memberships != null && !memberships.isEmpty()) {
@@ -1575,7 +1673,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 					final var id = getId(membershipObject);
 					JuryMembership membership = createObject(JuryMembership.class, membershipObject, aliasRepository, null);
 					if (membership != null) {
-						session.beginTransaction();
+						transaction.begin();
 						// Person
 						final var personId = getRef(membershipObject.get(PERSON_KEY));
 						if (Strings.isNullOrEmpty(personId)) {
@@ -1638,7 +1736,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 							objectIdRepository.put(id, Long.valueOf(membership.getId()));
 						}
 
-						session.getTransaction().commit();
+						transaction.commit();
 					}
 				} catch (Throwable ex) {
 					throw new UnableToImportJsonException(JURY_MEMBERSHIPS_SECTION, i, membershipObject, ex);
@@ -1651,7 +1749,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 
 	/** Create the supervisions in the database.
 	 *
-	 * @param session the JPA session for managing transactions.
+	 * @param transaction the batch of transactions in which the objects are saved.
 	 * @param supervisions the list of supervisions in the Json source.
 	 * @param objectIdRepository the mapping from JSON {@code @id} field and the JPA database identifier.
 	 * @param aliasRepository the repository of field aliases.
@@ -1659,7 +1757,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 * @return the number of new supervisions in the database.
 	 * @throws Exception if a supervision cannot be created.
 	 */
-	protected int insertSupervisions(Session session, JsonNode supervisions, Map<String, Long> objectIdRepository,
+	protected int insertSupervisions(TransactionBatch transaction, JsonNode supervisions, Map<String, Long> objectIdRepository,
 			Map<String, Set<String>> aliasRepository, Logger logger) throws Exception {
 		var nbNew = 0;
 		if (supervisions != null && !supervisions.isEmpty()) {
@@ -1671,7 +1769,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 					final var id = getId(supervisionObject);
 					var supervision = createObject(Supervision.class, supervisionObject, aliasRepository, null);
 					if (supervision != null) {
-						session.beginTransaction();
+						transaction.begin();
 						// Supervised Person
 						final var mbrId = getRef(supervisionObject.get(PERSON_KEY));
 						if (Strings.isNullOrEmpty(mbrId)) {
@@ -1724,7 +1822,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 						if (!Strings.isNullOrEmpty(id)) {
 							objectIdRepository.put(id, Long.valueOf(supervision.getId()));
 						}
-						session.getTransaction().commit();
+						transaction.commit();
 					}
 				} catch (Throwable ex) {
 					throw new UnableToImportJsonException(SUPERVISIONS_SECTION, i, supervisionObject, ex);
@@ -1737,7 +1835,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 
 	/** Create the invitations in the database.
 	 *
-	 * @param session the JPA session for managing transactions.
+	 * @param transaction the batch of transactions in which the objects are saved.
 	 * @param invitations the list of invitations in the Json source.
 	 * @param objectIdRepository the mapping from JSON {@code @id} field and the JPA database identifier.
 	 * @param aliasRepository the repository of field aliases.
@@ -1745,7 +1843,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 * @return the number of new supervisions in the database.
 	 * @throws Exception if a supervision cannot be created.
 	 */
-	protected int insertInvitations(Session session, JsonNode invitations, Map<String, Long> objectIdRepository,
+	protected int insertInvitations(TransactionBatch transaction, JsonNode invitations, Map<String, Long> objectIdRepository,
 			Map<String, Set<String>> aliasRepository, Logger logger) throws Exception {
 		var nbNew = 0;
 		if (invitations != null && !invitations.isEmpty()) {
@@ -1757,7 +1855,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 					final var id = getId(invitationObject);
 					var invitation = createObject(PersonInvitation.class, invitationObject, aliasRepository, null);
 					if (invitation != null) {
-						session.beginTransaction();
+						transaction.begin();
 						// Guest
 						final var guestId = getRef(invitationObject.get(GUEST_KEY));
 						if (Strings.isNullOrEmpty(guestId)) {
@@ -1797,7 +1895,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 						if (!Strings.isNullOrEmpty(id)) {
 							objectIdRepository.put(id, Long.valueOf(invitation.getId()));
 						}
-						session.getTransaction().commit();
+						transaction.commit();
 					}
 				} catch (Throwable ex) {
 					throw new UnableToImportJsonException(INVITATIONS_SECTION, i, invitationObject, ex);
@@ -1810,7 +1908,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 
 	/** Create the projects in the database.
 	 *
-	 * @param session the JPA session for managing transactions.
+	 * @param transaction the batch of transactions in which the objects are saved.
 	 * @param projects the list of projects in the Json source.
 	 * @param scientificAxes the list of scientific axes of the projects in the Json source.
 	 * @param objectIdRepository the mapping from JSON {@code @id} field and the JPA database identifier.
@@ -1821,7 +1919,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 * @throws Exception if a project cannot be created.
 	 */
 	@SuppressWarnings("removal")
-	protected int insertProjects(Session session, JsonNode projects, JsonNode scientificAxes,
+	protected int insertProjects(TransactionBatch transaction, JsonNode projects, JsonNode scientificAxes,
 			Map<String, Long> objectIdRepository, Map<String, Set<String>> aliasRepository,
 			FileCallback fileCallback, Logger logger) throws Exception {
 		var nbNew = 0;
@@ -1838,7 +1936,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 					final var id = getId(projectObject);
 					var project = createObject(Project.class, projectObject, aliasRepository, null);
 					if (project != null) {
-						session.beginTransaction();
+						transaction.begin();
 
 						// Budgets
 						final var budgetsNode = projectObject.get(BUDGETS_KEY);
@@ -2077,17 +2175,17 @@ public class JsonToDatabaseImporter extends JsonTool {
 						if (!Strings.isNullOrEmpty(id)) {
 							objectIdRepository.put(id, Long.valueOf(project.getId()));
 						}
-						session.getTransaction().commit();
+						transaction.commit();
 						//
 						final var projectScientificAxes = axesOfProjects.get(id);
 						if (projectScientificAxes != null && !projectScientificAxes.isEmpty()) {
-							session.beginTransaction();
+							transaction.begin();
 							final var axisInstances = this.scientificAxisRepository.findAllById(projectScientificAxes);
 							project.setScientificAxes(axisInstances);
 							if (!isFake()) {
 								this.projectRepository.save(project);
 							}
-							session.getTransaction().commit();
+							transaction.commit();
 						}
 					}
 				} catch (Throwable ex) {
@@ -2114,7 +2212,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 
 	/** Create the associated structures in the database.
 	 *
-	 * @param session the JPA session for managing transactions.
+	 * @param transaction the batch of transactions in which the objects are saved.
 	 * @param structures the list of associated structures in the Json source.
 	 * @param objectIdRepository the mapping from JSON {@code @id} field and the JPA database identifier.
 	 * @param aliasRepository the repository of field aliases.
@@ -2123,7 +2221,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 * @return the number of new associated structures in the database.
 	 * @throws Exception if an associated structure cannot be created.
 	 */
-	protected int insertAssociatedStructures(Session session, JsonNode structures, Map<String, Long> objectIdRepository,
+	protected int insertAssociatedStructures(TransactionBatch transaction, JsonNode structures, Map<String, Long> objectIdRepository,
 			Map<String, Set<String>> aliasRepository, FileCallback fileCallback, Logger logger) throws Exception {
 		var nbNew = 0;
 		if (structures != null && !structures.isEmpty()) {
@@ -2135,7 +2233,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 					final var id = getId(structureObject);
 					var structure = createObject(AssociatedStructure.class, structureObject, aliasRepository, null);
 					if (structure != null) {
-						session.beginTransaction();
+						transaction.begin();
 
 						final var fundingOrganizationId = getRef(structureObject.get(FUNDING_KEY));
 						if (Strings.isNullOrEmpty(fundingOrganizationId)) {
@@ -2247,7 +2345,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 						if (!Strings.isNullOrEmpty(id)) {
 							objectIdRepository.put(id, Long.valueOf(structure.getId()));
 						}
-						session.getTransaction().commit();
+						transaction.commit();
 					}
 				} catch (Throwable ex) {
 					throw new UnableToImportJsonException(ASSOCIATED_STRUCTURES_SECTION, i, structureObject, ex);
@@ -2260,7 +2358,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 
 	/** Create the teaching activities in the database.
 	 *
-	 * @param session the JPA session for managing transactions.
+	 * @param transaction the batch of transactions in which the objects are saved.
 	 * @param activities the list of teaching activities in the Json source.
 	 * @param objectIdRepository the mapping from JSON {@code @id} field and the JPA database identifier.
 	 * @param aliasRepository the repository of field aliases.
@@ -2269,7 +2367,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 * @return the number of new associated structures in the database.
 	 * @throws Exception if an associated structure cannot be created.
 	 */
-	protected int insertTeachingActivities(Session session, JsonNode activities, Map<String, Long> objectIdRepository,
+	protected int insertTeachingActivities(TransactionBatch transaction, JsonNode activities, Map<String, Long> objectIdRepository,
 			Map<String, Set<String>> aliasRepository, FileCallback fileCallback, Logger logger) throws Exception {
 		var nbNew = 0;
 		if (activities != null && !activities.isEmpty()) {
@@ -2281,7 +2379,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 					final var id = getId(activityObject);
 					var activity = createObject(TeachingActivity.class, activityObject, aliasRepository, null);
 					if (activity != null) {
-						session.beginTransaction();
+						transaction.begin();
 
 						// Teacher
 						final var personId = getRef(activityObject.get(PERSON_KEY));
@@ -2367,7 +2465,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 						if (!Strings.isNullOrEmpty(id)) {
 							objectIdRepository.put(id, Long.valueOf(activity.getId()));
 						}
-						session.getTransaction().commit();
+						transaction.commit();
 					}
 				} catch (Throwable ex) {
 					throw new UnableToImportJsonException(TEACHING_ACTIVITY_SECTION, i, activityObject, ex);
@@ -2380,7 +2478,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 
 	/** Create the scientific axes in the database.
 	 *
-	 * @param session the JPA session for managing transactions.
+	 * @param transaction the batch of transactions in which the objects are saved.
 	 * @param axes the list of scientific axes in the Json source.
 	 * @param objectIdRepository the mapping from JSON {@code @id} field and the JPA database identifier.
 	 * @param aliasRepository the repository of field aliases.
@@ -2389,7 +2487,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 * @return the number of new scientific axes in the database.
 	 * @throws Exception if a scientific axis cannot be created.
 	 */
-	protected int insertScientificAxes(Session session, JsonNode axes, Map<String, Long> objectIdRepository,
+	protected int insertScientificAxes(TransactionBatch transaction, JsonNode axes, Map<String, Long> objectIdRepository,
 			Map<String, Set<String>> aliasRepository, FileCallback fileCallback, Logger logger) throws Exception {
 		var nbNew = 0;
 		if (axes != null && !axes.isEmpty()) {
@@ -2420,7 +2518,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 
 	/** Create the application users in the database.
 	 *
-	 * @param session the JPA session for managing transactions.
+	 * @param transaction the batch of transactions in which the objects are saved.
 	 * @param users the list of application users in the Json source.
 	 * @param objectIdRepository the mapping from JSON {@code @id} field and the JPA database identifier.
 	 * @param aliasRepository the repository of field aliases.
@@ -2428,7 +2526,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 	 * @return the number of new users in the database.
 	 * @throws Exception if an user cannot be created.
 	 */
-	protected int insertApplicationUsers(Session session, JsonNode users, Map<String, Long> objectIdRepository,
+	protected int insertApplicationUsers(TransactionBatch transaction, JsonNode users, Map<String, Long> objectIdRepository,
 			Map<String, Set<String>> aliasRepository, Logger logger) throws Exception {
 		var nbNew = 0;
 		if (users != null && !users.isEmpty()) {
@@ -2440,7 +2538,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 					final var id = getId(userObject);
 					var user = createObject(User.class, userObject, aliasRepository, null);
 					if (user != null) {
-						session.beginTransaction();
+						transaction.begin();
 
 						final var personId = getRef(userObject.get(PERSON_KEY));
 						if (Strings.isNullOrEmpty(personId)) {
@@ -2466,7 +2564,7 @@ public class JsonToDatabaseImporter extends JsonTool {
 							objectIdRepository.put(id, Long.valueOf(user.getId()));
 						}
 
-						session.getTransaction().commit();
+						transaction.commit();
 					}
 				} catch (Throwable ex) {
 					throw new UnableToImportJsonException(APPLICATION_USERS_SECTION, i, userObject, ex);
@@ -2625,6 +2723,90 @@ public class JsonToDatabaseImporter extends JsonTool {
 
 	}
 
+	/** Batch of transactions in which the imported objects are saved.
+	 *
+	 * <p>The importer declares the bounds of the transaction for each imported object with {@link #begin()} and
+	 * {@link #commit()}. A JPA transaction is really committed only when {@code batchSize} objects were
+	 * imported. In this way, the JDBC statements are grouped, and the persistence context, which is
+	 * flushed and cleared at the end of each JPA transaction, contains at most the objects of one batch.
+	 * The repositories that are invoked between {@link #begin()} and {@link #commit()} are run inside
+	 * the current JPA transaction.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	public static class TransactionBatch implements AutoCloseable {
+
+		private final PlatformTransactionManager transactionManager;
+
+		private final int batchSize;
+
+		private TransactionStatus status;
+
+		private int count;
+
+		/** Constructor.
+		 *
+		 * @param transactionManager the manager of the JPA transactions.
+		 * @param batchSize the number of objects that are saved in the same JPA transaction.
+		 */
+		public TransactionBatch(PlatformTransactionManager transactionManager, int batchSize) {
+			this.transactionManager = transactionManager;
+			this.batchSize = batchSize;
+		}
+
+		/** Start the transaction for an imported object. A JPA transaction is started if there is no running JPA transaction.
+		 */
+		public void begin() {
+			if (this.status == null) {
+				this.status = this.transactionManager.getTransaction(new DefaultTransactionDefinition());
+				this.count = 0;
+			}
+		}
+
+		/** Terminate the transaction for an imported object. The JPA transaction is committed if the batch is full.
+		 */
+		public void commit() {
+			++this.count;
+			if (this.count >= this.batchSize) {
+				close();
+			}
+		}
+
+		/** Rollback the running JPA transaction, if any.
+		 */
+		public void rollback() {
+			if (this.status != null) {
+				final var current = this.status;
+				this.status = null;
+				this.count = 0;
+				if (!current.isCompleted()) {
+					this.transactionManager.rollback(current);
+				}
+			}
+		}
+
+		/** Commit the running JPA transaction, if any.
+		 */
+		@Override
+		public void close() {
+			if (this.status != null) {
+				final var current = this.status;
+				this.status = null;
+				this.count = 0;
+				if (current.isRollbackOnly()) {
+					this.transactionManager.rollback(current);
+				} else {
+					this.transactionManager.commit(current);
+				}
+			}
+		}
+
+	}
+
 	/** Stats on the import.
 	 * 
 	 * @author $Author: sgalland$
@@ -22,13 +22,16 @@ package fr.utbm.ciad.labmanager.utils.io.json;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.time.LocalDate;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
@@ -641,6 +644,17 @@ public abstract class JsonTool implements Serializable {
 	 */
 	protected static final String FULLNAME_KEY = "fullName"; //$NON-NLS-1$
 
+	private static final Pattern UPPER_CASE_PATTERN = Pattern.compile("^[A-Z]+$"); //$NON-NLS-1$
+
+	/** Accessors of the types that are already analyzed. The table of a type is built once and shared by the importers and the exporters.
+	 */
+	private static final ClassValue<TypeAccessors> ACCESSORS = new ClassValue<>() {
+		@Override
+		protected TypeAccessors computeValue(Class<?> type) {
+			return new TypeAccessors(type);
+		}
+	};
+
 	private final MessageSourceAccessor messages;
 
 	/** Constructor.
@@ -742,38 +756,22 @@ public abstract class JsonTool implements Serializable {
 	 */
 	protected static Method findSetterMethod(Class<?> type, Set<String> names, Object value) {
 		assert value != null;
-		try {
-			final var valueType = value.getClass();
-			final var methods = Arrays.asList(type.getMethods()).parallelStream().filter(it -> {
-				if (it.getParameterCount() == 1 && (names.contains(it.getName().toLowerCase()))) {
-					final Class<?> receiver = it.getParameterTypes()[0];
-					final Class<?> provider = valueType;
-					return receiver.isAssignableFrom(provider);
-				}
-				return false;
-			}) .collect(Collectors.toSet());
-			final var size = methods.size();
-			if (size > 1) {
-				throw new IllegalArgumentException("Too many setter function candidates (case insensitive) in type '" //$NON-NLS-1$
-						+ type.getName() + "' with names: " + names.toString()); //$NON-NLS-1$
-			} else if (size == 1) {
-				return methods.iterator().next();
-			}
-		} catch (Throwable ex) {
-			//
-		}
-		return null;
+		return ACCESSORS.get(type).getSetter(names, value.getClass());
 	}
 
 	/** Replies all the getter functions of the given type that have a matching setter function.
 	 *
 	 * @param source the source type.
-	 * @return the map of the methods. Keys are the names of the attributes, and the values are the setter functions.
+	 * @return the unmodifiable map of the methods. Keys are the names of the attributes, and the values are the setter functions.
 	 */
 	protected static Map<String, Method> findGetterMethods(Class<?> source) {
+		return ACCESSORS.get(source).getGetters();
+	}
+
+	private static Map<String, Method> buildGetterMethods(Method[] methods) {
 		final var setters = new TreeSet<String>();
 		final var getters = new HashMap<String, Method>();
-		for (final var meth : source.getMethods()) {
+		for (final var meth : methods) {
 			final var name = meth.getName().toLowerCase();
 			if (meth.getParameterCount() == 1
 					&& (meth.getParameterTypes()[0].isPrimitive()
@@ -813,15 +811,14 @@ public abstract class JsonTool implements Serializable {
 			}
 		}
 		//
-		return getters;
+		return Collections.unmodifiableMap(getters);
 	}
 
 	private static String toLowerFirst(String name) {
 		if (name.length() <= 0) {
 			return name.toLowerCase();
 		}
-		final var pattern = Pattern.compile("^[A-Z]+$"); //$NON-NLS-1$
-		final var matcher = pattern.matcher(name);
+		final var matcher = UPPER_CASE_PATTERN.matcher(name);
 		if (matcher.matches()) {
 			return name.toLowerCase();
 		}
@@ -888,4 +885,98 @@ public abstract class JsonTool implements Serializable {
 		receiver.add(ref);
 	}
 
+	/** Accessors of a type, i.e., its setter and getter functions, that are used for importing and exporting JSON.
+	 * The public methods of the type are analyzed once; the setter functions that are found for a set of names
+	 * and a type of value are kept for the next searches.
+	 * 
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	private static class TypeAccessors {
+
+		private final Map<String, List<Method>> settersByName;
+
+		private final Map<String, Method> getters;
+
+		private final Map<SetterKey, Optional<Method>> setterCache = new ConcurrentHashMap<>();
+
+		/** Constructor.
+		 *
+		 * @param type the type to analyze.
+		 */
+		TypeAccessors(Class<?> type) {
+			final var methods = type.getMethods();
+			final var setters = new HashMap<String, List<Method>>();
+			for (final var method : methods) {
+				if (method.getParameterCount() == 1) {
+					setters.computeIfAbsent(method.getName().toLowerCase(), it -> new ArrayList<>(1)).add(method);
+				}
+			}
+			this.settersByName = setters;
+			this.getters = buildGetterMethods(methods);
+		}
+
+		/** Replies the getter functions that have a matching setter function.
+		 *
+		 * @return the getter functions per attribute name.
+		 */
+		Map<String, Method> getGetters() {
+			return this.getters;
+		}
+
+		/** Replies the setter function with one of the given names and that accepts the given type of value.
+		 *
+		 * @param names the lower-cased names of the candidate setter functions.
+		 * @param valueType the type of the value to give to the setter function.
+		 * @return the setter function, or {@code null} if none or several setter functions are matching.
+		 */
+		Method getSetter(Set<String> names, Class<?> valueType) {
+			final var cached = this.setterCache.get(new SetterKey(names, valueType));
+			if (cached != null) {
+				return cached.orElse(null);
+			}
+			final var setter = Optional.ofNullable(searchSetter(names, valueType));
+			// The names are copied because the given set may be changed by the caller
+			this.setterCache.putIfAbsent(new SetterKey(Set.copyOf(names), valueType), setter);
+			return setter.orElse(null);
+		}
+
+		private Method searchSetter(Set<String> names, Class<?> valueType) {
+			Method candidate = null;
+			for (final var name : names) {
+				final var methods = this.settersByName.get(name);
+				if (methods != null) {
+					for (final var method : methods) {
+						if (method.getParameterTypes()[0].isAssignableFrom(valueType)) {
+							if (candidate != null && !candidate.equals(method)) {
+								// Too many setter function candidates (case insensitive) with the given names
+								return null;
+							}
+							candidate = method;
+						}
+					}
+				}
+			}
+			return candidate;
+		}
+
+	}
+
+	/** Key for the cache of the setter functions.
+	 *
+	 * @param names the lower-cased names of the candidate setter functions.
+	 * @param valueType the type of the value.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	private record SetterKey(Set<String> names, Class<?> valueType) {
+		//
+	}
+
 }
@@ -0,0 +1,134 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.io.json;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/** Sections of a JSON file that are stored into temporary files.
+ *
+ * <p>The JSON source is read with a token stream, and each top-level field, i.e., each section of the
+ * database content, is copied into its own temporary file without building the JSON tree.
+ * A section is then read only when it is needed, and it could be garbage collected
+ * as soon as it is no more used. In this way, the memory used for importing a JSON file is
+ * bounded by the size of the largest section, and not by the size of the file.
+ *
+ * <p>The temporary files are deleted when this object is closed.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public class SpooledJsonSections implements Closeable {
+
+	private static final String TEMP_FILE_PREFIX = "labmanager-json-section-"; //$NON-NLS-1$
+
+	private static final String TEMP_FILE_SUFFIX = ".json"; //$NON-NLS-1$
+
+	private final ObjectMapper mapper;
+
+	private final TreeMap<String, File> sections = new TreeMap<>();
+
+	/** Constructor. The given stream is entirely read and closed by this constructor.
+	 *
+	 * @param input the stream of the JSON content. The root element of the content must be a JSON object.
+	 * @param mapper the JSON mapper to use for reading and writing the sections.
+	 * @throws IOException if the JSON content cannot be read.
+	 */
+	public SpooledJsonSections(InputStream input, ObjectMapper mapper) throws IOException {
+		this.mapper = mapper;
+		try (final var parser = mapper.createParser(input)) {
+			var token = parser.nextToken();
+			if (token != null) {
+				if (token != JsonToken.START_OBJECT) {
+					throw new IOException("Invalid JSON content: the root element must be an object"); //$NON-NLS-1$
+				}
+				token = parser.nextToken();
+				while (token == JsonToken.FIELD_NAME) {
+					final var name = parser.currentName();
+					parser.nextToken();
+					final var file = File.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+					final var previous = this.sections.put(name, file);
+					if (previous != null) {
+						previous.delete();
+					}
+					try (final var generator = mapper.createGenerator(new BufferedOutputStream(new FileOutputStream(file)))) {
+						generator.copyCurrentStructure(parser);
+					}
+					token = parser.nextToken();
+				}
+			}
+		} catch (IOException ex) {
+			close();
+			throw ex;
+		}
+	}
+
+	/** Replies if there is no section.
+	 *
+	 * @return {@code true} if there is no section.
+	 */
+	public boolean isEmpty() {
+		return this.sections.isEmpty();
+	}
+
+	/** Replies the names of the sections.
+	 *
+	 * @return the names.
+	 */
+	public Set<String> getSectionNames() {
+		return this.sections.keySet();
+	}
+
+	/** Read the section with the given name. The section is read from its temporary file at each call.
+	 *
+	 * @param name the name of the section.
+	 * @return the content of the section, or {@code null} if there is no section with the given name.
+	 * @throws IOException if the section cannot be read.
+	 */
+	public JsonNode get(String name) throws IOException {
+		final var file = this.sections.get(name);
+		if (file == null) {
+			return null;
+		}
+		return this.mapper.readTree(file);
+	}
+
+	@Override
+	public void close() {
+		for (final var file : this.sections.values()) {
+			file.delete();
+		}
+		this.sections.clear();
+	}
+
+}
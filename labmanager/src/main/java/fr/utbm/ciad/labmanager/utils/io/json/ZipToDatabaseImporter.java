@@ -23,16 +23,22 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import fr.utbm.ciad.labmanager.components.AbstractComponent;
 import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
+import fr.utbm.ciad.labmanager.utils.io.ZipArchivePipeline;
+import fr.utbm.ciad.labmanager.utils.io.ZipArchivePipeline.Extraction;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
 import fr.utbm.ciad.labmanager.utils.io.json.JsonToDatabaseImporter.FileCallback;
 import org.arakhne.afc.vmutil.FileSystem;
+import org.arakhne.afc.vmutil.URISchemeType;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -56,21 +62,26 @@ public class ZipToDatabaseImporter extends AbstractComponent {
 
 	private DownloadableFileManager download;
 
+	private ZipArchivePipeline zipPipeline;
+
 	/** Constructor.
 	 *
 	 * @param messages the provider of messages.
 	 * @param constants the accessor to the constants.
 	 * @param jsonImporter the importer of JSON data.
 	 * @param download the manager of downloaded files.
+	 * @param zipPipeline the pipeline for extracting the attached files from the archive.
 	 */
 	public ZipToDatabaseImporter(
 			@Autowired MessageSourceAccessor messages,
 			@Autowired ConfigurationConstants constants,
 			@Autowired JsonToDatabaseImporter jsonImporter,
-			@Autowired DownloadableFileManager download) {
+			@Autowired DownloadableFileManager download,
+			@Autowired ZipArchivePipeline zipPipeline) {
 		super(messages, constants);
 		this.jsonImporter = jsonImporter;
 		this.download = download;
+		this.zipPipeline = zipPipeline;
 	}
 
 	/** Remove all the files from the target folders
@@ -120,17 +131,25 @@ public class ZipToDatabaseImporter extends AbstractComponent {
 	}
 
 	/** Run the importer for ZIP data source only.
+	 *
+	 * <p>If the archive is a local file, the attached files are extracted into the temporary area by the
+	 * {@link ZipArchivePipeline} while the JSON content is imported into the database. Otherwise, the archive
+	 * is read sequentially.
 	 *
 	 * @param url the URL of the ZIP file to read.
 	 * @param logger the logger to use for put a message in the log.
 	 * @throws Exception if there is problem for importing.
 	 */
 	public void importArchiveFileToDatabase(URL url, Logger logger) throws Exception {
+		if (URISchemeType.FILE.isURL(url)) {
+			importArchiveFileToDatabase(FileSystem.convertURLToFile(url), logger);
+			return;
+		}
 		cleanTargetFolders();
 		deleteTemporaryArea(logger);
 		//
+		SpooledJsonSections content = null;
 		try {
-			JsonNode content = null;
 			try (var zis = new ZipInputStream(url.openStream())) {
 				var entry = zis.getNextEntry();
 				while (entry != null) {
@@ -151,23 +170,91 @@ public class ZipToDatabaseImporter extends AbstractComponent {
 					entry = zis.getNextEntry();
 				}
 			}
-			// Inject the JSON content into the database; Change the uploaded files on the fly.
+			importContent(content, null, url, logger);
+		} finally {
 			if (content != null) {
-				final var callback = new UploadedFileManager();
-				final var stats = this.jsonImporter.importJsonFileToDatabase(content, callback, logger);
-				if (stats != null) {
-					stats.setPublicationAssociatedFileCount(callback.getFileCount());
-					stats.logSummaryOn(logger);
+				content.close();
+			}
+			deleteTemporaryArea(logger);
+		}
+	}
+
+	/** Run the importer for a local ZIP file.
+	 * The attached files are extracted into the temporary area in parallel, while the JSON content
+	 * is imported into the database. The import of the JSON content waits for an attached file only when
+	 * this file must be moved to its final location.
+	 *
+	 * @param zipFile the ZIP file to read.
+	 * @param logger the logger to use for put a message in the log.
+	 * @throws Exception if there is problem for importing.
+	 * @since 4.0
+	 */
+	public void importArchiveFileToDatabase(File zipFile, Logger logger) throws Exception {
+		cleanTargetFolders();
+		deleteTemporaryArea(logger);
+		//
+		SpooledJsonSections content = null;
+		try (var archive = new ZipFile(zipFile)) {
+			ZipEntry jsonEntry = null;
+			final var attachedFiles = new ArrayList<ZipEntry>();
+			final var entries = archive.entries();
+			while (entries.hasMoreElements()) {
+				final var entry = entries.nextElement();
+				if (!entry.isDirectory()) {
+					final var lower = entry.getName().toLowerCase();
+					if (lower.equals(ZipDatabaseConstants.DEFAULT_DBCONTENT_ATTACHMENT_BASENAME + ".json")) { //$NON-NLS-1$
+						if (jsonEntry == null) {
+							jsonEntry = entry;
+						} else {
+							throw new Exception("To many JSON file in the ZIP archive."); //$NON-NLS-1$
+						}
+					} else if (isAcceptedDataFile(lower)) {
+						attachedFiles.add(entry);
+					}
 				}
-			} else {
-				cleanTargetFolders();
-				logger.info("Nothing to be inserted from: " + url); //$NON-NLS-1$
+			}
+			// The extraction must be closed before the temporary area is deleted
+			try (var extraction = this.zipPipeline.startExtraction(archive, attachedFiles, it -> getTemporaryAreaFile(it), logger)) {
+				if (jsonEntry != null) {
+					try (var entryStream = archive.getInputStream(jsonEntry)) {
+						content = readJson(entryStream, logger);
+					}
+				}
+				importContent(content, extraction, zipFile.toURI().toURL(), logger);
+				// Detect the extraction errors of the files that are not referenced by the JSON content
+				extraction.awaitAll();
 			}
 		} finally {
+			if (content != null) {
+				content.close();
+			}
 			deleteTemporaryArea(logger);
 		}
 	}
 
+	/** Inject the JSON content into the database; Change the uploaded files on the fly.
+	 *
+	 * @param content the JSON content, or {@code null} if there is no JSON content.
+	 * @param extraction the extraction of the attached files that is running, or {@code null} if the attached files
+	 *     are already in the temporary area.
+	 * @param url the URL of the ZIP file.
+	 * @param logger the logger to use for put a message in the log.
+	 * @throws Exception if there is problem for importing.
+	 */
+	private void importContent(SpooledJsonSections content, Extraction extraction, URL url, Logger logger) throws Exception {
+		if (content != null) {
+			final var callback = new UploadedFileManager(extraction);
+			final var stats = this.jsonImporter.importJsonFileToDatabase(content, callback, logger);
+			if (stats != null) {
+				stats.setPublicationAssociatedFileCount(callback.getFileCount());
+				stats.logSummaryOn(logger);
+			}
+		} else {
+			cleanTargetFolders();
+			logger.info("Nothing to be inserted from: " + url); //$NON-NLS-1$
+		}
+	}
+
 	private static void mkdirs(File file) {
 		if (file != null && file.getParentFile() != null) {
 			file.getParentFile().mkdirs();
@@ -182,19 +269,28 @@ public class ZipToDatabaseImporter extends AbstractComponent {
 	 * @throws Exception if the file cannot be copied to the temporary folder.
 	 */
 	protected void copyAttachedFileToTemporaryArea(String filename, InputStream entryStream, Logger logger) throws Exception {
-		var outputFile = FileSystem.convertStringToFile(filename);
-		if (!outputFile.isAbsolute()) {
-			outputFile = FileSystem.join(this.download.getTemporaryRootFile(), outputFile);
-			outputFile = this.download.normalizeForServerSide(outputFile);
-			logger.info("Copying attached file: " + filename + "; to: " + outputFile.toString()); //$NON-NLS-1$ //$NON-NLS-2$
-			mkdirs(outputFile);
-			try (FileOutputStream fos = new FileOutputStream(outputFile)) {
-				// Size of "-1" means that the size of the copy buffer is decided according to the operating system
-				FileSystem.copy(entryStream, -1, fos);
-			}
-		} else {
+		final var outputFile = getTemporaryAreaFile(filename);
+		logger.info("Copying attached file: " + filename + "; to: " + outputFile.toString()); //$NON-NLS-1$ //$NON-NLS-2$
+		mkdirs(outputFile);
+		try (FileOutputStream fos = new FileOutputStream(outputFile)) {
+			// Size of "-1" means that the size of the copy buffer is decided according to the operating system
+			FileSystem.copy(entryStream, -1, fos);
+		}
+	}
+
+	/** Replies the file in the temporary folder in which the file from the ZIP file must be copied.
+	 *
+	 * @param filename the name of the file in the ZIP archive, i.e., in the original file system.
+	 * @return the file in the temporary folder.
+	 * @throws Exception if the filename is absolute.
+	 * @since 4.0
+	 */
+	protected File getTemporaryAreaFile(String filename) throws Exception {
+		final var outputFile = FileSystem.convertStringToFile(filename);
+		if (outputFile.isAbsolute()) {
 			throw new Exception("Filename cannot be absolute: " + filename); //$NON-NLS-1$
 		}
+		return this.download.normalizeForServerSide(FileSystem.join(this.download.getTemporaryRootFile(), outputFile));
 	}
 
 	/** Delete all the files in the temporary area.
@@ -212,6 +308,7 @@ public class ZipToDatabaseImporter extends AbstractComponent {
 	}
 	
 	/** Read the JSON content from the given ZIP entry.
+	 * The sections of the JSON content are copied into temporary files that are deleted when the replied object is closed.
 	 *
 	 * @param entryStream the stream for the ZIP entry.
 	 * @param logger the logger to use for put a message in the log.
@@ -219,13 +316,9 @@ public class ZipToDatabaseImporter extends AbstractComponent {
 	 * @throws IOException if the stream cannot be read.
 	 */
 	@SuppressWarnings("static-method")
-	protected JsonNode readJson(InputStream entryStream, Logger logger) throws IOException {
+	protected SpooledJsonSections readJson(InputStream entryStream, Logger logger) throws IOException {
 		logger.info("Reading JSON description"); //$NON-NLS-1$
-		// Read the JSON content
-		try (final var isr = new InputStreamReader(entryStream)) {
-			final var mapper = JsonUtils.createMapper();
-			return mapper.readTree(isr);
-		}
+		return new SpooledJsonSections(entryStream, JsonUtils.createMapper());
 	}
 
 	/** Manager of the uploaded file for computing and fixing the names in the database. 
@@ -239,14 +332,30 @@ public class ZipToDatabaseImporter extends AbstractComponent {
 	private class UploadedFileManager implements FileCallback {
 
 		private final File temporaryFolder;
+
+		private final Extraction extraction;
 	
 		private int fileCount;
 
 		/** Constructor.
+		 *
+		 * @param extraction the extraction of the attached files that is running, or {@code null} if the attached
+		 *     files are already in the temporary area.
 		 */
-		UploadedFileManager() {
+		UploadedFileManager(Extraction extraction) {
 			this.temporaryFolder = ZipToDatabaseImporter.this.download.normalizeForServerSide(
 					ZipToDatabaseImporter.this.download.getTemporaryRootFile());
+			this.extraction = extraction;
+		}
+
+		/** Wait for the extraction of the file with the given name, and reply the file in the temporary area.
+		 */
+		private File getExtractedFile(String inFilename) throws Exception {
+			if (this.extraction != null && this.extraction.await(inFilename) == null) {
+				// The name in the JSON content does not match exactly the name of the entry in the archive
+				this.extraction.awaitAll();
+			}
+			return FileSystem.join(this.temporaryFolder, inFilename);
 		}
 
 		/** Replies the number of imported files.
@@ -340,12 +449,11 @@ public class ZipToDatabaseImporter extends AbstractComponent {
 
 		private String moveFile(String inFilename, long outId, File outFilename, File outPictureName, Logger logger) {
 			try {
-				final var inFile = FileSystem.join(this.temporaryFolder, inFilename);
+				final var inFile = getExtractedFile(inFilename);
 				if (inFile.canRead()) {
 					final var outFile = ZipToDatabaseImporter.this.download.normalizeForServerSide(outFilename);
 					mkdirs(outFile);
-					FileSystem.copy(inFile, outFile);
-					FileSystem.delete(inFile);
+					Files.move(inFile.toPath(), outFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
 					ZipToDatabaseImporter.this.download.ensurePictureFile(outFilename, outPictureName, logger);
 					++this.fileCount;
 					logger.info("Renaming file from " + inFilename + " to " + outFilename); //$NON-NLS-1$ //$NON-NLS-2$
@@ -359,12 +467,11 @@ public class ZipToDatabaseImporter extends AbstractComponent {
 
 		private String moveFile(String inFilename, long outId, File outFilename, Logger logger) {
 			try {
-				final var inFile = FileSystem.join(this.temporaryFolder, inFilename);
+				final var inFile = getExtractedFile(inFilename);
 				if (inFile.canRead()) {
 					final var outFile = ZipToDatabaseImporter.this.download.normalizeForServerSide(outFilename);
 					mkdirs(outFile);
-					FileSystem.copy(inFile, outFile);
-					FileSystem.delete(inFile);
+					Files.move(inFile.toPath(), outFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
 					++this.fileCount;
 					logger.info("Renaming file from " + inFilename + " to " + outFilename); //$NON-NLS-1$ //$NON-NLS-2$
 					return outFilename.toString();
@@ -25,6 +25,7 @@ import fr.utbm.ciad.labmanager.data.publication.Publication;
 import fr.utbm.ciad.labmanager.data.publication.type.*;
 import fr.utbm.ciad.labmanager.utils.io.AbstractPublicationExporter;
 import fr.utbm.ciad.labmanager.utils.io.ExporterConfigurator;
+import fr.utbm.ciad.labmanager.utils.io.UnclosableStream;
 import fr.utbm.ciad.labmanager.utils.ranking.CoreRanking;
 import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
 import org.arakhne.afc.progress.Progression;
@@ -35,7 +36,7 @@ import org.odftoolkit.odfdom.dom.element.text.TextSpanElement;
 import org.slf4j.Logger;
 import org.springframework.context.support.MessageSourceAccessor;
 
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.format.TextStyle;
 import java.util.Collection;
 import java.util.Locale;
@@ -87,11 +88,11 @@ public abstract class AbstractOdfToolkitOpenDocumentTextPublicationExporter exte
 
 	@SuppressWarnings("resource")
 	@Override
-	public byte[] exportPublications(Collection<? extends Publication> publications, ExporterConfigurator configurator,
+	public void exportPublications(OutputStream output, Collection<? extends Publication> publications, ExporterConfigurator configurator,
 			Progression progression, Logger logger) throws Exception {
 		if (publications == null) {
 			progression.end();
-			return null;
+			return;
 		}
 		progression.setProperties(0, 0, publications.size() * 2, false);
 		final var odt = OdfTextDocument.newTextDocument();
@@ -119,14 +120,11 @@ public abstract class AbstractOdfToolkitOpenDocumentTextPublicationExporter exte
 						throw new RuntimeException(ex);
 					}					
 				});
-		final byte[] content;
-		try (final var output = new ByteArrayOutputStream()) {
-			odt.save(output);
-			output.flush();
-			content = output.toByteArray();
-		}
+		// The document is saved directly into the output stream without intermediate copy.
+		// The ODF toolkit closes the stream when the document is saved
+		odt.save(new UnclosableStream(output));
+		output.flush();
 		progression.end();
-		return content;
 	}
 
 	/** Export the publications in a flat list.
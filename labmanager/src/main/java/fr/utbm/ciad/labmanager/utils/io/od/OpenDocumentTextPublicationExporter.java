@@ -25,6 +25,8 @@ import fr.utbm.ciad.labmanager.utils.io.PublicationExporter;
 import org.arakhne.afc.progress.Progression;
 import org.slf4j.Logger;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.util.Collection;
 
 /** Utilities for exporting publications to Open Document Text.
@@ -79,6 +81,29 @@ public interface OpenDocumentTextPublicationExporter extends PublicationExporter
 	 * @throws Exception if the publication cannot be converted to ODT.
 	 */
 	@Override
-	byte[] exportPublications(Collection<? extends Publication> publications, ExporterConfigurator configurator, Progression progression, Logger logger) throws Exception;
+	default byte[] exportPublications(Collection<? extends Publication> publications, ExporterConfigurator configurator, Progression progression, Logger logger) throws Exception {
+		if (publications == null) {
+			progression.end();
+			return null;
+		}
+		try (final var output = new ByteArrayOutputStream()) {
+			exportPublications(output, publications, configurator, progression, logger);
+			output.flush();
+			return output.toByteArray();
+		}
+	}
+
+	/** Write the ODT representation of the publications that are given as argument into the given stream.
+	 *
+	 * @param output the receiver of the ODT document. It is not closed by this function.
+	 * @param publications the publications to export.
+	 * @param configurator the configurator for the export, never {@code null}.
+	 * @param progression the progression indicator.
+	 * @param logger the logger to be used.
+	 * @throws Exception if the publication cannot be converted to ODT.
+	 * @since 4.0
+	 * @see #exportPublications(Collection, ExporterConfigurator, Progression, Logger)
+	 */
+	void exportPublications(OutputStream output, Collection<? extends Publication> publications, ExporterConfigurator configurator, Progression progression, Logger logger) throws Exception;
 
 }
@@ -23,10 +23,10 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.regex.Pattern;
@@ -35,15 +35,23 @@ import com.google.common.base.Strings;
 import com.opencsv.CSVParserBuilder;
 import com.opencsv.CSVReader;
 import com.opencsv.CSVReaderBuilder;
+import fr.utbm.ciad.labmanager.utils.io.RankingTableStore;
+import fr.utbm.ciad.labmanager.utils.io.RankingTableStore.RankingCodec;
 import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
 import org.arakhne.afc.progress.DefaultProgression;
 import org.arakhne.afc.progress.Progression;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import org.springframework.web.util.UriBuilderFactory;
 
 /** Accessor to the online Scimago platform.
+ *
+ * <p>The ranking tables that are downloaded from Scimago are saved in a {@link RankingTableStore}.
+ * The version of a table is the URL of the CSV file. The tables of the current and previous years
+ * may still be updated by Scimago; they expire after the duration that is given by
+ * {@link RankingTableStore#getOnlineTableDuration()}.
  * 
  * @author $Author: sgalland$
  * @version $Name$ $Revision$ $Date$
@@ -116,14 +124,56 @@ public class OnlineScimagoPlatform implements ScimagoPlatform {
 
 	private static final String ID_PARAM = "id"; //$NON-NLS-1$
 
+	private static final String RANKING_SOURCE = "scimago"; //$NON-NLS-1$
+
+	private static final RankingCodec<Map<String, QuartileRanking>> RANKING_CODEC = new RankingCodec<>() {
+		@Override
+		public Map<String, QuartileRanking> getQuartiles(Map<String, QuartileRanking> rankings) {
+			return rankings;
+		}
+
+		@Override
+		public float getImpactFactor(Map<String, QuartileRanking> rankings) {
+			return 0f;
+		}
+
+		@Override
+		public Map<String, QuartileRanking> create(Map<String, QuartileRanking> quartiles, float impactFactor) {
+			return quartiles;
+		}
+	};
+
 	/** Factory of URI builder.
 	 */
 	protected final UriBuilderFactory uriBuilderFactory = new DefaultUriBuilderFactory();
 
-	private final Map<Integer, Map<String, Map<String, QuartileRanking>>> rankingCache = new ConcurrentHashMap<>();
+	private RankingTableStore rankingStore;
 
 	private boolean searchForColumnsFromNames;
 
+	/** Change the store of the ranking tables.
+	 *
+	 * @param store the store of the ranking tables.
+	 * @since 4.0
+	 */
+	@Autowired
+	public synchronized void setRankingTableStore(RankingTableStore store) {
+		this.rankingStore = store;
+	}
+
+	/** Replies the store of the ranking tables.
+	 * If no store was injected, a store that is not saving the tables on the disk is used.
+	 *
+	 * @return the store of the ranking tables.
+	 * @since 4.0
+	 */
+	protected synchronized RankingTableStore getRankingTableStore() {
+		if (this.rankingStore == null) {
+			this.rankingStore = new RankingTableStore();
+		}
+		return this.rankingStore;
+	}
+
 	/** Replies if the CSV columns should be detemrines based on the column names.
 	 *
 	 * @return {@code true} if the CSV columns are searched based on their names.
@@ -313,7 +363,10 @@ public class OnlineScimagoPlatform implements ScimagoPlatform {
 
 	@Override
 	public Map<String, Map<String, QuartileRanking>> getJournalRanking(int year, URL csvUrl, Progression progress) throws Exception {
-		return this.rankingCache.computeIfAbsent(Integer.valueOf(year), it -> readJournalRanking(csvUrl, getSearchForColumnsFromNames(), ensureProgress(progress)));
+		final var store = getRankingTableStore();
+		final var maxAge = year >= LocalDate.now().getYear() - 1 ? store.getOnlineTableDuration() : null;
+		return store.getTable(RANKING_SOURCE, year, csvUrl.toExternalForm(), maxAge, RANKING_CODEC,
+				() -> readJournalRanking(csvUrl, getSearchForColumnsFromNames(), ensureProgress(progress)));
 	}
 
 	/** Call back for {@link OnlineScimagoPlatform#analyzeCsvRecords(int, Consumer)}.
@@ -23,12 +23,16 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 
@@ -37,14 +41,21 @@ import com.opencsv.CSVParserBuilder;
 import com.opencsv.CSVReader;
 import com.opencsv.CSVReaderBuilder;
 import fr.utbm.ciad.labmanager.utils.io.AbstractWebScraper;
+import fr.utbm.ciad.labmanager.utils.io.RankingTableStore;
+import fr.utbm.ciad.labmanager.utils.io.RankingTableStore.RankingCodec;
 import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
 import org.arakhne.afc.progress.Progression;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import org.springframework.web.util.UriBuilderFactory;
 
 /** Accessor to the online Web-of-Science platform.
+ *
+ * <p>The ranking tables that are read from the Web-of-Science CSV files are saved in a {@link RankingTableStore}.
+ * The version of a table is the SHA-256 hash code of the CSV file. In this way, a corrected CSV file that is uploaded
+ * for the same year replaces the stored table.
  * 
  * @author $Author: sgalland$
  * @version $Name$ $Revision$ $Date$
@@ -81,12 +92,54 @@ public class OnlineWebOfSciencePlatform extends AbstractWebScraper implements We
 	 */
 	protected static final String IMPACT_FACTOR_COLUMN_PREFIX = "IF"; //$NON-NLS-1$
 
-	private final Map<Integer, Map<String, WebOfScienceJournal>> rankingCache = new ConcurrentHashMap<>();
+	private static final String RANKING_SOURCE = "wos"; //$NON-NLS-1$
+
+	private static final RankingCodec<WebOfScienceJournal> RANKING_CODEC = new RankingCodec<>() {
+		@Override
+		public Map<String, QuartileRanking> getQuartiles(WebOfScienceJournal rankings) {
+			return rankings.quartiles;
+		}
+
+		@Override
+		public float getImpactFactor(WebOfScienceJournal rankings) {
+			return rankings.impactFactor;
+		}
+
+		@Override
+		public WebOfScienceJournal create(Map<String, QuartileRanking> quartiles, float impactFactor) {
+			return new WebOfScienceJournal(quartiles, impactFactor);
+		}
+	};
+
+	private RankingTableStore rankingStore;
 
 	/** Factory of URI builder.
 	 */
 	protected final UriBuilderFactory uriBuilderFactory = new DefaultUriBuilderFactory();
 
+	/** Change the store of the ranking tables.
+	 *
+	 * @param store the store of the ranking tables.
+	 * @since 4.0
+	 */
+	@Autowired
+	public synchronized void setRankingTableStore(RankingTableStore store) {
+		this.rankingStore = store;
+	}
+
+	/** Replies the store of the ranking tables.
+	 * If no store was injected, a store that is not saving the tables on the disk is used.
+	 *
+	 * @return the store of the ranking tables.
+	 * @since 4.0
+	 */
+	protected synchronized RankingTableStore getRankingTableStore() {
+		if (this.rankingStore == null) {
+			this.rankingStore = new RankingTableStore();
+		}
+		return this.rankingStore;
+	}
+
 	private static WebOfScienceJournal analyzeCsvRecord(Integer categoryColumn, Integer impactFactorColumn, String[] row) {
 		final var quartiles = new TreeMap<String, QuartileRanking>();
 		if (categoryColumn != null) {
@@ -217,7 +270,24 @@ public class OnlineWebOfSciencePlatform extends AbstractWebScraper implements We
 	@Override
 	public Map<String, WebOfScienceJournal> getJournalRanking(int year, InputStream csv, Progression progress)
 			throws Exception {
-		return this.rankingCache.computeIfAbsent(Integer.valueOf(year), it -> readJournalRanking(csv, ensureProgress(progress)));
+		// The CSV content is copied into a temporary file in order to compute its hash code before it is parsed
+		final var csvFile = Files.createTempFile("wos", ".csv"); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			final var digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+			try (final var output = Files.newOutputStream(csvFile)) {
+				new DigestInputStream(csv, digest).transferTo(output);
+			}
+			final var version = HexFormat.of().formatHex(digest.digest());
+			return getRankingTableStore().getTable(RANKING_SOURCE, year, version, null, RANKING_CODEC, () -> {
+				try (final var input = Files.newInputStream(csvFile)) {
+					return readJournalRanking(input, ensureProgress(progress));
+				} catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			});
+		} finally {
+			Files.deleteIfExists(csvFile);
+		}
 	}
 
 	@Override
@@ -86,6 +86,16 @@ public abstract class AbstractPersonNameComparator extends AbstractNormalizableS
 				last2, lasts2);
 	}
 
+	@Override
+	public double getSimilarity(NormalizedPersonName name1, NormalizedPersonName name2) {
+		final var enableShortNames = name1.isShortName() || name2.isShortName();
+		return getSimilarity(
+				name1.getNormalizedFirstName(), name1.getNormalizedFirstNames(enableShortNames),
+				name1.getNormalizedLastName(), name1.getNormalizedLastNames(enableShortNames),
+				name2.getNormalizedFirstName(), name2.getNormalizedFirstNames(enableShortNames),
+				name2.getNormalizedLastName(), name2.getNormalizedLastNames(enableShortNames));
+	}
+
 	/** Replies the similarity of the two names.
 	 * This function test if the two first names and last names are similar, or
 	 * if the first first name is similar to the second last name, and the
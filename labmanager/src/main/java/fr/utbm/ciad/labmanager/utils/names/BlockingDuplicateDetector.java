@@ -0,0 +1,348 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.names;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import com.google.common.base.Strings;
+import info.debatty.java.stringsimilarity.Jaccard;
+import info.debatty.java.stringsimilarity.ShingleBased;
+import info.debatty.java.stringsimilarity.SorensenDice;
+import info.debatty.java.stringsimilarity.interfaces.NormalizedStringSimilarity;
+
+/** Engine for detecting the groups of duplicate entities.
+ *
+ * <p>The engine reproduces the sequential algorithm that was used by the merging services: the entities are
+ * considered in the order of the given list; each entity that is not yet a member of a group becomes the
+ * reference of a new group, and all the following entities that are similar to the reference and that
+ * are not yet a member of a group are added into the new group.
+ *
+ * <p>The similarity tests are run in parallel on a {@link ForkJoinPool}, and only on the pairs of
+ * entities that are replied by a {@link CandidateProvider}. A candidate provider that never misses a similar
+ * pair of entities, e.g., the provider that is created by {@link #newShingleBlocking(List, Function, NormalizedStringSimilarity, double)},
+ * makes the engine produce the same groups as the all-pairs algorithm.
+ *
+ * @param <T> the type of the entities.
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public class BlockingDuplicateDetector<T> {
+
+	/** Period of the notification of the progress of the comparisons, in milliseconds.
+	 */
+	private static final long PROGRESS_PERIOD = 200;
+
+	/** Number of entities per thread of the pool for which the links are computed in advance.
+	 */
+	private static final int WINDOW_FACTOR = 8;
+
+	private final ForkJoinPool pool;
+
+	/** Constructor that is using the common fork-join pool.
+	 */
+	public BlockingDuplicateDetector() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/** Constructor.
+	 *
+	 * @param pool the pool of threads to be used for running the similarity tests.
+	 */
+	public BlockingDuplicateDetector(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/** Create a candidate provider that is considering all the pairs of entities.
+	 *
+	 * @param size the number of entities.
+	 * @return the candidate provider.
+	 */
+	public static CandidateProvider newAllPairs(int size) {
+		return index -> {
+			final var candidates = new BitSet(size);
+			candidates.set(index + 1, size);
+			return candidates;
+		};
+	}
+
+	/** Create a candidate provider that is based on the shingles of the keys of the entities.
+	 * Two entities are candidates if one key of the first entity and one key of the second
+	 * entity may have a similarity that is greater than or equal to the given similarity level.
+	 * An entity without key, i.e., the function replies {@code null} or a collection with {@code null}
+	 * or empty key, is assumed to be similar to any other entity.
+	 *
+	 * <p>The blocking is conservative only if the similarity of the entities is not greater than the
+	 * maximum similarity of their keys, and if the keys are compared with a Jaccard or Sørensen–Dice
+	 * similarity computer on case-insensitive and accent-insensitive strings. If the given
+	 * similarity computer is not a Jaccard or Sørensen–Dice computer, all the pairs of entities
+	 * are candidates.
+	 *
+	 * @param <T> the type of the entities.
+	 * @param entities the entities.
+	 * @param keys the function that replies the keys of an entity.
+	 * @param similarityComputer the similarity computer that is used for comparing the keys.
+	 * @param similarityLevel the minimum level of similarity for assuming that two keys are similar.
+	 * @return the candidate provider.
+	 */
+	public static <T> CandidateProvider newShingleBlocking(List<T> entities, Function<T, Collection<String>> keys,
+			NormalizedStringSimilarity similarityComputer, double similarityLevel) {
+		final var size = entities.size();
+		if (similarityLevel <= 0.0 || !(similarityComputer instanceof Jaccard || similarityComputer instanceof SorensenDice)) {
+			return newAllPairs(size);
+		}
+		final var index = new ShingleIndex(((ShingleBased) similarityComputer).getK());
+		final var keyIdentifiers = new HashMap<String, Integer>();
+		final var keyOwners = new ArrayList<BitSet>();
+		final var entityKeys = new ArrayList<Set<String>>(size);
+		final var wildcards = new BitSet(size);
+		for (var i = 0; i < size; ++i) {
+			final var ekeys = new TreeSet<String>();
+			final var rawKeys = keys.apply(entities.get(i));
+			if (rawKeys == null || rawKeys.isEmpty()) {
+				wildcards.set(i);
+			} else {
+				for (final var key : rawKeys) {
+					if (Strings.isNullOrEmpty(key)) {
+						wildcards.set(i);
+					} else {
+						ekeys.add(key);
+						final var id = keyIdentifiers.computeIfAbsent(key, it -> {
+							final var newId = Integer.valueOf(keyOwners.size());
+							keyOwners.add(new BitSet(size));
+							index.put(newId.longValue(), it);
+							return newId;
+						});
+						keyOwners.get(id.intValue()).set(i);
+					}
+				}
+			}
+			entityKeys.add(ekeys);
+		}
+		return i -> {
+			final var candidates = new BitSet(size);
+			if (wildcards.get(i)) {
+				candidates.set(i + 1, size);
+			} else {
+				candidates.or(wildcards);
+				for (final var key : entityKeys.get(i)) {
+					for (final var keyId : index.getCandidates(key, similarityLevel)) {
+						candidates.or(keyOwners.get(keyId.intValue()));
+					}
+				}
+			}
+			return candidates;
+		};
+	}
+
+	/** Replies the groups of duplicate entities.
+	 *
+	 * <p>The links from each entity to the similar following entities are computed in parallel, in the order of the list
+	 * and within a bounded window of entities. The calling thread builds the group of each reference entity as soon as
+	 * its links are computed, and notifies the group to the callback before the links of the following entities are
+	 * all computed. The links of an entity that is already a member of a group are not computed.
+	 *
+	 * @param entities the entities to be grouped. The order of the entities in the list determines the reference of each group.
+	 * @param candidates the provider of candidates for a given entity.
+	 * @param similarity the test of similarity between two entities. The first argument is the reference entity of the group.
+	 * @param comparator the comparator that is used for sorting the entities in each group.
+	 * @param callback the callback that is invoked for each reference entity. It may be {@code null}.
+	 * @return the groups of duplicate entities.
+	 * @throws Exception if a problem occurred during the building.
+	 */
+	public List<Set<T>> getDuplicates(List<T> entities, CandidateProvider candidates, BiPredicate<T, T> similarity,
+			Comparator<? super T> comparator, DuplicateCallback<T> callback) throws Exception {
+		final var total = entities.size();
+		if (callback != null) {
+			callback.onDuplicate(0, 0, total, null);
+		}
+
+		// The number of entities for which the links are computed, or skipped, is shared with the calling thread
+		// for notifying the progress.
+		final var compared = new AtomicInteger();
+		final var window = Math.max(1, this.pool.getParallelism()) * WINDOW_FACTOR;
+		final var tasks = new ArrayDeque<ForkJoinTask<int[]>>(window);
+		var submitted = 0;
+
+		// Build the groups in the same order as the sequential algorithm
+		final var matchingEntities = new ArrayList<Set<T>>();
+		final var consumed = new BitSet(total);
+		var remaining = total;
+		var referenceIndex = 0;
+		var duplicateCount = 0;
+		try {
+			for (var i = 0; i < total && referenceIndex < remaining - 1; ++i) {
+				// Each link goes from an entity to a following entity in the list
+				while (submitted < total && tasks.size() < window) {
+					final var index = submitted;
+					tasks.addLast(this.pool.submit(() -> {
+						final var reference = entities.get(index);
+						final var entityLinks = candidates.getCandidates(index).stream()
+								.filter(j -> j > index && j < total && similarity.test(reference, entities.get(j)))
+								.toArray();
+						compared.incrementAndGet();
+						return entityLinks;
+					}));
+					++submitted;
+				}
+				final var task = tasks.removeFirst();
+				if (consumed.get(i)) {
+					if (task.cancel(false)) {
+						compared.incrementAndGet();
+					}
+				} else {
+					final var links = awaitLinks(task, compared, total, callback);
+					final var currentMatching = new TreeSet<T>(comparator);
+					currentMatching.add(entities.get(i));
+					for (final var j : links) {
+						if (!consumed.get(j)) {
+							consumed.set(j);
+							currentMatching.add(entities.get(j));
+							++duplicateCount;
+							--remaining;
+						}
+					}
+					final Set<T> group;
+					if (currentMatching.size() > 1) {
+						matchingEntities.add(currentMatching);
+						group = currentMatching;
+					} else {
+						group = null;
+					}
+					if (callback != null) {
+						callback.onDuplicate(referenceIndex, duplicateCount, total, group);
+					}
+					++referenceIndex;
+				}
+			}
+		} finally {
+			for (final var task : tasks) {
+				task.cancel(false);
+			}
+		}
+		if (callback != null) {
+			callback.onComparisonProgress(total, total);
+		}
+		return matchingEntities;
+	}
+
+	/** Wait for the computation of the similarity links of an entity, and notify the callback with the number of
+	 * entities for which the links are already computed.
+	 */
+	private static <T> int[] awaitLinks(ForkJoinTask<int[]> task, AtomicInteger compared, int total,
+			DuplicateCallback<T> callback) throws Exception {
+		while (true) {
+			try {
+				return task.get(PROGRESS_PERIOD, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException ex) {
+				if (callback != null) {
+					callback.onComparisonProgress(compared.get(), total);
+				}
+			} catch (ExecutionException ex) {
+				final var cause = ex.getCause();
+				if (cause instanceof Exception cex) {
+					throw cex;
+				}
+				throw ex;
+			}
+		}
+	}
+
+	/** Provider of the entities that may be similar to a given entity.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	@FunctionalInterface
+	public interface CandidateProvider {
+
+		/** Replies the indexes of the entities that may be similar to the entity at the given index.
+		 * The replied set must contain all the indexes that are greater than the given index and that
+		 * correspond to entities similar to the entity at the given index. The indexes that are
+		 * lower than or equal to the given index are ignored.
+		 *
+		 * @param index the index of the entity in the list of entities.
+		 * @return the indexes of the candidate entities.
+		 */
+		BitSet getCandidates(int index);
+
+	}
+
+	/** Callback that is invoked when building the list of duplicate entities.
+	 *
+	 * @param <T> the type of the entities.
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	@FunctionalInterface
+	public interface DuplicateCallback<T> {
+
+		/** Invoked before the first reference entity and after each reference entity.
+		 *
+		 * @param index the position of the reference entity in the list of the entities that are not yet in a group.
+		 *     It represents the progress of the treatment of each entity.
+		 * @param duplicateCount the count of discovered duplicates.
+		 * @param total the total number of entities in the list.
+		 * @param group the group of duplicates that was built for the reference entity, or {@code null} if
+		 *     the reference entity has no duplicate or if the treatment is not yet started.
+		 * @throws Exception if there is an error during the callback treatment. This exception is forwarded to the
+		 *     caller of the function that has invoked this callback.
+		 */
+		void onDuplicate(int index, int duplicateCount, int total, Set<T> group) throws Exception;
+
+		/** Invoked periodically by the calling thread while it is waiting for the comparisons of an entity,
+		 * and once when all the entities are compared.
+		 *
+		 * @param comparedCount the number of entities that were already compared to the following entities.
+		 * @param total the total number of entities in the list.
+		 * @throws Exception if there is an error during the callback treatment. This exception is forwarded to the
+		 *     caller of the function that has invoked this callback.
+		 */
+		default void onComparisonProgress(int comparedCount, int total) throws Exception {
+			//
+		}
+
+	}
+
+}
@@ -1,5 +1,7 @@
 package fr.utbm.ciad.labmanager.utils.names;
 
+import info.debatty.java.stringsimilarity.interfaces.NormalizedStringSimilarity;
+
 /**
  * Utilities for comparing conference names.
  *
@@ -11,6 +13,13 @@ package fr.utbm.ciad.labmanager.utils.names;
  */
 public interface ConferenceNameComparator {
 
+    /**
+     * Replies the internal similarity computer.
+     *
+     * @return the internal similarity computer.
+     */
+    NormalizedStringSimilarity getStringSimilarityComputer();
+
     /**
      * Compute and replies the similarity between the acronyms and names of two conferences.
      * If a name or an acronym has the value {@code null}, it is assumed to be an empty
@@ -1,5 +1,7 @@
 package fr.utbm.ciad.labmanager.utils.names;
 
+import info.debatty.java.stringsimilarity.interfaces.NormalizedStringSimilarity;
+
 /**
  * Utilities for comparing Journal names or publishers.
  *
@@ -11,6 +13,13 @@ package fr.utbm.ciad.labmanager.utils.names;
  */
 public interface JournalNameOrPublisherComparator {
 
+    /**
+     * Replies the internal similarity computer.
+     *
+     * @return the internal similarity computer.
+     */
+    NormalizedStringSimilarity getStringSimilarityComputer();
+
     /**
      * Compute and replies the similarity between the names and publishers of two journals.
      *
@@ -0,0 +1,144 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.names;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/** Name of a person with all the normalized forms that are used by a {@link PersonNameComparator}.
+ * The normalized forms are computed once when the object is created, in order to compare
+ * the same name several times without parsing it again.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ * @see PersonNameComparator#getSimilarity(NormalizedPersonName, NormalizedPersonName)
+ */
+public class NormalizedPersonName implements Serializable {
+
+	private static final long serialVersionUID = -2148914935187395064L;
+
+	private final String firstName;
+
+	private final String lastName;
+
+	private final boolean shortName;
+
+	private final String normalizedFirstName;
+
+	private final String normalizedLastName;
+
+	private final Set<String> firstNames;
+
+	private final Set<String> lastNames;
+
+	private final Set<String> firstNamesWithShortNames;
+
+	private final Set<String> lastNamesWithShortNames;
+
+	/** Constructor.
+	 *
+	 * @param firstName the first name.
+	 * @param lastName the last name.
+	 * @param parser the parser of names that is used for computing the normalized forms.
+	 */
+	public NormalizedPersonName(String firstName, String lastName, PersonNameParser parser) {
+		this.firstName = firstName;
+		this.lastName = lastName;
+		this.shortName = parser.isShortName(firstName) || parser.isShortName(lastName);
+		this.normalizedFirstName = parser.normalizeName(firstName);
+		this.normalizedLastName = parser.normalizeName(lastName);
+		this.firstNames = parser.getNormalizedNamesFor(firstName, false, true);
+		this.lastNames = parser.getNormalizedNamesFor(lastName, false, false);
+		this.firstNamesWithShortNames = parser.getNormalizedNamesFor(firstName, true, true);
+		this.lastNamesWithShortNames = parser.getNormalizedNamesFor(lastName, true, false);
+	}
+
+	@Override
+	public String toString() {
+		return this.firstName + " " + this.lastName; //$NON-NLS-1$
+	}
+
+	/** Replies the first name, as given to the constructor.
+	 *
+	 * @return the first name.
+	 */
+	public String getFirstName() {
+		return this.firstName;
+	}
+
+	/** Replies the last name, as given to the constructor.
+	 *
+	 * @return the last name.
+	 */
+	public String getLastName() {
+		return this.lastName;
+	}
+
+	/** Replies if the first name or the last name is a sequence of short names.
+	 *
+	 * @return {@code true} if one of the names is a short name.
+	 * @see PersonNameParser#isShortName(String)
+	 */
+	public boolean isShortName() {
+		return this.shortName;
+	}
+
+	/** Replies the normalized first name.
+	 *
+	 * @return the normalized first name.
+	 * @see PersonNameParser#normalizeName(String)
+	 */
+	public String getNormalizedFirstName() {
+		return this.normalizedFirstName;
+	}
+
+	/** Replies the normalized last name.
+	 *
+	 * @return the normalized last name.
+	 * @see PersonNameParser#normalizeName(String)
+	 */
+	public String getNormalizedLastName() {
+		return this.normalizedLastName;
+	}
+
+	/** Replies the normalized forms of the first name.
+	 *
+	 * @param enableShortNames indicates if the short names are included.
+	 * @return the normalized forms.
+	 * @see PersonNameParser#getNormalizedNamesFor(String, boolean, boolean)
+	 */
+	public Set<String> getNormalizedFirstNames(boolean enableShortNames) {
+		return enableShortNames ? this.firstNamesWithShortNames : this.firstNames;
+	}
+
+	/** Replies the normalized forms of the last name.
+	 *
+	 * @param enableShortNames indicates if the short names are included.
+	 * @return the normalized forms.
+	 * @see PersonNameParser#getNormalizedNamesFor(String, boolean, boolean)
+	 */
+	public Set<String> getNormalizedLastNames(boolean enableShortNames) {
+		return enableShortNames ? this.lastNamesWithShortNames : this.lastNames;
+	}
+
+}
@@ -19,6 +19,8 @@
 
 package fr.utbm.ciad.labmanager.utils.names;
 
+import info.debatty.java.stringsimilarity.interfaces.NormalizedStringSimilarity;
+
 /** Utilities for comparing organization names.
  * 
  * @author $Author: sgalland$
@@ -29,6 +31,13 @@ package fr.utbm.ciad.labmanager.utils.names;
  */
 public interface OrganizationNameComparator {
 
+	/** Replies the internal similarity computer.
+	 *
+	 * @return the internal similarity computer.
+	 * @since 4.0
+	 */
+	NormalizedStringSimilarity getStringSimilarityComputer();
+
 	/** Compute and replies the similarity between the acronyms and names of two organizations.
 	 *
 	 * 
@@ -118,4 +118,31 @@ public interface PersonNameComparator {
 		return getSimilarity(firstName1, lastName1, firstName2, lastName2) >= getSimilarityLevel();
 	}
 
+	/** Compute and replies the similarity between the names of two persons, when the normalized forms of
+	 * the names were already computed.
+	 *
+	 * @param name1 the name of the first person.
+	 * @param name2 the name of the second person.
+	 * @return the level of similarity. {@code 0} means that the names are not
+	 *     similar, and {@code 1} means that they are totally equal.
+	 * @since 4.0
+	 * @see #getSimilarity(String, String, String, String)
+	 */
+	default double getSimilarity(NormalizedPersonName name1, NormalizedPersonName name2) {
+		return getSimilarity(name1.getFirstName(), name1.getLastName(), name2.getFirstName(), name2.getLastName());
+	}
+
+	/** Check name similarity between the names of two persons, when the normalized forms of
+	 * the names were already computed.
+	 *
+	 * @param name1 the name of the first person.
+	 * @param name2 the name of the second person.
+	 * @return {@code true} if the two given names are similar.
+	 * @since 4.0
+	 * @see #isSimilar(String, String, String, String)
+	 */
+	default boolean isSimilar(NormalizedPersonName name1, NormalizedPersonName name2) {
+		return getSimilarity(name1, name2) >= getSimilarityLevel();
+	}
+
 }
@@ -0,0 +1,299 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package fr.utbm.ciad.labmanager.utils.names;
+
+import java.io.Serializable;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import com.google.common.base.Strings;
+import org.apache.commons.lang3.mutable.MutableInt;
+
+/** In-memory inverted index of character n-grams (shingles) over normalized strings.
+ * Each indexed string is associated to a numeric identifier, usually the identifier of a JPA entity.
+ *
+ * <p>This index is designed for reducing the number of strings that must be compared with a
+ * shingle-based similarity computer, e.g., Jaccard or Sørensen–Dice. The strings are normalized in
+ * the same way as {@code AbstractNormalizableStringComparator}, i.e., case-insensitive, accent-insensitive
+ * and with collapsed white spaces. The candidates that are replied by {@link #getCandidates(String, double)}
+ * are a superset of the strings that have a similarity greater than or equal to the given
+ * similarity level. The final decision must be done with the similarity computer.
+ *
+ * <p>This index is thread-safe.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+public class ShingleIndex implements Serializable {
+
+	private static final long serialVersionUID = -1603004624985402781L;
+
+	/** Default size of the shingles. It is the same as the default size that is used by
+	 * the Jaccard and Sørensen–Dice similarity computers.
+	 */
+	public static final int DEFAULT_SHINGLE_SIZE = 3;
+
+	private static final double EPSILON = 1e-9;
+
+	private static final Pattern ACCENT_PATTERN = Pattern.compile("[\\p{InCombiningDiacriticalMarks}]"); //$NON-NLS-1$
+
+	private static final Pattern SPACE_PATTERN = Pattern.compile("\\s+"); //$NON-NLS-1$
+
+	private final int shingleSize;
+
+	private final Map<Long, Entry> entries = new HashMap<>();
+
+	private final Map<String, Set<Long>> postings = new HashMap<>();
+
+	private final Map<String, Set<Long>> shortEntries = new HashMap<>();
+
+	private final Set<Long> emptyEntries = new HashSet<>();
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/** Constructor with the default size of shingles.
+	 */
+	public ShingleIndex() {
+		this(DEFAULT_SHINGLE_SIZE);
+	}
+
+	/** Constructor.
+	 *
+	 * @param shingleSize the number of characters in each shingle.
+	 */
+	public ShingleIndex(int shingleSize) {
+		assert shingleSize > 0;
+		this.shingleSize = shingleSize;
+	}
+
+	/** Normalize the string to obtain a string without upper-cases, accents and duplicate white spaces.
+	 *
+	 * @param source the source string to normalize.
+	 * @return the normalized string, never {@code null}.
+	 */
+	public static String normalize(String source) {
+		if (source == null) {
+			return ""; //$NON-NLS-1$
+		}
+		var nsource = Normalizer.normalize(source.trim().toLowerCase(), Normalizer.Form.NFD);
+		nsource = ACCENT_PATTERN.matcher(nsource).replaceAll(""); //$NON-NLS-1$
+		nsource = SPACE_PATTERN.matcher(nsource).replaceAll(" "); //$NON-NLS-1$
+		return nsource;
+	}
+
+	/** Replies the set of shingles for the given normalized string.
+	 *
+	 * @param normalizedString the normalized string.
+	 * @return the shingles. It is empty if the string is shorter than the shingle size.
+	 */
+	protected Set<String> getShingles(String normalizedString) {
+		final var shingles = new HashSet<String>();
+		final var max = normalizedString.length() - this.shingleSize + 1;
+		for (var i = 0; i < max; ++i) {
+			shingles.add(normalizedString.substring(i, i + this.shingleSize));
+		}
+		return shingles;
+	}
+
+	/** Replies the number of strings in the index.
+	 *
+	 * @return the number of indexed strings.
+	 */
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.entries.size();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/** Replies the original string that is associated to the given identifier.
+	 *
+	 * @param id the identifier.
+	 * @return the original string, or {@code null} if the identifier is not indexed.
+	 *     A {@code null} string that was indexed is replied as the empty string.
+	 */
+	public String getText(long id) {
+		this.lock.readLock().lock();
+		try {
+			final var entry = this.entries.get(Long.valueOf(id));
+			return entry != null ? entry.text : null;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/** Add or replace the string that is associated to the given identifier.
+	 *
+	 * @param id the identifier.
+	 * @param text the text to index.
+	 */
+	public void put(long id, String text) {
+		final var key = Long.valueOf(id);
+		final var normalized = normalize(text);
+		final var shingles = getShingles(normalized);
+		this.lock.writeLock().lock();
+		try {
+			removeEntry(key);
+			this.entries.put(key, new Entry(Strings.nullToEmpty(text), normalized, shingles.size()));
+			if (normalized.isEmpty()) {
+				this.emptyEntries.add(key);
+			} else if (shingles.isEmpty()) {
+				this.shortEntries.computeIfAbsent(normalized, it -> new HashSet<>()).add(key);
+			} else {
+				for (final var shingle : shingles) {
+					this.postings.computeIfAbsent(shingle, it -> new HashSet<>()).add(key);
+				}
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/** Remove the string that is associated to the given identifier.
+	 *
+	 * @param id the identifier.
+	 */
+	public void remove(long id) {
+		this.lock.writeLock().lock();
+		try {
+			removeEntry(Long.valueOf(id));
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	private void removeEntry(Long key) {
+		final var entry = this.entries.remove(key);
+		if (entry != null) {
+			if (entry.normalizedText.isEmpty()) {
+				this.emptyEntries.remove(key);
+			} else if (entry.shingleCount == 0) {
+				removeFrom(this.shortEntries, entry.normalizedText, key);
+			} else {
+				for (final var shingle : getShingles(entry.normalizedText)) {
+					removeFrom(this.postings, shingle, key);
+				}
+			}
+		}
+	}
+
+	private static void removeFrom(Map<String, Set<Long>> map, String key, Long id) {
+		final var ids = map.get(key);
+		if (ids != null) {
+			ids.remove(id);
+			if (ids.isEmpty()) {
+				map.remove(key);
+			}
+		}
+	}
+
+	/** Remove all the strings from the index.
+	 */
+	public void clear() {
+		this.lock.writeLock().lock();
+		try {
+			this.entries.clear();
+			this.postings.clear();
+			this.shortEntries.clear();
+			this.emptyEntries.clear();
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/** Replies the identifiers of the indexed strings that may be similar to the given string.
+	 * The replied identifiers are a superset of the identifiers of the strings that have a
+	 * Jaccard or a Sørensen–Dice similarity (on shingles of the same size) that is greater
+	 * than or equal to the given similarity level. Because the normalized empty string is
+	 * assumed to be similar to any string, the identifiers of the empty strings are always replied.
+	 *
+	 * @param text the text to search for.
+	 * @param similarityLevel the minimum similarity level, between {@code 0} and {@code 1}.
+	 * @return the identifiers of the candidates, sorted in ascending order.
+	 */
+	public List<Long> getCandidates(String text, double similarityLevel) {
+		final var normalized = normalize(text);
+		final var shingles = getShingles(normalized);
+		this.lock.readLock().lock();
+		try {
+			if (normalized.isEmpty() || similarityLevel <= 0.0) {
+				return new ArrayList<>(new TreeSet<>(this.entries.keySet()));
+			}
+			final var candidates = new TreeSet<>(this.emptyEntries);
+			if (shingles.isEmpty()) {
+				// The string is too short for having shingles; only equal strings are similar.
+				final var ids = this.shortEntries.get(normalized);
+				if (ids != null) {
+					candidates.addAll(ids);
+				}
+			} else {
+				final var overlaps = new HashMap<Long, MutableInt>();
+				for (final var shingle : shingles) {
+					final var ids = this.postings.get(shingle);
+					if (ids != null) {
+						for (final var id : ids) {
+							overlaps.computeIfAbsent(id, it -> new MutableInt()).increment();
+						}
+					}
+				}
+				// Sørensen–Dice is 2|A∩B| / (|A|+|B|) and Jaccard is never greater than Sørensen–Dice.
+				// Both cannot reach the similarity level if the overlap is below the following bound.
+				final var querySize = shingles.size();
+				for (final var overlap : overlaps.entrySet()) {
+					final var entry = this.entries.get(overlap.getKey());
+					final var bound = similarityLevel * (querySize + entry.shingleCount);
+					if (2.0 * overlap.getValue().intValue() + EPSILON >= bound) {
+						candidates.add(overlap.getKey());
+					}
+				}
+			}
+			return new ArrayList<>(candidates);
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/** Entry of the index.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $Name$ $Revision$ $Date$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 * @since 4.0
+	 */
+	private record Entry(String text, String normalizedText, int shingleCount) implements Serializable {
+		//
+	}
+
+}
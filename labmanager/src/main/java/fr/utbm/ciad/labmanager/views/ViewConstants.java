@@ -56,6 +56,12 @@ public final class ViewConstants {
 	 */
 	public static final int PHOTO_SIZE_IN_PERSON_CARD_GRID = 256;
 
+	/** Default size of a photo when it is used in an avatar, e.g., in a grid or in the menu bar.
+	 *
+	 * @since 4.0
+	 */
+	public static final int PHOTO_SIZE_IN_AVATAR = 64;
+
 	/** Default name fo the backend view theme.
 	 *
 	 * @since 4.0
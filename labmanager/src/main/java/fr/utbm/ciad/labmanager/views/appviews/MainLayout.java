@@ -41,6 +41,7 @@ import com.vaadin.flow.router.HasDynamicTitle;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.server.auth.AccessAnnotationChecker;
 import com.vaadin.flow.theme.lumo.LumoUtility;
+import fr.utbm.ciad.labmanager.components.avatars.AvatarController;
 import fr.utbm.ciad.labmanager.data.user.UserRole;
 import fr.utbm.ciad.labmanager.security.AuthenticatedUser;
 import fr.utbm.ciad.labmanager.utils.country.CountryCode;
@@ -534,9 +535,9 @@ public class MainLayout extends AppLayout implements LocaleChangeObserver, UserI
 			final var person = user.getPerson();
 			
 			this.avatar = new Avatar(person.getFullName());
-			final var photo = person.getPhotoURL();
+			final var photo = AvatarController.getAvatarURL(person, ViewConstants.PHOTO_SIZE_IN_AVATAR);
 			if (photo != null) {
-				this.avatar.setImage(photo.toExternalForm());
+				this.avatar.setImage(photo);
 			} else {
 				this.avatar.setImage(null);
 			}
@@ -658,9 +659,9 @@ public class MainLayout extends AppLayout implements LocaleChangeObserver, UserI
 			final var fullname = person.getFullName();
 			if (this.avatar != null) {
 				this.avatar.setName(fullname);
-				final var photo = person.getPhotoURL();
+				final var photo = AvatarController.getAvatarURL(person, ViewConstants.PHOTO_SIZE_IN_AVATAR);
 				if (photo != null) {
-					this.avatar.setImage(photo.toExternalForm());
+					this.avatar.setImage(photo);
 				} else {
 					this.avatar.setImage(null);
 				}
@@ -97,7 +97,9 @@ public final class MyProfileView extends AbstractPersonEditor implements HasDyna
 	private static UserEditingContext createEditingContext(
 			PersonService personService, UserService userService,
 			AuthenticatedUser authenticatedUser, ContextualLoggerFactory loggerFactory) {
-		final var user = authenticatedUser.get().get();
+		// The authenticated user is shared by the Vaadin session. A fresh instance is edited in order
+		// to keep the shared user unchanged when the changes are cancelled or invalid
+		final var user = userService.getUserFor(authenticatedUser.get().get().getPerson());
 		final var person = user.getPerson();
 		final var staticLogger = loggerFactory.getLogger(MyProfileView.class.getName(),
 				AuthenticatedUser.getUserName(authenticatedUser));
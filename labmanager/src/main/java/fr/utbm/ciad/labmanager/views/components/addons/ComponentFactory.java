@@ -71,6 +71,7 @@ import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.i18n.I18NProvider;
 import com.vaadin.flow.internal.LocaleUtil;
 import com.vaadin.flow.server.StreamResource;
+import fr.utbm.ciad.labmanager.components.avatars.AvatarController;
 import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
 import fr.utbm.ciad.labmanager.data.conference.Conference;
 import fr.utbm.ciad.labmanager.data.journal.Journal;
@@ -1066,7 +1067,7 @@ public final class ComponentFactory {
         assert person != null;
 
         final var fullName = person.getFullNameWithLastNameFirst();
-        final var photo = person.getPhotoURL();
+        final var photo = AvatarController.getAvatarURL(person, ViewConstants.PHOTO_SIZE_IN_AVATAR);
 
         String contactDetails = null;
         Integer avatarBorder = null;
@@ -1092,7 +1093,7 @@ public final class ComponentFactory {
             avatar.setDescription(Strings.emptyToNull(person.getEmail()));
         }
         if (photo != null) {
-            avatar.setAvatarURL(photo.toExternalForm());
+            avatar.setAvatarURL(photo);
         }
 
         return avatar;
@@ -1199,7 +1200,7 @@ public final class ComponentFactory {
 
         final var person = membership.getPerson();
         final var fullName = person.getFullNameWithLastNameFirst();
-        final var photo = person.getPhotoURL();
+        final var photo = AvatarController.getAvatarURL(person, ViewConstants.PHOTO_SIZE_IN_AVATAR);
 
         final String details;
         if (detailsProvider != null) {
@@ -1223,7 +1224,7 @@ public final class ComponentFactory {
         avatar.setHeading(fullName);
         avatar.setDescription(Strings.emptyToNull(details));
         if (photo != null) {
-            avatar.setAvatarURL(photo.toExternalForm());
+            avatar.setAvatarURL(photo);
         }
 
         return avatar;
@@ -40,6 +40,7 @@ import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.server.StreamResource;
+import com.vaadin.flow.server.StreamResourceWriter;
 import fr.utbm.ciad.labmanager.utils.DownloadableFileDescription;
 import fr.utbm.ciad.labmanager.utils.SerializableExceptionFunction;
 import fr.utbm.ciad.labmanager.views.components.addons.progress.ProgressExtension;
@@ -82,6 +83,8 @@ public class DownloadExtension<C extends Component & ClickNotifier<C>> implement
 
 	private SerializableExceptionFunction<Progression, StreamResource> streamResourceSupplier;
 
+	private SerializableExceptionFunction<Progression, StreamResourceWriter> streamWriterFactory;
+
 	private SerializableSupplier<String> fileNameSupplier = DEFAULT_FILE_NAME_SUPPLIER;
 
 	private SerializableSupplier<String> fileTypeSupplier = DEFAULT_FILE_TYPE_SUPPLIER;
@@ -176,6 +179,21 @@ public class DownloadExtension<C extends Component & ClickNotifier<C>> implement
 			}
 			return href;
 		}
+		if (this.streamWriterFactory != null) {
+			final var writer = this.streamWriterFactory.apply(progression);
+			if (writer == null) {
+				// Do nothing because the writer factory does not create a writer.
+				throw new CancellationException();
+			}
+			final var href = new StreamResource(this.fileNameSupplier.get(), writer);
+			if (this.fileTypeSupplier != null) {
+				final var mime = this.fileTypeSupplier.get();
+				if (!Strings.isNullOrEmpty(mime)) {
+					href.setContentType(mime);
+				}
+			}
+			return href;
+		}
 		if (this.inputStreamFactory != null) {
 			final var inputStream = this.inputStreamFactory.apply(progression);
 			if (inputStream == null) {
@@ -263,6 +281,20 @@ public class DownloadExtension<C extends Component & ClickNotifier<C>> implement
 		return this;
 	}
 
+	/** Change the factory for the writer of the content of the downloadable file.
+	 * The factory is invoked by the asynchronous task, e.g., for loading the data to be exported.
+	 * The replied writer is invoked when the client browser is downloading the file. It writes the content
+	 * directly into the HTTP response, without building the full content in memory.
+	 *
+	 * @param factory the object that is able to create the writer of the content to the client.
+	 * @return {@code this}
+	 * @since 4.0
+	 */
+	public DownloadExtension<C> withStreamWriter(SerializableExceptionFunction<Progression, StreamResourceWriter> factory) {
+		this.streamWriterFactory = factory;
+		return this;
+	}
+
 	/** Change the factory for the input stream of the content of the downloadable file. This function reads the input stream
 	 * and set the {@link #withMimeType(SerializableSupplier) MIME type} and add extension to the {@link #withFilename(SerializableSupplier) filename}.
 	 *
@@ -44,6 +44,7 @@ import com.vaadin.flow.i18n.LocaleChangeObserver;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.theme.lumo.LumoIcon;
 import com.vaadin.flow.theme.lumo.LumoUtility;
+import fr.utbm.ciad.labmanager.components.avatars.AvatarController;
 import fr.utbm.ciad.labmanager.data.IdentifiableEntity;
 import fr.utbm.ciad.labmanager.data.member.Person;
 import fr.utbm.ciad.labmanager.security.AuthenticatedUser;
@@ -667,9 +668,9 @@ public abstract class AbstractGridBaseEntityListView<T extends IdentifiableEntit
 
 			this.authenticatedUserAvatar = new AvatarItem();
 
-			final var photo = person.getPhotoURL();
+			final var photo = AvatarController.getAvatarURL(person, ViewConstants.PHOTO_SIZE_IN_AVATAR);
 			if (photo != null) {
-				this.authenticatedUserAvatar.setAvatarURL(photo.toExternalForm());
+				this.authenticatedUserAvatar.setAvatarURL(photo);
 			}
 
 			button.setLabelComponent(this.authenticatedUserAvatar);
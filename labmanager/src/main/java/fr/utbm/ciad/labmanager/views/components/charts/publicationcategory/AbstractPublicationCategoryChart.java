@@ -3,6 +3,7 @@ package fr.utbm.ciad.labmanager.views.components.charts.publicationcategory;
 import com.storedobject.chart.Size;
 import com.storedobject.chart.Toolbox;
 import fr.utbm.ciad.labmanager.data.publication.PublicationType;
+import fr.utbm.ciad.labmanager.services.publication.PublicationCountMatrix;
 import fr.utbm.ciad.labmanager.services.publication.PublicationService;
 import fr.utbm.ciad.labmanager.views.components.charts.AbstractSOChartChart;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,6 +33,8 @@ public abstract class AbstractPublicationCategoryChart extends AbstractSOChartCh
 
     private final List<Integer> years;
 
+    private PublicationCountMatrix publicationCounts;
+
     /**
      * Constructor.
      *
@@ -75,5 +78,17 @@ public abstract class AbstractPublicationCategoryChart extends AbstractSOChartCh
         return years;
     }
 
+    /**
+     * Replies the numbers of publications per type and per year. The matrix is loaded once for this chart.
+     *
+     * @return the matrix of the counts.
+     */
+    protected PublicationCountMatrix getPublicationCounts() {
+        if (publicationCounts == null) {
+            publicationCounts = this.publicationService.countPublicationsPerTypeAndYear();
+        }
+        return publicationCounts;
+    }
+
 }
 
@@ -53,7 +53,7 @@ public class PublicationCategoryPieChart extends AbstractPublicationCategoryChar
         Integer total = 0;
         for (int x = 0; x < years.size(); x++) {
             for (PublicationType publicationType : temporaryPublicationTypeList) {
-                countTypePublicationV2 = this.publicationService.countPublicationsByTypeAndYear(publicationType, years.get(x));
+                countTypePublicationV2 = getPublicationCounts().getCount(publicationType, years.get(x));
                 total += countTypePublicationV2;
 
             }
@@ -7,6 +7,7 @@ import java.util.Iterator;
 
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.server.AbstractStreamResource;
+import fr.utbm.ciad.labmanager.components.avatars.AvatarController;
 import fr.utbm.ciad.labmanager.data.member.ChronoMembershipComparator;
 import fr.utbm.ciad.labmanager.data.member.Membership;
 import fr.utbm.ciad.labmanager.data.member.Person;
@@ -114,11 +115,7 @@ public class StandardPersonCardGridItemFactory {
 
 		@Override
 		public String getPhotoUrl() {
-			final var url = this.person.getPhotoURL(ViewConstants.PHOTO_SIZE_IN_PERSON_CARD_GRID);
-			if (url != null) {
-				return url.toExternalForm();
-			}
-			return null;
+			return AvatarController.getAvatarURL(this.person, ViewConstants.PHOTO_SIZE_IN_PERSON_CARD_GRID);
 		}
 
 		@Override
@@ -19,8 +19,8 @@
 
 package fr.utbm.ciad.labmanager.views.components.publications.views;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.nio.charset.Charset;
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -31,7 +31,6 @@ import java.util.Set;
 import java.util.stream.Stream;
 
 import com.google.common.base.Strings;
-import com.helger.commons.io.stream.StringInputStream;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.checkbox.Checkbox;
 import com.vaadin.flow.component.contextmenu.MenuItem;
@@ -51,6 +50,7 @@ import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.function.SerializableBiConsumer;
 import com.vaadin.flow.i18n.LocaleChangeEvent;
 import com.vaadin.flow.i18n.LocaleChangeObserver;
+import com.vaadin.flow.server.StreamResourceWriter;
 import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 import fr.utbm.ciad.labmanager.data.member.Person;
 import fr.utbm.ciad.labmanager.data.publication.Publication;
@@ -83,6 +83,7 @@ import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.arakhne.afc.progress.DefaultProgression;
 import org.arakhne.afc.progress.Progression;
 import org.hibernate.Hibernate;
 import org.springframework.context.support.MessageSourceAccessor;
@@ -791,6 +792,28 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 			});
 		}
 
+		/** Wrap the given writer of exported data in order to notify the user about the errors that are
+		 * encountered when the file is downloaded, i.e., after the end of the background task.
+		 *
+		 * @param writer the writer of the exported data.
+		 * @return the writer that is notifying the errors.
+		 * @see #notifyExportError(Throwable)
+		 */
+		protected StreamResourceWriter reportExportErrors(StreamResourceWriter writer) {
+			return (stream, session) -> {
+				try {
+					writer.accept(stream, session);
+				} catch (Throwable ex) {
+					if (getUI().isPresent()) {
+						notifyExportError(ex);
+					} else {
+						getLogger().error(ex.getLocalizedMessage(), ex);
+					}
+					throw ex;
+				}
+			};
+		}
+
 		/** Extend the given item with the exporter for BibTeX.
 		 * 
 		 * @param item the component to be extended.
@@ -804,16 +827,17 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 	        	.withFilename(() -> BIBTEX_FILENAME)
 	        	.withMimeType(() -> BibTeXConstants.MIME_TYPE_UTF8_VALUE)
 		    	.withFailureListener(this::notifyExportError)
-	        	.withInputStreamFactory(progress -> exportBibTeX(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
+	        	.withStreamWriter(progress -> exportBibTeX(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
 		}
 		
-		/** Export the given publications in a BibTeX file.
+		/** Export the given publications in a BibTeX file. The publications are loaded by this function,
+		 * and they are written into the downloaded file by the replied writer.
 		 *
 		 * @param publications the publications to export.
 		 * @param progression the progression indicator to be used.
-		 * @return the input stream that contains the BibTeX data.
+		 * @return the writer of the BibTeX data, or {@code null} if there is no publication to export.
 		 */
-		public InputStream exportBibTeX(Set<Publication> publications, Progression progression) {
+		public StreamResourceWriter exportBibTeX(Set<Publication> publications, Progression progression) {
 			if (publications == null || publications.isEmpty()) {
 				progression.end();
 				notifyNotEntity();
@@ -822,9 +846,15 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 			// Force the loading of all the information about each publication
 			final var loadedPublications = AbstractPublicationListView.this.publicationService.loadPublicationsInMemory(publications.stream().map(it -> Long.valueOf(it.getId())).toList());
 			final var configuration = createExportConfigurator();
-			final var content = AbstractPublicationListView.this.publicationService.exportBibTeX(loadedPublications, configuration,
-					progression, getLogger());
-			return new StringInputStream(content, Charset.defaultCharset());
+			final var logger = getLogger();
+			// The export is done when the file is downloaded in order to send the data to the client as soon as it is produced.
+			// The progression of the background task is terminated by the download extension when the writer is replied.
+			return reportExportErrors((stream, session) -> {
+				final var writer = new OutputStreamWriter(stream, Charset.defaultCharset());
+				AbstractPublicationListView.this.publicationService.exportBibTeX(writer, loadedPublications, configuration,
+						new DefaultProgression(), logger);
+				writer.flush();
+			});
 		}
 
 		/** Extend the given item with the exporter for RIS.
@@ -840,16 +870,17 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 	        	.withFilename(() -> RIS_FILENAME)
 	        	.withMimeType(() -> RISConstants.MIME_TYPE_UTF8_VALUE)
 		    	.withFailureListener(this::notifyExportError)
-	        	.withInputStreamFactory(progress -> exportRIS(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
+	        	.withStreamWriter(progress -> exportRIS(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
 		}
 
-		/** Export the given publications in a RIS file.
+		/** Export the given publications in a RIS file. The publications are loaded by this function,
+		 * and they are written into the downloaded file by the replied writer.
 		 *
 		 * @param publications the publications to export.
 		 * @param progression the progression indicator to be used.
-		 * @return the input stream that contains the RIS data.
+		 * @return the writer of the RIS data, or {@code null} if there is no publication to export.
 		 */
-		public InputStream exportRIS(Set<Publication> publications, Progression progression) {
+		public StreamResourceWriter exportRIS(Set<Publication> publications, Progression progression) {
 			if (publications == null || publications.isEmpty()) {
 				progression.end();
 				notifyNotEntity();
@@ -858,9 +889,15 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 			// Force the loading of all the information about each publication
 			final var loadedPublications = AbstractPublicationListView.this.publicationService.loadPublicationsInMemory(publications.stream().map(it -> Long.valueOf(it.getId())).toList());
 			final var configuration = createExportConfigurator();
-			final var content = AbstractPublicationListView.this.publicationService.exportRIS(loadedPublications, configuration,
-					progression, getLogger());
-			return new StringInputStream(content, Charset.defaultCharset());
+			final var logger = getLogger();
+			// The export is done when the file is downloaded in order to send the data to the client as soon as it is produced.
+			// The progression of the background task is terminated by the download extension when the writer is replied.
+			return reportExportErrors((stream, session) -> {
+				final var writer = new OutputStreamWriter(stream, Charset.defaultCharset());
+				AbstractPublicationListView.this.publicationService.exportRIS(writer, loadedPublications, configuration,
+						new DefaultProgression(), logger);
+				writer.flush();
+			});
 		}
 
 		/** Extend the given item with the exporter for ODT.
@@ -876,17 +913,18 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 	        	.withFilename(() -> ODT_FILENAME)
 	        	.withMimeType(() -> OpenDocumentConstants.ODT_MIME_TYPE_VALUE)
 		    	.withFailureListener(this::notifyExportError)
-	        	.withInputStreamFactory(progress -> exportODT(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
+	        	.withStreamWriter(progress -> exportODT(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
 		}
 		
-		/** Export the given publications in a ODT file.
+		/** Export the given publications in a ODT file. The publications are loaded by this function,
+		 * and they are written into the downloaded file by the replied writer.
 		 *
 		 * @param publications the publications to export.
 		 * @param progression the progression indicator to be used.
-		 * @return the input stream that contains the ODT data.
+		 * @return the writer of the ODT data, or {@code null} if there is no publication to export.
 		 * @throws Exception if the ODT data cannot be generated.
 		 */
-		public InputStream exportODT(Set<Publication> publications, Progression progression) throws Exception {
+		public StreamResourceWriter exportODT(Set<Publication> publications, Progression progression) throws Exception {
 			if (publications == null || publications.isEmpty()) {
 				progression.end();
 				notifyNotEntity();
@@ -895,9 +933,19 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 			// Force the loading of all the information about each publication
 			final var loadedPublications = AbstractPublicationListView.this.publicationService.loadPublicationsInMemory(publications.stream().map(it -> Long.valueOf(it.getId())).toList());
 			final var configuration = createExportConfigurator();
-			final var content = AbstractPublicationListView.this.publicationService.exportOdt(loadedPublications, configuration,
-					progression, getLogger());
-			return new ByteArrayInputStream(content);
+			final var logger = getLogger();
+			// The export is done when the file is downloaded in order to send the data to the client as soon as it is produced.
+			// The progression of the background task is terminated by the download extension when the writer is replied.
+			return reportExportErrors((stream, session) -> {
+				try {
+					AbstractPublicationListView.this.publicationService.exportOdt(stream, loadedPublications, configuration,
+							new DefaultProgression(), logger);
+				} catch (IOException ex) {
+					throw ex;
+				} catch (Exception ex) {
+					throw new IOException(ex);
+				}
+			});
 		}
 
 		/** Extend the given item with the exporter for HTML.
@@ -913,17 +961,18 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 	        	.withFilename(() -> HTML_FILENAME)
 	        	.withMimeType(() -> "text/html") //$NON-NLS-1$
 		    	.withFailureListener(this::notifyExportError)
-	        	.withInputStreamFactory(progress -> exportHTML(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
+	        	.withStreamWriter(progress -> exportHTML(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
 		}
 
-		/** Export the given publications in an HTML file.
+		/** Export the given publications in a HTML file. The publications are loaded by this function,
+		 * and they are written into the downloaded file by the replied writer.
 		 *
 		 * @param publications the publications to export.
 		 * @param progression the progression indicator to be used.
-		 * @return the input stream that contains the HTML data.
+		 * @return the writer of the HTML data, or {@code null} if there is no publication to export.
 		 * @throws Exception if the HTML data cannot be generated.
 		 */
-		public InputStream exportHTML(Set<Publication> publications, Progression progression) throws Exception {
+		public StreamResourceWriter exportHTML(Set<Publication> publications, Progression progression) throws Exception {
 			if (publications == null || publications.isEmpty()) {
 				progression.end();
 				notifyNotEntity();
@@ -932,9 +981,21 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 			// Force the loading of all the information about each publication
 			final var loadedPublications = AbstractPublicationListView.this.publicationService.loadPublicationsInMemory(publications.stream().map(it -> Long.valueOf(it.getId())).toList());
 			final var configuration = createExportConfigurator();
-			final var content = AbstractPublicationListView.this.publicationService.exportHtml(loadedPublications, configuration,
-					progression, getLogger());
-			return new StringInputStream(content, Charset.defaultCharset());
+			final var logger = getLogger();
+			// The export is done when the file is downloaded in order to send the data to the client as soon as it is produced.
+			// The progression of the background task is terminated by the download extension when the writer is replied.
+			return reportExportErrors((stream, session) -> {
+				final var writer = new OutputStreamWriter(stream, Charset.defaultCharset());
+				try {
+					AbstractPublicationListView.this.publicationService.exportHtml(writer, loadedPublications, configuration,
+							new DefaultProgression(), logger);
+				} catch (IOException ex) {
+					throw ex;
+				} catch (Exception ex) {
+					throw new IOException(ex);
+				}
+				writer.flush();
+			});
 		}
 
 		/** Extend the given item with the exporter for JSON.
@@ -950,17 +1011,18 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 	        	.withFilename(() -> JSON_FILENAME)
 	        	.withMimeType(() -> IoConstants.JSON_MIME)
 		    	.withFailureListener(this::notifyExportError)
-	        	.withInputStreamFactory(progress -> exportJSON(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
+	        	.withStreamWriter(progress -> exportJSON(entity == null ? getGrid().getSelectedItems() : Collections.singleton(entity), progress));
 		}
 
-		/** Export the given publications in a JSON file.
+		/** Export the given publications in a JSON file. The publications are loaded by this function,
+		 * and they are written into the downloaded file by the replied writer.
 		 *
 		 * @param publications the publications to export.
 		 * @param progression the progression indicator to be used.
-		 * @return the input stream that contains the JSON data.
+		 * @return the writer of the JSON data, or {@code null} if there is no publication to export.
 		 * @throws Exception if the JSON data cannot be generated.
 		 */
-		public InputStream exportJSON(Set<Publication> publications, Progression progression) throws Exception {
+		public StreamResourceWriter exportJSON(Set<Publication> publications, Progression progression) throws Exception {
 			if (publications == null || publications.isEmpty()) {
 				notifyNotEntity();
 				return null; 
@@ -968,9 +1030,21 @@ public abstract class AbstractPublicationListView extends AbstractEntityListView
 			// Force the loading of all the information about each publication
 			final var loadedPublications = AbstractPublicationListView.this.publicationService.loadPublicationsInMemory(publications.stream().map(it -> Long.valueOf(it.getId())).toList());
 			final var configuration = createExportConfigurator();
-			final var content = AbstractPublicationListView.this.publicationService.exportJson(loadedPublications, configuration,
-					progression, getLogger());
-			return new StringInputStream(content, Charset.defaultCharset());
+			final var logger = getLogger();
+			// The export is done when the file is downloaded in order to send the data to the client as soon as it is produced.
+			// The progression of the background task is terminated by the download extension when the writer is replied.
+			return reportExportErrors((stream, session) -> {
+				final var writer = new OutputStreamWriter(stream, Charset.defaultCharset());
+				try {
+					AbstractPublicationListView.this.publicationService.exportJson(writer, loadedPublications, configuration,
+							new DefaultProgression(), logger);
+				} catch (IOException ex) {
+					throw ex;
+				} catch (Exception ex) {
+					throw new IOException(ex);
+				}
+				writer.flush();
+			});
 		}
 
 		@Override
@@ -0,0 +1,150 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.components.avatars;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.ImageIO;
+
+import fr.utbm.ciad.labmanager.components.avatars.AvatarCache;
+import fr.utbm.ciad.labmanager.utils.io.network.NetConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for {@link AvatarCache}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class AvatarCacheTest {
+
+	@TempDir
+	Path folder;
+
+	private AtomicLong time;
+
+	private AtomicInteger downloads;
+
+	private boolean offline;
+
+	private URL source;
+
+	private AvatarCache test;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.time = new AtomicLong(1700000000000l);
+		this.downloads = new AtomicInteger();
+		this.source = new URI("https://www.gravatar.com/avatar/1234?s=256").toURL();
+		// Local stub of the network that replies a 400x300 picture
+		final NetConnection connection = url -> {
+			if (this.offline) {
+				throw new IOException("offline");
+			}
+			this.downloads.incrementAndGet();
+			return new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+		};
+		this.test = new AvatarCache(connection, this.folder.toFile(), Duration.ofHours(1), this.time::get);
+	}
+
+	@Test
+	public void normalizeSize() {
+		assertEquals(AvatarCache.SMALL_SIZE, AvatarCache.normalizeSize(0));
+		assertEquals(AvatarCache.SMALL_SIZE, AvatarCache.normalizeSize(40));
+		assertEquals(AvatarCache.SMALL_SIZE, AvatarCache.normalizeSize(AvatarCache.SMALL_SIZE));
+		assertEquals(AvatarCache.LARGE_SIZE, AvatarCache.normalizeSize(AvatarCache.SMALL_SIZE + 1));
+		assertEquals(AvatarCache.LARGE_SIZE, AvatarCache.normalizeSize(1024));
+	}
+
+	@Test
+	public void getAvatar_resized() throws Exception {
+		final var small = this.test.getAvatar(this.source, 40);
+		final var smallImage = ImageIO.read(small.file());
+		assertEquals(64, smallImage.getWidth());
+		assertEquals(48, smallImage.getHeight());
+		final var large = this.test.getAvatar(this.source, 256);
+		final var largeImage = ImageIO.read(large.file());
+		assertEquals(256, largeImage.getWidth());
+		assertEquals(192, largeImage.getHeight());
+		assertNotEquals(small.etag(), large.etag());
+		assertTrue(small.file().getParentFile().equals(this.folder.toFile()));
+		// All the sizes are generated from a single download
+		assertEquals(1, this.downloads.get());
+	}
+
+	@Test
+	public void getAvatar_cached() throws Exception {
+		final var avatar1 = this.test.getAvatar(this.source, 64);
+		this.time.addAndGet(Duration.ofMinutes(30).toMillis());
+		final var avatar2 = this.test.getAvatar(this.source, 64);
+		assertEquals(1, this.downloads.get());
+		assertEquals(avatar1.etag(), avatar2.etag());
+		assertEquals(this.time.get() + Duration.ofMinutes(30).toMillis(), avatar2.expiry());
+	}
+
+	@Test
+	public void getAvatar_expired() throws Exception {
+		final var avatar1 = this.test.getAvatar(this.source, 64);
+		this.time.addAndGet(Duration.ofHours(2).toMillis());
+		final var avatar2 = this.test.getAvatar(this.source, 64);
+		assertEquals(2, this.downloads.get());
+		assertNotEquals(avatar1.etag(), avatar2.etag());
+	}
+
+	@Test
+	public void getAvatar_expiredOffline() throws Exception {
+		final var avatar1 = this.test.getAvatar(this.source, 64);
+		this.time.addAndGet(Duration.ofHours(2).toMillis());
+		this.offline = true;
+		final var avatar2 = this.test.getAvatar(this.source, 64);
+		assertEquals(avatar1.etag(), avatar2.etag());
+		assertEquals(avatar1.file(), avatar2.file());
+	}
+
+	@Test
+	public void getAvatar_offline() throws Exception {
+		this.offline = true;
+		assertThrows(IOException.class, () -> this.test.getAvatar(this.source, 64));
+	}
+
+	@Test
+	public void getAvatar_sourceChanged() throws Exception {
+		final var avatar1 = this.test.getAvatar(this.source, 64);
+		final var avatar2 = this.test.getAvatar(new URI("https://avatars.githubusercontent.com/abcd?s=256").toURL(), 64);
+		assertEquals(2, this.downloads.get());
+		assertNotEquals(avatar1.file(), avatar2.file());
+	}
+
+}
@@ -0,0 +1,154 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.components.avatars;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import fr.utbm.ciad.labmanager.components.avatars.AvatarCache;
+import fr.utbm.ciad.labmanager.components.avatars.AvatarController;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.member.PersonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+/** Tests for {@link AvatarController}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class AvatarControllerTest {
+
+	@TempDir
+	Path folder;
+
+	private PersonRepository personRepository;
+
+	private Person person;
+
+	private AvatarController test;
+
+	@BeforeEach
+	public void setUp() {
+		this.person = new Person();
+		this.person.setId(12);
+		this.person.setGravatarId("abcdef");
+		this.personRepository = mock(PersonRepository.class);
+		when(this.personRepository.findById(Long.valueOf(12))).thenReturn(Optional.of(this.person));
+		final var cache = new AvatarCache(url -> new BufferedImage(300, 300, BufferedImage.TYPE_INT_RGB),
+				this.folder.toFile(), Duration.ofHours(1), System::currentTimeMillis);
+		this.test = new AvatarController(cache, this.personRepository);
+	}
+
+	@Test
+	public void getAvatarURL() {
+		final var url = AvatarController.getAvatarURL(this.person, 40);
+		assertTrue(url.startsWith("avatars/12/64?v="), url);
+		assertTrue(AvatarController.getAvatarURL(this.person, 200).startsWith("avatars/12/256?v="));
+	}
+
+	@Test
+	public void getAvatarURL_sourceChanged() {
+		final var url1 = AvatarController.getAvatarURL(this.person, 64);
+		this.person.setGravatarId("123456");
+		final var url2 = AvatarController.getAvatarURL(this.person, 64);
+		assertTrue(!url1.equals(url2));
+	}
+
+	@Test
+	public void getAvatarURL_noPhoto() {
+		assertNull(AvatarController.getAvatarURL(new Person(), 64));
+	}
+
+	@Test
+	public void getAvatarURL_notSaved() {
+		final var person = new Person();
+		person.setGravatarId("abcdef");
+		assertEquals(person.getPhotoURL(AvatarCache.LARGE_SIZE).toExternalForm(), AvatarController.getAvatarURL(person, 64));
+	}
+
+	private String getVersion() {
+		final var url = AvatarController.getAvatarURL(this.person, 64);
+		return url.substring(url.indexOf("?v=") + 3);
+	}
+
+	@Test
+	public void getAvatar() {
+		final var response = this.test.getAvatar(12, 64, getVersion());
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(MediaType.IMAGE_PNG, response.getHeaders().getContentType());
+		assertNotNull(response.getHeaders().getETag());
+		assertTrue(response.getHeaders().getCacheControl().startsWith("max-age="));
+		assertTrue(response.getBody().exists());
+	}
+
+	@Test
+	public void getAvatar_knownSource() {
+		final var version = getVersion();
+		assertEquals(HttpStatus.OK, this.test.getAvatar(12, 64, version).getStatusCode());
+		assertEquals(HttpStatus.OK, this.test.getAvatar(12, 256, version).getStatusCode());
+		verify(this.personRepository, times(1)).findById(Long.valueOf(12));
+	}
+
+	@Test
+	public void getAvatar_sourceChanged() {
+		assertEquals(HttpStatus.OK, this.test.getAvatar(12, 64, getVersion()).getStatusCode());
+		this.person.setGravatarId("123456");
+		final var response = this.test.getAvatar(12, 64, getVersion());
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		verify(this.personRepository, times(2)).findById(Long.valueOf(12));
+	}
+
+	@Test
+	public void getAvatar_noVersion() {
+		assertEquals(HttpStatus.OK, this.test.getAvatar(12, 64, null).getStatusCode());
+		assertEquals(HttpStatus.OK, this.test.getAvatar(12, 64, null).getStatusCode());
+		verify(this.personRepository, times(2)).findById(Long.valueOf(12));
+	}
+
+	@Test
+	public void getAvatar_unknownPerson() {
+		assertEquals(HttpStatus.NOT_FOUND, this.test.getAvatar(13, 64, null).getStatusCode());
+	}
+
+	@Test
+	public void getAvatar_noPhoto() {
+		final var version = getVersion();
+		this.person.setGravatarId(null);
+		assertEquals(HttpStatus.NOT_FOUND, this.test.getAvatar(12, 64, version).getStatusCode());
+	}
+
+}
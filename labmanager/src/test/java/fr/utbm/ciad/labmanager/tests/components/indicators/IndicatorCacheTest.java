@@ -0,0 +1,160 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.components.indicators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link IndicatorCache}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class IndicatorCacheTest {
+
+	private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+	private static final LocalDate END = LocalDate.of(2023, 12, 31);
+
+	private AtomicLong time;
+
+	private AtomicInteger computations;
+
+	private IndicatorCache test;
+
+	@BeforeEach
+	public void setUp() {
+		this.time = new AtomicLong(1000);
+		this.computations = new AtomicInteger();
+		this.test = new IndicatorCache(Duration.ofMillis(100), this.time::get);
+	}
+
+	private Number getValue(String indicator, long organization, LocalDate start) {
+		return this.test.getValue(indicator, organization, start, END, () -> Integer.valueOf(this.computations.incrementAndGet()));
+	}
+
+	@Test
+	public void getValue_computedOnce() {
+		assertEquals(1, getValue("a", 1, START));
+		assertEquals(1, getValue("a", 1, START));
+		assertEquals(1, this.computations.get());
+	}
+
+	@Test
+	public void getValue_differentKeys() {
+		assertEquals(1, getValue("a", 1, START));
+		assertEquals(2, getValue("b", 1, START));
+		assertEquals(3, getValue("a", 2, START));
+		assertEquals(4, getValue("a", 1, START.plusYears(1)));
+		assertEquals(1, getValue("a", 1, START));
+	}
+
+	@Test
+	public void getValue_expired() {
+		assertEquals(1, getValue("a", 1, START));
+		this.time.addAndGet(99);
+		assertEquals(1, getValue("a", 1, START));
+		this.time.addAndGet(1);
+		assertEquals(2, getValue("a", 1, START));
+	}
+
+	@Test
+	public void getValue_failureNotCached() {
+		assertThrows(IllegalStateException.class, () -> this.test.getValue("a", 1, START, END, () -> {
+			throw new IllegalStateException();
+		}));
+		assertFalse(this.test.contains("a", 1, START, END));
+		assertEquals(1, getValue("a", 1, START));
+	}
+
+	@Test
+	public void getValue_concurrent() throws Exception {
+		final var executor = Executors.newFixedThreadPool(8);
+		try {
+			final var latch = new CountDownLatch(1);
+			final var futures = new ArrayList<Future<Number>>();
+			for (var i = 0; i < 32; ++i) {
+				futures.add(executor.submit(() -> {
+					latch.await();
+					return this.test.getValue("a", 1, START, END, () -> {
+						try {
+							Thread.sleep(20);
+						} catch (InterruptedException ex) {
+							throw new RuntimeException(ex);
+						}
+						return Integer.valueOf(this.computations.incrementAndGet());
+					});
+				}));
+			}
+			latch.countDown();
+			for (final var future : futures) {
+				assertEquals(1, future.get());
+			}
+			assertEquals(1, this.computations.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void invalidateIndicator() {
+		getValue("a", 1, START);
+		getValue("b", 1, START);
+		this.test.invalidateIndicator("a");
+		assertFalse(this.test.contains("a", 1, START, END));
+		assertTrue(this.test.contains("b", 1, START, END));
+	}
+
+	@Test
+	public void invalidateOrganization() {
+		getValue("a", 1, START);
+		getValue("a", 2, START);
+		this.test.invalidateOrganization(1);
+		assertFalse(this.test.contains("a", 1, START, END));
+		assertTrue(this.test.contains("a", 2, START, END));
+	}
+
+	@Test
+	public void invalidateAll() {
+		getValue("a", 1, START);
+		getValue("b", 2, START);
+		this.test.invalidateAll();
+		assertFalse(this.test.contains("a", 1, START, END));
+		assertFalse(this.test.contains("b", 2, START, END));
+		assertEquals(3, getValue("a", 1, START));
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+
+import fr.utbm.ciad.labmanager.data.EntityUtils;
+import fr.utbm.ciad.labmanager.data.member.PersonComparator;
+import fr.utbm.ciad.labmanager.data.member.PersonListComparator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link EntityUtils}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class EntityUtilsTest {
+
+	@AfterEach
+	public void tearDown() {
+		EntityUtils.setPreferredPersonComparator(null);
+		EntityUtils.setPreferredPersonListComparator(null);
+	}
+
+	@Test
+	public void getPreferredPersonComparator_default() {
+		final var cmp = EntityUtils.getPreferredPersonComparator();
+		assertNotNull(cmp);
+		assertSame(cmp, EntityUtils.getPreferredPersonComparator());
+	}
+
+	@Test
+	public void setPreferredPersonComparator() {
+		final var cmp = new PersonComparator();
+		EntityUtils.setPreferredPersonComparator(cmp);
+		assertSame(cmp, EntityUtils.getPreferredPersonComparator());
+		EntityUtils.setPreferredPersonComparator(null);
+		final var cmp2 = EntityUtils.getPreferredPersonComparator();
+		assertNotNull(cmp2);
+		assertNotSame(cmp, cmp2);
+	}
+
+	@Test
+	public void getPreferredPersonListComparator_concurrent() throws Exception {
+		final var threads = 8;
+		final var executor = Executors.newFixedThreadPool(threads);
+		try {
+			for (var round = 0; round < 32; ++round) {
+				// Reset the holder in order to have all the threads racing on its lazy creation
+				EntityUtils.setPreferredPersonListComparator(null);
+				final var barrier = new CyclicBarrier(threads);
+				final var tasks = new ArrayList<Callable<PersonListComparator>>();
+				for (var i = 0; i < threads; ++i) {
+					tasks.add(() -> {
+						barrier.await();
+						return EntityUtils.getPreferredPersonListComparator();
+					});
+				}
+				final var results = executor.invokeAll(tasks);
+				final var expected = results.get(0).get();
+				assertNotNull(expected);
+				for (final var result : results) {
+					assertSame(expected, result.get());
+				}
+				assertSame(expected, EntityUtils.getPreferredPersonListComparator());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void getPreferredPublicationComparatorInLists() {
+		final var cmp = EntityUtils.getPreferredPublicationComparatorInLists();
+		assertNotNull(cmp);
+		assertSame(cmp, EntityUtils.getPreferredPublicationComparatorInLists());
+		assertEquals(0, cmp.compare(null, null));
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import fr.utbm.ciad.labmanager.data.QualityAnnualIndicatorsYearIndex;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link QualityAnnualIndicatorsYearIndex}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class QualityAnnualIndicatorsYearIndexTest {
+
+	@Test
+	public void empty() {
+		final var index = new QualityAnnualIndicatorsYearIndex(Collections.emptySet());
+		assertEquals(0, index.size());
+		assertEquals(-1, index.floorPosition(2024));
+	}
+
+	@Test
+	public void floorPosition() {
+		final var index = new QualityAnnualIndicatorsYearIndex(Arrays.asList(2022, 2018, 2020));
+		assertEquals(3, index.size());
+		assertEquals(2018, index.getYear(0));
+		assertEquals(2020, index.getYear(1));
+		assertEquals(2022, index.getYear(2));
+		assertEquals(-1, index.floorPosition(2017));
+		assertEquals(0, index.floorPosition(2018));
+		assertEquals(0, index.floorPosition(2019));
+		assertEquals(1, index.floorPosition(2020));
+		assertEquals(1, index.floorPosition(2021));
+		assertEquals(2, index.floorPosition(2022));
+		assertEquals(2, index.floorPosition(3000));
+	}
+
+	@Test
+	public void floorPosition_largeRange() {
+		final var index = new QualityAnnualIndicatorsYearIndex(Arrays.asList(Integer.MIN_VALUE, 3, 1234, Integer.MAX_VALUE));
+		assertEquals(0, index.floorPosition(Integer.MIN_VALUE + 1));
+		assertEquals(0, index.floorPosition(0));
+		assertEquals(1, index.floorPosition(3));
+		assertEquals(1, index.floorPosition(512));
+		assertEquals(2, index.floorPosition(4567));
+		assertEquals(3, index.floorPosition(Integer.MAX_VALUE));
+	}
+
+}
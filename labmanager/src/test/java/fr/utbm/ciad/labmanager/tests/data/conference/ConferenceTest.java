@@ -303,6 +303,24 @@ public class ConferenceTest {
 		assertTrue(this.test.hasCoreIndexForYear(4567));
 	}
 
+	@Test
+	public void getCoreIndexByYear_indicatorsChangedOutside() {
+		this.test.setCoreIndexByYear(2020, CoreRanking.B);
+		assertSame(CoreRanking.B, this.test.getCoreIndexByYear(2021));
+
+		// Change of the indicators that are replied by the conference
+		this.test.getQualityIndicators().get(Integer.valueOf(2020)).setCoreIndex(CoreRanking.A);
+		assertSame(CoreRanking.A, this.test.getCoreIndexByYear(2021));
+
+		// Change of the map that is replied by the conference
+		this.test.getQualityIndicators().put(Integer.valueOf(2021), new ConferenceQualityAnnualIndicators(2021, CoreRanking.C));
+		assertSame(CoreRanking.C, this.test.getCoreIndexByYear(2021));
+		assertSame(CoreRanking.A, this.test.getCoreIndexByYear(2020));
+
+		this.test.setQualityIndicators(null);
+		assertSame(CoreRanking.NR, this.test.getCoreIndexByYear(2021));
+	}
+
 	@Test
 	public void getOpenAcess() {
 		assertNull(this.test.getOpenAccess());
@@ -73,6 +73,31 @@ public class GlobalIndicatorsTest {
 		assertEquals(-568, this.test.getId());
 	}
 
+	@Test
+	public void getCachedValues() {
+		assertTrue(this.test.getCachedValues(1).isEmpty());
+		assertEquals(Integer.MAX_VALUE, this.test.getCacheAge());
+	}
+
+	@Test
+	public void setCachedValues() {
+		this.test.setCachedValues(1, Map.of("a", 1, "b", 2));
+		this.test.setCachedValues(2, Map.of("a", 3));
+		this.test.setCachedValues(1, Map.of("b", 4, "c", 5));
+		assertEquals(Map.of("a", 1, "b", 4, "c", 5), this.test.getCachedValues(1));
+		assertEquals(Map.of("a", 3), this.test.getCachedValues(2));
+		assertTrue(this.test.getCachedValues(3).isEmpty());
+		assertEquals(0, this.test.getCacheAge());
+	}
+
+	@Test
+	public void resetCachedValues() {
+		this.test.setCachedValues(1, Map.of("a", 1));
+		this.test.resetCachedValues();
+		assertTrue(this.test.getCachedValues(1).isEmpty());
+		assertEquals(Integer.MAX_VALUE, this.test.getCacheAge());
+	}
+
 	@Test
 	public void getVisibleIndicatorKeys() {
 		assertNull(this.test.getVisibleIndicatorKeys());
@@ -527,6 +527,45 @@ public class JournalTest {
 		assertTrue(this.test.hasImpactFactorForYear(4567));
 	}
 
+	@Test
+	public void getRankingsByYear_independentFallbacks() {
+		this.test.setScimagoQIndexByYear(2020, QuartileRanking.Q1);
+		this.test.setWosQIndexByYear(2021, QuartileRanking.Q2);
+		this.test.setImpactFactorByYear(2022, 3.5f);
+
+		assertSame(QuartileRanking.NR, this.test.getScimagoQIndexByYear(2019));
+		assertSame(QuartileRanking.Q1, this.test.getScimagoQIndexByYear(2020));
+		assertSame(QuartileRanking.Q1, this.test.getScimagoQIndexByYear(2022));
+		assertSame(QuartileRanking.Q1, this.test.getScimagoQIndexByYear(2030));
+
+		assertSame(QuartileRanking.NR, this.test.getWosQIndexByYear(2020));
+		assertSame(QuartileRanking.Q2, this.test.getWosQIndexByYear(2021));
+		assertSame(QuartileRanking.Q2, this.test.getWosQIndexByYear(2022));
+
+		assertEquals(0f, this.test.getImpactFactorByYear(2021));
+		assertEquals(3.5f, this.test.getImpactFactorByYear(2022));
+		assertEquals(3.5f, this.test.getImpactFactorByYear(2030));
+	}
+
+	@Test
+	public void getRankingsByYear_indicatorsChangedOutside() {
+		this.test.setScimagoQIndexByYear(2020, QuartileRanking.Q2);
+		assertSame(QuartileRanking.Q2, this.test.getScimagoQIndexByYear(2021));
+
+		// Change of the indicators that are replied by the journal
+		this.test.getQualityIndicators().get(Integer.valueOf(2020)).setScimagoQIndex(QuartileRanking.Q3);
+		assertSame(QuartileRanking.Q3, this.test.getScimagoQIndexByYear(2021));
+
+		// Change of the map that is replied by the journal
+		this.test.getQualityIndicators().put(Integer.valueOf(2021), new JournalQualityAnnualIndicators(2021, QuartileRanking.Q1, null, 0f));
+		assertSame(QuartileRanking.Q1, this.test.getScimagoQIndexByYear(2021));
+		this.test.getQualityIndicators().remove(Integer.valueOf(2021));
+		assertSame(QuartileRanking.Q3, this.test.getScimagoQIndexByYear(2021));
+
+		this.test.setQualityIndicators(null);
+		assertSame(QuartileRanking.NR, this.test.getScimagoQIndexByYear(2021));
+	}
+
 	@Test
 	public void getOpenAcess() {
 		assertNull(this.test.getOpenAccess());
@@ -0,0 +1,139 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.spring.security.AuthenticationContext;
+import fr.utbm.ciad.labmanager.data.user.User;
+import fr.utbm.ciad.labmanager.data.user.UserRepository;
+import fr.utbm.ciad.labmanager.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/** Tests for {@link AuthenticatedUser}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class AuthenticatedUserTest {
+
+	private AuthenticationContext authenticationContext;
+
+	private UserDetails principal;
+
+	private UserRepository userRepository;
+
+	private User user;
+
+	private VaadinSession session;
+
+	private AuthenticatedUser test;
+
+	@BeforeEach
+	public void setUp() {
+		this.principal = mock(UserDetails.class);
+		when(this.principal.getUsername()).thenReturn("jdoe");
+		this.authenticationContext = mock(AuthenticationContext.class);
+		when(this.authenticationContext.getAuthenticatedUser(UserDetails.class)).thenReturn(Optional.of(this.principal));
+		this.user = mock(User.class);
+		this.userRepository = mock(UserRepository.class);
+		when(this.userRepository.findByLogin("jdoe")).thenReturn(Optional.of(this.user));
+		this.test = new AuthenticatedUser(this.authenticationContext, this.userRepository);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		CurrentInstance.clearAll();
+	}
+
+	private void startSession() {
+		final Map<String, Object> attributes = new HashMap<>();
+		this.session = mock(VaadinSession.class);
+		when(this.session.hasLock()).thenReturn(Boolean.TRUE);
+		when(this.session.getAttribute(any(Class.class))).thenAnswer(it -> attributes.get(((Class<?>) it.getArgument(0)).getName()));
+		doAnswer(it -> attributes.put(((Class<?>) it.getArgument(0)).getName(), it.getArgument(1))).when(this.session).setAttribute(any(Class.class), any());
+		VaadinSession.setCurrent(this.session);
+	}
+
+	@Test
+	public void get_noSession() {
+		assertSame(this.user, this.test.get().get());
+		assertSame(this.user, this.test.get().get());
+		verify(this.userRepository, times(2)).findByLogin("jdoe");
+	}
+
+	@Test
+	public void get_session() {
+		startSession();
+		for (var i = 0; i < 200; ++i) {
+			assertSame(this.user, this.test.get().get());
+		}
+		verify(this.userRepository, times(1)).findByLogin("jdoe");
+	}
+
+	@Test
+	public void get_unknownUser() {
+		startSession();
+		when(this.userRepository.findByLogin("jdoe")).thenReturn(Optional.empty());
+		assertFalse(this.test.get().isPresent());
+		assertFalse(this.test.get().isPresent());
+		verify(this.userRepository, times(1)).findByLogin("jdoe");
+	}
+
+	@Test
+	public void get_loginChanged() {
+		startSession();
+		this.test.get();
+		final var otherUser = mock(User.class);
+		when(this.principal.getUsername()).thenReturn("asmith");
+		when(this.userRepository.findByLogin("asmith")).thenReturn(Optional.of(otherUser));
+		assertSame(otherUser, this.test.get().get());
+	}
+
+	@Test
+	public void invalidate() {
+		startSession();
+		this.test.get();
+		this.test.invalidate();
+		final var updatedUser = mock(User.class);
+		when(this.userRepository.findByLogin("jdoe")).thenReturn(Optional.of(updatedUser));
+		assertSame(updatedUser, this.test.get().get());
+		assertSame(updatedUser, this.test.get().get());
+		verify(this.userRepository, times(2)).findByLogin("jdoe");
+	}
+
+}
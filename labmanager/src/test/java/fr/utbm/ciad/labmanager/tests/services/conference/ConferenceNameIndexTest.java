@@ -0,0 +1,134 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.services.conference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import fr.utbm.ciad.labmanager.data.conference.Conference;
+import fr.utbm.ciad.labmanager.data.conference.ConferenceRepository;
+import fr.utbm.ciad.labmanager.services.conference.ConferenceNameIndex;
+import fr.utbm.ciad.labmanager.utils.names.ConferenceNameComparator;
+import fr.utbm.ciad.labmanager.utils.names.sorensendice.SorensenDiceConferenceNameComparator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link ConferenceNameIndex}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class ConferenceNameIndexTest {
+
+	private static final String[][] CONFERENCES = {
+		{"International Conference on Autonomous Agents and Multiagent Systems", "AAMAS"},
+		{"International Joint Conference on Artificial Intelligence", "IJCAI"},
+		{"International Conference on Ambient Systems, Networks and Technologies", "ANT"},
+	};
+
+	private ConferenceRepository conferenceRepository;
+
+	private ConferenceNameComparator comparator;
+
+	private ConferenceNameIndex test;
+
+	@BeforeEach
+	public void setUp() {
+		this.conferenceRepository = mock(ConferenceRepository.class);
+		when(this.conferenceRepository.findAllIdentifiersAndNames()).thenReturn(Arrays.asList(
+				new Object[] {Long.valueOf(1), CONFERENCES[0][0], CONFERENCES[0][1]},
+				new Object[] {Long.valueOf(2), CONFERENCES[1][0], CONFERENCES[1][1]},
+				new Object[] {Long.valueOf(3), CONFERENCES[2][0], CONFERENCES[2][1]}));
+		this.comparator = new SorensenDiceConferenceNameComparator();
+		this.test = new ConferenceNameIndex(this.conferenceRepository, this.comparator);
+	}
+
+	@Test
+	public void getConferenceIdBySimilarNameAndAcronym() {
+		assertEquals(1, this.test.getConferenceIdBySimilarNameAndAcronym("International Conference on Autonomous Agents and Multi-Agent Systems", "AAMAS"));
+		assertEquals(2, this.test.getConferenceIdBySimilarNameAndAcronym("Int. Joint Conf. on Artificial Intelligence", "IJCAI"));
+		assertEquals(3, this.test.getConferenceIdBySimilarNameAndAcronym("Ambient Systems, Networks and Technologies", "ANT 2024"));
+		assertEquals(0, this.test.getConferenceIdBySimilarNameAndAcronym("Winter Simulation Conference", "WSC"));
+		// The index is built once for all the searches
+		verify(this.conferenceRepository, times(1)).findAllIdentifiersAndNames();
+	}
+
+	@Test
+	public void getConferenceIdBySimilarNameAndAcronym_sameAsComparator() {
+		final var names = new String[][] {
+			{"Autonomous Agents and Multiagent Systems", "AAMAS"}, {"Joint Conference on AI", "IJCAI"},
+			{"Conference on Ambient Systems", "ANT"}, {"Winter Simulation Conference", "WSC"},
+			{"European Conference on Artificial Intelligence", "ECAI"}, {"International Conference", "IC"},
+		};
+		for (final var name : names) {
+			var expected = false;
+			for (var i = 0; i < CONFERENCES.length && !expected; ++i) {
+				expected = this.comparator.isSimilar(name[0], name[1], CONFERENCES[i][0], CONFERENCES[i][1]);
+			}
+			final var id = this.test.getConferenceIdBySimilarNameAndAcronym(name[0], name[1]);
+			assertEquals(expected, id != 0, name[0] + " " + name[1]);
+			if (id != 0) {
+				final var conference = CONFERENCES[(int) id - 1];
+				assertTrue(this.comparator.isSimilar(name[0], name[1], conference[0], conference[1]), name[0] + " " + name[1]);
+			}
+		}
+	}
+
+	@Test
+	public void getConferenceIdBySimilarNameAndAcronym_blocking() {
+		final var spyComparator = spy(new SorensenDiceConferenceNameComparator());
+		final var index = new ConferenceNameIndex(this.conferenceRepository, spyComparator);
+		// No conference has a name or an acronym that shares enough shingles
+		assertEquals(0, index.getConferenceIdBySimilarNameAndAcronym("Winter Simulation Conference", "WSC"));
+		verify(spyComparator, never()).isSimilar(any(), any(), any(), any());
+		// Only the conference with a similar acronym is compared
+		assertEquals(2, index.getConferenceIdBySimilarNameAndAcronym("Joint Conference on AI", "IJCAI"));
+		verify(spyComparator, times(1)).isSimilar(any(), any(), any(), any());
+	}
+
+	@Test
+	public void update() {
+		assertEquals(0, this.test.getConferenceIdBySimilarNameAndAcronym("Winter Simulation Conference", "WSC"));
+		final var conference = mock(Conference.class);
+		when(conference.getId()).thenReturn(4l);
+		when(conference.getName()).thenReturn("Winter Simulation Conference");
+		when(conference.getAcronym()).thenReturn("WSC");
+		this.test.update(conference);
+		assertEquals(4, this.test.getConferenceIdBySimilarNameAndAcronym("Winter Simulation Conference", "WSC"));
+	}
+
+	@Test
+	public void remove() {
+		assertEquals(2, this.test.getConferenceIdBySimilarNameAndAcronym("International Joint Conference on Artificial Intelligence", "IJCAI"));
+		this.test.remove(2);
+		assertEquals(0, this.test.getConferenceIdBySimilarNameAndAcronym("International Joint Conference on Artificial Intelligence", "IJCAI"));
+	}
+
+}
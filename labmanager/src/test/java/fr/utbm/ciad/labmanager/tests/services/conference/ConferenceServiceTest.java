@@ -44,7 +44,9 @@ import fr.utbm.ciad.labmanager.data.conference.Conference;
 import fr.utbm.ciad.labmanager.data.conference.ConferenceQualityAnnualIndicators;
 import fr.utbm.ciad.labmanager.data.conference.ConferenceQualityAnnualIndicatorsRepository;
 import fr.utbm.ciad.labmanager.data.conference.ConferenceRepository;
+import fr.utbm.ciad.labmanager.services.conference.ConferenceNameIndex;
 import fr.utbm.ciad.labmanager.services.conference.ConferenceService;
+import fr.utbm.ciad.labmanager.utils.io.RankingFetchPipeline;
 import fr.utbm.ciad.labmanager.utils.io.coreportal.CorePortal;
 import fr.utbm.ciad.labmanager.utils.names.ConferenceNameComparator;
 import fr.utbm.ciad.labmanager.utils.ranking.CoreRanking;
@@ -96,7 +98,7 @@ public class ConferenceServiceTest {
 		lenient().when(session.getTransaction()).thenReturn(mock(Transaction.class));
 		lenient().when(this.sessionFactory.openSession()).thenReturn(session);
 		this.test = new ConferenceService(this.conferenceRepository,
-				this.indicatorRepository, this.core, this.conferenceNameComparator, this.messages,
+				this.indicatorRepository, this.core, new ConferenceNameIndex(this.conferenceRepository, this.conferenceNameComparator), new RankingFetchPipeline(), this.messages,
 				new ConfigurationConstants(), this.sessionFactory);
 	}
 
@@ -0,0 +1,181 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.services.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import fr.utbm.ciad.labmanager.data.journal.Journal;
+import fr.utbm.ciad.labmanager.data.journal.JournalRepository;
+import fr.utbm.ciad.labmanager.services.journal.JournalNameIndex;
+import fr.utbm.ciad.labmanager.utils.names.JournalNameOrPublisherComparator;
+import fr.utbm.ciad.labmanager.utils.names.sorensendice.SorensenDiceJournalNameOrPublisherComparator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link JournalNameIndex}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class JournalNameIndexTest {
+
+	private static final String[][] JOURNALS = {
+		{"IEEE Transactions on Intelligent Transportation Systems", "IEEE"},
+		{"Engineering Applications of Artificial Intelligence", "Elsevier"},
+		{"Journal of Artificial Societies and Social Simulation", "University of Surrey"},
+		{"Autonomous Agents and Multi-Agent Systems", "Springer"},
+	};
+
+	private JournalRepository journalRepository;
+
+	private JournalNameOrPublisherComparator comparator;
+
+	private JournalNameIndex test;
+
+	@BeforeEach
+	public void setUp() {
+		this.journalRepository = mock(JournalRepository.class);
+		when(this.journalRepository.findAllIdentifiersAndNames()).thenReturn(Arrays.asList(
+				new Object[] {Long.valueOf(1), JOURNALS[0][0], JOURNALS[0][1]},
+				new Object[] {Long.valueOf(2), JOURNALS[1][0], JOURNALS[1][1]},
+				new Object[] {Long.valueOf(3), JOURNALS[2][0], JOURNALS[2][1]},
+				new Object[] {Long.valueOf(4), JOURNALS[3][0], JOURNALS[3][1]}));
+		this.comparator = new SorensenDiceJournalNameOrPublisherComparator();
+		this.test = new JournalNameIndex(this.journalRepository, this.comparator);
+	}
+
+	@Test
+	public void getJournalIdBySimilarNameAndPublisher() {
+		assertEquals(1, this.test.getJournalIdBySimilarNameAndPublisher("IEEE Transactions on Intelligent Transportation Systems", "IEEE"));
+		assertEquals(2, this.test.getJournalIdBySimilarNameAndPublisher("Engineering Applications of Artificial Intelligence", "Elsevier B.V."));
+		assertEquals(4, this.test.getJournalIdBySimilarNameAndPublisher("Autonomous Agents and Multiagent Systems", "Kluwer"));
+		assertEquals(0, this.test.getJournalIdBySimilarNameAndPublisher("Nature Machine Intelligence", "Nature Portfolio"));
+		// The index is built once for all the searches
+		verify(this.journalRepository, times(1)).findAllIdentifiersAndNames();
+	}
+
+	@Test
+	public void getJournalIdBySimilarNameAndPublisher_typos() {
+		// No normalized word is shared with the indexed journals
+		assertEquals(2, this.test.getJournalIdBySimilarNameAndPublisher("Enginering Aplications of Artifical Inteligence", "Elsevir"));
+	}
+
+	@Test
+	public void getJournalIdBySimilarNameAndPublisher_sameAsComparator() {
+		final var names = new String[][] {
+			{"IEEE Trans. on Intelligent Transportation Systems", "IEEE"}, {"Engineering Applications of AI", "Elsevier"},
+			{"J. of Artificial Societies and Social Simulation", "JASSS"}, {"Autonomous Agents", "Springer"},
+			{"Artificial Intelligence", "Elsevier"}, {"Simulation", "Sage"}, {"Nature", "Springer Nature"},
+			{"Intelligent Systems", "Wiley"}, {"Multi-Agent Systems", null}, {null, "IEEE"},
+		};
+		for (final var name : names) {
+			var expected = false;
+			for (var i = 0; i < JOURNALS.length && !expected; ++i) {
+				expected = this.comparator.isSimilar(name[0], name[1], JOURNALS[i][0], JOURNALS[i][1]);
+			}
+			final var id = this.test.getJournalIdBySimilarNameAndPublisher(name[0], name[1]);
+			assertEquals(expected, id != 0, name[0] + " " + name[1]);
+			if (id != 0) {
+				final var journal = JOURNALS[(int) id - 1];
+				assertTrue(this.comparator.isSimilar(name[0], name[1], journal[0], journal[1]), name[0] + " " + name[1]);
+			}
+		}
+	}
+
+	@Test
+	public void getJournalIdBySimilarNameAndPublisher_blocking() {
+		final var spyComparator = spy(new SorensenDiceJournalNameOrPublisherComparator());
+		final var index = new JournalNameIndex(this.journalRepository, spyComparator);
+		// No journal has a name or a publisher that shares enough shingles
+		assertEquals(0, index.getJournalIdBySimilarNameAndPublisher("Nature Machine Intelligence", "Nature Portfolio"));
+		verify(spyComparator, never()).isSimilar(any(), any(), any(), any());
+		// Only the journal with a similar name is compared
+		assertEquals(3, index.getJournalIdBySimilarNameAndPublisher("Journal of Artificial Societies and Social Simulation", "JASSS"));
+		verify(spyComparator, times(1)).isSimilar(any(), any(), any(), any());
+	}
+
+	@Test
+	public void getJournalIdBySimilarNameAndPublisher_lowestIdentifier() {
+		this.test.getJournalIdBySimilarNameAndPublisher("Nature Machine Intelligence", "Nature Portfolio");
+		for (final var id : new long[] {6, 5}) {
+			final var journal = mock(Journal.class);
+			when(journal.getId()).thenReturn(id);
+			when(journal.getJournalName()).thenReturn("Nature Machine Intelligence");
+			when(journal.getPublisher()).thenReturn("Nature Portfolio");
+			this.test.update(journal);
+		}
+		assertEquals(5, this.test.getJournalIdBySimilarNameAndPublisher("Nature Machine Intelligence", "Nature Portfolio"));
+		this.test.remove(5);
+		assertEquals(6, this.test.getJournalIdBySimilarNameAndPublisher("Nature Machine Intelligence", "Nature Portfolio"));
+	}
+
+	@Test
+	public void update() {
+		assertEquals(0, this.test.getJournalIdBySimilarNameAndPublisher("Nature Machine Intelligence", "Nature Portfolio"));
+		final var journal = mock(Journal.class);
+		when(journal.getId()).thenReturn(5l);
+		when(journal.getJournalName()).thenReturn("Nature Machine Intelligence");
+		when(journal.getPublisher()).thenReturn("Nature Portfolio");
+		this.test.update(journal);
+		assertEquals(5, this.test.getJournalIdBySimilarNameAndPublisher("Nature Machine Intelligence", "Nature Portfolio"));
+
+		// Rename
+		when(journal.getJournalName()).thenReturn("Cognitive Systems Research");
+		when(journal.getPublisher()).thenReturn("Taylor & Francis");
+		this.test.update(journal);
+		assertEquals(0, this.test.getJournalIdBySimilarNameAndPublisher("Nature Machine Intelligence", "Nature Portfolio"));
+		assertEquals(5, this.test.getJournalIdBySimilarNameAndPublisher("Cognitive Systems Research", "Taylor & Francis"));
+	}
+
+	@Test
+	public void update_notInitialized() {
+		final var journal = mock(Journal.class);
+		when(journal.getId()).thenReturn(5l);
+		this.test.update(journal);
+		verify(this.journalRepository, never()).findAllIdentifiersAndNames();
+	}
+
+	@Test
+	public void remove() {
+		assertEquals(3, this.test.getJournalIdBySimilarNameAndPublisher("Journal of Artificial Societies and Social Simulation", "University of Surrey"));
+		this.test.remove(3);
+		assertEquals(0, this.test.getJournalIdBySimilarNameAndPublisher("Journal of Artificial Societies and Social Simulation", "University of Surrey"));
+	}
+
+	@Test
+	public void invalidate() {
+		this.test.getJournalIdBySimilarNameAndPublisher("Autonomous Agents and Multi-Agent Systems", "Springer");
+		this.test.invalidate();
+		this.test.getJournalIdBySimilarNameAndPublisher("Autonomous Agents and Multi-Agent Systems", "Springer");
+		verify(this.journalRepository, times(2)).findAllIdentifiersAndNames();
+	}
+
+}
@@ -35,6 +35,7 @@ import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.only;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -57,8 +58,10 @@ import fr.utbm.ciad.labmanager.data.journal.JournalRepository;
 import fr.utbm.ciad.labmanager.data.publication.AbstractJournalBasedPublication;
 import fr.utbm.ciad.labmanager.data.publication.type.JournalPaper;
 import fr.utbm.ciad.labmanager.data.publication.type.JournalPaperRepository;
+import fr.utbm.ciad.labmanager.services.journal.JournalNameIndex;
 import fr.utbm.ciad.labmanager.services.journal.JournalService;
 import fr.utbm.ciad.labmanager.tests.utils.TestUtils;
+import fr.utbm.ciad.labmanager.utils.io.RankingFetchPipeline;
 import fr.utbm.ciad.labmanager.utils.io.network.DirectNetConnection;
 import fr.utbm.ciad.labmanager.utils.io.network.NetConnection;
 import fr.utbm.ciad.labmanager.utils.io.scimago.OnlineScimagoPlatform;
@@ -74,7 +77,10 @@ import org.junit.jupiter.api.condition.EnabledIf;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
 import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 /** Tests for {@link JournalService}.
  * 
@@ -127,8 +133,8 @@ public class JournalServiceTest {
 		this.netConnection = mock(NetConnection.class);
 		this.journalNameAndPublisherComparator = mock(JournalNameOrPublisherComparator.class);
 		this.test = new JournalService(this.journalRepository,
-				this.indicatorRepository, this.publicationRepository, this.scimago, this.wos, this.netConnection, this.journalNameAndPublisherComparator,
-				this.messages, new ConfigurationConstants(), this.sessionFactory);
+				this.indicatorRepository, this.publicationRepository, this.scimago, this.wos, this.netConnection, new JournalNameIndex(this.journalRepository, this.journalNameAndPublisherComparator),
+				new RankingFetchPipeline(), this.messages, new ConfigurationConstants(), this.sessionFactory);
 
 		// Prepare some journals to be inside the repository
 		// The lenient configuration is used to configure the mocks for all the tests
@@ -668,8 +674,8 @@ public class JournalServiceTest {
 		this.scimago = new OnlineScimagoPlatform();
 		this.netConnection = new DirectNetConnection();
 		this.test = new JournalService(this.journalRepository, this.indicatorRepository,
-				this.publicationRepository, this.scimago, this.wos, this.netConnection, this.journalNameAndPublisherComparator,
-				this.messages, new ConfigurationConstants(), this.sessionFactory);
+				this.publicationRepository, this.scimago, this.wos, this.netConnection, new JournalNameIndex(this.journalRepository, this.journalNameAndPublisherComparator),
+				new RankingFetchPipeline(), this.messages, new ConfigurationConstants(), this.sessionFactory);
 
 		// The following id is for the Int. Journal of Artificial Intelligence
 		when(this.jour3.getScimagoId()).thenReturn("23675");
@@ -706,4 +712,42 @@ public class JournalServiceTest {
 		verify(this.indicatorRepository).delete(same(inds));
 	}
 
+	@Test
+	public void saveOrCreateIfFake_updateIndexAfterCommit() throws Exception {
+		final var nameIndex = mock(JournalNameIndex.class);
+		this.test = new JournalService(this.journalRepository,
+				this.indicatorRepository, this.publicationRepository, this.scimago, this.wos, this.netConnection, nameIndex,
+				new RankingFetchPipeline(), this.messages, new ConfigurationConstants(), this.sessionFactory);
+		final var journal = mock(Journal.class);
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			this.test.saveOrCreateIfFake(journal, mock(Logger.class));
+			verify(nameIndex, never()).update(any());
+			TransactionSynchronizationUtils.triggerAfterCommit();
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		verify(nameIndex, times(1)).update(same(journal));
+	}
+
+	@Test
+	public void downloadJournalIndicatorsFromScimago_tableLoadedOnce() throws Exception {
+		final var journal1 = mock(Journal.class);
+		when(journal1.getId()).thenReturn(1l);
+		when(journal1.getScimagoId()).thenReturn("s1");
+		final var journal2 = mock(Journal.class);
+		when(journal2.getId()).thenReturn(2l);
+		when(journal2.getScimagoId()).thenReturn("s2");
+		when(this.scimago.getJournalRanking(eq(2023), any())).thenReturn(Collections.singletonMap("s1",
+				Collections.singletonMap("AI", QuartileRanking.Q1)));
+		final var consumer = mock(JournalService.JournalRankingConsumer.class);
+
+		this.test.downloadJournalIndicatorsFromScimago(2023, Arrays.asList(journal1, journal2), mock(Logger.class), null, consumer);
+
+		verify(this.scimago, times(1)).getJournalRanking(eq(2023), any());
+		verify(this.scimago, never()).getJournalRanking(anyInt(), anyString(), any());
+		verify(consumer).consume(eq(2023), eq(1l), any(), any(), eq(Collections.singletonMap("AI", QuartileRanking.Q1)));
+		verify(consumer).consume(eq(2023), eq(2l), any(), any(), eq(Collections.emptyMap()));
+	}
+
 }
@@ -19,6 +19,7 @@ package fr.utbm.ciad.labmanager.tests.services.member;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -38,13 +39,16 @@ import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import com.google.common.collect.Sets;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorCache;
 import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.member.MemberStatus;
 import fr.utbm.ciad.labmanager.data.member.Membership;
@@ -57,6 +61,9 @@ import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
 import fr.utbm.ciad.labmanager.data.scientificaxis.ScientificAxis;
 import fr.utbm.ciad.labmanager.services.member.MemberFiltering;
 import fr.utbm.ciad.labmanager.services.member.MembershipService;
+import fr.utbm.ciad.labmanager.services.organization.OrganizationHierarchyIndex;
+import fr.utbm.ciad.labmanager.services.publication.PublicationCountCache;
+import fr.utbm.ciad.labmanager.services.publication.PublicationCountMatrix;
 import fr.utbm.ciad.labmanager.utils.bap.FrenchBap;
 import fr.utbm.ciad.labmanager.utils.cnu.CnuSection;
 import fr.utbm.ciad.labmanager.utils.conrs.ConrsSection;
@@ -67,7 +74,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
 import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 /** Tests for {@link MembershipService}.
  * 
@@ -110,6 +120,10 @@ public class MembershipServiceTest {
 
 	private SessionFactory sessionFactory;
 
+	private IndicatorCache indicatorCache;
+
+	private PublicationCountCache countCache;
+
 	@BeforeEach
 	public void setUp() {
 		this.messages = mock(MessageSourceAccessor.class);
@@ -117,8 +131,10 @@ public class MembershipServiceTest {
 		this.membershipRepository = mock(MembershipRepository.class);
 		this.personRepository = mock(PersonRepository.class);
 		this.sessionFactory = mock(SessionFactory.class);
+		this.indicatorCache = new IndicatorCache();
+		this.countCache = new PublicationCountCache();
 		this.test = new MembershipService(this.organizationRepository, this.membershipRepository, this.personRepository,
-				this.messages, new ConfigurationConstants(), this.sessionFactory);
+				this.indicatorCache, this.countCache, new OrganizationHierarchyIndex(this.organizationRepository), this.messages, new ConfigurationConstants(), this.sessionFactory);
 
 		// Prepare some memberships to be inside the repository
 		// The lenient configuration is used to configure the mocks for all the tests
@@ -196,6 +212,23 @@ public class MembershipServiceTest {
 			}
 			return Collections.emptySet();
 		});
+		lenient().when(this.personRepository.findDistinctByMembershipsResearchOrganizationIdIn(any())).then(it -> {
+			final var persons = new HashSet<Person>();
+			for (final var orgaId : (Collection<Long>) it.getArgument(0)) {
+				persons.addAll(this.personRepository.findDistinctByMembershipsResearchOrganizationId(orgaId.longValue()));
+			}
+			return persons;
+		});
+		lenient().when(this.organizationRepository.findAllIdentifiersAndSubOrganizationIdentifiers()).then(it -> {
+			final var rows = new ArrayList<Object[]>();
+			for (final var orga : List.of(this.o1, this.o2)) {
+				rows.add(new Object[] {Long.valueOf(orga.getId()), null});
+				for (final var sub : orga.getSubOrganizations()) {
+					rows.add(new Object[] {Long.valueOf(orga.getId()), Long.valueOf(sub.getId())});
+				}
+			}
+			return rows;
+		});
 		lenient().when(this.personRepository.findDistinctByMembershipsResearchOrganizationNameAndMembershipsMemberStatus(anyString(), any())).then(it -> {
 			final String orgaName = it.getArgument(0).toString();
 			final MemberStatus status = (MemberStatus) it.getArgument(1);
@@ -627,4 +660,23 @@ public class MembershipServiceTest {
 		verify(this.membershipRepository, atLeastOnce()).deleteById(eq(234l));
 	}
 
+	@Test
+	public void startEditing_save_invalidateIndicatorsAfterCommit() throws Exception {
+		when(this.membershipRepository.save(any())).then(it -> it.getArgument(0));
+		this.indicatorCache.getValue("ind", 1, null, null, () -> Integer.valueOf(1)); //$NON-NLS-1$
+		final var matrix = new PublicationCountMatrix(Collections.emptyList());
+		this.countCache.getMatrix(1, () -> matrix);
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			this.test.startEditing(new Membership(), mock(Logger.class)).save();
+			assertTrue(this.indicatorCache.contains("ind", 1, null, null)); //$NON-NLS-1$
+			assertSame(matrix, this.countCache.getMatrix(1, () -> null));
+			TransactionSynchronizationUtils.triggerAfterCommit();
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		assertFalse(this.indicatorCache.contains("ind", 1, null, null)); //$NON-NLS-1$
+		assertNotSame(matrix, this.countCache.getMatrix(1, () -> new PublicationCountMatrix(Collections.emptyList())));
+	}
+
 }
@@ -0,0 +1,178 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.services.member;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.member.PersonRepository;
+import fr.utbm.ciad.labmanager.services.member.PersonNameIndex;
+import fr.utbm.ciad.labmanager.utils.names.DefaultPersonNameParser;
+import fr.utbm.ciad.labmanager.utils.names.NormalizedPersonName;
+import fr.utbm.ciad.labmanager.utils.names.PersonNameComparator;
+import fr.utbm.ciad.labmanager.utils.names.sorensendice.SorensenDicePersonNameComparator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link PersonNameIndex}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class PersonNameIndexTest {
+
+	private PersonRepository personRepository;
+
+	private PersonNameComparator comparator;
+
+	private PersonNameIndex test;
+
+	@BeforeEach
+	public void setUp() {
+		this.personRepository = mock(PersonRepository.class);
+		when(this.personRepository.findAllIdentifiersAndNames()).thenReturn(Arrays.asList(
+				new Object[] {Long.valueOf(1), "Stephane", "Galland"},
+				new Object[] {Long.valueOf(2), "Jean-Pierre", "Dupont"},
+				new Object[] {Long.valueOf(3), "Marie", "Curie"}));
+		final var parser = new DefaultPersonNameParser();
+		this.comparator = new SorensenDicePersonNameComparator(parser);
+		this.test = new PersonNameIndex(this.personRepository, parser, this.comparator);
+	}
+
+	@Test
+	public void getPersonIdBySimilarName() {
+		assertEquals(1, this.test.getPersonIdBySimilarName("Stephane", "Galland"));
+		assertEquals(1, this.test.getPersonIdBySimilarName("S.", "Galland"));
+		assertEquals(1, this.test.getPersonIdBySimilarName("Galland", "Stephane"));
+		assertEquals(2, this.test.getPersonIdBySimilarName("J.-P.", "Dupont"));
+		assertEquals(2, this.test.getPersonIdBySimilarName("Jean Pierre", "Dupont"));
+		assertEquals(0, this.test.getPersonIdBySimilarName("Albert", "Einstein"));
+		assertEquals(0, this.test.getPersonIdBySimilarName(null, null));
+		// The index is built once
+		verify(this.personRepository, times(1)).findAllIdentifiersAndNames();
+	}
+
+	@Test
+	public void getPersonIdBySimilarName_typos() {
+		// No normalized name is shared with the indexed persons
+		assertEquals(1, this.test.getPersonIdBySimilarName("Stephan", "Galand"));
+	}
+
+	@Test
+	public void getPersonIdBySimilarName_sameAsComparator() {
+		final var names = new String[][] {
+			{"Stephane", "Galland"}, {"S", "Galland"}, {"Stephane", "G"}, {"Marie", "Curi"},
+			{"M", "C"}, {"Pierre", "Dupont"}, {"Jean", "Dupond"}, {"Albert", "Einstein"},
+			{"Galland", "Stephane"}, {"J.-P.", "Dupont"}, {"Stephan", "Galand"}, {"Curie", "M."},
+		};
+		final var persons = new String[][] {
+			{"Stephane", "Galland"}, {"Jean-Pierre", "Dupont"}, {"Marie", "Curie"},
+		};
+		for (final var name : names) {
+			var expected = 0l;
+			for (var i = 0; i < persons.length && expected == 0; ++i) {
+				if (this.comparator.isSimilar(name[0], name[1], persons[i][0], persons[i][1])) {
+					expected = i + 1;
+				}
+			}
+			assertEquals(expected, this.test.getPersonIdBySimilarName(name[0], name[1]), name[0] + " " + name[1]);
+		}
+	}
+
+	@Test
+	public void getPersonIdBySimilarName_noFullScan() {
+		final var parser = new DefaultPersonNameParser();
+		final var comparator = spy(new SorensenDicePersonNameComparator(parser));
+		final var index = new PersonNameIndex(this.personRepository, parser, comparator);
+		assertEquals(0, index.getPersonIdBySimilarName("Albert", "Einstein"));
+		verify(comparator, never()).isSimilar(any(NormalizedPersonName.class), any(NormalizedPersonName.class));
+	}
+
+	@Test
+	public void getPersonBySimilarName_persons() {
+		final var person1 = mock(Person.class);
+		when(person1.getFirstName()).thenReturn("Albert");
+		when(person1.getLastName()).thenReturn("Einstein");
+		final var person2 = mock(Person.class);
+		when(person2.getFirstName()).thenReturn("Marie");
+		when(person2.getLastName()).thenReturn("Curie");
+		final var persons = Arrays.asList(person1, person2);
+		assertSame(person2, this.test.getPersonBySimilarName(persons, "M.", "Curie"));
+		assertSame(person1, this.test.getPersonBySimilarName(persons, "Albert", "Einstein"));
+		assertNull(this.test.getPersonBySimilarName(persons, "Stephane", "Galland"));
+		assertNull(this.test.getPersonBySimilarName(Collections.emptyList(), "Albert", "Einstein"));
+		// The index is not used
+		verify(this.personRepository, never()).findAllIdentifiersAndNames();
+	}
+
+	@Test
+	public void update() {
+		assertEquals(0, this.test.getPersonIdBySimilarName("Albert", "Einstein"));
+		final var person = mock(Person.class);
+		when(person.getId()).thenReturn(4l);
+		when(person.getFirstName()).thenReturn("Albert");
+		when(person.getLastName()).thenReturn("Einstein");
+		this.test.update(person);
+		assertEquals(4, this.test.getPersonIdBySimilarName("A.", "Einstein"));
+
+		// Rename
+		when(person.getLastName()).thenReturn("Newton");
+		this.test.update(person);
+		assertEquals(0, this.test.getPersonIdBySimilarName("Albert", "Einstein"));
+		assertEquals(4, this.test.getPersonIdBySimilarName("Albert", "Newton"));
+	}
+
+	@Test
+	public void update_notInitialized() {
+		final var person = mock(Person.class);
+		when(person.getId()).thenReturn(4l);
+		this.test.update(person);
+		verify(this.personRepository, never()).findAllIdentifiersAndNames();
+	}
+
+	@Test
+	public void remove() {
+		assertEquals(3, this.test.getPersonIdBySimilarName("Marie", "Curie"));
+		this.test.remove(3);
+		assertEquals(0, this.test.getPersonIdBySimilarName("Marie", "Curie"));
+	}
+
+	@Test
+	public void invalidate() {
+		this.test.getPersonIdBySimilarName("Marie", "Curie");
+		this.test.invalidate();
+		this.test.getPersonIdBySimilarName("Marie", "Curie");
+		verify(this.personRepository, times(2)).findAllIdentifiersAndNames();
+	}
+
+}
@@ -22,6 +22,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -29,10 +30,12 @@ import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.only;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -46,8 +49,11 @@ import fr.utbm.ciad.labmanager.data.member.PersonRepository;
 import fr.utbm.ciad.labmanager.data.member.WebPageNaming;
 import fr.utbm.ciad.labmanager.data.publication.AuthorshipRepository;
 import fr.utbm.ciad.labmanager.data.publication.PublicationRepository;
+import fr.utbm.ciad.labmanager.security.AuthenticatedUser;
+import fr.utbm.ciad.labmanager.services.member.PersonNameIndex;
 import fr.utbm.ciad.labmanager.services.member.PersonService;
 import fr.utbm.ciad.labmanager.utils.country.CountryCode;
+import fr.utbm.ciad.labmanager.utils.io.RankingFetchPipeline;
 import fr.utbm.ciad.labmanager.utils.io.gscholar.GoogleScholarPlatform;
 import fr.utbm.ciad.labmanager.utils.io.scopus.ScopusPlatform;
 import fr.utbm.ciad.labmanager.utils.io.wos.WebOfSciencePlatform;
@@ -64,6 +70,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 /** Tests for {@link PersonService}.
  * 
@@ -104,6 +112,8 @@ public class PersonServiceTest {
 
 	private WebOfSciencePlatform wosPlatfom;
 
+	private AuthenticatedUser authenticatedUser;
+
 	private PersonService test;
 
 	@BeforeEach
@@ -120,9 +130,11 @@ public class PersonServiceTest {
 		this.nameParser = new DefaultPersonNameParser();
 		// Create a real comparator instance to be used in the test
 		this.nameComparator = new SorensenDicePersonNameComparator(this.nameParser);
+		this.authenticatedUser = mock(AuthenticatedUser.class);
 		this.test = new PersonService(this.publicationRepository, this.authorshipRepository, this.personRepository,
 				this.googlePlatfom, this.scopusPlatfom, this.wosPlatfom, this.nameParser, this.nameComparator,
-				this.messages, new ConfigurationConstants(), this.sessionFactory);
+				new PersonNameIndex(this.personRepository, this.nameParser, this.nameComparator),
+				new RankingFetchPipeline(), this.authenticatedUser, this.messages, new ConfigurationConstants(), this.sessionFactory);
 
 		// Prepare some persons to be inside the repository
 		// The lenient configuration is used to configure the mocks for all the tests
@@ -146,6 +158,18 @@ public class PersonServiceTest {
 
 		lenient().when(this.personRepository.findAll()).thenReturn(
 				Arrays.asList(this.pers0, this.pers1, this.pers2, this.pers3));
+		lenient().when(this.personRepository.findAllIdentifiersAndNames()).thenReturn(Arrays.asList(
+				new Object[] {Long.valueOf(123l), "F1", "L1"},
+				new Object[] {Long.valueOf(234l), "F2", "L2"},
+				new Object[] {Long.valueOf(345l), "F3", "L3"},
+				new Object[] {Long.valueOf(456l), "F4", "L4"}));
+		lenient().when(this.personRepository.findAllById(any())).then(it -> {
+			final var persons = new ArrayList<Person>();
+			for (final var id : (Iterable<Long>) it.getArgument(0)) {
+				this.personRepository.findById(id).ifPresent(persons::add);
+			}
+			return persons;
+		});
 		lenient().when(this.personRepository.findById(anyLong())).then(it -> {
 			var n = ((Number) it.getArgument(0)).longValue();
 			if (n == 123l) {
@@ -407,4 +431,18 @@ public class PersonServiceTest {
 		assertFalse(r);
 	}
 
+	@Test
+	public void startEditing_save_invalidateAuthenticatedUserAfterCommit() throws Exception {
+		when(this.personRepository.save(any())).then(it -> it.getArgument(0));
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			this.test.startEditing(new Person(), LoggerFactory.getLogger(getClass())).save();
+			verify(this.authenticatedUser, never()).invalidate();
+			TransactionSynchronizationUtils.triggerAfterCommit();
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		verify(this.authenticatedUser).invalidate();
+	}
+
 }
@@ -0,0 +1,137 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.services.organization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
+import fr.utbm.ciad.labmanager.services.organization.OrganizationHierarchyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link OrganizationHierarchyIndex}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class OrganizationHierarchyIndexTest {
+
+	private ResearchOrganizationRepository organizationRepository;
+
+	private OrganizationHierarchyIndex test;
+
+	@BeforeEach
+	public void setUp() {
+		this.organizationRepository = mock(ResearchOrganizationRepository.class);
+		// 1 -> 2 -> 3, 1 -> 4, 5
+		when(this.organizationRepository.findAllIdentifiersAndSubOrganizationIdentifiers()).thenReturn(Arrays.asList(
+				new Object[] {Long.valueOf(1), Long.valueOf(2)},
+				new Object[] {Long.valueOf(1), Long.valueOf(4)},
+				new Object[] {Long.valueOf(2), Long.valueOf(3)},
+				new Object[] {Long.valueOf(3), null},
+				new Object[] {Long.valueOf(4), null},
+				new Object[] {Long.valueOf(5), null}));
+		this.test = new OrganizationHierarchyIndex(this.organizationRepository);
+	}
+
+	@Test
+	public void isInside() {
+		assertTrue(this.test.isInside(3, 3));
+		assertTrue(this.test.isInside(3, 2));
+		assertTrue(this.test.isInside(3, 1));
+		assertTrue(this.test.isInside(4, 1));
+		assertFalse(this.test.isInside(1, 3));
+		assertFalse(this.test.isInside(4, 2));
+		assertFalse(this.test.isInside(5, 1));
+		// The index is built once
+		verify(this.organizationRepository, times(1)).findAllIdentifiersAndSubOrganizationIdentifiers();
+	}
+
+	@Test
+	public void isInside_unsavedEntity() {
+		final var parent = mock(ResearchOrganization.class);
+		when(parent.getId()).thenReturn(2l);
+		final var orga = mock(ResearchOrganization.class);
+		when(orga.getId()).thenReturn(0l);
+		when(orga.getSuperOrganizations()).thenReturn(Collections.singleton(parent));
+		assertTrue(this.test.isInside(orga, 2));
+		assertFalse(this.test.isInside(orga, 1));
+	}
+
+	@Test
+	public void getOrganizationAndSubOrganizations() {
+		assertEquals(Set.of(1l, 2l, 3l, 4l), this.test.getOrganizationAndSubOrganizations(1));
+		assertEquals(Set.of(2l, 3l), this.test.getOrganizationAndSubOrganizations(2));
+		assertEquals(Set.of(5l), this.test.getOrganizationAndSubOrganizations(5));
+		assertTrue(this.test.getOrganizationAndSubOrganizations(6).isEmpty());
+	}
+
+	@Test
+	public void getOrganizationAndSubOrganizations_unknownNoReload() {
+		assertTrue(this.test.getOrganizationAndSubOrganizations(6).isEmpty());
+		assertTrue(this.test.getOrganizationAndSubOrganizations(6).isEmpty());
+		assertTrue(this.test.getOrganizationAndSubOrganizations(7).isEmpty());
+		verify(this.organizationRepository, times(1)).findAllIdentifiersAndSubOrganizationIdentifiers();
+	}
+
+	@Test
+	public void update() {
+		assertFalse(this.test.isInside(5, 1));
+		final var parent = mock(ResearchOrganization.class);
+		when(parent.getId()).thenReturn(3l);
+		final var orga = mock(ResearchOrganization.class);
+		when(orga.getId()).thenReturn(5l);
+		when(orga.getSuperOrganizations()).thenReturn(Collections.singleton(parent));
+		this.test.update(orga);
+		assertTrue(this.test.isInside(5, 1));
+		assertEquals(Set.of(2l, 3l, 5l), this.test.getOrganizationAndSubOrganizations(2));
+		verify(this.organizationRepository, times(1)).findAllIdentifiersAndSubOrganizationIdentifiers();
+	}
+
+	@Test
+	public void update_notInitialized() {
+		final var orga = mock(ResearchOrganization.class);
+		when(orga.getId()).thenReturn(5l);
+		this.test.update(orga);
+		verify(this.organizationRepository, never()).findAllIdentifiersAndSubOrganizationIdentifiers();
+	}
+
+	@Test
+	public void remove() {
+		assertTrue(this.test.isInside(3, 1));
+		this.test.remove(2);
+		assertFalse(this.test.isInside(3, 1));
+		assertEquals(Set.of(1l, 4l), this.test.getOrganizationAndSubOrganizations(1));
+	}
+
+}
@@ -45,7 +45,9 @@ import fr.utbm.ciad.labmanager.data.organization.OrganizationAddressRepository;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganization;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
 import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationType;
+import fr.utbm.ciad.labmanager.services.organization.OrganizationHierarchyIndex;
 import fr.utbm.ciad.labmanager.services.organization.ResearchOrganizationService;
+import fr.utbm.ciad.labmanager.services.publication.PublicationCountCache;
 import fr.utbm.ciad.labmanager.utils.country.CountryCode;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
 import fr.utbm.ciad.labmanager.utils.names.OrganizationNameComparator;
@@ -99,7 +101,7 @@ public class ResearchOrganizationServiceTest {
 		this.sessionFactory = mock(SessionFactory.class);
 		this.fileManager = mock(DownloadableFileManager.class);
 		this.test = new ResearchOrganizationService(this.addressRepository, this.organizationRepository, this.fileManager,
-				this.organizationNameComparator,
+				this.organizationNameComparator, new OrganizationHierarchyIndex(this.organizationRepository), new PublicationCountCache(),
 				this.messages, new ConfigurationConstants(), this.sessionFactory);
 
 		// Prepare some organizations to be inside the repository
@@ -36,6 +36,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorCache;
 import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
 import fr.utbm.ciad.labmanager.data.member.Membership;
 import fr.utbm.ciad.labmanager.data.member.Person;
@@ -96,7 +97,7 @@ public class ProjectServiceTest {
 		this.fileManager = mock(DownloadableFileManager.class);
 		this.sessionFactory = mock(SessionFactory.class);
 		this.test = new ProjectService(this.projectRepository, this.projectMemberRepository,
-				this.organizationRepository, this.personRepository, this.membershipService, this.fileManager,
+				this.organizationRepository, this.personRepository, this.membershipService, this.fileManager, new IndicatorCache(),
 				this.messages, new ConfigurationConstants(), this.sessionFactory);
 	}
 	
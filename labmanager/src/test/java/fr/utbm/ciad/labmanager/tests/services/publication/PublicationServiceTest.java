@@ -42,8 +42,11 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -55,7 +58,9 @@ import java.util.Optional;
 import java.util.Set;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorCache;
 import fr.utbm.ciad.labmanager.configuration.ConfigurationConstants;
+import fr.utbm.ciad.labmanager.data.conference.Conference;
 import fr.utbm.ciad.labmanager.data.conference.ConferenceRepository;
 import fr.utbm.ciad.labmanager.data.journal.JournalRepository;
 import fr.utbm.ciad.labmanager.data.member.Person;
@@ -64,14 +69,22 @@ import fr.utbm.ciad.labmanager.data.publication.Authorship;
 import fr.utbm.ciad.labmanager.data.publication.AuthorshipRepository;
 import fr.utbm.ciad.labmanager.data.publication.Publication;
 import fr.utbm.ciad.labmanager.data.publication.PublicationRepository;
+import fr.utbm.ciad.labmanager.data.publication.PublicationType;
 import fr.utbm.ciad.labmanager.data.publication.comparators.PublicationTitleComparator;
 import fr.utbm.ciad.labmanager.data.publication.comparators.SorensenDicePublicationTitleComparator;
+import fr.utbm.ciad.labmanager.services.conference.ConferenceNameIndex;
 import fr.utbm.ciad.labmanager.services.conference.ConferenceService;
+import fr.utbm.ciad.labmanager.services.journal.JournalNameIndex;
 import fr.utbm.ciad.labmanager.services.journal.JournalService;
 import fr.utbm.ciad.labmanager.services.member.MembershipService;
+import fr.utbm.ciad.labmanager.services.member.PersonNameIndex;
 import fr.utbm.ciad.labmanager.services.member.PersonService;
+import fr.utbm.ciad.labmanager.services.organization.OrganizationHierarchyIndex;
 import fr.utbm.ciad.labmanager.services.publication.PrePublicationFactory;
+import fr.utbm.ciad.labmanager.services.publication.PublicationCountCache;
+import fr.utbm.ciad.labmanager.services.publication.PublicationFetchPlan;
 import fr.utbm.ciad.labmanager.services.publication.PublicationService;
+import fr.utbm.ciad.labmanager.services.publication.PublicationTitleIndex;
 import fr.utbm.ciad.labmanager.services.publication.type.BookChapterService;
 import fr.utbm.ciad.labmanager.services.publication.type.BookService;
 import fr.utbm.ciad.labmanager.services.publication.type.ConferencePaperService;
@@ -85,16 +98,22 @@ import fr.utbm.ciad.labmanager.services.publication.type.ThesisService;
 import fr.utbm.ciad.labmanager.utils.io.ExporterConfigurator;
 import fr.utbm.ciad.labmanager.utils.io.bibtex.BibTeX;
 import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
+import fr.utbm.ciad.labmanager.utils.io.filemanager.ThumbnailPipeline;
 import fr.utbm.ciad.labmanager.utils.io.html.HtmlDocumentExporter;
 import fr.utbm.ciad.labmanager.utils.io.json.JsonExporter;
 import fr.utbm.ciad.labmanager.utils.io.od.OpenDocumentTextPublicationExporter;
 import fr.utbm.ciad.labmanager.utils.io.ris.RIS;
 import fr.utbm.ciad.labmanager.utils.names.DefaultPersonNameParser;
 import fr.utbm.ciad.labmanager.utils.names.PersonNameParser;
+import fr.utbm.ciad.labmanager.utils.names.sorensendice.SorensenDiceConferenceNameComparator;
+import fr.utbm.ciad.labmanager.utils.names.sorensendice.SorensenDiceJournalNameOrPublisherComparator;
+import fr.utbm.ciad.labmanager.utils.names.sorensendice.SorensenDicePersonNameComparator;
 import org.arakhne.afc.progress.DefaultProgression;
 import org.arakhne.afc.progress.Progression;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure2;
+import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.collection.spi.PersistentSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -104,6 +123,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 /** Tests for {@link PublicationService}.
  * 
@@ -182,6 +207,8 @@ public class PublicationServiceTest {
 
 	private ThesisService thesisService;
 
+	private Session session;
+
 	@BeforeEach
 	public void setUp() {
 		this.fileManager = mock(DownloadableFileManager.class);
@@ -213,18 +240,24 @@ public class PublicationServiceTest {
 		this.patentService = mock(PatentService.class);
 		this.reportService = mock(ReportService.class);
 		this.thesisService = mock(ThesisService.class);
+		this.session = mock(Session.class);
+		final var sessionFactory = mock(SessionFactory.class);
+		lenient().when(sessionFactory.getCurrentSession()).thenReturn(this.session);
 		this.test = new PublicationService(this.publicationRepository, this.prePublicationFactory,
 				this.authorshipRepository,
 				this.personService, this.personRepository,
 				this.journalService, this.journalRepository,
 				this.conferenceService, this.conferenceRepository,
-				this.nameParser,this.titleComparator, this.bibtex, this.ris, this.html,
-				this.odt, this.json, this.fileManager, this.membershipService,
+				this.nameParser,this.titleComparator, new PublicationTitleIndex(this.publicationRepository),
+				new PersonNameIndex(this.personRepository, this.nameParser, new SorensenDicePersonNameComparator(this.nameParser)),
+				new JournalNameIndex(this.journalRepository, new SorensenDiceJournalNameOrPublisherComparator()),
+				new ConferenceNameIndex(this.conferenceRepository, new SorensenDiceConferenceNameComparator()), new IndicatorCache(), new PublicationCountCache(), this.bibtex, this.ris, this.html,
+				this.odt, this.json, this.fileManager, new ThumbnailPipeline(this.fileManager, 1), this.membershipService,
 				this.bookService, this.bookChapterService, this.conferencePaperService,
 				this.journalEditionService, this.journalPaperService, this.keyNoteService,
 				this.miscDocumentService, this.patentService, this.reportService,
 				this.thesisService, this.messages, new ConfigurationConstants(),
-				mock(SessionFactory.class));
+				sessionFactory);
 
 		// Prepare some publications to be inside the repository
 		// The lenient configuration is used to configure the mocks for all the tests
@@ -283,6 +316,47 @@ public class PublicationServiceTest {
 		assertSame(expected, set);
 	}
 
+	@Test
+	@DisplayName("getPublicationBySimilarTitle")
+	public void getPublicationBySimilarTitle() {
+		when(this.publicationRepository.findAllIdentifiersAndTitles()).thenReturn(Arrays.asList(
+				new Object[] {Long.valueOf(123l), "Multiagent simulation of traffic"},
+				new Object[] {Long.valueOf(234l), "Holonic architecture for smart grids"},
+				new Object[] {Long.valueOf(345l), "Multi-agent simulation of the traffic"}));
+
+		assertSame(this.pub1, this.test.getPublicationBySimilarTitle("Holonic architectures for smart grid"));
+		assertSame(this.pub0, this.test.getPublicationBySimilarTitle("Multiagent simulation of traffic"));
+		assertNull(this.test.getPublicationBySimilarTitle("Deep learning for autonomous vehicles"));
+		verify(this.publicationRepository, never()).findAll();
+	}
+
+	@Test
+	@DisplayName("removePublication w/ rollback")
+	public void removePublication_rollback() {
+		when(this.publicationRepository.findAllIdentifiersAndTitles()).thenReturn(Collections.singletonList(
+				new Object[] {Long.valueOf(234l), "Holonic architecture for smart grids"}));
+		assertSame(this.pub1, this.test.getPublicationBySimilarTitle("Holonic architecture for smart grids"));
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			this.test.removePublication(234, false, LoggerFactory.getLogger(getClass()));
+			TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		// The title is still in the index because the deletion was not committed
+		assertSame(this.pub1, this.test.getPublicationBySimilarTitle("Holonic architecture for smart grids"));
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			this.test.removePublication(234, false, LoggerFactory.getLogger(getClass()));
+			TransactionSynchronizationUtils.triggerAfterCommit();
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		assertNull(this.test.getPublicationBySimilarTitle("Holonic architecture for smart grids"));
+	}
+
 	@Test
 	@DisplayName("removePublication")
 	public void removePublication() {
@@ -296,6 +370,31 @@ public class PublicationServiceTest {
 		verifyNoMoreInteractions(this.publicationRepository);
 	}
 
+	@Test
+	@DisplayName("countPublicationsPerTypeAndYear")
+	public void countPublicationsPerTypeAndYear() {
+		when(this.publicationRepository.countPublicationsPerTypeAndYear()).thenReturn(Arrays.asList(
+				new Object[] {PublicationType.INTERNATIONAL_JOURNAL_PAPER, Integer.valueOf(2022), Long.valueOf(3)},
+				new Object[] {PublicationType.INTERNATIONAL_JOURNAL_PAPER, Integer.valueOf(2023), Long.valueOf(5)},
+				new Object[] {PublicationType.INTERNATIONAL_CONFERENCE_PAPER, Integer.valueOf(2023), Long.valueOf(7)}));
+
+		final var counts = this.test.countPublicationsPerTypeAndYear();
+		assertEquals(3, counts.getCount(PublicationType.INTERNATIONAL_JOURNAL_PAPER, 2022));
+		assertEquals(5, counts.getCount(PublicationType.INTERNATIONAL_JOURNAL_PAPER, 2023));
+		assertEquals(7, counts.getCount(PublicationType.INTERNATIONAL_CONFERENCE_PAPER, 2023));
+		assertEquals(0, counts.getCount(PublicationType.INTERNATIONAL_CONFERENCE_PAPER, 2022));
+		assertEquals(12, counts.getCount(Arrays.asList(PublicationType.INTERNATIONAL_JOURNAL_PAPER, PublicationType.INTERNATIONAL_CONFERENCE_PAPER), 2023));
+
+		// Cached
+		assertSame(counts, this.test.countPublicationsPerTypeAndYear());
+		verify(this.publicationRepository, times(1)).countPublicationsPerTypeAndYear();
+
+		// Invalidated by the changes of publications
+		this.test.removePublication(234, false, LoggerFactory.getLogger(getClass()));
+		this.test.countPublicationsPerTypeAndYear();
+		verify(this.publicationRepository, times(2)).countPublicationsPerTypeAndYear();
+	}
+
 	@Test
 	@DisplayName("save")
 	public void save() {
@@ -562,6 +661,21 @@ public class PublicationServiceTest {
 		assertFalse(iterator.hasNext());
 	}
 
+	@Test
+	public void exportBibTeX_Writer() throws Exception {
+		Collection<Publication> pubs = Arrays.asList(this.pub0, this.pub2);
+		StringWriter output = new StringWriter();
+
+		this.test.exportBibTeX(output, pubs, new ExporterConfigurator(mock(JournalService.class), Locale.US), new DefaultProgression(), LoggerFactory.getLogger(getClass()));
+
+		ArgumentCaptor<Collection> arg = ArgumentCaptor.forClass(Collection.class);
+		verify(this.bibtex, only()).exportPublications(same(output), arg.capture(), any(), any(), any(Logger.class));
+		Iterator<Publication> iterator = ((Iterable<Publication>) arg.getValue()).iterator();
+		assertSame(this.pub0, iterator.next());
+		assertSame(this.pub2, iterator.next());
+		assertFalse(iterator.hasNext());
+	}
+
 	@Test
 	public void exportRIS_Collection_null() {
 		String ris = this.test.exportRIS((Collection<Publication>) null, new ExporterConfigurator(mock(JournalService.class), Locale.US), new DefaultProgression(), LoggerFactory.getLogger(getClass()));
@@ -651,6 +765,15 @@ public class PublicationServiceTest {
 		assertNotNull(arg2.getValue());
 	}
 
+	@Test
+	public void exportOdt_OutputStream_null() throws Exception {
+		ExporterConfigurator configurator = new ExporterConfigurator(mock(JournalService.class), Locale.US);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		this.test.exportOdt(output, (Collection<Publication>) null, configurator, new DefaultProgression(), LoggerFactory.getLogger(getClass()));
+		assertEquals(0, output.size());
+		verifyNoInteractions(this.odt);
+	}
+
 	@Test
 	public void exportJson_Collection_null() throws Exception {
 		ExporterConfigurator configurator = new ExporterConfigurator(mock(JournalService.class), Locale.US);
@@ -931,4 +1054,145 @@ public class PublicationServiceTest {
 		verify(this.authorshipRepository, atLeastOnce()).save(same(autship));
 	}
 
+	@Test
+	public void applyFetchPlan_none() {
+		final var pub = mock(Publication.class);
+		this.test.applyFetchPlan(Arrays.asList(pub), PublicationFetchPlan.NONE);
+		verifyNoInteractions(pub);
+		verify(this.publicationRepository, never()).findAllWithAuthorsByIdIn(any());
+	}
+
+	@Test
+	public void applyFetchPlan_authors() {
+		final var pub0 = mock(Publication.class);
+		when(pub0.getId()).thenReturn(123l);
+		when(pub0.getAuthorshipsRaw()).thenReturn(mock(PersistentSet.class));
+		final var pub1 = mock(Publication.class);
+		when(pub1.getAuthorshipsRaw()).thenReturn(new HashSet<>());
+		final var pub2 = mock(Publication.class);
+		when(pub2.getId()).thenReturn(345l);
+		when(pub2.getAuthorshipsRaw()).thenReturn(mock(PersistentSet.class));
+
+		this.test.applyFetchPlan(Arrays.asList(pub0, pub1, pub2), PublicationFetchPlan.AUTHORS);
+
+		verify(this.publicationRepository, only()).findAllWithAuthorsByIdIn(eq(Set.of(123l, 345l)));
+	}
+
+	@Test
+	public void getAllPublications_pageable() {
+		final var pub0 = mock(Publication.class);
+		when(pub0.getId()).thenReturn(123l);
+		when(pub0.getAuthorshipsRaw()).thenReturn(mock(PersistentSet.class));
+		final var pageable = PageRequest.of(0, 10);
+		final Specification<Publication> filter = (root, query, criteriaBuilder) -> null;
+		when(this.publicationRepository.findAll(same(filter), same(pageable))).thenReturn(new PageImpl<>(Arrays.asList(pub0)));
+		final var visited = new HashSet<Publication>();
+
+		final var page = this.test.getAllPublications(pageable, filter, visited::add);
+
+		assertEquals(1, page.getNumberOfElements());
+		assertEquals(Set.of(pub0), visited);
+		verify(this.publicationRepository).findAllWithAuthorsByIdIn(eq(Set.of(123l)));
+	}
+
+	@Test
+	public void loadPublicationsInMemory_chunks() {
+		final var ids = new ArrayList<Long>();
+		for (var i = 1; i <= PublicationService.LOADING_CHUNK_SIZE * 2 + 10; ++i) {
+			ids.add(Long.valueOf(i));
+		}
+		final var person = mock(Person.class);
+		when(person.getId()).thenReturn(77l);
+		final var authorship = mock(Authorship.class);
+		when(authorship.getPerson()).thenReturn(person);
+		when(this.publicationRepository.findAllWithAuthorsByIdIn(any())).thenAnswer(it -> {
+			final Collection<Long> chunk = it.getArgument(0);
+			assertTrue(chunk.size() <= PublicationService.LOADING_CHUNK_SIZE);
+			// Reverse order for checking the order of the replied publications
+			final var publications = new ArrayList<Publication>();
+			for (final var id : chunk) {
+				final var publication = mock(Publication.class);
+				when(publication.getId()).thenReturn(id.longValue());
+				when(publication.getAuthorshipsRaw()).thenReturn(Collections.singleton(authorship));
+				publications.add(0, publication);
+			}
+			return publications;
+		});
+
+		final var list = this.test.loadPublicationsInMemory(ids);
+
+		assertEquals(ids.size(), list.size());
+		for (var i = 0; i < ids.size(); ++i) {
+			assertEquals(ids.get(i).longValue(), list.get(i).getId());
+		}
+		verify(this.publicationRepository, times(3)).findAllWithAuthorsByIdIn(any());
+		verify(this.personRepository, times(3)).findAllWithMembershipsByIdIn(eq(Arrays.asList(77l)));
+		verify(this.journalRepository, times(3)).findAllWithQualityIndicatorsByPublicationIdIn(any());
+		verify(this.conferenceRepository, times(3)).findAllWithQualityIndicatorsByPublicationIdIn(any());
+		verify(this.conferenceRepository, never()).findAllWithQualityIndicatorsByIdIn(any());
+	}
+
+	@Test
+	public void loadPublicationsInMemory_enclosingConferences() {
+		final var conf2 = mock(Conference.class);
+		when(conf2.getId()).thenReturn(2l);
+		final var conf1 = mock(Conference.class);
+		when(conf1.getId()).thenReturn(1l);
+		when(conf1.getEnclosingConference()).thenReturn(conf2);
+		final var conf0 = mock(Conference.class);
+		when(conf0.getId()).thenReturn(0l);
+		when(conf0.getEnclosingConference()).thenReturn(conf1);
+		// Cycle
+		when(conf2.getEnclosingConference()).thenReturn(conf0);
+		final var publication = mock(Publication.class);
+		when(publication.getId()).thenReturn(123l);
+		when(this.publicationRepository.findAllWithAuthorsByIdIn(any())).thenReturn(Arrays.asList(publication));
+		when(this.conferenceRepository.findAllWithQualityIndicatorsByPublicationIdIn(any())).thenReturn(Arrays.asList(conf0));
+		when(this.conferenceRepository.findAllWithQualityIndicatorsByIdIn(eq(Arrays.asList(1l)))).thenReturn(Arrays.asList(conf1));
+		when(this.conferenceRepository.findAllWithQualityIndicatorsByIdIn(eq(Arrays.asList(2l)))).thenReturn(Arrays.asList(conf2));
+
+		final var list = this.test.loadPublicationsInMemory(Arrays.asList(123l));
+
+		assertEquals(Arrays.asList(publication), list);
+		verify(this.conferenceRepository, times(2)).findAllWithQualityIndicatorsByIdIn(any());
+		verify(this.personRepository, never()).findAllWithMembershipsByIdIn(any());
+	}
+
+	@Test
+	public void getPublicationIdsByOrganizationIdAndYear() {
+		final var hierarchy = mock(OrganizationHierarchyIndex.class);
+		when(this.membershipService.getOrganizationHierarchy()).thenReturn(hierarchy);
+		when(hierarchy.getOrganizationAndSubOrganizations(12l)).thenReturn(Set.of(12l, 13l));
+		when(this.publicationRepository.findAllIdsByOrganizationsAndYearAndTypes(any(), eq(2024), any())).thenReturn(Arrays.asList(1l, 2l));
+
+		assertEquals(Arrays.asList(1l, 2l), this.test.getPublicationIdsByOrganizationIdAndYear(12, true, 2024, null));
+		verify(this.publicationRepository).findAllIdsByOrganizationsAndYearAndTypes(eq(Set.of(12l, 13l)), eq(2024), eq(Arrays.asList(PublicationType.values())));
+
+		this.test.getPublicationIdsByOrganizationIdAndYear(12, false, 2024, Arrays.asList(PublicationType.INTERNATIONAL_JOURNAL_PAPER));
+		verify(this.publicationRepository).findAllIdsByOrganizationsAndYearAndTypes(eq(Collections.singleton(12l)), eq(2024), eq(Arrays.asList(PublicationType.INTERNATIONAL_JOURNAL_PAPER)));
+	}
+
+	@Test
+	public void forEachPublicationInMemory() {
+		final var pub0 = mock(Publication.class);
+		when(pub0.getId()).thenReturn(1l);
+		final var pub1 = mock(Publication.class);
+		when(pub1.getId()).thenReturn(2l);
+		when(this.publicationRepository.findAllWithAuthorsByIdIn(any())).thenReturn(Arrays.asList(pub1, pub0));
+		final var authorship = mock(Authorship.class);
+		when(pub0.getAuthorshipsRaw()).thenReturn(Collections.singleton(authorship));
+		final var visited = new ArrayList<Publication>();
+
+		this.test.forEachPublicationInMemory(Arrays.asList(1l, 2l, 3l), it -> {
+			// The publications are detached only after they were consumed
+			verify(this.session, never()).detach(any());
+			visited.add(it);
+		});
+
+		assertEquals(Arrays.asList(pub0, pub1), visited);
+		verify(this.session).detach(pub0);
+		verify(this.session).detach(pub1);
+		verify(this.session).detach(authorship);
+	}
+
 }
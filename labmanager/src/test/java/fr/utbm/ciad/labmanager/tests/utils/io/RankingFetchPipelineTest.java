@@ -0,0 +1,161 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import fr.utbm.ciad.labmanager.utils.io.RankingFetchPipeline;
+import org.arakhne.afc.progress.DefaultProgression;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link RankingFetchPipeline}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class RankingFetchPipelineTest {
+
+	private static List<Integer> entities(int count) {
+		return IntStream.range(0, count).boxed().collect(Collectors.toList());
+	}
+
+	@Test
+	public void fetch_allEntities() throws Exception {
+		final var pipeline = new RankingFetchPipeline(4, 0, 0, Duration.ZERO);
+		final var caller = Thread.currentThread();
+		final var results = new TreeMap<Integer, String>();
+		final var progress = new DefaultProgression(0, 0, 20, false);
+		pipeline.fetch(entities(20), it -> "host", (entity, prog) -> "r" + entity, null, progress, (entity, ranking) -> {
+			assertSame(caller, Thread.currentThread());
+			results.put(entity, ranking);
+		});
+		assertEquals(20, results.size());
+		for (var i = 0; i < 20; ++i) {
+			assertEquals("r" + i, results.get(i));
+		}
+		assertEquals(20, progress.getValue());
+	}
+
+	@Test
+	public void fetch_parallel() throws Exception {
+		final var pipeline = new RankingFetchPipeline(4, 0, 0, Duration.ZERO);
+		final var running = new AtomicInteger();
+		final var maxRunning = new AtomicInteger();
+		pipeline.fetch(entities(16), it -> "host", (entity, prog) -> {
+			final var n = running.incrementAndGet();
+			maxRunning.accumulateAndGet(n, Math::max);
+			Thread.sleep(50);
+			running.decrementAndGet();
+			return entity;
+		}, null, null, (entity, ranking) -> {
+			//
+		});
+		assertTrue(maxRunning.get() > 1);
+		assertTrue(maxRunning.get() <= 4);
+	}
+
+	@Test
+	public void fetch_retries() throws Exception {
+		final var pipeline = new RankingFetchPipeline(2, 0, 2, Duration.ofMillis(1));
+		final Map<Integer, AtomicInteger> attempts = new ConcurrentHashMap<>();
+		final var results = new TreeMap<Integer, String>();
+		pipeline.fetch(entities(4), it -> "host", (entity, prog) -> {
+			if (attempts.computeIfAbsent(entity, it -> new AtomicInteger()).incrementAndGet() <= 2) {
+				throw new IOException();
+			}
+			return "r" + entity;
+		}, null, null, results::put);
+		assertEquals(4, results.size());
+		attempts.values().forEach(it -> assertEquals(3, it.get()));
+	}
+
+	@Test
+	public void fetch_failure() throws Exception {
+		final var pipeline = new RankingFetchPipeline(2, 0, 1, Duration.ofMillis(1));
+		assertThrows(IOException.class, () -> pipeline.fetch(entities(4), it -> "host", (entity, prog) -> {
+			if (entity.intValue() == 2) {
+				throw new IOException();
+			}
+			return "r" + entity;
+		}, null, null, (entity, ranking) -> {
+			//
+		}));
+	}
+
+	@Test
+	public void fetch_errorHandler() throws Exception {
+		final var pipeline = new RankingFetchPipeline(2, 0, 1, Duration.ofMillis(1));
+		final var results = new TreeMap<Integer, String>();
+		final var failures = new ArrayList<Integer>();
+		pipeline.fetch(entities(4), it -> "host", (entity, prog) -> {
+			if (entity.intValue() == 2) {
+				throw new IOException();
+			}
+			return "r" + entity;
+		}, (entity, error) -> null, null, null, (entity, ranking) -> {
+			if (ranking == null) {
+				failures.add(entity);
+			}
+			results.put(entity, ranking);
+		});
+		assertEquals(4, results.size());
+		assertNull(results.get(2));
+		assertEquals(List.of(2), failures);
+	}
+
+	@Test
+	public void fetch_rateLimit() throws Exception {
+		final var pipeline = new RankingFetchPipeline(4, 20, 0, Duration.ZERO);
+		final var start = System.nanoTime();
+		pipeline.fetch(entities(5), it -> "host", (entity, prog) -> entity, null, null, (entity, ranking) -> {
+			//
+		});
+		final var duration = Duration.ofNanos(System.nanoTime() - start);
+		// 5 requests at 20 requests per second need at least 200 ms
+		assertTrue(duration.toMillis() >= 190, duration.toString());
+	}
+
+	@Test
+	public void fetch_empty() throws Exception {
+		final var pipeline = new RankingFetchPipeline();
+		pipeline.fetch(List.<Integer>of(), it -> "host", (entity, prog) -> {
+			throw new IllegalStateException();
+		}, null, null, (entity, ranking) -> {
+			throw new IllegalStateException();
+		});
+	}
+
+}
@@ -0,0 +1,212 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import fr.utbm.ciad.labmanager.utils.io.RankingTableStore;
+import fr.utbm.ciad.labmanager.utils.io.RankingTableStore.RankingCodec;
+import fr.utbm.ciad.labmanager.utils.io.wos.WebOfSciencePlatform.WebOfScienceJournal;
+import fr.utbm.ciad.labmanager.utils.ranking.QuartileRanking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for {@link RankingTableStore}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class RankingTableStoreTest {
+
+	private static final RankingCodec<WebOfScienceJournal> CODEC = new RankingCodec<>() {
+		@Override
+		public Map<String, QuartileRanking> getQuartiles(WebOfScienceJournal rankings) {
+			return rankings.quartiles;
+		}
+
+		@Override
+		public float getImpactFactor(WebOfScienceJournal rankings) {
+			return rankings.impactFactor;
+		}
+
+		@Override
+		public WebOfScienceJournal create(Map<String, QuartileRanking> quartiles, float impactFactor) {
+			return new WebOfScienceJournal(quartiles, impactFactor);
+		}
+	};
+
+	@TempDir
+	Path folder;
+
+	private AtomicInteger loads;
+
+	@BeforeEach
+	public void setUp() {
+		this.loads = new AtomicInteger();
+	}
+
+	private Map<String, WebOfScienceJournal> load() {
+		this.loads.incrementAndGet();
+		final var journal0 = new WebOfScienceJournal(Map.of(new String("computer science"), QuartileRanking.Q1, "robotics", QuartileRanking.Q2), 3.5f); //$NON-NLS-1$ //$NON-NLS-2$
+		final var journal1 = new WebOfScienceJournal(Map.of(new String("computer science"), QuartileRanking.Q3), 1.25f); //$NON-NLS-1$
+		final var table = new HashMap<String, WebOfScienceJournal>();
+		table.put("1234-5678", journal0); //$NON-NLS-1$
+		table.put("8765-4321", journal0); //$NON-NLS-1$
+		table.put("1111-2222", journal1); //$NON-NLS-1$
+		return table;
+	}
+
+	private static void assertTable(Map<String, WebOfScienceJournal> table) {
+		assertEquals(3, table.size());
+		final var journal0 = table.get("1234-5678"); //$NON-NLS-1$
+		assertEquals(3.5f, journal0.impactFactor);
+		assertEquals(Map.of("computer science", QuartileRanking.Q1, "robotics", QuartileRanking.Q2), journal0.quartiles); //$NON-NLS-1$ //$NON-NLS-2$
+		assertSame(journal0, table.get("8765-4321")); //$NON-NLS-1$
+		final var journal1 = table.get("1111-2222"); //$NON-NLS-1$
+		assertEquals(1.25f, journal1.impactFactor);
+		assertEquals(Map.of("computer science", QuartileRanking.Q3), journal1.quartiles); //$NON-NLS-1$
+		// Category names are shared
+		final var name0 = journal0.quartiles.keySet().stream().filter(it -> it.startsWith("computer")).findFirst().get(); //$NON-NLS-1$
+		final var name1 = journal1.quartiles.keySet().iterator().next();
+		assertSame(name0, name1);
+	}
+
+	@Test
+	public void getTable_memoryOnly() {
+		final var store = new RankingTableStore();
+		assertTable(store.getTable("wos", 2023, CODEC, this::load)); //$NON-NLS-1$
+		assertTable(store.getTable("wos", 2023, CODEC, this::load)); //$NON-NLS-1$
+		assertEquals(1, this.loads.get());
+	}
+
+	@Test
+	public void getTable_equalRankingsShared() {
+		final var store = new RankingTableStore();
+		final var table = store.getTable("wos", 2023, CODEC, () -> { //$NON-NLS-1$
+			final var content = new HashMap<String, WebOfScienceJournal>();
+			content.put("1234-5678", new WebOfScienceJournal(Map.of("robotics", QuartileRanking.Q2), 2f)); //$NON-NLS-1$ //$NON-NLS-2$
+			content.put("8765-4321", new WebOfScienceJournal(Map.of("robotics", QuartileRanking.Q2), 2f)); //$NON-NLS-1$ //$NON-NLS-2$
+			content.put("1111-2222", new WebOfScienceJournal(Map.of("robotics", QuartileRanking.Q2), 3f)); //$NON-NLS-1$ //$NON-NLS-2$
+			return content;
+		});
+		assertSame(table.get("1234-5678"), table.get("8765-4321")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNotSame(table.get("1234-5678"), table.get("1111-2222")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void getTable_persistent() {
+		final var store0 = new RankingTableStore(this.folder.toFile(), 3);
+		assertTable(store0.getTable("wos", 2023, CODEC, this::load)); //$NON-NLS-1$
+		assertTrue(store0.getTableFile("wos", 2023).isFile()); //$NON-NLS-1$
+
+		// Simulate a restart
+		final var store1 = new RankingTableStore(this.folder.toFile(), 3);
+		assertTable(store1.getTable("wos", 2023, CODEC, this::load)); //$NON-NLS-1$
+		assertEquals(1, this.loads.get());
+	}
+
+	@Test
+	public void getTable_invalidFile() throws Exception {
+		final var store = new RankingTableStore(this.folder.toFile(), 3);
+		final File file = store.getTableFile("wos", 2023); //$NON-NLS-1$
+		Files.writeString(file.toPath(), "invalid"); //$NON-NLS-1$
+		assertTable(store.getTable("wos", 2023, CODEC, this::load)); //$NON-NLS-1$
+		assertEquals(1, this.loads.get());
+	}
+
+	@Test
+	public void getTable_lruEviction() {
+		final var store = new RankingTableStore((File) null, 2);
+		store.getTable("wos", 2021, CODEC, this::load); //$NON-NLS-1$
+		store.getTable("wos", 2022, CODEC, this::load); //$NON-NLS-1$
+		store.getTable("wos", 2021, CODEC, this::load); //$NON-NLS-1$
+		store.getTable("wos", 2023, CODEC, this::load); //$NON-NLS-1$
+		assertTrue(store.isInMemory("wos", 2021)); //$NON-NLS-1$
+		assertFalse(store.isInMemory("wos", 2022)); //$NON-NLS-1$
+		assertTrue(store.isInMemory("wos", 2023)); //$NON-NLS-1$
+		assertEquals(3, this.loads.get());
+	}
+
+	@Test
+	public void invalidate() {
+		final var store = new RankingTableStore(this.folder.toFile(), 3);
+		store.getTable("wos", 2023, CODEC, this::load); //$NON-NLS-1$
+		store.invalidate("wos", 2023); //$NON-NLS-1$
+		assertFalse(store.isInMemory("wos", 2023)); //$NON-NLS-1$
+		assertFalse(store.getTableFile("wos", 2023).exists()); //$NON-NLS-1$
+		store.getTable("wos", 2023, CODEC, this::load); //$NON-NLS-1$
+		assertEquals(2, this.loads.get());
+	}
+
+	@Test
+	public void getTable_version() {
+		final var store0 = new RankingTableStore(this.folder.toFile(), 3);
+		store0.getTable("wos", 2023, "a", null, CODEC, this::load); //$NON-NLS-1$ //$NON-NLS-2$
+		store0.getTable("wos", 2023, "a", null, CODEC, this::load); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(1, this.loads.get());
+		assertTable(store0.getTable("wos", 2023, "b", null, CODEC, this::load)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(2, this.loads.get());
+
+		// Simulate a restart
+		final var store1 = new RankingTableStore(this.folder.toFile(), 3);
+		store1.getTable("wos", 2023, "b", null, CODEC, this::load); //$NON-NLS-1$ //$NON-NLS-2$
+		store1.getTable("wos", 2023, CODEC, this::load); //$NON-NLS-1$
+		assertEquals(2, this.loads.get());
+		store1.getTable("wos", 2023, "a", null, CODEC, this::load); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(3, this.loads.get());
+	}
+
+	@Test
+	public void getTable_maxAge() {
+		final var time = new AtomicLong(1000);
+		final var store0 = new RankingTableStore(this.folder.toFile(), 3, null, time::get);
+		final var maxAge = Duration.ofSeconds(10);
+		store0.getTable("scimago", 2024, null, maxAge, CODEC, this::load); //$NON-NLS-1$
+		time.addAndGet(5000);
+		store0.getTable("scimago", 2024, null, maxAge, CODEC, this::load); //$NON-NLS-1$
+		assertEquals(1, this.loads.get());
+
+		// Simulate a restart
+		final var store1 = new RankingTableStore(this.folder.toFile(), 3, null, time::get);
+		store1.getTable("scimago", 2024, null, maxAge, CODEC, this::load); //$NON-NLS-1$
+		assertEquals(1, this.loads.get());
+		time.addAndGet(6000);
+		assertTable(store1.getTable("scimago", 2024, null, maxAge, CODEC, this::load)); //$NON-NLS-1$
+		assertEquals(2, this.loads.get());
+		store1.getTable("scimago", 2024, null, maxAge, CODEC, this::load); //$NON-NLS-1$
+		assertEquals(2, this.loads.get());
+	}
+
+}
@@ -0,0 +1,209 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import fr.utbm.ciad.labmanager.utils.io.WebBrowserPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link WebBrowserPool}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class WebBrowserPoolTest {
+
+	private List<Playwright> playwrights;
+
+	private List<Browser> browsers;
+
+	private TestPool pool;
+
+	@BeforeEach
+	public void setUp() {
+		this.playwrights = new ArrayList<>();
+		this.browsers = new ArrayList<>();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		if (this.pool != null) {
+			this.pool.close();
+		}
+	}
+
+	private synchronized Playwright createPlaywright() {
+		final var page = mock(Page.class);
+		final var context = mock(BrowserContext.class);
+		when(context.newPage()).thenReturn(page);
+		final var browser = mock(Browser.class);
+		when(browser.isConnected()).thenReturn(true);
+		when(browser.newContext()).thenReturn(context);
+		final var firefox = mock(BrowserType.class);
+		when(firefox.launch(any())).thenReturn(browser);
+		final var playwright = mock(Playwright.class);
+		when(playwright.firefox()).thenReturn(firefox);
+		this.playwrights.add(playwright);
+		this.browsers.add(browser);
+		return playwright;
+	}
+
+	private TestPool createPool(int maxBrowsers, Duration idleDuration) {
+		this.pool = new TestPool(maxBrowsers, idleDuration, this::createPlaywright);
+		return this.pool;
+	}
+
+	@Test
+	public void withPage_reuseBrowser() throws Exception {
+		final var pool = createPool(2, Duration.ofMinutes(5));
+		final var pages = new ArrayList<Page>();
+		pool.withPage(false, pages::add);
+		assertEquals(1, pool.getIdleBrowserCount());
+		pool.withPage(false, pages::add);
+		assertEquals(1, pool.getIdleBrowserCount());
+
+		assertEquals(1, this.playwrights.size());
+		assertEquals(2, pages.size());
+		final var browser = this.browsers.get(0);
+		verify(browser, never()).close();
+		verify(this.playwrights.get(0), never()).close();
+	}
+
+	@Test
+	public void withPage_developerModeNotShared() throws Exception {
+		final var pool = createPool(2, Duration.ofMinutes(5));
+		pool.withPage(false, it -> {});
+		pool.withPage(true, it -> {});
+		assertEquals(2, this.playwrights.size());
+		assertEquals(2, pool.getIdleBrowserCount());
+	}
+
+	@Test
+	public void withPage_waitForBrowser() throws Exception {
+		final var pool = createPool(1, Duration.ofMinutes(5));
+		final var firstStarted = new CountDownLatch(1);
+		final var firstReleased = new CountDownLatch(1);
+		final var secondStarted = new CountDownLatch(1);
+		final var executor = Executors.newFixedThreadPool(2);
+		try {
+			final var first = executor.submit(() -> {
+				pool.withPage(false, it -> {
+					firstStarted.countDown();
+					firstReleased.await();
+				});
+				return null;
+			});
+			assertTrue(firstStarted.await(10, TimeUnit.SECONDS));
+			final var second = executor.submit(() -> {
+				pool.withPage(false, it -> secondStarted.countDown());
+				return null;
+			});
+			// The second page waits for the browser of the first page
+			assertFalse(secondStarted.await(500, TimeUnit.MILLISECONDS));
+			firstReleased.countDown();
+			assertTrue(secondStarted.await(10, TimeUnit.SECONDS));
+			first.get(10, TimeUnit.SECONDS);
+			second.get(10, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1, this.playwrights.size());
+		assertEquals(1, pool.getIdleBrowserCount());
+	}
+
+	@Test
+	public void closeIdleBrowsers() throws Exception {
+		final var pool = createPool(2, Duration.ZERO);
+		pool.withPage(false, it -> {});
+		Thread.sleep(10);
+		pool.closeIdleBrowsers();
+		assertEquals(0, pool.getIdleBrowserCount());
+		verify(this.browsers.get(0)).close();
+		verify(this.playwrights.get(0)).close();
+	}
+
+	@Test
+	public void withPage_failingPageDiscarded() throws Exception {
+		final var pool = createPool(2, Duration.ofMinutes(5));
+		final var error = new IllegalStateException();
+		final var ex = assertThrows(IllegalStateException.class, () -> pool.withPage(false, it -> {
+			throw error;
+		}));
+		assertSame(error, ex);
+		assertEquals(0, pool.getIdleBrowserCount());
+		verify(this.browsers.get(0)).close();
+		verify(this.playwrights.get(0)).close();
+
+		pool.withPage(false, it -> {});
+		assertEquals(2, this.playwrights.size());
+		verify(this.browsers.get(1), never()).close();
+	}
+
+	@Test
+	public void withPage_closedPool() throws Exception {
+		final var pool = createPool(2, Duration.ofMinutes(5));
+		pool.withPage(false, it -> {});
+		pool.close();
+		verify(this.browsers.get(0)).close();
+		assertThrows(IllegalStateException.class, () -> pool.withPage(false, it -> {}));
+	}
+
+	/** Pool that gives access to the eviction of the idle browsers.
+	 */
+	private static class TestPool extends WebBrowserPool {
+
+		TestPool(int maxBrowsers, Duration idleDuration, Supplier<Playwright> playwrightFactory) {
+			super(maxBrowsers, idleDuration, playwrightFactory);
+		}
+
+		@Override
+		public void closeIdleBrowsers() {
+			super.closeIdleBrowsers();
+		}
+
+	}
+
+}
@@ -0,0 +1,165 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import fr.utbm.ciad.labmanager.utils.io.ZipArchivePipeline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+
+/** Tests for {@link ZipArchivePipeline}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class ZipArchivePipelineTest {
+
+	@TempDir
+	Path folder;
+
+	private LinkedHashMap<String, byte[]> contents;
+
+	private LinkedHashMap<String, File> files;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		final var random = new Random(1234);
+		this.contents = new LinkedHashMap<>();
+		this.contents.put("pdfs/paper.pdf", randomBytes(random, 1024));
+		this.contents.put("notes/readme.txt", "abcdefgh".repeat(512).getBytes());
+		// Bigger than the size of the files that are loaded in memory
+		this.contents.put("images/big.jpg", randomBytes(random, 5 * 1024 * 1024));
+		this.contents.put("pdfs/empty.pdf", new byte[0]);
+		this.files = new LinkedHashMap<>();
+		for (final var content : this.contents.entrySet()) {
+			final var file = this.folder.resolve("src").resolve(content.getKey());
+			Files.createDirectories(file.getParent());
+			Files.write(file, content.getValue());
+			this.files.put(content.getKey(), file.toFile());
+		}
+	}
+
+	private static byte[] randomBytes(Random random, int size) {
+		final var bytes = new byte[size];
+		random.nextBytes(bytes);
+		return bytes;
+	}
+
+	private File writeArchive(ZipArchivePipeline pipeline) throws Exception {
+		final var archive = this.folder.resolve("archive.zip").toFile();
+		try (final var zos = new ZipOutputStream(new FileOutputStream(archive))) {
+			assertEquals(this.files.size(), pipeline.writeFiles(zos, this.files, mock(Logger.class), null));
+		}
+		return archive;
+	}
+
+	@Test
+	public void isStoredEntry() {
+		final var pipeline = new ZipArchivePipeline(2, true);
+		assertTrue(pipeline.isStoredEntry("a/b.pdf"));
+		assertTrue(pipeline.isStoredEntry("a/b.JPG"));
+		assertFalse(pipeline.isStoredEntry("a/b.txt"));
+		assertFalse(pipeline.isStoredEntry(null));
+		assertFalse(new ZipArchivePipeline(2, false).isStoredEntry("a/b.pdf"));
+	}
+
+	@Test
+	public void writeFiles() throws Exception {
+		final var archive = writeArchive(new ZipArchivePipeline(2, true));
+		try (final var zip = new ZipFile(archive)) {
+			final var names = new ArrayList<String>();
+			for (final var entry : Collections.list(zip.entries())) {
+				names.add(entry.getName());
+				assertEquals(entry.getName().endsWith(".txt") ? ZipEntry.DEFLATED : ZipEntry.STORED, entry.getMethod(), entry.getName());
+				try (final var input = zip.getInputStream(entry)) {
+					assertArrayEquals(this.contents.get(entry.getName()), input.readAllBytes(), entry.getName());
+				}
+			}
+			// The entries are written in the order of the files
+			assertEquals(new ArrayList<>(this.files.keySet()), names);
+		}
+	}
+
+	@Test
+	public void writeFiles_deflated() throws Exception {
+		final var archive = writeArchive(new ZipArchivePipeline(3, false));
+		try (final var zip = new ZipFile(archive)) {
+			for (final var entry : Collections.list(zip.entries())) {
+				assertEquals(ZipEntry.DEFLATED, entry.getMethod(), entry.getName());
+				try (final var input = zip.getInputStream(entry)) {
+					assertArrayEquals(this.contents.get(entry.getName()), input.readAllBytes(), entry.getName());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void writeFiles_unreadableFile() throws Exception {
+		this.files.put("pdfs/missing.pdf", this.folder.resolve("missing.pdf").toFile());
+		final var archive = this.folder.resolve("archive.zip").toFile();
+		try (final var zos = new ZipOutputStream(new FileOutputStream(archive))) {
+			assertEquals(this.contents.size(), new ZipArchivePipeline(2, true).writeFiles(zos, this.files, mock(Logger.class), null));
+		}
+		try (final var zip = new ZipFile(archive)) {
+			assertNull(zip.getEntry("pdfs/missing.pdf"));
+		}
+	}
+
+	@Test
+	public void startExtraction() throws Exception {
+		final var pipeline = new ZipArchivePipeline(2, true);
+		final var archive = writeArchive(pipeline);
+		final var target = this.folder.resolve("target");
+		try (final var zip = new ZipFile(archive)) {
+			try (final var extraction = pipeline.startExtraction(zip, Collections.list(zip.entries()),
+					it -> target.resolve(it).toFile(), mock(Logger.class))) {
+				for (final var content : this.contents.entrySet()) {
+					final var file = extraction.await(content.getKey());
+					assertEquals(target.resolve(content.getKey()).toFile(), file);
+					assertArrayEquals(content.getValue(), Files.readAllBytes(file.toPath()), content.getKey());
+				}
+				assertNull(extraction.await("unknown.pdf"));
+				extraction.awaitAll();
+			}
+		}
+	}
+
+}
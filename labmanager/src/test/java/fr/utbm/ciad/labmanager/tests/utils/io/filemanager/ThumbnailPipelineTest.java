@@ -0,0 +1,186 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+
+package fr.utbm.ciad.labmanager.tests.utils.io.filemanager;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+
+import fr.utbm.ciad.labmanager.utils.io.filemanager.DownloadableFileManager;
+import fr.utbm.ciad.labmanager.utils.io.filemanager.ThumbnailPipeline;
+import org.arakhne.afc.vmutil.FileSystem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+
+/** Tests for {@link ThumbnailPipeline}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class ThumbnailPipelineTest {
+
+	@TempDir
+	Path folder;
+
+	private DownloadableFileManager fileManager;
+
+	private LinkedHashMap<File, String> files;
+
+	private ThumbnailPipeline test;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		this.fileManager = mock(DownloadableFileManager.class);
+		when(this.fileManager.normalizeForServerSide(any())).thenAnswer(it -> this.folder.resolve(((File) it.getArgument(0)).toPath()).toFile());
+		when(this.fileManager.toThumbnailFilename(any())).thenAnswer(it -> FileSystem.replaceExtension((File) it.getArgument(0), ".jpg"));
+		when(this.fileManager.getThumbnailRenderingParameters()).thenReturn("resolution=50");
+		// The thumbnail is the content of the source file in upper case
+		doAnswer(it -> {
+			final var input = (InputStream) it.getArgument(1);
+			final var content = new String(input.readAllBytes());
+			if (content.startsWith("invalid")) {
+				throw new IOException("invalid document");
+			}
+			((OutputStream) it.getArgument(2)).write(content.toUpperCase().getBytes());
+			return null;
+		}).when(this.fileManager).generateThumbnail(anyString(), any(), any(), any());
+		this.files = new LinkedHashMap<>();
+		writeSource("PDFs/PDF1.pdf", "paper 1");
+		writeSource("PDFs/PDF2.pdf", "paper 2");
+		writeSource("Awards/Award1.pdf", "award 1");
+		this.test = new ThumbnailPipeline(this.fileManager, 2);
+	}
+
+	private void writeSource(String name, String content) throws Exception {
+		final var file = this.folder.resolve(name);
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, content);
+		this.files.put(new File(name), name);
+	}
+
+	private String readThumbnail(String name) throws Exception {
+		return Files.readString(this.folder.resolve(name));
+	}
+
+	@Test
+	public void getParallelism() {
+		assertEquals(2, this.test.getParallelism());
+		assertEquals(Runtime.getRuntime().availableProcessors(), new ThumbnailPipeline(this.fileManager, 0).getParallelism());
+	}
+
+	@Test
+	public void generateThumbnails() throws Exception {
+		final var report = this.test.generateThumbnails(this.files, mock(Logger.class), null);
+		assertEquals(3, report.generated());
+		assertEquals(0, report.unchanged());
+		assertEquals(0, report.failed());
+		assertEquals("PAPER 1", readThumbnail("PDFs/PDF1.jpg"));
+		assertEquals("PAPER 2", readThumbnail("PDFs/PDF2.jpg"));
+		assertEquals("AWARD 1", readThumbnail("Awards/Award1.jpg"));
+		assertTrue(Files.isRegularFile(this.folder.resolve("PDFs").resolve(ThumbnailPipeline.MANIFEST_FILENAME)));
+		assertTrue(Files.isRegularFile(this.folder.resolve("Awards").resolve(ThumbnailPipeline.MANIFEST_FILENAME)));
+		// No temporary file is remaining
+		try (final var stream = Files.list(this.folder.resolve("PDFs"))) {
+			assertArrayEquals(new String[] {ThumbnailPipeline.MANIFEST_FILENAME, "PDF1.jpg", "PDF1.pdf", "PDF2.jpg", "PDF2.pdf"},
+					stream.map(it -> it.getFileName().toString()).sorted().toArray());
+		}
+	}
+
+	@Test
+	public void generateThumbnails_unchanged() throws Exception {
+		this.test.generateThumbnails(this.files, mock(Logger.class), null);
+		final var report = this.test.generateThumbnails(this.files, mock(Logger.class), null);
+		assertEquals(0, report.generated());
+		assertEquals(3, report.unchanged());
+		verify(this.fileManager, times(3)).generateThumbnail(anyString(), any(), any(), any());
+	}
+
+	@Test
+	public void generateThumbnails_sourceChanged() throws Exception {
+		this.test.generateThumbnails(this.files, mock(Logger.class), null);
+		writeSource("PDFs/PDF2.pdf", "paper 2 revised");
+		final var report = this.test.generateThumbnails(this.files, mock(Logger.class), null);
+		assertEquals(1, report.generated());
+		assertEquals(2, report.unchanged());
+		assertEquals("PAPER 2 REVISED", readThumbnail("PDFs/PDF2.jpg"));
+	}
+
+	@Test
+	public void generateThumbnails_thumbnailDeleted() throws Exception {
+		this.test.generateThumbnails(this.files, mock(Logger.class), null);
+		Files.delete(this.folder.resolve("Awards/Award1.jpg"));
+		final var report = this.test.generateThumbnails(this.files, mock(Logger.class), null);
+		assertEquals(1, report.generated());
+		assertEquals("AWARD 1", readThumbnail("Awards/Award1.jpg"));
+	}
+
+	@Test
+	public void generateThumbnails_parametersChanged() throws Exception {
+		this.test.generateThumbnails(this.files, mock(Logger.class), null);
+		when(this.fileManager.getThumbnailRenderingParameters()).thenReturn("resolution=100");
+		final var report = this.test.generateThumbnails(this.files, mock(Logger.class), null);
+		assertEquals(3, report.generated());
+		assertEquals(0, report.unchanged());
+	}
+
+	@Test
+	public void generateThumbnails_missingSource() throws Exception {
+		this.files.put(new File("PDFs/PDF3.pdf"), "missing");
+		final var report = this.test.generateThumbnails(this.files, mock(Logger.class), null);
+		assertEquals(3, report.generated());
+		assertFalse(Files.exists(this.folder.resolve("PDFs/PDF3.jpg")));
+	}
+
+	@Test
+	public void generateThumbnails_failure() throws Exception {
+		this.test.generateThumbnails(this.files, mock(Logger.class), null);
+		writeSource("PDFs/PDF1.pdf", "invalid paper");
+		writeSource("PDFs/PDF2.pdf", "paper 2 revised");
+		assertThrows(IOException.class, () -> this.test.generateThumbnails(this.files, mock(Logger.class), null));
+		// The other thumbnails are generated, and the previous thumbnail of the invalid file is not replaced
+		assertEquals("PAPER 2 REVISED", readThumbnail("PDFs/PDF2.jpg"));
+		assertEquals("PAPER 1", readThumbnail("PDFs/PDF1.jpg"));
+		// The invalid file is not considered as up-to-date
+		assertThrows(IOException.class, () -> this.test.generateThumbnails(this.files, mock(Logger.class), null));
+		verify(this.fileManager, times(6)).generateThumbnail(anyString(), any(), any(), any());
+	}
+
+}
@@ -0,0 +1,247 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.io.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+
+import fr.utbm.ciad.labmanager.data.assostructure.AssociatedStructureRepository;
+import fr.utbm.ciad.labmanager.data.conference.ConferenceRepository;
+import fr.utbm.ciad.labmanager.data.indicator.GlobalIndicatorsRepository;
+import fr.utbm.ciad.labmanager.data.invitation.PersonInvitationRepository;
+import fr.utbm.ciad.labmanager.data.journal.JournalRepository;
+import fr.utbm.ciad.labmanager.data.jury.JuryMembershipRepository;
+import fr.utbm.ciad.labmanager.data.member.MembershipRepository;
+import fr.utbm.ciad.labmanager.data.member.Person;
+import fr.utbm.ciad.labmanager.data.member.PersonRepository;
+import fr.utbm.ciad.labmanager.data.organization.OrganizationAddressRepository;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
+import fr.utbm.ciad.labmanager.data.project.ProjectRepository;
+import fr.utbm.ciad.labmanager.data.publication.Publication;
+import fr.utbm.ciad.labmanager.data.publication.PublicationRepository;
+import fr.utbm.ciad.labmanager.data.publication.type.MiscDocument;
+import fr.utbm.ciad.labmanager.data.scientificaxis.ScientificAxisRepository;
+import fr.utbm.ciad.labmanager.data.supervision.SupervisionRepository;
+import fr.utbm.ciad.labmanager.data.teaching.TeachingActivityRepository;
+import fr.utbm.ciad.labmanager.data.user.UserRepository;
+import fr.utbm.ciad.labmanager.utils.io.json.DatabaseToJsonExporter;
+import fr.utbm.ciad.labmanager.utils.io.json.JsonTool;
+import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/** Tests for {@link DatabaseToJsonExporter}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class DatabaseToJsonExporterTest {
+
+	private PersonRepository personRepository;
+
+	private PublicationRepository publicationRepository;
+
+	private Session session;
+
+	private DatabaseToJsonExporter test;
+
+	@BeforeEach
+	public void setUp() {
+		this.personRepository = mock(PersonRepository.class);
+		this.publicationRepository = mock(PublicationRepository.class);
+		this.session = mock(Session.class);
+		final var sessionFactory = mock(SessionFactory.class);
+		lenient().when(sessionFactory.getCurrentSession()).thenReturn(this.session);
+		this.test = new DatabaseToJsonExporter(
+				mock(MessageSourceAccessor.class),
+				mock(OrganizationAddressRepository.class),
+				mock(ResearchOrganizationRepository.class),
+				this.personRepository,
+				mock(MembershipRepository.class),
+				mock(JournalRepository.class),
+				mock(ConferenceRepository.class),
+				this.publicationRepository,
+				mock(JuryMembershipRepository.class),
+				mock(SupervisionRepository.class),
+				mock(PersonInvitationRepository.class),
+				mock(GlobalIndicatorsRepository.class),
+				mock(ProjectRepository.class),
+				mock(AssociatedStructureRepository.class),
+				mock(TeachingActivityRepository.class),
+				mock(ScientificAxisRepository.class),
+				mock(UserRepository.class),
+				sessionFactory);
+		lenient().when(this.publicationRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+	}
+
+	private static Person createPerson(long id, String firstName, String lastName) {
+		final var person = new Person();
+		person.setId(id);
+		person.setFirstName(firstName);
+		person.setLastName(lastName);
+		return person;
+	}
+
+	private static Publication createPublication(long id, String title, Person... authors) {
+		final var publication = new MiscDocument();
+		publication.setId(id);
+		publication.setTitle(title);
+		publication.setTemporaryAuthors(Arrays.asList(authors));
+		return publication;
+	}
+
+	private String exportToString() throws Exception {
+		final var mapper = JsonUtils.createMapper();
+		final var output = new StringWriter();
+		try (var generator = mapper.createGenerator(output)) {
+			this.test.exportFromDatabaseToJsonStream(generator, Locale.US, mock(Logger.class), null);
+		}
+		return output.toString();
+	}
+
+	@Test
+	public void exportFromDatabaseToJsonStream_empty() throws Exception {
+		final var mapper = JsonUtils.createMapper();
+		final var output = new StringWriter();
+		try (var generator = mapper.createGenerator(output)) {
+			assertFalse(this.test.exportFromDatabaseToJsonStream(generator, Locale.US, mock(Logger.class), null));
+		}
+		assertTrue(mapper.readTree(output.toString()).isEmpty());
+		assertNull(this.test.exportFromDatabaseToJsonObject(mapper.getNodeFactory(), Locale.US, mock(Logger.class), null));
+	}
+
+	@Test
+	public void exportFromDatabaseToJsonStream_sameAsTree() throws Exception {
+		final var p0 = createPerson(10, "Stephane", "Galland");
+		final var p1 = createPerson(20, "Marie", "Curie");
+		when(this.personRepository.findAll()).thenReturn(Arrays.asList(p0, p1));
+		final var publications = Arrays.asList(
+				createPublication(100, "Title 1", p0),
+				createPublication(200, "Title 2", p1, p0));
+		when(this.publicationRepository.findAll()).thenReturn(publications);
+		when(this.publicationRepository.findAll(any(Pageable.class))).thenAnswer(it -> new PageImpl<>(publications, it.getArgument(0), publications.size()));
+
+		final var mapper = JsonUtils.createMapper();
+		final var expected = this.test.exportFromDatabaseToJsonObject(mapper.getNodeFactory(), Locale.US, mock(Logger.class), null);
+		final var output = exportToString();
+
+		assertEquals(mapper.writeValueAsString(expected), output);
+		final var actual = mapper.readTree(output);
+		assertEquals(2, actual.get(JsonTool.PUBLICATIONS_SECTION).size());
+		assertEquals(2, actual.get(JsonTool.PUBLICATIONS_SECTION).get(1).get("authors").size());
+	}
+
+	@Test
+	public void exportFromDatabaseToJsonStream_pages() throws Exception {
+		final var p0 = createPerson(10, "Stephane", "Galland");
+		when(this.personRepository.findAll()).thenReturn(Arrays.asList(p0));
+		final var publications = new ArrayList<Publication>();
+		for (var i = 0; i < 450; ++i) {
+			publications.add(createPublication(i + 1, "Title " + i, p0));
+		}
+		when(this.publicationRepository.findAll(any(Pageable.class))).thenAnswer(it -> {
+			final Pageable pageable = it.getArgument(0);
+			final var start = (int) pageable.getOffset();
+			final var end = Math.min(publications.size(), start + pageable.getPageSize());
+			return new PageImpl<>(publications.subList(start, end), pageable, publications.size());
+		});
+
+		final var actual = JsonUtils.createMapper().readTree(exportToString());
+
+		final var jsonPublications = actual.get(JsonTool.PUBLICATIONS_SECTION);
+		assertEquals(450, jsonPublications.size());
+		for (var i = 0; i < 450; ++i) {
+			assertEquals("Title " + i, jsonPublications.get(i).get("title").asText());
+		}
+		verify(this.publicationRepository, never()).findAll();
+	}
+
+	@Test
+	public void exportFromDatabaseToJsonStream_clearSessionAfterEachPage() throws Exception {
+		final var p0 = createPerson(10, "Stephane", "Galland");
+		when(this.personRepository.findAll()).thenReturn(Arrays.asList(p0));
+		// The authors of the publications are other instances of the same person, as in a new persistence context
+		final var publications = new ArrayList<Publication>();
+		for (var i = 0; i < 450; ++i) {
+			publications.add(createPublication(i + 1, "Title " + i, createPerson(10, "Stephane", "Galland")));
+		}
+		when(this.publicationRepository.findAll(any(Pageable.class))).thenAnswer(it -> {
+			final Pageable pageable = it.getArgument(0);
+			final var start = (int) pageable.getOffset();
+			final var end = Math.min(publications.size(), start + pageable.getPageSize());
+			return new PageImpl<>(publications.subList(start, end), pageable, publications.size());
+		});
+
+		final var actual = JsonUtils.createMapper().readTree(exportToString());
+
+		verify(this.session, times(3)).clear();
+		final var jsonPublications = actual.get(JsonTool.PUBLICATIONS_SECTION);
+		assertEquals(450, jsonPublications.size());
+		final var personId = actual.get(JsonTool.PERSONS_SECTION).get(0).get("@id").asText();
+		for (final var jsonPublication : jsonPublications) {
+			assertEquals(personId, jsonPublication.get("authors").get(0).get("@id").asText());
+		}
+	}
+
+	@Test
+	public void exportFromDatabaseToJsonStream_handler() throws Exception {
+		final var p0 = createPerson(10, "Stephane", "Galland");
+		when(this.personRepository.findAll()).thenReturn(Arrays.asList(p0));
+		final var publications = Arrays.asList(createPublication(100, "Title 1", p0));
+		when(this.publicationRepository.findAll(any(Pageable.class))).thenAnswer(it -> new PageImpl<>(publications, it.getArgument(0), publications.size()));
+
+		final var mapper = JsonUtils.createMapper();
+		final var output = new StringWriter();
+		final var sections = new ArrayList<String>();
+		try (var generator = mapper.createGenerator(output)) {
+			assertTrue(this.test.exportFromDatabaseToJsonStream(generator, null, null, (section, element) -> {
+				sections.add(section);
+				element.remove("title");
+			}, Locale.US, mock(Logger.class), null));
+		}
+
+		assertEquals(Arrays.asList(JsonTool.PERSONS_SECTION, JsonTool.PUBLICATIONS_SECTION), sections);
+		final var actual = mapper.readTree(output.toString());
+		assertNull(actual.get(JsonTool.PUBLICATIONS_SECTION).get(0).get("title"));
+	}
+
+}
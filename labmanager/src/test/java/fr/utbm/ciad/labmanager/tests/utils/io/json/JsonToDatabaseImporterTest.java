@@ -0,0 +1,235 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.io.json;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import fr.utbm.ciad.labmanager.components.indicators.IndicatorCache;
+import fr.utbm.ciad.labmanager.data.assostructure.AssociatedStructureRepository;
+import fr.utbm.ciad.labmanager.data.conference.ConferenceQualityAnnualIndicatorsRepository;
+import fr.utbm.ciad.labmanager.data.conference.ConferenceRepository;
+import fr.utbm.ciad.labmanager.data.invitation.PersonInvitationRepository;
+import fr.utbm.ciad.labmanager.data.journal.JournalQualityAnnualIndicatorsRepository;
+import fr.utbm.ciad.labmanager.data.journal.JournalRepository;
+import fr.utbm.ciad.labmanager.data.jury.JuryMembershipRepository;
+import fr.utbm.ciad.labmanager.data.member.MembershipRepository;
+import fr.utbm.ciad.labmanager.data.member.PersonRepository;
+import fr.utbm.ciad.labmanager.data.organization.OrganizationAddress;
+import fr.utbm.ciad.labmanager.data.organization.OrganizationAddressRepository;
+import fr.utbm.ciad.labmanager.data.organization.ResearchOrganizationRepository;
+import fr.utbm.ciad.labmanager.data.project.ProjectRepository;
+import fr.utbm.ciad.labmanager.data.publication.AuthorshipRepository;
+import fr.utbm.ciad.labmanager.data.scientificaxis.ScientificAxisRepository;
+import fr.utbm.ciad.labmanager.data.supervision.SupervisionRepository;
+import fr.utbm.ciad.labmanager.data.teaching.TeachingActivityRepository;
+import fr.utbm.ciad.labmanager.data.user.UserRepository;
+import fr.utbm.ciad.labmanager.services.conference.ConferenceNameIndex;
+import fr.utbm.ciad.labmanager.services.indicator.GlobalIndicatorsService;
+import fr.utbm.ciad.labmanager.services.journal.JournalNameIndex;
+import fr.utbm.ciad.labmanager.services.member.PersonNameIndex;
+import fr.utbm.ciad.labmanager.services.member.PersonService;
+import fr.utbm.ciad.labmanager.services.organization.OrganizationHierarchyIndex;
+import fr.utbm.ciad.labmanager.services.publication.PublicationCountCache;
+import fr.utbm.ciad.labmanager.services.publication.PublicationService;
+import fr.utbm.ciad.labmanager.services.publication.PublicationTitleIndex;
+import fr.utbm.ciad.labmanager.utils.io.json.JsonTool;
+import fr.utbm.ciad.labmanager.utils.io.json.JsonToDatabaseImporter;
+import fr.utbm.ciad.labmanager.utils.io.json.JsonToDatabaseImporter.TransactionBatch;
+import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
+import fr.utbm.ciad.labmanager.utils.names.PersonNameParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.springframework.context.support.MessageSourceAccessor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+/** Tests for {@link JsonToDatabaseImporter} and {@link TransactionBatch}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class JsonToDatabaseImporterTest {
+
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionStatus status;
+
+	private OrganizationAddressRepository addressRepository;
+
+	private PublicationCountCache countCache;
+
+	private IndicatorCache indicatorCache;
+
+	private PublicationTitleIndex titleIndex;
+
+	private TransactionBatch test;
+
+	@BeforeEach
+	public void setUp() {
+		this.transactionManager = mock(PlatformTransactionManager.class);
+		this.status = mock(TransactionStatus.class);
+		when(this.transactionManager.getTransaction(any())).thenReturn(this.status);
+		this.addressRepository = mock(OrganizationAddressRepository.class);
+		when(this.addressRepository.save(any())).thenAnswer(it -> it.getArgument(0));
+		this.countCache = mock(PublicationCountCache.class);
+		this.indicatorCache = mock(IndicatorCache.class);
+		this.titleIndex = mock(PublicationTitleIndex.class);
+		this.test = new TransactionBatch(this.transactionManager, 3);
+	}
+
+	private JsonToDatabaseImporter createImporter(int batchSize) {
+		return new JsonToDatabaseImporter(
+				mock(MessageSourceAccessor.class),
+				this.transactionManager,
+				this.addressRepository,
+				mock(ResearchOrganizationRepository.class),
+				mock(OrganizationHierarchyIndex.class),
+				mock(PersonRepository.class),
+				mock(PersonService.class),
+				mock(PersonNameIndex.class),
+				mock(MembershipRepository.class),
+				mock(JournalRepository.class),
+				mock(JournalNameIndex.class),
+				mock(JournalQualityAnnualIndicatorsRepository.class),
+				mock(ConferenceRepository.class),
+				mock(ConferenceNameIndex.class),
+				mock(ConferenceQualityAnnualIndicatorsRepository.class),
+				mock(PublicationService.class),
+				this.countCache,
+				mock(AuthorshipRepository.class),
+				this.titleIndex,
+				mock(PersonNameParser.class),
+				mock(JuryMembershipRepository.class),
+				mock(SupervisionRepository.class),
+				mock(PersonInvitationRepository.class),
+				mock(GlobalIndicatorsService.class),
+				this.indicatorCache,
+				mock(ProjectRepository.class),
+				mock(AssociatedStructureRepository.class),
+				mock(TeachingActivityRepository.class),
+				mock(ScientificAxisRepository.class),
+				mock(UserRepository.class),
+				batchSize);
+	}
+
+	private static JsonNode createAddresses(int count) {
+		final var factory = JsonUtils.createMapper().getNodeFactory();
+		final var root = factory.objectNode();
+		final var addresses = root.putArray(JsonTool.ORGANIZATIONADDRESSES_SECTION);
+		for (var i = 0; i < count; ++i) {
+			final var address = addresses.addObject();
+			address.put("@id", "adr" + i);
+			address.put("name", "Address " + i);
+		}
+		return root;
+	}
+
+	@Test
+	public void importJsonFileToDatabase_batchSize() throws Exception {
+		createImporter(2).importJsonFileToDatabase(createAddresses(5), null, mock(Logger.class));
+
+		// 5 addresses in batches of 2 entities
+		verify(this.transactionManager, times(3)).getTransaction(any());
+		verify(this.transactionManager, times(3)).commit(this.status);
+		final var order = inOrder(this.transactionManager, this.addressRepository);
+		for (var i = 0; i < 2; ++i) {
+			order.verify(this.transactionManager).getTransaction(any());
+			order.verify(this.addressRepository, times(2)).save(any(OrganizationAddress.class));
+			order.verify(this.transactionManager).commit(this.status);
+		}
+		order.verify(this.transactionManager).getTransaction(any());
+		order.verify(this.addressRepository).save(any(OrganizationAddress.class));
+		order.verify(this.transactionManager).commit(this.status);
+	}
+
+	@Test
+	public void importJsonFileToDatabase_failure() throws Exception {
+		when(this.addressRepository.save(any())).thenAnswer(it -> {
+			final OrganizationAddress address = it.getArgument(0);
+			if ("Address 3".equals(address.getName())) {
+				throw new IllegalStateException();
+			}
+			return address;
+		});
+
+		assertThrows(Exception.class,
+				() -> createImporter(2).importJsonFileToDatabase(createAddresses(5), null, mock(Logger.class)));
+
+		// The first batch is committed, the second batch is rolled back
+		verify(this.transactionManager, times(2)).getTransaction(any());
+		verify(this.transactionManager, times(1)).commit(this.status);
+		verify(this.transactionManager, times(1)).rollback(this.status);
+	}
+
+	@Test
+	public void importJsonFileToDatabase_invalidateCaches() throws Exception {
+		createImporter(2).importJsonFileToDatabase(createAddresses(1), null, mock(Logger.class));
+		verify(this.countCache).invalidateAll();
+		verify(this.indicatorCache).invalidateAll();
+		verify(this.titleIndex).invalidate();
+	}
+
+	@Test
+	public void batch() {
+		for (var i = 0; i < 7; ++i) {
+			this.test.begin();
+			this.test.commit();
+		}
+		verify(this.transactionManager, times(3)).getTransaction(any());
+		verify(this.transactionManager, times(2)).commit(this.status);
+		this.test.close();
+		verify(this.transactionManager, times(3)).commit(this.status);
+		this.test.close();
+		verify(this.transactionManager, times(3)).commit(this.status);
+	}
+
+	@Test
+	public void rollback() {
+		this.test.begin();
+		this.test.commit();
+		this.test.begin();
+		this.test.rollback();
+		verify(this.transactionManager, never()).commit(any());
+		verify(this.transactionManager).rollback(this.status);
+		this.test.close();
+		verify(this.transactionManager, never()).commit(any());
+	}
+
+	@Test
+	public void close_rollbackOnly() {
+		when(this.status.isRollbackOnly()).thenReturn(true);
+		this.test.begin();
+		this.test.commit();
+		this.test.close();
+		verify(this.transactionManager, never()).commit(any());
+		verify(this.transactionManager).rollback(this.status);
+	}
+
+}
@@ -0,0 +1,134 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.io.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import fr.utbm.ciad.labmanager.utils.io.json.JsonTool;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the accessors of {@link JsonTool}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class JsonToolTest {
+
+	@Test
+	public void findSetterMethod() throws Exception {
+		final var method = Tool.setter(Bean.class, Set.of("setname"), "abc");
+		assertEquals(Bean.class.getMethod("setName", String.class), method);
+		assertSame(method, Tool.setter(Bean.class, new TreeSet<>(Set.of("setname")), "xyz"));
+	}
+
+	@Test
+	public void findSetterMethod_alias() throws Exception {
+		final var method = Tool.setter(Bean.class, Set.of("setunknown", "settitle"), "abc");
+		assertEquals(Bean.class.getMethod("setTitle", String.class), method);
+	}
+
+	@Test
+	public void findSetterMethod_incompatibleValue() throws Exception {
+		assertNull(Tool.setter(Bean.class, Set.of("setname"), Integer.valueOf(1)));
+	}
+
+	@Test
+	public void findSetterMethod_tooManyCandidates() throws Exception {
+		assertNull(Tool.setter(Bean.class, Set.of("setname", "settitle"), "abc"));
+	}
+
+	@Test
+	public void findGetterMethods() throws Exception {
+		final var getters = Tool.getters(Bean.class);
+		assertEquals(Set.of("name", "title", "validated"), getters.keySet());
+		assertEquals(Bean.class.getMethod("getName"), getters.get("name"));
+		assertEquals(Bean.class.getMethod("isValidated"), getters.get("validated"));
+		assertSame(getters, Tool.getters(Bean.class));
+	}
+
+	/** Accessor to the protected functions of {@link JsonTool}.
+	 */
+	private static abstract class Tool extends JsonTool {
+
+		private Tool() {
+			super(null);
+		}
+
+		static Method setter(Class<?> type, Set<String> names, Object value) {
+			return findSetterMethod(type, names, value);
+		}
+
+		static Map<String, Method> getters(Class<?> type) {
+			return findGetterMethods(type);
+		}
+
+	}
+
+	/** Bean for the tests.
+	 */
+	public static class Bean {
+
+		public long getId() {
+			return 0;
+		}
+
+		public void setId(long id) {
+			//
+		}
+
+		public String getName() {
+			return null;
+		}
+
+		public void setName(String name) {
+			//
+		}
+
+		public String getTitle() {
+			return null;
+		}
+
+		public void setTitle(String title) {
+			//
+		}
+
+		public boolean isValidated() {
+			return false;
+		}
+
+		public void setValidated(boolean validated) {
+			//
+		}
+
+		public Object getReadOnly() {
+			return null;
+		}
+
+	}
+
+}
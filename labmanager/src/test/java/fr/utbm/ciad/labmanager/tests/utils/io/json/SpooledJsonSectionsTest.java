@@ -0,0 +1,90 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.io.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.TreeSet;
+
+import fr.utbm.ciad.labmanager.utils.io.json.JsonUtils;
+import fr.utbm.ciad.labmanager.utils.io.json.SpooledJsonSections;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link SpooledJsonSections}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class SpooledJsonSectionsTest {
+
+	private static SpooledJsonSections create(String json) throws IOException {
+		return new SpooledJsonSections(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), JsonUtils.createMapper());
+	}
+
+	@Test
+	public void get() throws Exception {
+		try (final var sections = create("{\"persons\": [{\"@id\": \"/pers#0\", \"lastName\": \"Galland\"}, {\"@id\": \"/pers#1\"}],"
+				+ "\"globalIndicators\": {\"visibleGlobalIndicators\": [\"a\", \"b\"]}, \"_last-update-date\": \"2024-01-01\"}")) {
+			assertFalse(sections.isEmpty());
+			assertEquals(new TreeSet<>(Arrays.asList("persons", "globalIndicators", "_last-update-date")), sections.getSectionNames());
+			final var persons = sections.get("persons");
+			assertEquals(2, persons.size());
+			assertEquals("Galland", persons.get(0).get("lastName").asText());
+			assertEquals(2, sections.get("globalIndicators").get("visibleGlobalIndicators").size());
+			assertEquals("2024-01-01", sections.get("_last-update-date").asText());
+			assertNull(sections.get("publications"));
+			// Each call reads the section again
+			assertEquals(persons, sections.get("persons"));
+		}
+	}
+
+	@Test
+	public void empty() throws Exception {
+		try (final var sections = create("")) {
+			assertTrue(sections.isEmpty());
+		}
+		try (final var sections = create("{}")) {
+			assertTrue(sections.isEmpty());
+		}
+	}
+
+	@Test
+	public void invalidRoot() throws Exception {
+		assertThrows(IOException.class, () -> create("[1, 2]"));
+	}
+
+	@Test
+	public void close() throws Exception {
+		final var sections = create("{\"persons\": []}");
+		sections.close();
+		assertTrue(sections.isEmpty());
+		assertNull(sections.get("persons"));
+	}
+
+}
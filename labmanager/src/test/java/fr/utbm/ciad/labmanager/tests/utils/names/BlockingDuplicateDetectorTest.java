@@ -0,0 +1,288 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.names;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiPredicate;
+
+import fr.utbm.ciad.labmanager.utils.names.BlockingDuplicateDetector;
+import fr.utbm.ciad.labmanager.utils.names.DefaultPersonNameParser;
+import fr.utbm.ciad.labmanager.utils.names.OrganizationNameComparator;
+import fr.utbm.ciad.labmanager.utils.names.PersonNameComparator;
+import fr.utbm.ciad.labmanager.utils.names.jaccar.JaccarOrganizationNameComparator;
+import fr.utbm.ciad.labmanager.utils.names.jaccar.JaccarPersonNameComparator;
+import fr.utbm.ciad.labmanager.utils.names.sorensendice.SorensenDiceOrganizationNameComparator;
+import fr.utbm.ciad.labmanager.utils.names.sorensendice.SorensenDicePersonNameComparator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link BlockingDuplicateDetector}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class BlockingDuplicateDetectorTest {
+
+	private static final String[][] NAMES = {
+			{"Stéphane", "Galland"},
+			{"Stephane", "Galland"},
+			{"S.", "Galland"},
+			{"Galland", "Stéphane"},
+			{"Abderrafiaa", "Koukam"},
+			{"A", "Koukam"},
+			{"Jean-Pierre", "Martin"},
+			{"Jean", "Martin"},
+			{"J.-P.", "Martin"},
+			{"Pierre", "Martin"},
+			{"", "Durand"},
+			{"Marie", "Dupont"},
+			{"Marie-Claire", "Dupond"},
+			{"Yu", "Li"},
+			{"Li", "Yu"},
+			{"Xu", "Li"},
+			{"Nicolas", "Gaud"},
+			{"Nicolas", "Gaudin"},
+	};
+
+	private static final String[][] ORGANIZATIONS = {
+			{"CIAD", "Connaissance et Intelligence Artificielle Distribuées"},
+			{"CIAD", "Connaissance et Intelligence Artificielle Distribuees"},
+			{"C.I.A.D.", "Laboratoire CIAD"},
+			{"UTBM", "Université de Technologie de Belfort Montbéliard"},
+			{"", "Universite de Technologie de Belfort-Montbeliard"},
+			{"UTC", "Université de Technologie de Compiègne"},
+			{"UTT", "Université de Technologie de Troyes"},
+			{"IRTES", "Institut de Recherche sur les Transports"},
+			{"UB", null},
+	};
+
+	private static final Comparator<String[]> COMPARATOR = (a, b) -> Arrays.compare(a, b);
+
+	private DefaultPersonNameParser nameParser;
+
+	@BeforeEach
+	public void setUp() {
+		this.nameParser = new DefaultPersonNameParser();
+	}
+
+	private Collection<String> getKeys(String[] name) {
+		final var keys = new ArrayList<String>();
+		final var firsts = this.nameParser.getNormalizedNamesFor(name[0], true, true);
+		final var lasts = this.nameParser.getNormalizedNamesFor(name[1], true, false);
+		if (firsts.isEmpty() || lasts.isEmpty()) {
+			keys.add(null);
+		}
+		keys.add(this.nameParser.normalizeName(name[0]));
+		keys.add(this.nameParser.normalizeName(name[1]));
+		keys.addAll(firsts);
+		keys.addAll(lasts);
+		return keys;
+	}
+
+	private static List<Set<String[]>> getAllPairsDuplicates(List<String[]> entities, BiPredicate<String[], String[]> similarity) {
+		final var list = new ArrayList<>(entities);
+		final var groups = new ArrayList<Set<String[]>>();
+		for (var i = 0; i < list.size() - 1; ++i) {
+			final var reference = list.get(i);
+			final var group = new TreeSet<String[]>(COMPARATOR);
+			group.add(reference);
+			final var iterator = list.listIterator(i + 1);
+			while (iterator.hasNext()) {
+				final var other = iterator.next();
+				if (similarity.test(reference, other)) {
+					group.add(other);
+					iterator.remove();
+				}
+			}
+			if (group.size() > 1) {
+				groups.add(group);
+			}
+		}
+		return groups;
+	}
+
+	private void assertSameGroups(PersonNameComparator comparator, BlockingDuplicateDetector.CandidateProvider candidates) throws Exception {
+		final var entities = Arrays.asList(NAMES);
+		final var expected = getAllPairsDuplicates(entities, (a, b) -> comparator.isSimilar(a[0], a[1], b[0], b[1]));
+		final var actual = new BlockingDuplicateDetector<String[]>().getDuplicates(entities, candidates,
+				(a, b) -> comparator.isSimilar(a[0], a[1], b[0], b[1]), COMPARATOR, null);
+		assertSameGroups(expected, actual);
+	}
+
+	private static void assertSameGroups(List<Set<String[]>> expected, List<Set<String[]>> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (var i = 0; i < expected.size(); ++i) {
+			assertEquals(expected.get(i).size(), actual.get(i).size());
+			final var iterator = actual.get(i).iterator();
+			for (final var name : expected.get(i)) {
+				assertEquals(Arrays.asList(name), Arrays.asList(iterator.next()));
+			}
+		}
+	}
+
+	private void assertSameGroups(PersonNameComparator comparator) throws Exception {
+		final var entities = Arrays.asList(NAMES);
+		assertSameGroups(comparator, BlockingDuplicateDetector.newShingleBlocking(entities, this::getKeys,
+				comparator.getStringSimilarityComputer(), comparator.getSimilarityLevel()));
+	}
+
+	@Test
+	public void getDuplicates_allPairs() throws Exception {
+		assertSameGroups(new SorensenDicePersonNameComparator(this.nameParser), BlockingDuplicateDetector.newAllPairs(NAMES.length));
+	}
+
+	@Test
+	public void getDuplicates_sorensenDiceBlocking() throws Exception {
+		assertSameGroups(new SorensenDicePersonNameComparator(this.nameParser));
+	}
+
+	@Test
+	public void getDuplicates_jaccardBlocking() throws Exception {
+		assertSameGroups(new JaccarPersonNameComparator(this.nameParser));
+	}
+
+	@Test
+	public void getDuplicates_lowSimilarityLevel() throws Exception {
+		final var comparator = new SorensenDicePersonNameComparator(this.nameParser);
+		comparator.setSimilarityLevel(.3);
+		assertSameGroups(comparator);
+	}
+
+	@Test
+	public void getDuplicates_callback() throws Exception {
+		final var entities = Arrays.asList(NAMES);
+		final var comparator = new SorensenDicePersonNameComparator(this.nameParser);
+		final var calls = new ArrayList<String>();
+		final var groups = new BlockingDuplicateDetector<String[]>().getDuplicates(entities,
+				BlockingDuplicateDetector.newAllPairs(entities.size()),
+				(a, b) -> comparator.isSimilar(a[0], a[1], b[0], b[1]), COMPARATOR,
+				(index, duplicateCount, total, group) -> {
+					assertEquals(NAMES.length, total);
+					if (group != null) {
+						calls.add(Integer.toString(index));
+					}
+				});
+		assertEquals(groups.size(), calls.size());
+		assertEquals("0", calls.get(0));
+	}
+
+	@Test
+	public void getDuplicates_comparisonProgress() throws Exception {
+		final var entities = Arrays.asList(NAMES);
+		final var comparator = new SorensenDicePersonNameComparator(this.nameParser);
+		final var progress = new ArrayList<Integer>();
+		// The slow similarity test lets the calling thread notify the progress during the comparisons
+		new BlockingDuplicateDetector<String[]>().getDuplicates(entities,
+				BlockingDuplicateDetector.newAllPairs(entities.size()),
+				(a, b) -> {
+					try {
+						Thread.sleep(2);
+					} catch (InterruptedException ex) {
+						throw new RuntimeException(ex);
+					}
+					return comparator.isSimilar(a[0], a[1], b[0], b[1]);
+				}, COMPARATOR,
+				new BlockingDuplicateDetector.DuplicateCallback<>() {
+					@Override
+					public void onDuplicate(int index, int duplicateCount, int total, Set<String[]> group) {
+						//
+					}
+
+					@Override
+					public void onComparisonProgress(int comparedCount, int total) {
+						assertEquals(NAMES.length, total);
+						progress.add(Integer.valueOf(comparedCount));
+					}
+				});
+		assertEquals(NAMES.length, progress.get(progress.size() - 1).intValue());
+		for (var i = 1; i < progress.size(); ++i) {
+			assertTrue(progress.get(i - 1).intValue() <= progress.get(i).intValue());
+		}
+	}
+
+	@Test
+	public void getDuplicates_streamedGroups() throws Exception {
+		final var entities = Arrays.asList(NAMES);
+		final var comparator = new SorensenDicePersonNameComparator(this.nameParser);
+		final var firstGroup = new CountDownLatch(1);
+		final var streamedBeforeEnd = new AtomicBoolean();
+		final var lastReference = entities.get(entities.size() - 2);
+		// The comparisons of the last reference entity wait for the notification of the first group
+		new BlockingDuplicateDetector<String[]>().getDuplicates(entities,
+				BlockingDuplicateDetector.newAllPairs(entities.size()),
+				(a, b) -> {
+					if (a == lastReference) {
+						try {
+							streamedBeforeEnd.set(firstGroup.await(10, TimeUnit.SECONDS));
+						} catch (InterruptedException ex) {
+							throw new RuntimeException(ex);
+						}
+					}
+					return comparator.isSimilar(a[0], a[1], b[0], b[1]);
+				}, COMPARATOR,
+				(index, duplicateCount, total, group) -> {
+					if (group != null) {
+						firstGroup.countDown();
+					}
+				});
+		assertTrue(streamedBeforeEnd.get());
+	}
+
+	private static void assertSameOrganizationGroups(OrganizationNameComparator comparator) throws Exception {
+		final var entities = Arrays.asList(ORGANIZATIONS);
+		final BiPredicate<String[], String[]> similarity = (a, b) -> comparator.isSimilar(a[0], a[1], b[0], b[1]);
+		final var expected = getAllPairsDuplicates(entities, similarity);
+		final var candidates = BlockingDuplicateDetector.newShingleBlocking(entities, it -> Arrays.asList(it),
+				comparator.getStringSimilarityComputer(), comparator.getSimilarityLevel());
+		final var streamed = new ArrayList<Set<String[]>>();
+		final var actual = new BlockingDuplicateDetector<String[]>().getDuplicates(entities, candidates, similarity, COMPARATOR,
+				(index, duplicateCount, total, group) -> {
+					if (group != null) {
+						streamed.add(group);
+					}
+				});
+		assertSameGroups(expected, actual);
+		assertSameGroups(expected, streamed);
+	}
+
+	@Test
+	public void getDuplicates_organizationSorensenDiceBlocking() throws Exception {
+		assertSameOrganizationGroups(new SorensenDiceOrganizationNameComparator());
+	}
+
+	@Test
+	public void getDuplicates_organizationJaccardBlocking() throws Exception {
+		assertSameOrganizationGroups(new JaccarOrganizationNameComparator());
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ * $Id$
+ *
+ * Copyright (c) 2019-2024, CIAD Laboratory, Universite de Technologie de Belfort Montbeliard
+ * All rights reserved.
+ *
+ * This software is the confidential and proprietary information
+ * of the CIAD laboratory and the Université de Technologie
+ * de Belfort-Montbéliard ("Confidential Information").
+ * You shall not disclose such Confidential Information and shall use
+ * it only in accordance with the terms of the license agreement
+ * you entered into with the CIAD-UTBM.
+ *
+ * http://www.ciad-lab.fr/
+ */
+
+package fr.utbm.ciad.labmanager.tests.utils.names;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import fr.utbm.ciad.labmanager.data.publication.comparators.JaccarPublicationTitleComparator;
+import fr.utbm.ciad.labmanager.data.publication.comparators.PublicationTitleComparator;
+import fr.utbm.ciad.labmanager.data.publication.comparators.SorensenDicePublicationTitleComparator;
+import fr.utbm.ciad.labmanager.utils.names.ShingleIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for {@link ShingleIndex}.
+ *
+ * @author $Author: sgalland$
+ * @version $Name$ $Revision$ $Date$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @since 4.0
+ */
+@SuppressWarnings("all")
+public class ShingleIndexTest {
+
+	private static final String[] TITLES = {
+			"Multiagent simulation of traffic",
+			"Multi-agent simulation of the traffic",
+			"Holonic architecture for smart grids",
+			"Holonic Architectures for Smart Grid",
+			"Détection d'anomalies dans les réseaux",
+			"Detection d'anomalies dans les reseaux",
+			"AI",
+			"",
+			"Deep learning for autonomous vehicles",
+	};
+
+	private ShingleIndex test;
+
+	@BeforeEach
+	public void setUp() {
+		this.test = new ShingleIndex();
+		for (var i = 0; i < TITLES.length; ++i) {
+			this.test.put(i + 1, TITLES[i]);
+		}
+	}
+
+	@Test
+	public void normalize() {
+		assertEquals("", ShingleIndex.normalize(null));
+		assertEquals("detection d'anomalies", ShingleIndex.normalize("  Détection   d'Anomalies "));
+	}
+
+	@Test
+	public void size() {
+		assertEquals(TITLES.length, this.test.size());
+		this.test.remove(1);
+		assertEquals(TITLES.length - 1, this.test.size());
+		this.test.clear();
+		assertEquals(0, this.test.size());
+	}
+
+	@Test
+	public void getText() {
+		assertEquals(TITLES[2], this.test.getText(3));
+		assertNull(this.test.getText(1000));
+	}
+
+	@Test
+	public void getCandidates_emptyEntryAlwaysReplied() {
+		assertTrue(this.test.getCandidates("Something totally different", .7).contains(Long.valueOf(8)));
+	}
+
+	@Test
+	public void getCandidates_shortString() {
+		assertEquals(Arrays.asList(Long.valueOf(7), Long.valueOf(8)), this.test.getCandidates("ai", .7));
+	}
+
+	@Test
+	public void getCandidates_emptyQuery() {
+		assertEquals(TITLES.length, this.test.getCandidates("  ", .7).size());
+	}
+
+	@Test
+	public void getCandidates_afterRemove() {
+		this.test.remove(3);
+		this.test.remove(8);
+		assertEquals(Collections.singletonList(Long.valueOf(4)), this.test.getCandidates(TITLES[3], .7));
+	}
+
+	@Test
+	public void getCandidates_afterReplace() {
+		this.test.put(3, "Something else");
+		assertEquals(Arrays.asList(Long.valueOf(4), Long.valueOf(8)), this.test.getCandidates(TITLES[3], .7));
+	}
+
+	@Test
+	public void getCandidates_supersetOfSorensenDice() {
+		assertSupersetOfSimilar(new SorensenDicePublicationTitleComparator());
+	}
+
+	@Test
+	public void getCandidates_supersetOfJaccard() {
+		assertSupersetOfSimilar(new JaccarPublicationTitleComparator());
+	}
+
+	private void assertSupersetOfSimilar(PublicationTitleComparator comparator) {
+		for (final var query : TITLES) {
+			final var candidates = this.test.getCandidates(query, comparator.getSimilarityLevel());
+			for (var i = 0; i < TITLES.length; ++i) {
+				if (comparator.isSimilar(query, TITLES[i])) {
+					assertTrue(candidates.contains(Long.valueOf(i + 1)), "Missed candidate \"" + TITLES[i] + "\" for \"" + query + "\"");
+				}
+			}
+		}
+	}
+
+}